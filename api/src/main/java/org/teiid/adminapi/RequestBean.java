@@ -49,6 +49,12 @@ public interface RequestBean {
      */
     public long getStartTime();
 
+    /**
+     * Get the time spent planning this Request
+     * @return milliseconds spent planning, or -1 if not known
+     */
+    public long getPlanningTime();
+
     /**
      * Get the TransactionID of the Request
      *
@@ -33,6 +33,7 @@ public class RequestMetadata extends AdminObjectImpl implements Request {
     private String sessionId;
     private String command;
     private long startTime;
+    private long planningTime = -1;
     private boolean sourceRequest;
     private Integer nodeID;
     private String transactionId;
@@ -84,6 +85,15 @@ public class RequestMetadata extends AdminObjectImpl implements Request {
         this.startTime = time;
     }
 
+    @Override
+    public long getPlanningTime() {
+        return this.planningTime;
+    }
+
+    public void setPlanningTime(long planningTime) {
+        this.planningTime = planningTime;
+    }
+
     @Override
     public String getCommand() {
         return this.command;
@@ -1015,6 +1015,15 @@ public class BaseDelegatingExecutionFactory<F, C> extends ExecutionFactory<F, C>
     public void setMaxDependentInPredicates(int maxDependentInPredicates) {
         this.delegate.setMaxDependentInPredicates(maxDependentInPredicates);
     }
+    @Override
+    public int getDependentJoinPushdownThreshold() {
+        return delegate.getDependentJoinPushdownThreshold();
+    }
+    @Override
+    public void setDependentJoinPushdownThreshold(
+            int dependentJoinPushdownThreshold) {
+        this.delegate.setDependentJoinPushdownThreshold(dependentJoinPushdownThreshold);
+    }
 
     Boolean supportsAdvancedOlapOperations;
     @TranslatorProperty(display="Supports Advanced OLAP Operations", advanced=true)
@@ -1458,6 +1467,11 @@ public class BaseDelegatingExecutionFactory<F, C> extends ExecutionFactory<F, C>
         //nothing to do
     }
 
+    @Override
+    public void stop() {
+        //nothing to do, the delegate is not owned by this translator
+    }
+
     Boolean supportsUpsert;
     @TranslatorProperty(display="Supports Upsert", advanced=true)
     @Override
@@ -94,6 +94,7 @@ public class ExecutionFactory<F, C> {
     public static final int DEFAULT_MAX_FROM_GROUPS = -1;
     public static final int DEFAULT_MAX_PROJECTED_COLUMNS = -1;
     public static final int DEFAULT_MAX_IN_CRITERIA_SIZE = -1;
+    public static final int DEFAULT_DEPENDENT_JOIN_PUSHDOWN_THRESHOLD = 3;
 
     private static final TypeFacility TYPE_FACILITY = new TypeFacility();
 
@@ -117,6 +118,7 @@ public class ExecutionFactory<F, C> {
     private boolean requiresCriteria;
     private int maxInSize = DEFAULT_MAX_IN_CRITERIA_SIZE;
     private int maxDependentInPredicates = DEFAULT_MAX_IN_CRITERIA_SIZE;
+    private int dependentJoinPushdownThreshold = DEFAULT_DEPENDENT_JOIN_PUSHDOWN_THRESHOLD;
     private boolean copyLobs;
     private boolean supportsNativeQueries;
     private LinkedList<FunctionMethod> pushdownFunctionMethods = new LinkedList<FunctionMethod>();
@@ -135,6 +137,14 @@ public class ExecutionFactory<F, C> {
         }
     }
 
+    /**
+     * Release any resources, such as threads, acquired by {@link #start()}.
+     * Called when the translator is no longer in use.
+     */
+    public void stop() {
+
+    }
+
     /**
      * Defines if the Connector is read-only connector
      * @return
@@ -866,6 +876,25 @@ public class ExecutionFactory<F, C> {
         this.maxDependentInPredicates = maxDependentInPredicates;
     }
 
+    /**
+     * Get the multiple of the max IN predicate parameters ({@link #getMaxInCriteriaSize()} * {@link #getMaxDependentInPredicates()})
+     * beyond which a single dependent value set, or a large IN predicate, will be pushed
+     * to the source as a whole rather than split across multiple source queries.
+     * <br>
+     * Only used when {@link #supportsDependentJoins()} is true.  Generally this value accounts for the
+     * additional overhead of temp table creation and loading in the source.
+     * @since 17.0.13
+     */
+    @TranslatorProperty(display="Dependent join pushdown threshold", advanced=true)
+    public int getDependentJoinPushdownThreshold() {
+        return dependentJoinPushdownThreshold;
+    }
+
+    public void setDependentJoinPushdownThreshold(
+            int dependentJoinPushdownThreshold) {
+        this.dependentJoinPushdownThreshold = dependentJoinPushdownThreshold;
+    }
+
     /**
      * <p>Support indicates that the connector supports non-column expressions in GROUP BY, such as:
      *  <code>SELECT dayofmonth(theDate), COUNT(*) FROM table GROUP BY dayofmonth(theDate)</code>
@@ -1142,7 +1171,10 @@ public class ExecutionFactory<F, C> {
     }
 
     /**
-      * NOTE: The pushed independent tuples will not have been
+     * Dependent join key pushdown is also used for IN predicates that exceed the
+     * max IN predicate parameters - see {@link #getDependentJoinPushdownThreshold()}.
+     * <br>
+     * NOTE: The pushed independent tuples will not have been
      * converted to a unique set and may contain duplicates.
      * @return true if dependent join key pushdown is supported
      * @since 8.0
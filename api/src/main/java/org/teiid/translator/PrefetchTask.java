@@ -0,0 +1,141 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A source request made in the background by an execution, such as a request for the
+ * next page of results while the current page is processed.
+ * <br>
+ * No engine thread waits for the request - {@link #getResult()} throws
+ * {@link DataNotAvailableException#NO_POLLING} until the request completes, and the
+ * engine is then notified via {@link ExecutionContext#dataAvailable()}.
+ * <br>
+ * The task should be run with an executor owned by the {@link ExecutionFactory}, which is
+ * created by {@link ExecutionFactory#start()} and shutdown by {@link ExecutionFactory#stop()}.
+ */
+public class PrefetchTask<T> extends FutureTask<T> {
+
+    private ExecutionContext context;
+    private AtomicBoolean started = new AtomicBoolean();
+    private AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile Consumer<? super T> cleanup;
+
+    public PrefetchTask(Callable<T> request, ExecutionContext context) {
+        super(request);
+        this.context = context;
+    }
+
+    @Override
+    public void run() {
+        if (started.compareAndSet(false, true)) {
+            super.run();
+        }
+    }
+
+    @Override
+    protected void done() {
+        if (closed) {
+            release();
+        } else {
+            context.dataAvailable();
+        }
+    }
+
+    /**
+     * @return the result of the request
+     * @throws DataNotAvailableException {@link DataNotAvailableException#NO_POLLING} if the request has not completed
+     */
+    public T getResult() throws TranslatorException, DataNotAvailableException {
+        if (!isDone()) {
+            throw DataNotAvailableException.NO_POLLING;
+        }
+        try {
+            return get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranslatorException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TranslatorException) {
+                throw (TranslatorException)e.getCause();
+            }
+            throw new TranslatorException(e.getCause());
+        }
+    }
+
+    /**
+     * Close the task without waiting.  The request will not be made if it has not started,
+     * otherwise the result is passed to the cleanup once the request completes.
+     * @param cleanup may be null
+     * @return true if the request has started
+     */
+    public boolean close(Consumer<? super T> cleanup) {
+        this.cleanup = cleanup;
+        this.closed = true;
+        if (started.compareAndSet(false, true)) {
+            return false;
+        }
+        if (isDone()) {
+            release();
+        }
+        return true;
+    }
+
+    /**
+     * Close the task and wait for a request that has started to complete.  Should be used
+     * when the request uses a resource, such as the connection, that is about to be released.
+     * @param cleanup may be null
+     */
+    public void closeAndWait(Consumer<? super T> cleanup) {
+        if (!close(cleanup)) {
+            return;
+        }
+        try {
+            get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            //the result is not needed
+        }
+    }
+
+    private void release() {
+        if (!released.compareAndSet(false, true) || cleanup == null) {
+            return;
+        }
+        T result = null;
+        try {
+            result = get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            //nothing to release
+        }
+        if (result != null) {
+            cleanup.accept(result);
+        }
+    }
+
+}
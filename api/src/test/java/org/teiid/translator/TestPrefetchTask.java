@@ -0,0 +1,91 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+@SuppressWarnings({"nls", "unchecked"})
+public class TestPrefetchTask {
+
+    @Test public void testResult() throws Exception {
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        PrefetchTask<String> task = new PrefetchTask<String>(() -> "a", context);
+        try {
+            task.getResult();
+            fail();
+        } catch (DataNotAvailableException e) {
+            assertSame(DataNotAvailableException.NO_POLLING, e);
+        }
+        task.run();
+        Mockito.verify(context).dataAvailable();
+        assertEquals("a", task.getResult());
+    }
+
+    @Test public void testFailure() throws Exception {
+        PrefetchTask<String> task = new PrefetchTask<String>(() -> {throw new TranslatorException("x");}, Mockito.mock(ExecutionContext.class));
+        task.run();
+        try {
+            task.getResult();
+            fail();
+        } catch (TranslatorException e) {
+            assertEquals("x", e.getMessage());
+        }
+    }
+
+    @Test public void testCloseBeforeStart() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        PrefetchTask<String> task = new PrefetchTask<String>(() -> {calls.incrementAndGet(); return "a";}, Mockito.mock(ExecutionContext.class));
+        List<String> released = new ArrayList<String>();
+        assertFalse(task.close(released::add));
+        task.run();
+        assertEquals(0, calls.get());
+        assertTrue(released.isEmpty());
+    }
+
+    @Test public void testCloseReleasesLateResult() throws Exception {
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        final List<String> released = new ArrayList<String>();
+        final PrefetchTask<?>[] holder = new PrefetchTask<?>[1];
+        PrefetchTask<String> task = new PrefetchTask<String>(() -> {
+            //closed while the request is in flight
+            assertTrue(((PrefetchTask<String>)holder[0]).close(released::add));
+            assertTrue(released.isEmpty());
+            return "a";
+        }, context);
+        holder[0] = task;
+        task.run();
+        assertEquals(1, released.size());
+        Mockito.verify(context, Mockito.never()).dataAvailable();
+
+        //closing a completed task releases the result
+        released.clear();
+        task = new PrefetchTask<String>(() -> "b", context);
+        task.run();
+        task.closeAndWait(released::add);
+        assertEquals("b", released.get(0));
+    }
+
+}
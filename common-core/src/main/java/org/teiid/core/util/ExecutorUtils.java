@@ -18,8 +18,10 @@
 
 package org.teiid.core.util;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -56,4 +58,18 @@ public class ExecutorUtils {
     public static Executor getDirectExecutor() {
         return direct;
     }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     * @return the executor or null if the jvm does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+            return (ExecutorService)m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //not available or a preview feature that is not enabled
+            return null;
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.teiid.language.ColumnReference;
+import org.teiid.language.Expression;
+import org.teiid.language.ExpressionValueSource;
+import org.teiid.language.Insert;
+import org.teiid.language.Parameter;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * Loads the rows of a bulk {@link Insert} with a database specific api rather than
+ * with batches of prepared inserts.
+ * <br>
+ * The rows are consumed from the parameter values of the insert as they are loaded,
+ * so that they are not held in memory by the loader.
+ * <br>
+ * Loaders are used only when {@link JDBCExecutionFactory#isUseBulkLoad()} is true and
+ * {@link JDBCExecutionFactory#getBulkLoader(Insert, Connection, org.teiid.translator.ExecutionContext)}
+ * returns a loader for the insert.  Driver specific classes are accessed reflectively
+ * so that the translator does not depend on the driver.
+ */
+public abstract class BulkLoader {
+
+    protected Insert insert;
+    protected JDBCExecutionFactory executionFactory;
+    protected int[] valueIndexes;
+    protected String tableName;
+    protected List<String> columnNames;
+
+    protected BulkLoader(Insert insert, JDBCExecutionFactory executionFactory) {
+        this.insert = insert;
+        this.executionFactory = executionFactory;
+        this.valueIndexes = getValueIndexes(insert);
+        SQLConversionVisitor visitor = executionFactory.getSQLConversionVisitor();
+        visitor.append(insert.getTable());
+        this.tableName = visitor.toString();
+        this.columnNames = new ArrayList<String>(insert.getColumns().size());
+        for (ColumnReference column : insert.getColumns()) {
+            visitor = executionFactory.getSQLConversionVisitor();
+            visitor.append(new ColumnReference(null, column.getName(), column.getMetadataObject(), column.getType()));
+            this.columnNames.add(visitor.toString());
+        }
+    }
+
+    /**
+     * Load all of the values
+     * @return the number of rows loaded
+     */
+    public abstract long load(Connection connection, Iterator<? extends List<?>> values) throws SQLException, TranslatorException;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + tableName + " " + columnNames; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Get the values of the insert columns from a row of parameter values
+     */
+    protected Object[] getRow(List<?> values) {
+        Object[] row = new Object[valueIndexes.length];
+        for (int i = 0; i < valueIndexes.length; i++) {
+            row[i] = values.get(valueIndexes[i]);
+        }
+        return row;
+    }
+
+    /**
+     * @return the parameter value index for each insert column or null if
+     * the values are not all parameters
+     */
+    public static int[] getValueIndexes(Insert insert) {
+        if (!(insert.getValueSource() instanceof ExpressionValueSource)) {
+            return null;
+        }
+        List<Expression> values = ((ExpressionValueSource)insert.getValueSource()).getValues();
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Expression ex = values.get(i);
+            if (!(ex instanceof Parameter)) {
+                return null;
+            }
+            result[i] = ((Parameter)ex).getValueIndex();
+        }
+        return result;
+    }
+
+    /**
+     * Load a driver class visible to the connection
+     * @return the class or null if it is not available
+     */
+    protected static Class<?> getDriverClass(Connection connection, String name) {
+        ClassLoader[] loaders = new ClassLoader[] {connection.getClass().getClassLoader(), Thread.currentThread().getContextClassLoader(), BulkLoader.class.getClassLoader()};
+        for (ClassLoader loader : loaders) {
+            if (loader == null) {
+                continue;
+            }
+            try {
+                return Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                //try the next
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reflectively invoke a driver method, rethrowing any {@link SQLException}
+     */
+    protected static Object invoke(Method method, Object target, Object... args) throws SQLException, TranslatorException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException)e.getCause();
+            }
+            throw new TranslatorException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new TranslatorException(e);
+        }
+    }
+
+}
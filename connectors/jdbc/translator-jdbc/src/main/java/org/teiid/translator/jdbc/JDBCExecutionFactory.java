@@ -152,6 +152,9 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
     private boolean useCommentsInSourceQuery;
     private Version version;
     private int maxInsertBatchSize = 2048;
+    private boolean useBulkLoad;
+    private boolean useStreaming;
+    private int adaptiveFetchSizeKB;
     private DatabaseCalender databaseCalender;
     private boolean supportsGeneratedKeys;
     private StructRetrieval structRetrieval = StructRetrieval.OBJECT;
@@ -561,6 +564,45 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
         this.maxInsertBatchSize = maxInsertBatchSize;
     }
 
+    @TranslatorProperty(display="Use Bulk Load", description="Use the database specific bulk load api, if available, for bulk inserts rather than batches of prepared inserts.  Generated keys are not returned for bulk loaded rows.", advanced=true)
+    public boolean isUseBulkLoad() {
+        return useBulkLoad;
+    }
+
+    public void setUseBulkLoad(boolean useBulkLoad) {
+        this.useBulkLoad = useBulkLoad;
+    }
+
+    @TranslatorProperty(display="Use Streaming", description="Use the database specific mode, if needed, for streaming query results rather than allowing the driver to read the entire result into memory.  For example a server side cursor is used for PostgreSQL.", advanced=true)
+    public boolean isUseStreaming() {
+        return useStreaming;
+    }
+
+    public void setUseStreaming(boolean useStreaming) {
+        this.useStreaming = useStreaming;
+    }
+
+    @TranslatorProperty(display="Adaptive Fetch Size KB", description="If greater than 0, the fetch size of queries is adjusted so that each fetch is approximately the given number of kilobytes based upon the observed width of the rows.  The fetch size will not exceed 4 times the size requested by the engine.  Default 0, which always uses the size requested by the engine.", advanced=true)
+    public int getAdaptiveFetchSizeKB() {
+        return adaptiveFetchSizeKB;
+    }
+
+    public void setAdaptiveFetchSizeKB(int adaptiveFetchSizeKB) {
+        this.adaptiveFetchSizeKB = adaptiveFetchSizeKB;
+    }
+
+    /**
+     * Return a {@link BulkLoader} for the given bulk insert.  Called only when
+     * {@link #isUseBulkLoad()} is true and the insert values are all parameters.
+     * @param insert
+     * @param connection
+     * @param context
+     * @return the loader or null if the standard prepared batch logic should be used
+     */
+    public BulkLoader getBulkLoader(Insert insert, Connection connection, ExecutionContext context) {
+        return null;
+    }
+
     /**
      * Gets the database calendar.  This will be set to the time zone
      * specified by the property {@link #setDatabaseTimeZone(String)}, or
@@ -1532,6 +1574,23 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
         statement.setFetchSize(fetchSize);
     }
 
+    /**
+     * Set the given query statement to stream results from the source.  Called only when
+     * {@link #isUseStreaming()} is true, after the fetch size has been set.
+     * <br>
+     * The default implementation does nothing as most drivers stream results based upon the fetch size.
+     * @param command
+     * @param context
+     * @param connection
+     * @param statement
+     * @return true if auto commit was disabled on the connection to allow for streaming.  It will be
+     * re-enabled when the execution is closed.
+     * @throws SQLException
+     */
+    public boolean setStreaming(Command command, ExecutionContext context, Connection connection, Statement statement) throws SQLException {
+        return false;
+    }
+
     public boolean supportsGeneratedKeys() {
         return supportsGeneratedKeys;
     }
@@ -118,6 +118,7 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
     private boolean importLargeAsLob;
     private boolean useIntegralTypes;
     private boolean useTypeInfo = true;
+    private boolean bulkImport;
     Set<String> unsignedTypes = new HashSet<String>();
     Map<String, Integer> typeMapping = new TreeMap<>();
 
@@ -213,10 +214,10 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
         }
 
         if (importKeys) {
-            getPrimaryKeys(metadataFactory, metadata, tables);
+            getPrimaryKeys(metadataFactory, metadata, tables, tableMap, conn);
             getIndexes(metadataFactory, metadata, tables, !importIndexes);
             if (importForeignKeys) {
-                getForeignKeys(metadataFactory, metadata, tables, tableMap);
+                getForeignKeys(metadataFactory, metadata, tables, tableMap, conn);
             }
         } else if (importIndexes) {
             getIndexes(metadataFactory, metadata, tables, false);
@@ -475,14 +476,20 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
             DatabaseMetaData metadata, Map<String, TableInfo> tableMap, Connection conn)
             throws SQLException {
         LogManager.logDetail(LogConstants.CTX_CONNECTOR, "JDBCMetadataProcessor - Importing columns"); //$NON-NLS-1$
+        if (bulkImport) {
+            //the columns are returned ordered by table and position, so a single call is sufficient
+            ResultSet columns = metadata.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+            processColumns(metadataFactory, tableMap, columns, conn, true);
+            return;
+        }
         for (TableInfo ti : new LinkedHashSet<TableInfo>(tableMap.values())) {
             ResultSet columns = metadata.getColumns(ti.catalog, ti.schema, ti.name, columnNamePattern);
-            processColumns(metadataFactory, tableMap, columns, conn);
+            processColumns(metadataFactory, tableMap, columns, conn, false);
         }
     }
 
     private void processColumns(MetadataFactory metadataFactory,
-            Map<String, TableInfo> tableMap, ResultSet columns, Connection conn)
+            Map<String, TableInfo> tableMap, ResultSet columns, Connection conn, boolean bulk)
             throws SQLException {
         int rsColumns = columns.getMetaData().getColumnCount();
         while (columns.next()) {
@@ -490,12 +497,9 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
             String tableSchema = columns.getString(2);
             String tableName = columns.getString(3);
             String fullTableName = getFullyQualifiedName(tableCatalog, tableSchema, tableName);
-            TableInfo tableInfo = tableMap.get(fullTableName);
+            TableInfo tableInfo = getTableInfo(tableMap, tableCatalog, tableSchema, tableName, bulk);
             if (tableInfo == null) {
-                tableInfo = tableMap.get(tableName);
-                if (tableInfo == null) {
-                    continue;
-                }
+                continue;
             }
             //TODO: geometry/geography arrays
             Column c = addColumn(columns, tableInfo.table, metadataFactory, rsColumns);
@@ -510,6 +514,18 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
         columns.close();
     }
 
+    /**
+     * Find the imported table for a metadata row.  Results for a single table may be matched by name only,
+     * but the results of a bulk query could also include tables that were not imported.
+     */
+    private TableInfo getTableInfo(Map<String, TableInfo> tableMap, String tableCatalog, String tableSchema, String tableName, boolean bulk) {
+        TableInfo tableInfo = tableMap.get(getFullyQualifiedName(tableCatalog, tableSchema, tableName));
+        if (tableInfo == null && !bulk) {
+            tableInfo = tableMap.get(tableName);
+        }
+        return tableInfo;
+    }
+
     /**
      * Add a column to the given table based upon the current row of the columns resultset
      * @param columns
@@ -648,35 +664,70 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
         return name;
     }
 
+    private static class PKInfo {
+        TreeMap<Short, String> keyColumns = new TreeMap<Short, String>();
+        String pkName;
+    }
+
     private void getPrimaryKeys(MetadataFactory metadataFactory,
-            DatabaseMetaData metadata, Collection<TableInfo> tables)
+            DatabaseMetaData metadata, Collection<TableInfo> tables, Map<String, TableInfo> tableMap, Connection conn)
             throws SQLException {
         LogManager.logDetail(LogConstants.CTX_CONNECTOR, "JDBCMetadataProcessor - Importing primary keys"); //$NON-NLS-1$
+        if (bulkImport) {
+            ResultSet pks = executeBulkPrimaryKeyQuery(conn);
+            if (pks != null) {
+                LinkedHashMap<TableInfo, PKInfo> keys = new LinkedHashMap<TableInfo, PKInfo>();
+                try {
+                    while (pks.next()) {
+                        TableInfo tableInfo = getTableInfo(tableMap, pks.getString(1), pks.getString(2), pks.getString(3), true);
+                        if (tableInfo == null) {
+                            continue;
+                        }
+                        PKInfo pkInfo = keys.get(tableInfo);
+                        if (pkInfo == null) {
+                            pkInfo = new PKInfo();
+                            keys.put(tableInfo, pkInfo);
+                        }
+                        processPrimaryKeyColumn(pks, tableInfo, pkInfo);
+                    }
+                } finally {
+                    pks.close();
+                }
+                for (Map.Entry<TableInfo, PKInfo> entry : keys.entrySet()) {
+                    metadataFactory.addPrimaryKey(entry.getValue().pkName, new ArrayList<String>(entry.getValue().keyColumns.values()), entry.getKey().table);
+                }
+                return;
+            }
+        }
         for (TableInfo tableInfo : tables) {
             ResultSet pks = metadata.getPrimaryKeys(tableInfo.catalog, tableInfo.schema, tableInfo.name);
-            TreeMap<Short, String> keyColumns = null;
-            String pkName = null;
+            PKInfo pkInfo = null;
             while (pks.next()) {
-                String columnName = pks.getString(4);
-                short seqNum = safeGetShort(pks, 5);
-                if (keyColumns == null) {
-                    keyColumns = new TreeMap<Short, String>();
-                }
-                keyColumns.put(seqNum, columnName);
-                if (pkName == null) {
-                    pkName = pks.getString(6);
-                    if (pkName == null) {
-                        pkName = "PK_" + tableInfo.table.getName().toUpperCase(); //$NON-NLS-1$
-                    }
+                if (pkInfo == null) {
+                    pkInfo = new PKInfo();
                 }
+                processPrimaryKeyColumn(pks, tableInfo, pkInfo);
             }
-            if (keyColumns != null) {
-                metadataFactory.addPrimaryKey(pkName, new ArrayList<String>(keyColumns.values()), tableInfo.table);
+            if (pkInfo != null) {
+                metadataFactory.addPrimaryKey(pkInfo.pkName, new ArrayList<String>(pkInfo.keyColumns.values()), tableInfo.table);
             }
             pks.close();
         }
     }
 
+    private void processPrimaryKeyColumn(ResultSet pks, TableInfo tableInfo,
+            PKInfo pkInfo) throws SQLException {
+        String columnName = pks.getString(4);
+        short seqNum = safeGetShort(pks, 5);
+        pkInfo.keyColumns.put(seqNum, columnName);
+        if (pkInfo.pkName == null) {
+            pkInfo.pkName = pks.getString(6);
+            if (pkInfo.pkName == null) {
+                pkInfo.pkName = "PK_" + tableInfo.table.getName().toUpperCase(); //$NON-NLS-1$
+            }
+        }
+    }
+
     /**
      * some sources, such as PI, don't consistently support getShort
      * @param rs
@@ -706,8 +757,34 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
     }
 
     private void getForeignKeys(MetadataFactory metadataFactory,
-            DatabaseMetaData metadata, Collection<TableInfo> tables, Map<String, TableInfo> tableMap) throws SQLException {
+            DatabaseMetaData metadata, Collection<TableInfo> tables, Map<String, TableInfo> tableMap, Connection conn) throws SQLException {
         LogManager.logDetail(LogConstants.CTX_CONNECTOR, "JDBCMetadataProcessor - Importing foreign keys"); //$NON-NLS-1$
+        if (bulkImport) {
+            ResultSet fks = executeBulkForeignKeyQuery(conn);
+            if (fks != null) {
+                LinkedHashMap<TableInfo, HashMap<String, FKInfo>> keys = new LinkedHashMap<TableInfo, HashMap<String, FKInfo>>();
+                try {
+                    while (fks.next()) {
+                        TableInfo tableInfo = getTableInfo(tableMap, fks.getString(5), fks.getString(6), fks.getString(7), true);
+                        if (tableInfo == null || !getForeignKeysForTable(tableInfo.catalog, tableInfo.schema, tableInfo.name, tableInfo.type)) {
+                            continue;
+                        }
+                        HashMap<String, FKInfo> allKeys = keys.get(tableInfo);
+                        if (allKeys == null) {
+                            allKeys = new HashMap<String, FKInfo>();
+                            keys.put(tableInfo, allKeys);
+                        }
+                        processForeignKeyColumn(fks, tableInfo, allKeys, tableMap);
+                    }
+                } finally {
+                    fks.close();
+                }
+                for (Map.Entry<TableInfo, HashMap<String, FKInfo>> entry : keys.entrySet()) {
+                    addForeignKeys(metadataFactory, entry.getKey(), entry.getValue());
+                }
+                return;
+            }
+        }
         for (TableInfo tableInfo : tables) {
             if (!getForeignKeysForTable(tableInfo.catalog, tableInfo.schema, tableInfo.name, tableInfo.type)) {
                 continue;
@@ -725,57 +802,66 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
             }
             HashMap<String, FKInfo> allKeys = new HashMap<String, FKInfo>();
             while (fks.next()) {
-                String columnName = fks.getString(8);
-                short seqNum = safeGetShort(fks, 9);
-                String pkColumnName = fks.getString(4);
+                processForeignKeyColumn(fks, tableInfo, allKeys, tableMap);
+            }
+            addForeignKeys(metadataFactory, tableInfo, allKeys);
+            fks.close();
+        }
+    }
 
-                String fkName = fks.getString(12);
-                if (fkName == null) {
-                    fkName = "FK_" + tableInfo.table.getName().toUpperCase(); //$NON-NLS-1$
-                }
+    private void processForeignKeyColumn(ResultSet fks, TableInfo tableInfo,
+            HashMap<String, FKInfo> allKeys, Map<String, TableInfo> tableMap) throws SQLException {
+        String columnName = fks.getString(8);
+        short seqNum = safeGetShort(fks, 9);
+        String pkColumnName = fks.getString(4);
 
-                FKInfo fkInfo = allKeys.get(fkName);
-
-                if (fkInfo == null) {
-                    fkInfo = new FKInfo();
-                    allKeys.put(fkName, fkInfo);
-
-                    String tableCatalog = fks.getString(1);
-                    String tableSchema = fks.getString(2);
-                    String tableName = fks.getString(3);
-                    String fullTableName = getFullyQualifiedName(tableCatalog, tableSchema, tableName);
-                    fkInfo.pkTable = tableMap.get(fullTableName);
-                    if (fkInfo.pkTable == null) {
-                        //throw new TranslatorException(JDBCPlugin.Util.getString("JDBCMetadataProcessor.cannot_find_primary", fullTableName)); //$NON-NLS-1$
-                        fkInfo.valid = false;
-                        continue;
-                    }
-                }
+        String fkName = fks.getString(12);
+        if (fkName == null) {
+            fkName = "FK_" + tableInfo.table.getName().toUpperCase(); //$NON-NLS-1$
+        }
 
-                if (!fkInfo.valid) {
-                    continue;
-                }
+        FKInfo fkInfo = allKeys.get(fkName);
 
-                if (fkInfo.keyColumns.put(seqNum, columnName) != null) {
-                    //We can't gracefully handle two unnamed fks
-                    fkInfo.valid = false;
-                }
-                fkInfo.referencedKeyColumns.put(seqNum, pkColumnName);
+        if (fkInfo == null) {
+            fkInfo = new FKInfo();
+            allKeys.put(fkName, fkInfo);
+
+            String tableCatalog = fks.getString(1);
+            String tableSchema = fks.getString(2);
+            String tableName = fks.getString(3);
+            String fullTableName = getFullyQualifiedName(tableCatalog, tableSchema, tableName);
+            fkInfo.pkTable = tableMap.get(fullTableName);
+            if (fkInfo.pkTable == null) {
+                //throw new TranslatorException(JDBCPlugin.Util.getString("JDBCMetadataProcessor.cannot_find_primary", fullTableName)); //$NON-NLS-1$
+                fkInfo.valid = false;
+                return;
             }
+        }
 
-            for (Map.Entry<String, FKInfo> entry : allKeys.entrySet()) {
-                FKInfo info = entry.getValue();
-                if (!info.valid) {
-                    continue;
-                }
+        if (!fkInfo.valid) {
+            return;
+        }
 
-                KeyRecord record = autoCreateUniqueKeys(autoCreateUniqueConstraints, metadataFactory, entry.getKey(), info.referencedKeyColumns, info.pkTable.table);
-                ForeignKey fk = metadataFactory.addForeignKey(entry.getKey(), new ArrayList<String>(info.keyColumns.values()), new ArrayList<String>(info.referencedKeyColumns.values()), info.pkTable.table.getName(), tableInfo.table);
-                if (record != null) {
-                    fk.setReferenceKey(record);
-                }
+        if (fkInfo.keyColumns.put(seqNum, columnName) != null) {
+            //We can't gracefully handle two unnamed fks
+            fkInfo.valid = false;
+        }
+        fkInfo.referencedKeyColumns.put(seqNum, pkColumnName);
+    }
+
+    private void addForeignKeys(MetadataFactory metadataFactory,
+            TableInfo tableInfo, HashMap<String, FKInfo> allKeys) {
+        for (Map.Entry<String, FKInfo> entry : allKeys.entrySet()) {
+            FKInfo info = entry.getValue();
+            if (!info.valid) {
+                continue;
+            }
+
+            KeyRecord record = autoCreateUniqueKeys(autoCreateUniqueConstraints, metadataFactory, entry.getKey(), info.referencedKeyColumns, info.pkTable.table);
+            ForeignKey fk = metadataFactory.addForeignKey(entry.getKey(), new ArrayList<String>(info.keyColumns.values()), new ArrayList<String>(info.referencedKeyColumns.values()), info.pkTable.table.getName(), tableInfo.table);
+            if (record != null) {
+                fk.setReferenceKey(record);
             }
-            fks.close();
         }
     }
 
@@ -960,6 +1046,34 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
         return null;
     }
 
+    /**
+     * Return a result set of the primary key columns of all tables matching the schema and table name patterns
+     * with the same columns as {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}, or null if
+     * a bulk query is not supported and the keys should be retrieved per table.
+     * <br>
+     * Only used if bulkImport is true.
+     * @param conn
+     * @return
+     * @throws SQLException
+     */
+    protected ResultSet executeBulkPrimaryKeyQuery(Connection conn) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Return a result set of the foreign key columns of all tables matching the schema and table name patterns
+     * with at least the first 12 columns of {@link DatabaseMetaData#getImportedKeys(String, String, String)}, or null if
+     * a bulk query is not supported and the keys should be retrieved per table.
+     * <br>
+     * Only used if bulkImport is true.
+     * @param conn
+     * @return
+     * @throws SQLException
+     */
+    protected ResultSet executeBulkForeignKeyQuery(Connection conn) throws SQLException {
+        return null;
+    }
+
     /**
      * Override to control or disable the default index logic
      * @param catalogName
@@ -1399,4 +1513,13 @@ public class JDBCMetadataProcessor implements MetadataProcessor<Connection>{
         this.useTypeInfo = useTypeInfo;
     }
 
+    @TranslatorProperty(display="Bulk Import", category=PropertyType.IMPORT, description="true will import the columns and, if supported by the translator, the primary and foreign keys of all tables with a single metadata query each rather than a query per table.")
+    public boolean isBulkImport() {
+        return bulkImport;
+    }
+
+    public void setBulkImport(boolean bulkImport) {
+        this.bulkImport = bulkImport;
+    }
+
 }
@@ -60,5 +60,6 @@ public class JDBCPlugin {
         TEIID11027,
         TEIID11028,
         TEIID11029,
+        TEIID11030,
     }
 }
@@ -21,6 +21,8 @@
 
 package org.teiid.translator.jdbc;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -80,6 +82,11 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
     protected Class<?>[] columnDataTypes;
     protected List<NamedTable> tempTables;
 
+    private boolean streamingTxn;
+    private int adaptiveFetchSize;
+    private int fetchRowCount;
+    private long fetchRowBytes;
+
     public JDBCQueryExecution(Command command, Connection connection, ExecutionContext context, JDBCExecutionFactory env) {
         super(command, connection, context, env);
     }
@@ -112,10 +119,13 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
             String sql = translatedComm.getSql();
 
             if (!translatedComm.isPrepared()) {
-                results = getStatement().executeQuery(sql);
+                Statement s = getStatement();
+                setStreaming(s, usingTxn);
+                results = s.executeQuery(sql);
             } else {
                 PreparedStatement pstatement = getPreparedStatement(sql);
                 bind(pstatement, translatedComm.getPreparedValues(), null);
+                setStreaming(pstatement, usingTxn);
                 results = pstatement.executeQuery();
             }
             addStatementWarnings();
@@ -143,6 +153,16 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
         }
     }
 
+    private void setStreaming(Statement s, boolean usingTxn) throws SQLException {
+        //a transaction used for temp tables is committed after the execution, so streaming is not compatible
+        if (this.executionFactory.isUseStreaming() && !usingTxn) {
+            streamingTxn = this.executionFactory.setStreaming(command, context, connection, s);
+        }
+        if (this.executionFactory.getAdaptiveFetchSizeKB() > 0 && s.getFetchSize() > 0) {
+            adaptiveFetchSize = s.getFetchSize();
+        }
+    }
+
     /**
      *
      * @param qe
@@ -341,6 +361,10 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
                     vals.add(value);
                 }
 
+                if (adaptiveFetchSize > 0) {
+                    adaptFetchSize(vals);
+                }
+
                 return vals;
             }
         } catch (SQLException e) {
@@ -351,6 +375,52 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
         return null;
     }
 
+    /**
+     * Adjust the fetch size after each fetch worth of rows so that the size of a fetch approaches
+     * the target size.
+     */
+    private void adaptFetchSize(List<?> vals) throws SQLException {
+        for (Object value : vals) {
+            fetchRowBytes += estimateSize(value);
+        }
+        if (++fetchRowCount < adaptiveFetchSize) {
+            return;
+        }
+        long target = ((long)this.executionFactory.getAdaptiveFetchSizeKB() << 10) * fetchRowCount / Math.max(1, fetchRowBytes);
+        int size = (int)Math.max(1, Math.min(4L*this.fetchSize, target));
+        fetchRowCount = 0;
+        fetchRowBytes = 0;
+        if (size != adaptiveFetchSize) {
+            LogManager.logDetail(LogConstants.CTX_CONNECTOR, context.getRequestId(), "adjusting the fetch size from", adaptiveFetchSize, "to", size); //$NON-NLS-1$ //$NON-NLS-2$
+            results.setFetchSize(size);
+            adaptiveFetchSize = size;
+        }
+    }
+
+    /**
+     * A rough estimate of the memory used by a value
+     */
+    static int estimateSize(Object value) {
+        if (value instanceof String) {
+            return 40 + 2*((String)value).length();
+        }
+        if (value instanceof byte[]) {
+            return 16 + ((byte[])value).length;
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return 48;
+        }
+        if (value instanceof java.util.Date) {
+            return 32;
+        }
+        //null, boxed primitives and references, such as lobs
+        return 16;
+    }
+
+    int getAdaptiveFetchSize() {
+        return adaptiveFetchSize;
+    }
+
     /**
      * @see org.teiid.translator.jdbc.JDBCBaseExecution#close()
      */
@@ -391,6 +461,16 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
                 }
             }
             super.close();
+            if (streamingTxn) {
+                streamingTxn = false;
+                try {
+                    //the transaction was only needed to keep the cursor open
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Exception restoring auto commit"); //$NON-NLS-1$
+                }
+            }
         }
     }
 
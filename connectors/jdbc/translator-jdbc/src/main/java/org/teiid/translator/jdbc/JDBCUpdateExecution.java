@@ -67,6 +67,13 @@ public class JDBCUpdateExecution extends JDBCBaseExecution implements UpdateExec
         if (command instanceof BatchedUpdates) {
             execute(((BatchedUpdates)command));
         } else {
+            if (command instanceof Insert && executionFactory.isUseBulkLoad()) {
+                BulkLoader loader = getBulkLoader((Insert)command);
+                if (loader != null) {
+                    executeBulkLoad(loader);
+                    return;
+                }
+            }
             // translate command
             TranslatedCommand translatedComm = translateCommand(command);
 
@@ -74,6 +81,37 @@ public class JDBCUpdateExecution extends JDBCBaseExecution implements UpdateExec
         }
     }
 
+    private BulkLoader getBulkLoader(Insert insert) {
+        if (insert.getParameterValues() == null || insert.isUpsert()
+                || context.getGeneratedKeyColumns() != null
+                || BulkLoader.getValueIndexes(insert) == null) {
+            return null;
+        }
+        return executionFactory.getBulkLoader(insert, connection, context);
+    }
+
+    private void executeBulkLoad(BulkLoader loader) throws TranslatorException {
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Source-specific bulk load:", loader); //$NON-NLS-1$
+        boolean commitType = false;
+        boolean succeeded = false;
+        try {
+            commitType = getAutoCommit(null);
+            if (commitType) {
+                connection.setAutoCommit(false);
+            }
+            long count = loader.load(connection, ((Insert)command).getParameterValues());
+            //a single count, as a count per row is not needed and may not fit in an array
+            result = new int[] {(int)Math.min(Integer.MAX_VALUE, count)};
+            succeeded = true;
+        } catch (SQLException e) {
+            throw new JDBCExecutionException(JDBCPlugin.Event.TEIID11030, e, loader.toString());
+        } finally {
+            if (commitType) {
+                restoreAutoCommit(!succeeded, null);
+            }
+        }
+    }
+
     public int[] execute(BatchedUpdates batchedCommand) throws TranslatorException {
         boolean succeeded = false;
 
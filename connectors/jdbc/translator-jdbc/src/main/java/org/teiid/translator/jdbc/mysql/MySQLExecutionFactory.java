@@ -27,6 +27,7 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -36,6 +37,7 @@ import java.util.List;
 import org.teiid.core.types.BlobImpl;
 import org.teiid.core.types.GeometryType;
 import org.teiid.core.types.InputStreamFactory;
+import org.teiid.core.util.StringUtil;
 import org.teiid.language.*;
 import org.teiid.language.SQLConstants.NonReserved;
 import org.teiid.metadata.Column;
@@ -503,6 +505,21 @@ public class MySQLExecutionFactory extends JDBCExecutionFactory {
         return "org.hibernate.dialect.MySQLDialect"; //$NON-NLS-1$
     }
 
+    /**
+     * Unless the connection uses server side cursors with useCursorFetch=true, the driver
+     * only streams results with a fetch size of Integer.MIN_VALUE.  While streaming no other
+     * statement may be used with the connection until the results are closed.
+     */
+    @Override
+    public boolean setStreaming(Command command, ExecutionContext context,
+            Connection connection, Statement statement) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        if (url == null || StringUtil.indexOfIgnoreCase(url, "useCursorFetch=true") < 0) { //$NON-NLS-1$
+            statement.setFetchSize(Integer.MIN_VALUE);
+        }
+        return false;
+    }
+
     @Override
     public MetadataProcessor<Connection> getMetadataProcessor() {
         return new JDBCMetadataProcessor() {
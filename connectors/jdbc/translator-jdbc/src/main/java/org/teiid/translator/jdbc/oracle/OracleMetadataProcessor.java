@@ -162,6 +162,38 @@ public class OracleMetadataProcessor extends
         return ps.executeQuery();
     }
 
+    @Override
+    protected ResultSet executeBulkPrimaryKeyQuery(Connection conn)
+            throws SQLException {
+        String query = "select null as table_cat, c.owner as table_schem, c.table_name, cc.column_name, cc.position as key_seq, c.constraint_name as pk_name " //$NON-NLS-1$
+                + "from all_constraints c, all_cons_columns cc where c.constraint_type = 'P' and c.owner = cc.owner and c.constraint_name = cc.constraint_name and c.table_name = cc.table_name " //$NON-NLS-1$
+                + "and c.owner like ? escape '/' and c.table_name like ? escape '/'"; //$NON-NLS-1$
+        return executeBulkQuery(conn, query);
+    }
+
+    @Override
+    protected ResultSet executeBulkForeignKeyQuery(Connection conn)
+            throws SQLException {
+        String query = "select null as pktable_cat, p.owner as pktable_schem, p.table_name as pktable_name, pc.column_name as pkcolumn_name, " //$NON-NLS-1$
+                + "null as fktable_cat, f.owner as fktable_schem, f.table_name as fktable_name, fc.column_name as fkcolumn_name, " //$NON-NLS-1$
+                + "fc.position as key_seq, null as update_rule, null as delete_rule, f.constraint_name as fk_name " //$NON-NLS-1$
+                + "from all_constraints f, all_cons_columns fc, all_constraints p, all_cons_columns pc " //$NON-NLS-1$
+                + "where f.constraint_type = 'R' and f.owner = fc.owner and f.constraint_name = fc.constraint_name " //$NON-NLS-1$
+                + "and f.r_owner = p.owner and f.r_constraint_name = p.constraint_name " //$NON-NLS-1$
+                + "and p.owner = pc.owner and p.constraint_name = pc.constraint_name and pc.position = fc.position " //$NON-NLS-1$
+                + "and f.owner like ? escape '/' and f.table_name like ? escape '/'"; //$NON-NLS-1$
+        return executeBulkQuery(conn, query);
+    }
+
+    private ResultSet executeBulkQuery(Connection conn, String query)
+            throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(query);
+        ps.closeOnCompletion();
+        ps.setString(1, getSchemaPattern()==null?"%":getSchemaPattern()); //$NON-NLS-1$
+        ps.setString(2, getTableNamePattern()==null?"%":getTableNamePattern()); //$NON-NLS-1$
+        return ps.executeQuery();
+    }
+
     @Override
     protected String getSequenceNextSQL(String fullyQualifiedName) {
         return fullyQualifiedName + ".nextval"; //$NON-NLS-1$
@@ -0,0 +1,182 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc.postgresql;
+
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.teiid.core.types.BinaryType;
+import org.teiid.core.util.PropertiesUtils;
+import org.teiid.language.ColumnReference;
+import org.teiid.language.Insert;
+import org.teiid.translator.TranslatorException;
+import org.teiid.translator.TypeFacility;
+import org.teiid.translator.jdbc.BulkLoader;
+import org.teiid.translator.jdbc.JDBCExecutionFactory;
+
+/**
+ * Loads rows with COPY FROM STDIN in the csv format using the driver CopyManager.
+ */
+public class PostgreSQLBulkLoader extends BulkLoader {
+
+    static final String PG_CONNECTION = "org.postgresql.PGConnection"; //$NON-NLS-1$
+
+    /**
+     * Streams the rows as csv lines
+     */
+    class CsvReader extends Reader {
+        private Iterator<? extends List<?>> values;
+        private StringBuilder line = new StringBuilder();
+        private int position;
+        private long rowCount;
+
+        CsvReader(Iterator<? extends List<?>> values) {
+            this.values = values;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < len) {
+                if (position == line.length()) {
+                    if (!values.hasNext()) {
+                        break;
+                    }
+                    line.setLength(0);
+                    position = 0;
+                    appendRow(getRow(values.next()), line);
+                    rowCount++;
+                }
+                int toCopy = Math.min(len - read, line.length() - position);
+                line.getChars(position, position + toCopy, cbuf, off + read);
+                position += toCopy;
+                read += toCopy;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        long getRowCount() {
+            return rowCount;
+        }
+    }
+
+    public PostgreSQLBulkLoader(Insert insert, JDBCExecutionFactory executionFactory) {
+        super(insert, executionFactory);
+    }
+
+    /**
+     * @return true if the connection is from the PostgreSQL driver and all of the column types can be loaded
+     */
+    static boolean isSupported(Insert insert, Connection connection) {
+        for (ColumnReference column : insert.getColumns()) {
+            Class<?> type = column.getType();
+            if (type == TypeFacility.RUNTIME_TYPES.BLOB || type == TypeFacility.RUNTIME_TYPES.CLOB
+                    || type == TypeFacility.RUNTIME_TYPES.XML || type == TypeFacility.RUNTIME_TYPES.OBJECT
+                    || type == TypeFacility.RUNTIME_TYPES.GEOMETRY || type == TypeFacility.RUNTIME_TYPES.GEOGRAPHY
+                    || type == TypeFacility.RUNTIME_TYPES.JSON || type.isArray()) {
+                return false;
+            }
+        }
+        Class<?> pgConnection = getDriverClass(connection, PG_CONNECTION);
+        try {
+            return pgConnection != null && connection.isWrapperFor(pgConnection);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    public String getCopySql() {
+        StringBuilder sql = new StringBuilder("COPY ").append(tableName).append(" ("); //$NON-NLS-1$
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", "); //$NON-NLS-1$
+            }
+            sql.append(columnNames.get(i));
+        }
+        return sql.append(") FROM STDIN WITH (FORMAT csv)").toString(); //$NON-NLS-1$
+    }
+
+    @Override
+    public long load(Connection connection, Iterator<? extends List<?>> values)
+            throws SQLException, TranslatorException {
+        Class<?> pgConnectionClass = getDriverClass(connection, PG_CONNECTION);
+        Object pgConnection = connection.unwrap(pgConnectionClass);
+        CsvReader reader = new CsvReader(values);
+        try {
+            Object copyManager = invoke(pgConnectionClass.getMethod("getCopyAPI"), pgConnection); //$NON-NLS-1$
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class); //$NON-NLS-1$
+            invoke(copyIn, copyManager, getCopySql(), reader);
+        } catch (NoSuchMethodException e) {
+            throw new TranslatorException(e);
+        }
+        return reader.getRowCount();
+    }
+
+    void appendRow(Object[] row, StringBuilder line) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendValue(row[i], line);
+        }
+        line.append('\n');
+    }
+
+    private void appendValue(Object value, StringBuilder line) {
+        if (value == null) {
+            //an unquoted empty value is null
+            return;
+        }
+        if (value instanceof String || value instanceof Character) {
+            String str = value.toString();
+            line.append('"');
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else if (value instanceof java.util.Date) {
+            line.append(executionFactory.formatDateValue((java.util.Date)value));
+        } else if (value instanceof BinaryType) {
+            line.append("\\x").append(PropertiesUtils.toHex(((BinaryType)value).getBytesDirect())); //$NON-NLS-1$
+        } else {
+            line.append(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getCopySql();
+    }
+
+}
@@ -45,8 +45,10 @@ import org.teiid.core.types.ClobImpl;
 import org.teiid.core.types.JsonType;
 import org.teiid.language.AggregateFunction;
 import org.teiid.language.Array;
+import org.teiid.language.Command;
 import org.teiid.language.Expression;
 import org.teiid.language.Function;
+import org.teiid.language.Insert;
 import org.teiid.language.LanguageObject;
 import org.teiid.language.Like;
 import org.teiid.language.Like.MatchMode;
@@ -64,6 +66,7 @@ import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TranslatorProperty;
 import org.teiid.translator.TypeFacility;
 import org.teiid.translator.jdbc.AliasModifier;
+import org.teiid.translator.jdbc.BulkLoader;
 import org.teiid.translator.jdbc.ConvertModifier;
 import org.teiid.translator.jdbc.EscapeSyntaxModifier;
 import org.teiid.translator.jdbc.ExtractFunctionModifier;
@@ -929,11 +932,40 @@ public class PostgreSQLExecutionFactory extends JDBCExecutionFactory {
         this.projSupported = projSupported;
     }
 
+    /**
+     * The driver only uses a server side cursor, rather than reading the entire result,
+     * with a positive fetch size when auto commit is disabled.
+     */
+    @Override
+    public boolean setStreaming(Command command, ExecutionContext context,
+            Connection connection, Statement statement) throws SQLException {
+        if (statement.getFetchSize() <= 0) {
+            statement.setFetchSize(context.getBatchSize());
+        }
+        if (!connection.getAutoCommit()) {
+            return false;
+        }
+        connection.setAutoCommit(false);
+        return true;
+    }
+
     @Override
     public MetadataProcessor<Connection> getMetadataProcessor() {
         return new PostgreSQLMetadataProcessor();
     }
 
+    /**
+     * Uses COPY FROM STDIN when the connection is from the PostgreSQL driver
+     */
+    @Override
+    public BulkLoader getBulkLoader(Insert insert, Connection connection,
+            ExecutionContext context) {
+        if (getVersion().compareTo(NINE_0) < 0 || !PostgreSQLBulkLoader.isSupported(insert, connection)) {
+            return null;
+        }
+        return new PostgreSQLBulkLoader(insert, this);
+    }
+
     @Override
     public Expression translateGeometrySelect(Expression expr) {
         return new Function(SourceSystemFunctions.ST_ASEWKB, Arrays.asList(expr), TypeFacility.RUNTIME_TYPES.VARBINARY);
@@ -93,6 +93,41 @@ public class PostgreSQLMetadataProcessor
         return ps.executeQuery();
     }
 
+    @Override
+    protected ResultSet executeBulkPrimaryKeyQuery(Connection conn)
+            throws SQLException {
+        String query = "select null::varchar as table_cat, n.nspname as table_schem, c.relname as table_name, a.attname as column_name, k.i as key_seq, k.conname as pk_name " //$NON-NLS-1$
+                + "from (select conname, conrelid, conkey, generate_series(1, array_upper(conkey, 1)) as i from pg_catalog.pg_constraint where contype = 'p') k " //$NON-NLS-1$
+                + "join pg_catalog.pg_class c on k.conrelid = c.oid join pg_catalog.pg_namespace n on c.relnamespace = n.oid " //$NON-NLS-1$
+                + "join pg_catalog.pg_attribute a on a.attrelid = c.oid and a.attnum = k.conkey[k.i] " //$NON-NLS-1$
+                + "where n.nspname like ? escape E'\\\\' and c.relname like ? escape E'\\\\'"; //$NON-NLS-1$
+        return executeBulkQuery(conn, query);
+    }
+
+    @Override
+    protected ResultSet executeBulkForeignKeyQuery(Connection conn)
+            throws SQLException {
+        String query = "select null::varchar as pktable_cat, pkn.nspname as pktable_schem, pkc.relname as pktable_name, pka.attname as pkcolumn_name, " //$NON-NLS-1$
+                + "null::varchar as fktable_cat, fkn.nspname as fktable_schem, fkc.relname as fktable_name, fka.attname as fkcolumn_name, " //$NON-NLS-1$
+                + "k.i as key_seq, null::int2 as update_rule, null::int2 as delete_rule, k.conname as fk_name " //$NON-NLS-1$
+                + "from (select conname, conrelid, confrelid, conkey, confkey, generate_series(1, array_upper(conkey, 1)) as i from pg_catalog.pg_constraint where contype = 'f') k " //$NON-NLS-1$
+                + "join pg_catalog.pg_class fkc on k.conrelid = fkc.oid join pg_catalog.pg_namespace fkn on fkc.relnamespace = fkn.oid " //$NON-NLS-1$
+                + "join pg_catalog.pg_attribute fka on fka.attrelid = fkc.oid and fka.attnum = k.conkey[k.i] " //$NON-NLS-1$
+                + "join pg_catalog.pg_class pkc on k.confrelid = pkc.oid join pg_catalog.pg_namespace pkn on pkc.relnamespace = pkn.oid " //$NON-NLS-1$
+                + "join pg_catalog.pg_attribute pka on pka.attrelid = pkc.oid and pka.attnum = k.confkey[k.i] " //$NON-NLS-1$
+                + "where fkn.nspname like ? escape E'\\\\' and fkc.relname like ? escape E'\\\\'"; //$NON-NLS-1$
+        return executeBulkQuery(conn, query);
+    }
+
+    private ResultSet executeBulkQuery(Connection conn, String query)
+            throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(query);
+        ps.closeOnCompletion();
+        ps.setString(1, getSchemaPattern()==null?"%":getSchemaPattern()); //$NON-NLS-1$
+        ps.setString(2, getTableNamePattern()==null?"%":getTableNamePattern()); //$NON-NLS-1$
+        return ps.executeQuery();
+    }
+
     @Override
     protected String getSequenceNextSQL(String fullyQualifiedName) {
         return "nextval('" + StringUtil.replaceAll(fullyQualifiedName, "'", "''") + "')"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
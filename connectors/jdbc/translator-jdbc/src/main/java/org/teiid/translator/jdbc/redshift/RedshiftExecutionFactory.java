@@ -23,10 +23,13 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 
+import org.teiid.language.Insert;
+import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.SourceSystemFunctions;
 import org.teiid.translator.Translator;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TypeFacility;
+import org.teiid.translator.jdbc.BulkLoader;
 import org.teiid.translator.jdbc.FunctionModifier;
 import org.teiid.translator.jdbc.SQLConversionVisitor;
 import org.teiid.translator.jdbc.postgresql.PostgreSQLExecutionFactory;
@@ -110,4 +113,10 @@ public class RedshiftExecutionFactory extends PostgreSQLExecutionFactory {
     public SQLConversionVisitor getSQLConversionVisitor() {
         return new RedshiftSQLConversionVisitor(this);
     }
+
+    @Override
+    public BulkLoader getBulkLoader(Insert insert, Connection connection,
+            ExecutionContext context) {
+        return null; //redshift only supports COPY from external storage
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc.sqlserver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.teiid.core.types.BinaryType;
+import org.teiid.core.util.TimestampWithTimezone;
+import org.teiid.language.ColumnReference;
+import org.teiid.language.Insert;
+import org.teiid.language.visitor.SQLStringVisitor;
+import org.teiid.metadata.Column;
+import org.teiid.translator.TranslatorException;
+import org.teiid.translator.TypeFacility;
+import org.teiid.translator.jdbc.BulkLoader;
+import org.teiid.translator.jdbc.JDBCExecutionFactory;
+
+/**
+ * Loads rows with the SQLServerBulkCopy api of the Microsoft driver.  The rows are
+ * provided to the driver through a proxy of ISQLServerBulkData.  Constraints are checked,
+ * triggers are fired and nulls are kept, as they would be with an insert.
+ */
+public class SQLServerBulkLoader extends BulkLoader {
+
+    static final String SQL_SERVER_CONNECTION = "com.microsoft.sqlserver.jdbc.ISQLServerConnection"; //$NON-NLS-1$
+    static final String SQL_SERVER_BULK_COPY = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopy"; //$NON-NLS-1$
+    static final String SQL_SERVER_BULK_DATA = "com.microsoft.sqlserver.jdbc.ISQLServerBulkData"; //$NON-NLS-1$
+    static final String SQL_SERVER_BULK_COPY_OPTIONS = "com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions"; //$NON-NLS-1$
+
+    class BulkData implements InvocationHandler {
+        private Iterator<? extends List<?>> values;
+        private Object[] row;
+        private long rowCount;
+
+        BulkData(Iterator<? extends List<?>> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+            case "next": //$NON-NLS-1$
+                if (!values.hasNext()) {
+                    return false;
+                }
+                row = getRow(values.next());
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = convert(row[i]);
+                }
+                rowCount++;
+                return true;
+            case "getRowData": //$NON-NLS-1$
+                return row;
+            case "getColumnOrdinals": //$NON-NLS-1$
+                Set<Integer> ordinals = new LinkedHashSet<Integer>();
+                for (int i = 1; i <= sqlTypes.length; i++) {
+                    ordinals.add(i);
+                }
+                return ordinals;
+            case "getColumnName": //$NON-NLS-1$
+                return sourceColumnNames[(Integer)args[0] - 1];
+            case "getColumnType": //$NON-NLS-1$
+                return sqlTypes[(Integer)args[0] - 1];
+            case "getPrecision": //$NON-NLS-1$
+                return precisions[(Integer)args[0] - 1];
+            case "getScale": //$NON-NLS-1$
+                return scales[(Integer)args[0] - 1];
+            case "hashCode": //$NON-NLS-1$
+                return System.identityHashCode(proxy);
+            case "equals": //$NON-NLS-1$
+                return proxy == args[0];
+            case "toString": //$NON-NLS-1$
+                return SQLServerBulkLoader.this.toString();
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        long getRowCount() {
+            return rowCount;
+        }
+    }
+
+    private String[] sourceColumnNames;
+    private int[] sqlTypes;
+    private int[] precisions;
+    private int[] scales;
+
+    public SQLServerBulkLoader(Insert insert, JDBCExecutionFactory executionFactory) {
+        super(insert, executionFactory);
+        List<ColumnReference> columns = insert.getColumns();
+        this.sourceColumnNames = new String[columns.size()];
+        this.sqlTypes = new int[columns.size()];
+        this.precisions = new int[columns.size()];
+        this.scales = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnReference column = columns.get(i);
+            Column metadata = column.getMetadataObject();
+            this.sourceColumnNames[i] = metadata != null ? SQLStringVisitor.getRecordName(metadata) : column.getName();
+            int type = TypeFacility.getSQLTypeFromRuntimeType(column.getType());
+            if (type == Types.CHAR) {
+                type = Types.VARCHAR;
+            }
+            this.sqlTypes[i] = type;
+            if (metadata != null) {
+                if (type == Types.VARCHAR || type == Types.VARBINARY) {
+                    this.precisions[i] = metadata.getLength();
+                } else {
+                    this.precisions[i] = metadata.getPrecision();
+                    this.scales[i] = metadata.getScale();
+                }
+            }
+            if (this.precisions[i] <= 0 && type == Types.NUMERIC) {
+                this.precisions[i] = 38;
+            }
+        }
+    }
+
+    /**
+     * @return true if the connection is from the Microsoft driver and all of the column types can be loaded
+     */
+    static boolean isSupported(Insert insert, Connection connection) {
+        for (ColumnReference column : insert.getColumns()) {
+            int type = TypeFacility.getSQLTypeFromRuntimeType(column.getType());
+            if (type == Types.BLOB || type == Types.CLOB || type == Types.SQLXML
+                    || type == Types.JAVA_OBJECT || type == Types.ARRAY) {
+                return false;
+            }
+        }
+        Class<?> sqlServerConnection = getDriverClass(connection, SQL_SERVER_CONNECTION);
+        try {
+            return sqlServerConnection != null
+                    && getDriverClass(connection, SQL_SERVER_BULK_DATA) != null
+                    && connection.isWrapperFor(sqlServerConnection);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long load(Connection connection, Iterator<? extends List<?>> values)
+            throws SQLException, TranslatorException {
+        Class<?> connectionClass = getDriverClass(connection, SQL_SERVER_CONNECTION);
+        Class<?> bulkCopyClass = getDriverClass(connection, SQL_SERVER_BULK_COPY);
+        Class<?> bulkDataClass = getDriverClass(connection, SQL_SERVER_BULK_DATA);
+        Class<?> bulkCopyOptionsClass = getDriverClass(connection, SQL_SERVER_BULK_COPY_OPTIONS);
+        BulkData bulkData = new BulkData(values);
+        Object data = Proxy.newProxyInstance(bulkDataClass.getClassLoader(), new Class<?>[] {bulkDataClass}, bulkData);
+        try {
+            Object bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection.unwrap(connectionClass));
+            try {
+                invoke(bulkCopyClass.getMethod("setDestinationTableName", String.class), bulkCopy, tableName); //$NON-NLS-1$
+                //keep the semantics of an insert - the bulk copy defaults skip constraints and triggers and apply column defaults to nulls
+                Object options = bulkCopyOptionsClass.getConstructor().newInstance();
+                invoke(bulkCopyOptionsClass.getMethod("setCheckConstraints", boolean.class), options, true); //$NON-NLS-1$
+                invoke(bulkCopyOptionsClass.getMethod("setFireTriggers", boolean.class), options, true); //$NON-NLS-1$
+                invoke(bulkCopyOptionsClass.getMethod("setKeepNulls", boolean.class), options, true); //$NON-NLS-1$
+                invoke(bulkCopyClass.getMethod("setBulkCopyOptions", bulkCopyOptionsClass), bulkCopy, options); //$NON-NLS-1$
+                Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", int.class, String.class); //$NON-NLS-1$
+                for (int i = 0; i < sourceColumnNames.length; i++) {
+                    invoke(addColumnMapping, bulkCopy, i + 1, sourceColumnNames[i]);
+                }
+                invoke(bulkCopyClass.getMethod("writeToServer", bulkDataClass), bulkCopy, data); //$NON-NLS-1$
+            } finally {
+                invoke(bulkCopyClass.getMethod("close"), bulkCopy); //$NON-NLS-1$
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new TranslatorException(e);
+        }
+        return bulkData.getRowCount();
+    }
+
+    Object convert(Object value) {
+        if (value instanceof BinaryType) {
+            return ((BinaryType)value).getBytesDirect();
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger)value);
+        }
+        if (value instanceof java.util.Date && !executionFactory.isDefaultTimeZone()) {
+            return executionFactory.getTypeFacility().convertDate((java.util.Date)value,
+                    executionFactory.getDatabaseCalendar().getTimeZone(), TimestampWithTimezone.getCalendar(), value.getClass());
+        }
+        return value;
+    }
+
+}
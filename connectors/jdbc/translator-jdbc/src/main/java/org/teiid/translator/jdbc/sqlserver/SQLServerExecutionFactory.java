@@ -68,6 +68,7 @@ import org.teiid.translator.Translator;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TypeFacility;
 import org.teiid.translator.jdbc.AliasModifier;
+import org.teiid.translator.jdbc.BulkLoader;
 import org.teiid.translator.jdbc.ConvertModifier;
 import org.teiid.translator.jdbc.FunctionModifier;
 import org.teiid.translator.jdbc.JDBCExecutionFactory;
@@ -613,6 +614,18 @@ public class SQLServerExecutionFactory extends SybaseExecutionFactory {
         return new SQLServerMetadataProcessor();
     }
 
+    /**
+     * Uses the bulk copy api when the connection is from the Microsoft driver
+     */
+    @Override
+    public BulkLoader getBulkLoader(Insert insert, Connection connection,
+            ExecutionContext context) {
+        if (!SQLServerBulkLoader.isSupported(insert, connection)) {
+            return null;
+        }
+        return new SQLServerBulkLoader(insert, this);
+    }
+
 
     @Override
     protected boolean usesDatabaseVersion() {
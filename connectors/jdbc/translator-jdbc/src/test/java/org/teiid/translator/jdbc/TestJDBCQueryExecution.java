@@ -0,0 +1,94 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teiid.dqp.internal.datamgr.FakeExecutionContextImpl;
+import org.teiid.language.QueryExpression;
+import org.teiid.translator.jdbc.postgresql.PostgreSQLExecutionFactory;
+import org.teiid.util.Version;
+
+import java.sql.*;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("nls")
+public class TestJDBCQueryExecution {
+
+    @Test public void testStreaming() throws Exception {
+        QueryExpression command = (QueryExpression)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "select IntKey from BQT1.SmallA");
+        Connection connection = Mockito.mock(Connection.class);
+        Statement stmt = Mockito.mock(Statement.class);
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(connection.createStatement()).thenReturn(stmt);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Mockito.when(stmt.getFetchSize()).thenReturn(0);
+        Mockito.when(stmt.executeQuery("SELECT SmallA.IntKey FROM SmallA")).thenReturn(rs);
+
+        PostgreSQLExecutionFactory ef = new PostgreSQLExecutionFactory();
+        ef.setDatabaseVersion(Version.DEFAULT_VERSION);
+        ef.setUseBindVariables(false);
+        ef.setUseStreaming(true);
+        ef.start();
+        FakeExecutionContextImpl context = new FakeExecutionContextImpl();
+        JDBCQueryExecution execution = new JDBCQueryExecution(command, connection, context, ef);
+        execution.execute();
+        //the fetch size is required for a cursor
+        Mockito.verify(stmt, Mockito.times(2)).setFetchSize(context.getBatchSize());
+        Mockito.verify(connection).setAutoCommit(false);
+        execution.close();
+        Mockito.verify(connection).commit();
+        Mockito.verify(connection).setAutoCommit(true);
+    }
+
+    @Test public void testAdaptiveFetchSize() throws Exception {
+        QueryExpression command = (QueryExpression)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "select IntKey from BQT1.SmallA");
+        Connection connection = Mockito.mock(Connection.class);
+        Statement stmt = Mockito.mock(Statement.class);
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(connection.createStatement()).thenReturn(stmt);
+        Mockito.when(stmt.getFetchSize()).thenReturn(4);
+        Mockito.when(stmt.executeQuery("SELECT SmallA.IntKey FROM SmallA")).thenReturn(rs);
+        Mockito.when(rs.next()).thenReturn(true);
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setUseBindVariables(false);
+        ef.setAdaptiveFetchSizeKB(1);
+        ef.start();
+        FakeExecutionContextImpl context = new FakeExecutionContextImpl();
+        context.setBatchSize(4);
+        JDBCQueryExecution execution = new JDBCQueryExecution(command, connection, context, ef);
+        execution.execute();
+        for (int i = 0; i < 4; i++) {
+            execution.next();
+        }
+        //narrow rows increase the fetch size up to the max
+        Mockito.verify(rs).setFetchSize(16);
+        assertEquals(16, execution.getAdaptiveFetchSize());
+        Mockito.verify(connection, Mockito.never()).setAutoCommit(false);
+    }
+
+    @Test public void testEstimateSize() {
+        assertEquals(16, JDBCQueryExecution.estimateSize(null));
+        assertEquals(46, JDBCQueryExecution.estimateSize("abc"));
+        assertEquals(26, JDBCQueryExecution.estimateSize(new byte[10]));
+    }
+
+}
@@ -324,4 +324,48 @@ public class TestJDBCUpdateExecution {
             assertArrayEquals(new int[] {1}, counts);
         }
     }
+
+    @Test public void testBulkLoad() throws Exception {
+        Insert command = (Insert)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "insert into BQT1.SmallA (IntKey, StringKey) values (1, 'a')"); //$NON-NLS-1$
+        List<Expression> values = ((ExpressionValueSource)command.getValueSource()).getValues();
+        Parameter param = new Parameter();
+        param.setType(DataTypeManager.DefaultDataClasses.INTEGER);
+        param.setValueIndex(1);
+        values.set(0, param);
+        param = new Parameter();
+        param.setType(DataTypeManager.DefaultDataClasses.STRING);
+        param.setValueIndex(0);
+        values.set(1, param);
+        assertArrayEquals(new int[] {1, 0}, BulkLoader.getValueIndexes(command));
+        command.setParameterValues(Arrays.asList(Arrays.asList("a", 1), Arrays.asList("b", 2), Arrays.asList("c", 3)).iterator());
+
+        final List<List<Object>> loaded = new ArrayList<List<Object>>();
+        JDBCExecutionFactory config = new JDBCExecutionFactory() {
+            @Override
+            public BulkLoader getBulkLoader(Insert insert, Connection connection,
+                    org.teiid.translator.ExecutionContext context) {
+                return new BulkLoader(insert, this) {
+                    @Override
+                    public long load(Connection connection,
+                            java.util.Iterator<? extends List<?>> rows) {
+                        while (rows.hasNext()) {
+                            loaded.add(Arrays.asList(getRow(rows.next())));
+                        }
+                        return loaded.size();
+                    }
+                };
+            }
+        };
+        config.setUseBulkLoad(true);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+        JDBCUpdateExecution updateExecution = new JDBCUpdateExecution(command, connection, new FakeExecutionContextImpl(), config);
+        updateExecution.execute();
+        assertEquals(Arrays.asList(Arrays.asList(1, "a"), Arrays.asList(2, "b"), Arrays.asList(3, "c")), loaded);
+        assertArrayEquals(new int[] {3}, updateExecution.getUpdateCounts());
+        Mockito.verify(connection, Mockito.never()).prepareStatement(Mockito.anyString());
+        Mockito.verify(connection).setAutoCommit(false);
+        Mockito.verify(connection).commit();
+    }
 }
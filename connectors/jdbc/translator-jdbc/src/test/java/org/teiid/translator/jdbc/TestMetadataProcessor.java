@@ -26,8 +26,10 @@ import org.teiid.metadata.MetadataFactory;
 import org.teiid.metadata.Table;
 import org.teiid.query.metadata.SystemMetadata;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.Arrays;
@@ -89,4 +91,80 @@ public class TestMetadataProcessor {
         assertEquals("string[]", jmp.getRuntimeType(Types.ARRAY, "varchar[]", 100, 0));
     }
 
+    @Test public void testBulkImport() throws Exception {
+        final ResultSet pks = resultSet(new Object[] {null, "s", "t", "b", (short)2, "pk"},
+                new Object[] {null, "s", "t", "a", (short)1, "pk"},
+                new Object[] {null, "s", "other", "a", (short)1, "other_pk"});
+        JDBCMetadataProcessor processor = new JDBCMetadataProcessor() {
+            @Override
+            protected ResultSet executeBulkPrimaryKeyQuery(Connection conn)
+                    throws SQLException {
+                return pks;
+            }
+        };
+        processor.setBulkImport(true);
+        processor.setUseTypeInfo(false);
+        processor.setSchemaPattern("s");
+        processor.setExcludeTables(".*other");
+        MetadataFactory mf = new MetadataFactory("vdb", 1, "x", SystemMetadata.getInstance().getRuntimeTypeMap(), new Properties(), null);
+        Connection conn = Mockito.mock(Connection.class);
+        DatabaseMetaData dmd = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(conn.getMetaData()).thenReturn(dmd);
+        ResultSet tables = resultSet(new Object[] {null, "s", "t", "TABLE", null}, new Object[] {null, "s", "other", "TABLE", null});
+        Mockito.when(dmd.getTables(null, "s", null, null)).thenReturn(tables);
+        ResultSet columns = resultSet(new Object[] {null, "s", "t", "a", Types.INTEGER, "integer"},
+                new Object[] {null, "s", "t", "b", Types.VARCHAR, "varchar"},
+                new Object[] {null, "s", "other", "a", Types.INTEGER, "integer"});
+        Mockito.when(dmd.getColumns(null, "s", null, null)).thenReturn(columns);
+        ResultSet empty = resultSet();
+        Mockito.when(dmd.getIndexInfo(null, "s", "t", true, true)).thenReturn(empty);
+        Mockito.when(dmd.getImportedKeys(null, "s", "t")).thenReturn(empty);
+
+        processor.getConnectorMetadata(conn, mf);
+
+        Mockito.verify(dmd).getColumns(null, "s", null, null);
+        Mockito.verify(dmd, Mockito.never()).getPrimaryKeys(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        assertEquals(1, mf.getSchema().getTables().size());
+        Table t = mf.getSchema().getTable("t");
+        assertEquals(2, t.getColumns().size());
+        assertEquals("pk", t.getPrimaryKey().getName());
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(t.getPrimaryKey().getColumns().get(0).getName(), t.getPrimaryKey().getColumns().get(1).getName()));
+    }
+
+    private static ResultSet resultSet(final Object[]... rows) throws SQLException {
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        final int[] row = new int[] {-1};
+        Mockito.when(rs.next()).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                return ++row[0] < rows.length;
+            }
+        });
+        Answer<Object> value = new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                int index = (Integer)invocation.getArguments()[0] - 1;
+                if (index >= rows[row[0]].length) {
+                    return null;
+                }
+                return rows[row[0]][index];
+            }
+        };
+        Mockito.when(rs.getString(Mockito.anyInt())).thenAnswer(value);
+        Mockito.when(rs.getShort(Mockito.anyInt())).thenAnswer(value);
+        Mockito.when(rs.getInt(Mockito.anyInt())).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                int index = (Integer)invocation.getArguments()[0] - 1;
+                if (index >= rows[row[0]].length) {
+                    return 0;
+                }
+                return (Integer)rows[row[0]][index];
+            }
+        });
+        ResultSetMetaData rsmd = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(rs.getMetaData()).thenReturn(rsmd);
+        return rs;
+    }
+
 }
@@ -20,9 +20,14 @@ package org.teiid.translator.jdbc.mysql;
 
 import static org.junit.Assert.*;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.teiid.core.types.BlobType;
 import org.teiid.core.types.GeometryType;
 import org.teiid.query.function.GeometryUtils;
@@ -419,4 +424,20 @@ public class TestMySQLTranslator {
             output, TRANSLATOR);
     }
 
+    @Test public void testStreaming() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        DatabaseMetaData dmd = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(connection.getMetaData()).thenReturn(dmd);
+        Mockito.when(dmd.getURL()).thenReturn("jdbc:mysql://localhost/test");
+        Statement statement = Mockito.mock(Statement.class);
+        assertFalse(TRANSLATOR.setStreaming(null, null, connection, statement));
+        Mockito.verify(statement).setFetchSize(Integer.MIN_VALUE);
+
+        //server side cursors are used instead
+        Mockito.when(dmd.getURL()).thenReturn("jdbc:mysql://localhost/test?useCursorFetch=true");
+        statement = Mockito.mock(Statement.class);
+        assertFalse(TRANSLATOR.setStreaming(null, null, connection, statement));
+        Mockito.verify(statement, Mockito.never()).setFetchSize(Mockito.anyInt());
+    }
+
 }
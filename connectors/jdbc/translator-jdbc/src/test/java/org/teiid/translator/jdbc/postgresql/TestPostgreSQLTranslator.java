@@ -26,7 +26,10 @@ import org.teiid.core.util.SimpleMock;
 import org.teiid.core.util.TimestampWithTimezone;
 import org.teiid.language.Array;
 import org.teiid.language.Expression;
+import org.teiid.language.ExpressionValueSource;
+import org.teiid.language.Insert;
 import org.teiid.language.Literal;
+import org.teiid.language.Parameter;
 import org.teiid.translator.SourceSystemFunctions;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.jdbc.TranslationHelper;
@@ -35,6 +38,7 @@ import org.teiid.util.Version;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.Arrays;
+import java.util.List;
 import java.util.TimeZone;
 
 import static org.junit.Assert.*;
@@ -764,4 +768,21 @@ public class TestPostgreSQLTranslator {
         assertEquals("2001-01-01 05:02:03.123456", PostgreSQLExecutionFactory.convertTimestampTZ("2001-01-01 01:02:03.123456-04").toString());
     }
 
+    @Test public void testBulkLoadCsv() throws Exception {
+        Insert command = (Insert)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "insert into BQT1.SmallA (IntKey, StringKey, ByteNum) values (1, 'a', 2)");
+        List<Expression> values = ((ExpressionValueSource)command.getValueSource()).getValues();
+        for (int i = 0; i < values.size(); i++) {
+            Parameter param = new Parameter();
+            param.setType(values.get(i).getType());
+            param.setValueIndex(i);
+            values.set(i, param);
+        }
+        PostgreSQLBulkLoader loader = new PostgreSQLBulkLoader(command, TRANSLATOR);
+        assertEquals("COPY SmallA (IntKey, StringKey, ByteNum) FROM STDIN WITH (FORMAT csv)", loader.getCopySql());
+        StringBuilder line = new StringBuilder();
+        loader.appendRow(new Object[] {1, "a\"b,c", null}, line);
+        assertEquals("1,\"a\"\"b,c\",\n", line.toString());
+        assertFalse(PostgreSQLBulkLoader.isSupported(command, Mockito.mock(Connection.class)));
+    }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.odata4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.apache.olingo.client.api.serialization.ODataDeserializerException;
+import org.apache.olingo.client.core.serialization.JsonDeserializer;
+import org.apache.olingo.commons.api.data.Entity;
+import org.teiid.translator.TranslatorException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads the entities of a JSON entity collection response one at a time, rather than
+ * deserializing the whole response into an EntityCollection.
+ * <br>
+ * The @odata.nextLink is available from {@link #getNextLink()} as soon as it has been
+ * read, which may be before the first entity if the service writes it ahead of the value.
+ */
+class JsonEntitySetReader {
+
+    private static final String VALUE = "value"; //$NON-NLS-1$
+    private static final String NEXT_LINK = "@odata.nextLink"; //$NON-NLS-1$
+    private static final String NEXT_LINK_NO_PREFIX = "odata.nextLink"; //$NON-NLS-1$
+
+    private static JsonFactory factory = new JsonFactory();
+
+    private JsonParser parser;
+    private JsonDeserializer deserializer = new JsonDeserializer(false);
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private URI nextLink;
+    private boolean inValue;
+    private boolean done;
+
+    JsonEntitySetReader(InputStream payload) throws TranslatorException {
+        if (payload == null) {
+            this.done = true;
+            return;
+        }
+        try {
+            this.parser = factory.createParser(payload);
+            JsonToken token = this.parser.nextToken();
+            if (token != JsonToken.START_OBJECT) {
+                close();
+                throw new TranslatorException(ODataPlugin.Util.gs(ODataPlugin.Event.TEIID17036, token));
+            }
+            readToValue();
+        } catch (IOException e) {
+            close();
+            throw new TranslatorException(e);
+        }
+    }
+
+    /**
+     * Read the top level fields up to the start of the value array, or to the end of the response.
+     */
+    private void readToValue() throws IOException {
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = this.parser.getCurrentName();
+            JsonToken token = this.parser.nextToken();
+            if (VALUE.equals(name) && token == JsonToken.START_ARRAY) {
+                this.inValue = true;
+                return;
+            }
+            if ((NEXT_LINK.equals(name) || NEXT_LINK_NO_PREFIX.equals(name)) && token == JsonToken.VALUE_STRING) {
+                this.nextLink = URI.create(this.parser.getText());
+            } else {
+                this.parser.skipChildren();
+            }
+        }
+        close();
+    }
+
+    /**
+     * @return the next document or null if there are no more entities
+     */
+    public ODataDocument next() throws TranslatorException {
+        try {
+            while (!this.done) {
+                if (!this.inValue) {
+                    readToValue();
+                    continue;
+                }
+                JsonToken token = this.parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    //only the current entity is held in memory
+                    this.buffer.reset();
+                    try (JsonGenerator generator = factory.createGenerator(this.buffer)) {
+                        generator.copyCurrentStructure(this.parser);
+                    }
+                    Entity entity = this.deserializer.toEntity(new ByteArrayInputStream(this.buffer.toByteArray())).getPayload();
+                    return ODataDocument.createDocument(entity);
+                }
+                if (token == JsonToken.END_ARRAY) {
+                    this.inValue = false;
+                } else if (token == null) {
+                    close();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new TranslatorException(e);
+        } catch (ODataDeserializerException e) {
+            close();
+            throw new TranslatorException(e);
+        }
+        return null;
+    }
+
+    public URI getNextLink() {
+        return this.nextLink;
+    }
+
+    public void close() {
+        this.done = true;
+        if (this.parser != null) {
+            try {
+                this.parser.close();
+            } catch (IOException e) {
+            }
+            this.parser = null;
+        }
+    }
+}
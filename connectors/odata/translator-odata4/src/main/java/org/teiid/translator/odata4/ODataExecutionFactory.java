@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import org.teiid.resource.api.ConnectionFactory;
 
@@ -33,6 +35,7 @@ import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.client.core.serialization.ClientODataDeserializerImpl;
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.StringUtil;
 import org.teiid.language.Call;
@@ -68,6 +71,9 @@ public class ODataExecutionFactory extends ExecutionFactory<ConnectionFactory, W
     private boolean supportsOdataSkip;
     private boolean supportsOdataTop;
     private boolean supportsUpdates = true;
+    private boolean prefetchNextPage = true;
+
+    private ExecutorService prefetchExecutor;
     private XMLMetadata serviceMatadata;
 
     public ODataExecutionFactory() {
@@ -132,6 +138,16 @@ public class ODataExecutionFactory extends ExecutionFactory<ConnectionFactory, W
     @Override
     public void start() throws TranslatorException {
         super.start();
+        this.prefetchExecutor = ExecutorUtils.newFixedThreadPool(Math.max(8, 2 * Runtime.getRuntime().availableProcessors()), "OData Prefetch Worker"); //$NON-NLS-1$
+    }
+
+    @Override
+    public void stop() {
+        if (this.prefetchExecutor != null) {
+            this.prefetchExecutor.shutdownNow();
+            this.prefetchExecutor = null;
+        }
+        super.stop();
     }
 
     @Override
@@ -318,6 +334,28 @@ public class ODataExecutionFactory extends ExecutionFactory<ConnectionFactory, W
         this.supportsUpdates = supports;
     }
 
+    @TranslatorProperty(display="Prefetch Next Page",
+            description="True, if the @odata.nextLink page should be requested while the current page is read",
+            advanced=true)
+    public boolean isPrefetchNextPage() {
+        return prefetchNextPage;
+    }
+
+    public void setPrefetchNextPage(boolean prefetchNextPage) {
+        this.prefetchNextPage = prefetchNextPage;
+    }
+
+    /**
+     * Get the {@link Executor} used to request the next page of results,
+     * or null if the next page should not be prefetched or the translator is not started.
+     */
+    public Executor getPrefetchExecutor() {
+        if (!this.prefetchNextPage) {
+            return null;
+        }
+        return prefetchExecutor;
+    }
+
     @Override
     public boolean supportsCompareCriteriaEquals() {
         return this.supportsOdataFilter;
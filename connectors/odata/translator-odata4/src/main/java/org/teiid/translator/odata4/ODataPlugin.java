@@ -65,6 +65,7 @@ public class ODataPlugin {
         TEIID17032,
         TEIID17033,
         TEIID17034,
-        TEIID17035
+        TEIID17035,
+        TEIID17036
     }
 }
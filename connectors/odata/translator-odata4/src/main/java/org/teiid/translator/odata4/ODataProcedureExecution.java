@@ -140,6 +140,7 @@ public class ODataProcedureExecution extends BaseQueryExecution implements Proce
                             new HttpStatusCode[] { HttpStatusCode.OK });
                 }
             };
+            this.response.setPrefetchExecutor(this.translator.getPrefetchExecutor(), this.executionContext);
         } else if (getReturnParameter() != null) {
             // this is scalar result
             JsonDeserializer parser = new JsonDeserializer(false);
@@ -173,6 +174,9 @@ public class ODataProcedureExecution extends BaseQueryExecution implements Proce
 
     @Override
     public void close() {
+        if (this.response != null) {
+            this.response.close();
+        }
     }
 
     @Override
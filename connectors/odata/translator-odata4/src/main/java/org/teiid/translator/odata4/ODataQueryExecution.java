@@ -109,6 +109,7 @@ public class ODataQueryExecution extends BaseQueryExecution implements ResultSet
                     });
                 }
             };
+            this.response.setPrefetchExecutor(this.translator.getPrefetchExecutor(), this.executionContext);
         }
     }
 
@@ -134,6 +135,9 @@ public class ODataQueryExecution extends BaseQueryExecution implements ResultSet
 
     @Override
     public void close() {
+        if (this.response != null) {
+            this.response.close();
+        }
     }
 
     @Override
@@ -17,20 +17,26 @@
  */
 package org.teiid.translator.odata4;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.olingo.client.api.serialization.ODataDeserializerException;
 import org.apache.olingo.client.core.serialization.JsonDeserializer;
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
-import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.data.Property;
+import org.teiid.translator.DataNotAvailableException;
+import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.PrefetchTask;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.document.DocumentNode;
 import org.teiid.translator.odata4.ODataMetadataProcessor.ODataType;
@@ -39,9 +45,13 @@ import org.teiid.translator.odata4.ODataMetadataProcessor.ODataType;
 public abstract class ODataResponse {
     private URI nextUri;
     private Iterator<ODataDocument> results;
+    private JsonEntitySetReader reader;
     private ODataType resultsType;
     private List<Map<String, Object>> currentDocumentRows;
     private DocumentNode rootNode;
+    private Executor prefetchExecutor;
+    private ExecutionContext executionContext;
+    private PrefetchTask<InputStream> prefetch;
 
     public ODataResponse(InputStream payload, ODataType type, DocumentNode rootNode) throws TranslatorException {
         this.resultsType = type;
@@ -57,13 +67,9 @@ public abstract class ODataResponse {
                 ODataDocument document = ODataDocument.createDocument(entity);
                 return Arrays.asList(document).iterator();
             } else if (this.resultsType == ODataType.ENTITY_COLLECTION) {
-                EntityCollection entityCollection = parser.toEntitySet(payload).getPayload();
-                this.nextUri = entityCollection.getNext();
-                ArrayList<ODataDocument> documents = new ArrayList<ODataDocument>();
-                for (Entity entity : entityCollection.getEntities()) {
-                    documents.add(ODataDocument.createDocument(entity));
-                }
-                return documents.iterator();
+                //entities are read as they are needed
+                this.reader = new JsonEntitySetReader(payload);
+                return Collections.emptyIterator();
             } else {
                 // complex
                 Property property = parser.toProperty(payload).getPayload();
@@ -84,26 +90,99 @@ public abstract class ODataResponse {
         }
     }
 
-    public Map<String, Object> getNext() throws TranslatorException {
+    public Map<String, Object> getNext() throws TranslatorException, DataNotAvailableException {
 
         if (this.currentDocumentRows != null && !this.currentDocumentRows.isEmpty()) {
             return this.currentDocumentRows.remove(0);
         }
 
-        if (this.results.hasNext()) {
-            this.currentDocumentRows = this.rootNode.tuples(this.results.next());
+        ODataDocument document = nextDocument();
+        if (document != null) {
+            this.currentDocumentRows = this.rootNode.tuples(document);
             return getNext();
         } else {
             if (this.nextUri != null) {
-                this.results = fetchSkipToken(this.nextUri);
+                this.results = fetchSkipToken();
                 return getNext();
             }
         }
         return null;
     }
 
-    private Iterator<ODataDocument> fetchSkipToken(URI uri) throws TranslatorException {
-        return parsePayload(nextBatch(uri));
+    private ODataDocument nextDocument() throws TranslatorException {
+        if (this.reader == null) {
+            if (this.results.hasNext()) {
+                return this.results.next();
+            }
+            return null;
+        }
+        ODataDocument document = this.reader.next();
+        if (this.nextUri == null && this.reader.getNextLink() != null) {
+            this.nextUri = this.reader.getNextLink();
+            prefetch();
+        }
+        if (document == null) {
+            this.reader = null;
+        }
+        return document;
+    }
+
+    /**
+     * Request the next page while the current page is being read
+     */
+    private void prefetch() {
+        if (this.prefetchExecutor == null) {
+            return;
+        }
+        final URI uri = this.nextUri;
+        this.prefetch = new PrefetchTask<InputStream>(() -> nextBatch(uri), this.executionContext);
+        try {
+            this.prefetchExecutor.execute(this.prefetch);
+        } catch (RejectedExecutionException e) {
+            //the translator is stopping, the page will be requested when needed
+            this.prefetch = null;
+        }
+    }
+
+    private Iterator<ODataDocument> fetchSkipToken() throws TranslatorException, DataNotAvailableException {
+        InputStream payload = null;
+        if (this.prefetch == null) {
+            payload = nextBatch(this.nextUri);
+        } else {
+            payload = this.prefetch.getResult();
+            this.prefetch = null;
+        }
+        this.nextUri = null;
+        return parsePayload(payload);
+    }
+
+    /**
+     * Set the {@link Executor} used to request the @odata.nextLink page of an entity
+     * collection while the current page is read.  If null, the default, the next page is
+     * requested after the current page has been read.
+     * @param executionContext notified when the next page is available
+     */
+    public void setPrefetchExecutor(Executor prefetchExecutor, ExecutionContext executionContext) {
+        this.prefetchExecutor = prefetchExecutor;
+        this.executionContext = executionContext;
+    }
+
+    public void close() {
+        if (this.reader != null) {
+            this.reader.close();
+            this.reader = null;
+        }
+        if (this.prefetch != null) {
+            //an in flight page is closed when it arrives
+            this.prefetch.close(payload -> {
+                try {
+                    payload.close();
+                } catch (IOException e) {
+                    //ignore
+                }
+            });
+            this.prefetch = null;
+        }
     }
 
     public abstract InputStream nextBatch(URI uri) throws TranslatorException;
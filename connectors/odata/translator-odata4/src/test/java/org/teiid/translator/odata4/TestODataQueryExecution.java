@@ -27,6 +27,7 @@ import org.mockito.Mockito;
 import org.teiid.cdk.api.TranslationUtility;
 import org.teiid.core.types.ClobType;
 import org.teiid.core.types.GeometryType;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.UnitTestUtil;
 import org.teiid.language.Call;
@@ -34,9 +35,13 @@ import org.teiid.language.Command;
 import org.teiid.language.QueryExpression;
 import org.teiid.metadata.MetadataFactory;
 import org.teiid.query.function.GeometryUtils;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.ProcedureExecution;
 import org.teiid.translator.ResultSetExecution;
+import org.teiid.translator.TranslatorException;
+import org.teiid.translator.document.DocumentNode;
+import org.teiid.translator.odata4.ODataMetadataProcessor.ODataType;
 import org.teiid.translator.ws.WSConnection;
 
 import jakarta.activation.DataSource;
@@ -45,7 +50,9 @@ import jakarta.xml.ws.Service.Mode;
 import jakarta.xml.ws.handler.MessageContext;
 import jakarta.xml.ws.http.HTTPBinding;
 import java.io.*;
+import java.net.URI;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -695,4 +702,94 @@ public class TestODataQueryExecution {
                 excution.next());
     }
 
+    @Test
+    public void testStreamingWithNextLinkPrefetch() throws Exception {
+        String page1 = "{\"@odata.context\":\"$metadata#People\",\"@odata.nextLink\":\"People?$skiptoken=2\","
+                + "\"value\":[{\"UserName\":\"a\",\"Emails\":[\"a@example.com\"]},{\"UserName\":\"b\"}],\"@odata.count\":3}";
+        final String page2 = "{\"value\":[{\"UserName\":\"c\"}]}";
+        final List<URI> requested = new ArrayList<URI>();
+        ODataResponse response = new ODataResponse(new ByteArrayInputStream(page1.getBytes("UTF-8")), ODataType.ENTITY_COLLECTION, new DocumentNode()) {
+            @Override
+            public InputStream nextBatch(URI uri) throws TranslatorException {
+                requested.add(uri);
+                try {
+                    return new ByteArrayInputStream(page2.getBytes("UTF-8"));
+                } catch (UnsupportedEncodingException e) {
+                    throw new TranslatorException(e);
+                }
+            }
+        };
+        response.setPrefetchExecutor(ExecutorUtils.getDirectExecutor(), Mockito.mock(ExecutionContext.class));
+
+        assertEquals("a", response.getNext().get("UserName"));
+        //the next page is requested as soon as the next link is read
+        assertEquals(Arrays.asList(URI.create("People?$skiptoken=2")), requested);
+        assertEquals("b", response.getNext().get("UserName"));
+        assertEquals("c", response.getNext().get("UserName"));
+        assertNull(response.getNext());
+        assertEquals(1, requested.size());
+        response.close();
+    }
+
+    @Test
+    public void testPendingNextLinkPrefetch() throws Exception {
+        String page1 = "{\"@odata.nextLink\":\"People?$skiptoken=1\",\"value\":[{\"UserName\":\"a\"}]}";
+        final String page2 = "{\"value\":[{\"UserName\":\"b\"}]}";
+        final List<InputStream> returned = new ArrayList<InputStream>();
+        final boolean[] closed = new boolean[1];
+        ODataResponse response = new ODataResponse(new ByteArrayInputStream(page1.getBytes("UTF-8")), ODataType.ENTITY_COLLECTION, new DocumentNode()) {
+            @Override
+            public InputStream nextBatch(URI uri) throws TranslatorException {
+                //the response is closed while the page is in flight
+                close();
+                InputStream result = new ByteArrayInputStream(page2.getBytes()) {
+                    @Override
+                    public void close() throws IOException {
+                        closed[0] = true;
+                    }
+                };
+                returned.add(result);
+                return result;
+            }
+        };
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        response.setPrefetchExecutor(pending::add, context);
+
+        assertEquals("a", response.getNext().get("UserName"));
+        //the engine is not blocked waiting for the next page
+        try {
+            response.getNext();
+            fail();
+        } catch (DataNotAvailableException e) {
+            assertSame(DataNotAvailableException.NO_POLLING, e);
+        }
+        //the page arrives after the response is closed and is then released
+        pending.get(0).run();
+        assertEquals(1, returned.size());
+        assertTrue(closed[0]);
+        Mockito.verify(context, Mockito.never()).dataAvailable();
+    }
+
+    @Test
+    public void testClosedBeforeNextLinkPrefetch() throws Exception {
+        String page1 = "{\"@odata.nextLink\":\"People?$skiptoken=1\",\"value\":[{\"UserName\":\"a\"}]}";
+        final List<URI> requested = new ArrayList<URI>();
+        ODataResponse response = new ODataResponse(new ByteArrayInputStream(page1.getBytes("UTF-8")), ODataType.ENTITY_COLLECTION, new DocumentNode()) {
+            @Override
+            public InputStream nextBatch(URI uri) throws TranslatorException {
+                requested.add(uri);
+                return null;
+            }
+        };
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        response.setPrefetchExecutor(pending::add, Mockito.mock(ExecutionContext.class));
+
+        assertEquals("a", response.getNext().get("UserName"));
+        response.close();
+        //the queued request is not made
+        pending.get(0).run();
+        assertTrue(requested.isEmpty());
+    }
+
 }
@@ -23,7 +23,10 @@ import static org.teiid.translator.TypeFacility.RUNTIME_NAMES.STRING;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.language.Argument;
 import org.teiid.language.Call;
 import org.teiid.language.Command;
@@ -64,6 +67,11 @@ public class SalesForceExecutionFactory extends ExecutionFactory<ConnectionFacto
     private boolean bulk;
     private boolean hardDelete;
     private int maxFromGroups = 2;
+    private int maxConcurrentBulkResults = 4;
+    private boolean prefetchQueryResults = true;
+
+    private ExecutorService bulkResultExecutor;
+    private ExecutorService prefetchExecutor;
 
     public SalesForceExecutionFactory() {
         /*there are multiple issues:
@@ -87,9 +95,26 @@ public class SalesForceExecutionFactory extends ExecutionFactory<ConnectionFacto
         super.start();
         addPushDownFunction(SALESFORCE, INCLUDES, BOOLEAN, STRING, STRING);
         addPushDownFunction(SALESFORCE, EXCLUDES, BOOLEAN, STRING, STRING);
+        int threads = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+        //bulk result readers block for the whole result set, so they don't share threads with the prefetches
+        bulkResultExecutor = ExecutorUtils.newFixedThreadPool(threads, "Salesforce Bulk Result Worker"); //$NON-NLS-1$
+        prefetchExecutor = ExecutorUtils.newFixedThreadPool(threads, "Salesforce Query Prefetch Worker"); //$NON-NLS-1$
         LogManager.logTrace(LogConstants.CTX_CONNECTOR, "Salesforce ExecutionFactory Started"); //$NON-NLS-1$
     }
 
+    @Override
+    public void stop() {
+        if (bulkResultExecutor != null) {
+            bulkResultExecutor.shutdownNow();
+            bulkResultExecutor = null;
+        }
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+        super.stop();
+    }
+
 
     @Override
     public ResultSetExecution createResultSetExecution(QueryExpression command, ExecutionContext executionContext, RuntimeMetadata metadata, SalesforceConnection connection)
@@ -310,6 +335,43 @@ public class SalesForceExecutionFactory extends ExecutionFactory<ConnectionFacto
         this.hardDelete = hardDelete;
     }
 
+    @TranslatorProperty(display="Max Concurrent Bulk Results", description="Defaults to 4. The number of bulk query result sets, such as those of pk chunks, that will be downloaded and parsed concurrently.  Set to 1 to read the results serially.", advanced=true)
+    public int getMaxConcurrentBulkResults() {
+        return maxConcurrentBulkResults;
+    }
+
+    public void setMaxConcurrentBulkResults(int maxConcurrentBulkResults) {
+        if (maxConcurrentBulkResults < 1) {
+            throw new AssertionError("Max concurrent bulk results must be greater than 0"); //$NON-NLS-1$
+        }
+        this.maxConcurrentBulkResults = maxConcurrentBulkResults;
+    }
+
+    @TranslatorProperty(display="Prefetch Query Results", description="Defaults to true. Set to false to not request the next page of non-bulk query results while the current page is being processed.", advanced=true)
+    public boolean isPrefetchQueryResults() {
+        return prefetchQueryResults;
+    }
+
+    public void setPrefetchQueryResults(boolean prefetchQueryResults) {
+        this.prefetchQueryResults = prefetchQueryResults;
+    }
+
+    /**
+     * Get the {@link Executor} used to download and parse bulk results.
+     * @return the executor or null if the translator is not started
+     */
+    public Executor getBulkResultExecutor() {
+        return bulkResultExecutor;
+    }
+
+    /**
+     * Get the {@link Executor} used to prefetch query results.
+     * @return the executor or null if the translator is not started
+     */
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
     @Override
     public boolean supportsOrderByNullOrdering() {
         return true;
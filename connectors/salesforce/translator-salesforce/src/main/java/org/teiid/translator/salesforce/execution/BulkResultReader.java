@@ -0,0 +1,218 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.salesforce.execution;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.translator.DataNotAvailableException;
+import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.TranslatorException;
+import org.teiid.translator.salesforce.SalesforceConnection;
+import org.teiid.translator.salesforce.SalesforceConnection.BatchResultInfo;
+import org.teiid.translator.salesforce.SalesforceConnection.BulkBatchResult;
+
+/**
+ * Reads the result sets of a bulk query job.
+ * <br>
+ * With a concurrency greater than 1 each result set, such as the result of a pk chunk, is parsed by
+ * a worker into a bounded queue.  Up to the concurrency result sets are read ahead of the result
+ * set being returned, and rows are returned in result set order.  The engine is notified via
+ * {@link ExecutionContext#dataAvailable()} when rows are added to an empty queue.
+ */
+class BulkResultReader {
+
+    private static final long OFFER_WAIT = 100;
+
+    private class ResultTask implements Runnable {
+        private BulkBatchResult result;
+        private ArrayBlockingQueue<List<String>> rows = new ArrayBlockingQueue<List<String>>(queueSize);
+        private volatile boolean done;
+        private volatile Throwable failure;
+
+        ResultTask(BulkBatchResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            try {
+                //throw the header away
+                if (!closed && result.nextRecord() == null) {
+                    throw new AssertionError("Expected header row"); //$NON-NLS-1$
+                }
+                List<String> row = null;
+                while (!closed && (row = result.nextRecord()) != null) {
+                    boolean wasEmpty = rows.isEmpty();
+                    while (!rows.offer(row, OFFER_WAIT, TimeUnit.MILLISECONDS)) {
+                        if (closed) {
+                            return;
+                        }
+                    }
+                    if (wasEmpty) {
+                        context.dataAvailable();
+                    }
+                }
+            } catch (InterruptedException e) {
+                failure = e;
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                result.close();
+                done = true;
+                context.dataAvailable();
+            }
+        }
+    }
+
+    private SalesforceConnection connection;
+    private ExecutionContext context;
+    private Executor executor;
+    private String jobId;
+    private BatchResultInfo batchInfo;
+    private int concurrency;
+    private int queueSize;
+
+    private ArrayDeque<ResultTask> tasks = new ArrayDeque<ResultTask>();
+    private BulkBatchResult current;
+    private boolean exhausted;
+    private long nextCheck;
+    private volatile boolean closed;
+
+    BulkResultReader(SalesforceConnection connection, ExecutionContext context,
+            Executor executor, String jobId, BatchResultInfo batchInfo, int concurrency) {
+        this.connection = connection;
+        this.context = context;
+        this.executor = executor;
+        this.jobId = jobId;
+        this.batchInfo = batchInfo;
+        this.concurrency = concurrency;
+        this.queueSize = Math.max(256, context.getBatchSize());
+    }
+
+    /**
+     * @return the next record or null if there are no more results
+     */
+    public List<String> nextRecord() throws TranslatorException, DataNotAvailableException {
+        if (concurrency <= 1) {
+            return nextSerialRecord();
+        }
+        while (true) {
+            startTasks();
+            ResultTask task = tasks.peek();
+            if (task == null) {
+                return null;
+            }
+            List<String> row = task.rows.poll();
+            if (row != null) {
+                return row;
+            }
+            if (!task.done) {
+                throw DataNotAvailableException.NO_POLLING;
+            }
+            //rows may have been added before done was set
+            row = task.rows.poll();
+            if (row != null) {
+                return row;
+            }
+            if (task.failure != null) {
+                throw new TranslatorException(task.failure);
+            }
+            tasks.remove();
+        }
+    }
+
+    private List<String> nextSerialRecord() throws TranslatorException {
+        List<String> row = null;
+        try {
+            while (row == null) {
+                if (current == null) {
+                    current = connection.getBatchQueryResults(jobId, batchInfo);
+                    if (current == null) {
+                        return null;
+                    }
+                    //throw the header away
+                    if (current.nextRecord() == null) {
+                        throw new AssertionError("Expected header row"); //$NON-NLS-1$
+                    }
+                }
+                row = current.nextRecord();
+                if (row == null) {
+                    current.close();
+                    current = null;
+                }
+            }
+        } catch (IOException e) {
+            throw new TranslatorException(e);
+        }
+        return row;
+    }
+
+    /**
+     * Start reading result sets until the concurrency is reached.  If the
+     * next result set is not yet available and there are no active tasks,
+     * the {@link DataNotAvailableException} is propagated so that the engine
+     * will poll as with serial reading.
+     */
+    private void startTasks() throws TranslatorException {
+        while (!exhausted && tasks.size() < concurrency) {
+            if (!tasks.isEmpty() && System.currentTimeMillis() < nextCheck) {
+                return;
+            }
+            BulkBatchResult result = null;
+            try {
+                result = connection.getBatchQueryResults(jobId, batchInfo);
+            } catch (DataNotAvailableException e) {
+                if (tasks.isEmpty()) {
+                    throw e;
+                }
+                nextCheck = System.currentTimeMillis() + Math.max(0, e.getRetryDelay());
+                return;
+            }
+            if (result == null) {
+                exhausted = true;
+                return;
+            }
+            ResultTask task = new ResultTask(result);
+            tasks.add(task);
+            LogManager.logTrace(LogConstants.CTX_CONNECTOR, "Reading bulk result set", tasks.size(), "of", concurrency, "for job", jobId); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            executor.execute(task);
+        }
+    }
+
+    public void close() {
+        closed = true;
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        //stop any blocking reads
+        for (ResultTask task : tasks) {
+            task.result.close();
+        }
+        tasks.clear();
+    }
+
+}
@@ -17,7 +17,6 @@
  */
 package org.teiid.translator.salesforce.execution;
 
-import java.io.IOException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -31,6 +30,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -56,6 +57,7 @@ import org.teiid.metadata.RuntimeMetadata;
 import org.teiid.metadata.Table;
 import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.PrefetchTask;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.salesforce.SalesForceExecutionFactory;
@@ -63,7 +65,6 @@ import org.teiid.translator.salesforce.SalesForceMetadataProcessor;
 import org.teiid.translator.salesforce.SalesForcePlugin;
 import org.teiid.translator.salesforce.SalesforceConnection;
 import org.teiid.translator.salesforce.SalesforceConnection.BatchResultInfo;
-import org.teiid.translator.salesforce.SalesforceConnection.BulkBatchResult;
 import org.teiid.translator.salesforce.execution.visitors.JoinQueryVisitor;
 import org.teiid.translator.salesforce.execution.visitors.SelectVisitor;
 
@@ -192,7 +193,10 @@ public class QueryExecutionImpl implements ResultSetExecution {
     //bulk support
     private JobInfo activeJob;
     private BatchResultInfo batchInfo;
-    private BulkBatchResult batchResults;
+    private BulkResultReader bulkResults;
+
+    //the next page of query results
+    private PrefetchTask<QueryResult> nextResults;
 
 
     public QueryExecutionImpl(QueryExpression command, SalesforceConnection connection, RuntimeMetadata metadata, ExecutionContext context, SalesForceExecutionFactory salesForceExecutionFactory) {
@@ -224,9 +228,14 @@ public class QueryExecutionImpl implements ResultSetExecution {
                 LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Exception closing"); //$NON-NLS-1$
             }
         }
-        if (batchResults != null) {
-            batchResults.close();
-            batchResults = null;
+        if (bulkResults != null) {
+            bulkResults.close();
+            bulkResults = null;
+        }
+        if (nextResults != null) {
+            //the connection must not be in use once it is released
+            nextResults.closeAndWait(null);
+            nextResults = null;
         }
     }
 
@@ -265,6 +274,9 @@ public class QueryExecutionImpl implements ResultSetExecution {
                     LogManager.logDetail(LogConstants.CTX_CONNECTOR,  getLogPreamble(), "Using bulk logic", bulkValidator.usePkChunking()?"with":"without", "pk chunking"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                     this.activeJob = connection.createBulkJob(visitor.getTableName(), OperationEnum.query, bulkValidator.usePkChunking());
                     batchInfo = connection.addBatch(finalQuery, this.activeJob);
+                    Executor executor = executionFactory.getBulkResultExecutor();
+                    bulkResults = new BulkResultReader(connection, context, executor,
+                            activeJob.getId(), batchInfo, executor == null ? 1 : executionFactory.getMaxConcurrentBulkResults());
                     return;
                 }
                 LogManager.logDetail(LogConstants.CTX_CONNECTOR,  getLogPreamble(), "Ingoring bulk hint as the query is not bulk eligible"); //$NON-NLS-1$
@@ -277,27 +289,9 @@ public class QueryExecutionImpl implements ResultSetExecution {
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
         if (activeJob != null) {
-            List<String> row = null;
-            try {
-                while (row == null) {
-                    if (batchResults == null) {
-                        batchResults = connection.getBatchQueryResults(activeJob.getId(), batchInfo);
-                        if (batchResults == null) {
-                            return null;
-                        }
-                        //throw the header away
-                        if (batchResults.nextRecord() == null) {
-                            throw new AssertionError("Expected header row"); //$NON-NLS-1$
-                        }
-                    }
-                    row = batchResults.nextRecord();
-                    if (row == null) {
-                        batchResults.close();
-                        batchResults = null;
-                    }
-                }
-            } catch (IOException e) {
-                throw new TranslatorException(e);
+            List<String> row = bulkResults.nextRecord();
+            if (row == null) {
+                return null;
             }
             List<Object> result = new ArrayList<Object>();
             for (int j = 0; j < visitor.getSelectSymbolCount(); j++) {
@@ -311,33 +305,40 @@ public class QueryExecutionImpl implements ResultSetExecution {
             }
             return result;
         }
-        List<?> result = getRow(results);
+        List<?> result = getRow();
         return result;
     }
 
-    private List<Object> getRow(QueryResult result) throws TranslatorException {
-        List<Object> row;
+    private List<Object> getRow() throws TranslatorException, DataNotAvailableException {
         if(null == resultBatch) {
             loadBatch();
         }
-        if(resultBatch.size() == topResultIndex) {
-            row = null;
-        } else {
-            row = resultBatch.get(topResultIndex);
-            topResultIndex++;
-            if(resultBatch.size() == topResultIndex) {
-                if(!result.isDone()) {
-                    loadBatch();
-                }
+        //the next page is loaded only when needed, so that a pending prefetch does not hold up this row
+        while(resultBatch.size() == topResultIndex) {
+            if(results.isDone()) {
+                return null;
             }
-
+            loadBatch();
         }
-        return row;
+        return resultBatch.get(topResultIndex++);
     }
 
-    private void loadBatch() throws TranslatorException {
+    private void loadBatch() throws TranslatorException, DataNotAvailableException {
         if(null != resultBatch) { // if we have an old batch, then we have to get new results
-            results = connection.queryMore(results.getQueryLocator(), context.getBatchSize());
+            results = getNextResults();
+        }
+        Executor executor = executionFactory.getPrefetchExecutor();
+        if (!results.isDone() && executionFactory.isPrefetchQueryResults() && executor != null) {
+            //request the next page while this one is processed
+            final String queryLocator = results.getQueryLocator();
+            final int batchSize = context.getBatchSize();
+            nextResults = new PrefetchTask<QueryResult>(() -> connection.queryMore(queryLocator, batchSize), context);
+            try {
+                executor.execute(nextResults);
+            } catch (RejectedExecutionException e) {
+                //the translator is stopping, the page will be requested when needed
+                nextResults = null;
+            }
         }
         resultBatch = new ArrayList<List<Object>>();
         topResultIndex = 0;
@@ -352,6 +353,15 @@ public class QueryExecutionImpl implements ResultSetExecution {
         }
     }
 
+    private QueryResult getNextResults() throws TranslatorException, DataNotAvailableException {
+        if (nextResults == null) {
+            return connection.queryMore(results.getQueryLocator(), context.getBatchSize());
+        }
+        QueryResult result = nextResults.getResult();
+        nextResults = null;
+        return result;
+    }
+
         private List<Object[]> getObjectData(SObject sObject) throws TranslatorException {
             Iterator<XmlObject> topFields = sObject.getChildren();
             ArrayList<XmlObject> children = new ArrayList<XmlObject>();
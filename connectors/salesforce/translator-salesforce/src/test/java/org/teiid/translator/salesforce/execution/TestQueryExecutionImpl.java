@@ -29,6 +29,7 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.teiid.cdk.api.TranslationUtility;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.language.Select;
 import org.teiid.metadata.RuntimeMetadata;
 import org.teiid.query.unittest.TimestampUtil;
@@ -45,6 +46,7 @@ import java.io.IOException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.*;
 
@@ -273,7 +275,9 @@ public class TestQueryExecutionImpl {
         ExecutionContext mock = Mockito.mock(ExecutionContext.class);
         Mockito.when(mock.getSourceHint()).thenReturn("bulk");
 
-        QueryExecutionImpl execution = new QueryExecutionImpl(command, connection, Mockito.mock(RuntimeMetadata.class), mock, new SalesForceExecutionFactory());
+        SalesForceExecutionFactory ef = new SalesForceExecutionFactory();
+        ef.setMaxConcurrentBulkResults(1);
+        QueryExecutionImpl execution = new QueryExecutionImpl(command, connection, Mockito.mock(RuntimeMetadata.class), mock, ef);
 
         execution.execute();
 
@@ -288,4 +292,135 @@ public class TestQueryExecutionImpl {
         assertNull(execution.next());
     }
 
+    @Test
+    public void testConcurrentBulkResults() throws Exception {
+        Select command = (Select)translationUtility.parseCommand("select Name from Account"); //$NON-NLS-1$
+
+        SalesforceConnection connection = Mockito.mock(SalesforceConnection.class);
+        JobInfo jobInfo = Mockito.mock(JobInfo.class);
+        Mockito.when(jobInfo.getId()).thenReturn("job");
+        Mockito.when(connection.createBulkJob(Mockito.anyString(), Mockito.eq(OperationEnum.query), Mockito.eq(true))).thenReturn(jobInfo);
+        final BatchResultInfo info = new BatchResultInfo("x");
+        Mockito.when(connection.addBatch("SELECT Name FROM Account", jobInfo)).thenReturn(info);
+
+        final List<List<String>> chunks = Arrays.asList(Arrays.asList("A", "B"), Arrays.asList("C"), Arrays.asList("D"));
+        final List<BulkBatchResult> opened = new ArrayList<BulkBatchResult>();
+        Mockito.when(connection.getBatchQueryResults("job", info)).thenAnswer(new Answer<BulkBatchResult>() {
+            boolean pending = true;
+            @Override
+            public BulkBatchResult answer(InvocationOnMock invocation)
+                    throws Throwable {
+                int index = info.getAndIncrementResultNum();
+                if (index == 2 && pending) {
+                    //the last chunk is not yet complete
+                    pending = false;
+                    info.setResultNum(index);
+                    throw new DataNotAvailableException(1000);
+                }
+                if (index >= chunks.size()) {
+                    return null;
+                }
+                List<List<String>> rows = new ArrayList<List<String>>();
+                rows.add(Arrays.asList("Name"));
+                for (String value : chunks.get(index)) {
+                    rows.add(Arrays.asList(value));
+                }
+                final Iterator<List<String>> i = rows.iterator();
+                BulkBatchResult result = new BulkBatchResult() {
+
+                    @Override
+                    public List<String> nextRecord() throws IOException {
+                        if (!i.hasNext()) {
+                            return null;
+                        }
+                        return i.next();
+                    }
+
+                    @Override
+                    public void close() {
+
+                    }
+                };
+                opened.add(result);
+                return result;
+            }
+        });
+
+        ExecutionContext mock = Mockito.mock(ExecutionContext.class);
+        Mockito.when(mock.getSourceHint()).thenReturn("bulk");
+
+        SalesForceExecutionFactory ef = new SalesForceExecutionFactory() {
+            @Override
+            public Executor getBulkResultExecutor() {
+                return ExecutorUtils.getDirectExecutor();
+            }
+        };
+        ef.setMaxConcurrentBulkResults(3);
+        QueryExecutionImpl execution = new QueryExecutionImpl(command, connection, Mockito.mock(RuntimeMetadata.class), mock, ef);
+
+        execution.execute();
+
+        assertEquals(Arrays.asList("A"), execution.next());
+        //two result sets were read ahead
+        assertEquals(2, opened.size());
+        Mockito.verify(mock, Mockito.atLeastOnce()).dataAvailable();
+        assertEquals(Arrays.asList("B"), execution.next());
+        assertEquals(Arrays.asList("C"), execution.next());
+        //the pending result set is read once the others are consumed
+        assertEquals(Arrays.asList("D"), execution.next());
+        assertEquals(3, opened.size());
+        assertNull(execution.next());
+        execution.close();
+    }
+
+    @Test
+    public void testPrefetchQueryResults() throws Exception {
+        Select command = (Select)translationUtility.parseCommand("select Name from Account"); //$NON-NLS-1$
+        SalesforceConnection sfc = Mockito.mock(SalesforceConnection.class);
+        QueryResult qr = new QueryResult();
+        SObject so = new SObject();
+        so.setType("Account");
+        so.addField("Name", "a");
+        qr.setRecords(new SObject[] {so});
+        qr.setDone(false);
+        qr.setQueryLocator("x");
+        QueryResult finalQr = new QueryResult();
+        finalQr.setRecords(new SObject[] {so});
+        finalQr.setDone(true);
+        Mockito.when(sfc.query("SELECT Name FROM Account", 0, false)).thenReturn(qr);
+        Mockito.when(sfc.queryMore("x", 0)).thenReturn(finalQr);
+
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        SalesForceExecutionFactory ef = new SalesForceExecutionFactory() {
+            @Override
+            public Executor getPrefetchExecutor() {
+                return pending::add;
+            }
+        };
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        QueryExecutionImpl qei = new QueryExecutionImpl(command, sfc, Mockito.mock(RuntimeMetadata.class), context, ef);
+        qei.execute();
+        assertEquals(Arrays.asList("a"), qei.next());
+        assertEquals(1, pending.size());
+        //the next page has not been returned yet
+        try {
+            qei.next();
+            fail();
+        } catch (DataNotAvailableException e) {
+            assertSame(DataNotAvailableException.NO_POLLING, e);
+        }
+        pending.remove(0).run();
+        Mockito.verify(context).dataAvailable();
+        assertEquals(Arrays.asList("a"), qei.next());
+        assertNull(qei.next());
+
+        //a prefetch that has not started is discarded on close
+        qei = new QueryExecutionImpl(command, sfc, Mockito.mock(RuntimeMetadata.class), context, ef);
+        qei.execute();
+        assertEquals(Arrays.asList("a"), qei.next());
+        qei.close();
+        pending.remove(0).run();
+        Mockito.verify(sfc, Mockito.times(1)).queryMore("x", 0);
+    }
+
 }
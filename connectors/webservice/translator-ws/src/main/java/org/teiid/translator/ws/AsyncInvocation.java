@@ -0,0 +1,97 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.ws;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import jakarta.xml.ws.AsyncHandler;
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Response;
+
+import org.teiid.translator.DataNotAvailableException;
+import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * An asynchronous {@link Dispatch} invocation.
+ * <br>
+ * No engine thread is held while the call is in flight - the engine is notified via
+ * {@link ExecutionContext#dataAvailable()} when the response arrives, and until
+ * then {@link #getResponse()} throws {@link DataNotAvailableException#NO_POLLING}.
+ */
+class AsyncInvocation<T> implements AsyncHandler<T> {
+
+    private ExecutionContext context;
+    private volatile Response<T> response;
+    private Future<?> future;
+
+    AsyncInvocation(ExecutionContext context) {
+        this.context = context;
+    }
+
+    public void invoke(Dispatch<T> dispatch, T msg) {
+        this.future = dispatch.invokeAsync(msg, this);
+    }
+
+    @Override
+    public void handleResponse(Response<T> res) {
+        this.response = res;
+        this.context.dataAvailable();
+    }
+
+    /**
+     * @return the response once it has arrived
+     */
+    public Response<T> getResponse() throws DataNotAvailableException {
+        Response<T> res = this.response;
+        if (res == null) {
+            throw DataNotAvailableException.NO_POLLING;
+        }
+        return res;
+    }
+
+    /**
+     * @return the response value once it has arrived
+     */
+    public T getValue() throws TranslatorException, DataNotAvailableException {
+        Response<T> res = getResponse();
+        try {
+            return res.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() != null) {
+                throw new TranslatorException(e.getCause());
+            }
+            throw new TranslatorException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranslatorException(e);
+        } catch (CancellationException e) {
+            throw new TranslatorException(e);
+        }
+    }
+
+    public void cancel() {
+        if (this.future != null) {
+            this.future.cancel(true);
+        }
+    }
+
+}
@@ -78,12 +78,15 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
     ExecutionContext context;
     private Call procedure;
     private DataSource returnValue;
+    private boolean returnValueConsumed;
     private WSConnection conn;
     WSExecutionFactory executionFactory;
     Map<String, List<String>> customHeaders;
     Map<String, Object> responseContext = Collections.emptyMap();
     int responseCode = 200;
     private boolean useResponseContext;
+    private boolean async;
+    private AsyncInvocation<DataSource> invocation;
 
     public BinaryWSProcedureExecution(Call procedure, RuntimeMetadata metadata, ExecutionContext context, WSExecutionFactory executionFactory, WSConnection conn) {
         this.metadata = metadata;
@@ -97,6 +100,14 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
         this.useResponseContext = useResponseContext;
     }
 
+    /**
+     * @param async if true the request is sent asynchronously and the result is
+     * available once {@link #next()} no longer throws a {@link DataNotAvailableException}
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
     public void execute() throws TranslatorException {
         List<Argument> arguments = this.procedure.getArguments();
 
@@ -145,23 +156,22 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
             ClassLoader originalCCL = Thread.currentThread().getContextClassLoader();
             try {
                 Thread.currentThread().setContextClassLoader(BusApplicationContext.class.getClassLoader());
+                if (this.async) {
+                    this.invocation = new AsyncInvocation<DataSource>(this.context);
+                    try {
+                        this.invocation.invoke(dispatch, ds);
+                        return;
+                    } catch (UnsupportedOperationException e) {
+                        //the dispatch can only be invoked synchronously
+                        this.invocation = null;
+                    }
+                }
                 this.returnValue = dispatch.invoke(ds);
             }finally {
                 Thread.currentThread().setContextClassLoader(originalCCL);
             }
 
-            Map<String, Object> rc = dispatch.getResponseContext();
-            this.responseCode = (Integer)rc.get(WSConnection.STATUS_CODE);
-            if (this.useResponseContext) {
-                //it's presumed that the caller will handle the response codes
-                this.responseContext = rc;
-            } else {
-                //TODO: may need to add logic around some 200/300 codes - cxf should at least be logging this
-                if (this.responseCode >= 400) {
-                    String message = conn.getStatusMessage(this.responseCode);
-                    throw new TranslatorException(WSExecutionFactory.Event.TEIID15005, WSExecutionFactory.UTIL.gs(WSExecutionFactory.Event.TEIID15005, this.responseCode, message));
-                }
-            }
+            setResponseContext(dispatch.getResponseContext());
         } catch (WebServiceException e) {
             throw new TranslatorException(e);
         } catch (ParseException e) {
@@ -173,6 +183,20 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
         }
     }
 
+    private void setResponseContext(Map<String, Object> rc) throws TranslatorException {
+        this.responseCode = (Integer)rc.get(WSConnection.STATUS_CODE);
+        if (this.useResponseContext) {
+            //it's presumed that the caller will handle the response codes
+            this.responseContext = rc;
+        } else {
+            //TODO: may need to add logic around some 200/300 codes - cxf should at least be logging this
+            if (this.responseCode >= 400) {
+                String message = conn.getStatusMessage(this.responseCode);
+                throw new TranslatorException(WSExecutionFactory.Event.TEIID15005, WSExecutionFactory.UTIL.gs(WSExecutionFactory.Event.TEIID15005, this.responseCode, message));
+            }
+        }
+    }
+
     static void parseHeader(Map<String, List<String>> httpHeaders,
             Clob headers) throws ParseException, TranslatorException, IOException, SQLException {
         SimpleContentHandler sch = new SimpleContentHandler();
@@ -213,11 +237,18 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
+        if (this.invocation != null) {
+            this.returnValue = this.invocation.getValue();
+            Map<String, Object> rc = this.invocation.getResponse().getContext();
+            this.invocation = null;
+            setResponseContext(rc);
+        }
         return null;
     }
 
     @Override
     public List<?> getOutputParameterValues() throws TranslatorException {
+        this.returnValueConsumed = true;
         Object result = this.returnValue;
         if (returnValue != null && procedure.getArguments().size() > 4
                 && procedure.getArguments().get(3).getDirection() == Direction.IN
@@ -232,11 +263,32 @@ public class BinaryWSProcedureExecution implements ProcedureExecution {
     }
 
     public void close() {
-
+        if (this.invocation != null) {
+            this.invocation.cancel();
+            try {
+                //the response may have arrived without next being called
+                this.returnValue = this.invocation.getValue();
+            } catch (TranslatorException | DataNotAvailableException e) {
+                //no response
+            }
+            this.invocation = null;
+        }
+        if (this.returnValue != null && !this.returnValueConsumed) {
+            try {
+                InputStream is = this.returnValue.getInputStream();
+                if (is != null) {
+                    is.close();
+                }
+            } catch (IOException e) {
+            }
+        }
+        this.returnValue = null;
     }
 
     public void cancel() throws TranslatorException {
-        // no-op
+        if (this.invocation != null) {
+            this.invocation.cancel();
+        }
     }
 
     public void setCustomHeaders(Map<String, List<String>> customHeaders) {
@@ -81,6 +81,7 @@ public class WSExecutionFactory extends ExecutionFactory<ConnectionFactory, WSCo
     private Mode defaultServiceMode = Mode.PAYLOAD;
     private Binding defaultBinding = Binding.SOAP12;
     private String xmlParamName;
+    private boolean useAsync;
 
     public WSExecutionFactory() {
         setSourceRequiredForMetadata(false);
@@ -114,16 +115,31 @@ public class WSExecutionFactory extends ExecutionFactory<ConnectionFactory, WSCo
         this.xmlParamName = xmlParamName;
     }
 
+    @TranslatorProperty(description="If true, invocations are sent asynchronously and the engine is notified when the response arrives rather than holding a thread for the full round trip.", display="Use Asynchronous Invocation", advanced=true)
+    public boolean isUseAsync() {
+        return useAsync;
+    }
+
+    public void setUseAsync(boolean useAsync) {
+        this.useAsync = useAsync;
+    }
+
     @Override
     public ProcedureExecution createProcedureExecution(Call command, ExecutionContext executionContext, RuntimeMetadata metadata, WSConnection connection)
             throws TranslatorException {
         if (command.getProcedureName().equalsIgnoreCase(INVOKE_HTTP)) {
-            return new BinaryWSProcedureExecution(command, metadata, executionContext, this, connection);
+            BinaryWSProcedureExecution execution = new BinaryWSProcedureExecution(command, metadata, executionContext, this, connection);
+            execution.setAsync(this.useAsync);
+            return execution;
         }
         if (command.getArguments().size() > 2 || command.getProcedureName().equalsIgnoreCase(INVOKE)) {
-            return new WSProcedureExecution(command, metadata, executionContext, this, connection);
+            WSProcedureExecution execution = new WSProcedureExecution(command, metadata, executionContext, this, connection);
+            execution.setAsync(this.useAsync);
+            return execution;
         }
-        return new WSWSDLProcedureExecution(command, metadata, executionContext, this, connection);
+        WSWSDLProcedureExecution execution = new WSWSDLProcedureExecution(command, metadata, executionContext, this, connection);
+        execution.setAsync(this.useAsync);
+        return execution;
     }
 
     @Override
@@ -70,6 +70,9 @@ public class WSProcedureExecution implements ProcedureExecution {
     private Source returnValue;
     private WSConnection conn;
     private WSExecutionFactory executionFactory;
+    private boolean async;
+    private AsyncInvocation<Source> invocation;
+    private Source request;
 
     public WSProcedureExecution(Call procedure, RuntimeMetadata metadata, ExecutionContext context, WSExecutionFactory executionFactory, WSConnection conn) {
         this.metadata = metadata;
@@ -79,6 +82,14 @@ public class WSProcedureExecution implements ProcedureExecution {
         this.executionFactory = executionFactory;
     }
 
+    /**
+     * @param async if true the request is sent asynchronously and the result is
+     * available once {@link #next()} no longer throws a {@link DataNotAvailableException}
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
     @SuppressWarnings("unchecked")
     public void execute() throws TranslatorException {
         List<Argument> arguments = this.procedure.getArguments();
@@ -139,6 +150,19 @@ public class WSProcedureExecution implements ProcedureExecution {
                 // JBoss Native DispatchImpl throws exception when the source is null
                 source = new StAXSource(XMLType.getXmlInputFactory().createXMLEventReader(new StringReader("<none/>"))); //$NON-NLS-1$
             }
+            if (this.async) {
+                this.invocation = new AsyncInvocation<Source>(this.context);
+                try {
+                    this.invocation.invoke(dispatch, source);
+                    //the request is held until the response is received
+                    this.request = source;
+                    source = null;
+                    return;
+                } catch (UnsupportedOperationException e) {
+                    //the dispatch can only be invoked synchronously
+                    this.invocation = null;
+                }
+            }
             this.returnValue = (Source) dispatch.invoke(source);
         } catch (SQLException e) {
             throw new TranslatorException(e);
@@ -160,6 +184,12 @@ public class WSProcedureExecution implements ProcedureExecution {
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
+        if (this.invocation != null) {
+            this.returnValue = this.invocation.getValue();
+            this.invocation = null;
+            WSUtil.closeSource(this.request);
+            this.request = null;
+        }
         return null;
     }
 
@@ -197,10 +227,17 @@ public class WSProcedureExecution implements ProcedureExecution {
     }
 
     public void close() {
-
+        if (this.invocation != null) {
+            this.invocation.cancel();
+            this.invocation = null;
+        }
+        WSUtil.closeSource(this.request);
+        this.request = null;
     }
 
     public void cancel() throws TranslatorException {
-        // no-op
+        if (this.invocation != null) {
+            this.invocation.cancel();
+        }
     }
 }
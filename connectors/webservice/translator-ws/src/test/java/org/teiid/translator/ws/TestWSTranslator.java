@@ -19,6 +19,7 @@
 package org.teiid.translator.ws;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.teiid.cdk.CommandBuilder;
 import org.teiid.core.types.ClobImpl;
@@ -31,20 +32,28 @@ import org.teiid.metadata.ProcedureParameter.Type;
 import org.teiid.query.metadata.SystemMetadata;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.ProcedureExecution;
 import org.teiid.translator.TranslatorException;
 
 import jakarta.activation.DataSource;
 import javax.xml.transform.stax.StAXSource;
+import jakarta.xml.ws.AsyncHandler;
 import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Response;
 import jakarta.xml.ws.Service;
 import jakarta.xml.ws.handler.MessageContext;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @SuppressWarnings("nls")
@@ -158,6 +167,116 @@ public class TestWSTranslator {
         assertEquals(Arrays.asList("application/json"), headers.get("ContentType"));
     }
 
+    @Test public void testAsync() throws Exception {
+        WSExecutionFactory ef = new WSExecutionFactory();
+        ef.setUseAsync(true);
+        WSConnection mockConnection = Mockito.mock(WSConnection.class);
+        MetadataFactory mf = new MetadataFactory("vdb", 1, "x", SystemMetadata.getInstance().getRuntimeTypeMap(), new Properties(), null);
+        ef.getMetadata(mf, mockConnection);
+
+        TransformationMetadata tm = RealMetadataFactory.createTransformationMetadata(mf.asMetadataStore(), "vdb");
+        RuntimeMetadataImpl rm = new RuntimeMetadataImpl(tm);
+        Dispatch<Object> mockDispatch = mockDispatch();
+        Mockito.when(mockConnection.createDispatch(Mockito.any(String.class), Mockito.any(String.class), Mockito.any(Class.class), Mockito.any(Service.Mode.class))).thenReturn(mockDispatch);
+        CommandBuilder cb = new CommandBuilder(tm);
+
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        Call call = (Call)cb.getCommand("call invokeHttp('GET', null, 'http://localhost/service')");
+        ProcedureExecution pe = ef.createProcedureExecution(call, context, rm, mockConnection);
+        pe.execute();
+        Mockito.verify(mockDispatch, Mockito.never()).invoke(Mockito.any());
+        ArgumentCaptor<AsyncHandler> handler = ArgumentCaptor.forClass(AsyncHandler.class);
+        Mockito.verify(mockDispatch).invokeAsync(Mockito.nullable(Object.class), handler.capture());
+        try {
+            pe.next();
+            fail();
+        } catch (DataNotAvailableException e) {
+            assertSame(DataNotAvailableException.NO_POLLING, e);
+        }
+
+        DataSource source = Mockito.mock(DataSource.class);
+        Mockito.when(source.getContentType()).thenReturn("text/plain");
+        Response<Object> response = Mockito.mock(Response.class);
+        Mockito.when(response.get()).thenReturn(source);
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put(WSConnection.STATUS_CODE, 200);
+        Mockito.when(response.getContext()).thenReturn(map);
+        handler.getValue().handleResponse(response);
+        Mockito.verify(context).dataAvailable();
+
+        assertNull(pe.next());
+        assertEquals(Arrays.asList(source, "text/plain"), pe.getOutputParameterValues());
+
+        //an error status is reported once the response arrives
+        map.put(WSConnection.STATUS_CODE, 500);
+        pe = ef.createProcedureExecution(call, context, rm, mockConnection);
+        pe.execute();
+        Mockito.verify(mockDispatch, Mockito.times(2)).invokeAsync(Mockito.nullable(Object.class), handler.capture());
+        handler.getValue().handleResponse(response);
+        try {
+            pe.next();
+            fail();
+        } catch (TranslatorException e) {
+            assertTrue(e.getMessage().contains("TEIID15005"));
+        }
+    }
+
+    @Test public void testAsyncCloseUnconsumed() throws Exception {
+        WSExecutionFactory ef = new WSExecutionFactory();
+        ef.setUseAsync(true);
+        WSConnection mockConnection = Mockito.mock(WSConnection.class);
+        MetadataFactory mf = new MetadataFactory("vdb", 1, "x", SystemMetadata.getInstance().getRuntimeTypeMap(), new Properties(), null);
+        ef.getMetadata(mf, mockConnection);
+
+        TransformationMetadata tm = RealMetadataFactory.createTransformationMetadata(mf.asMetadataStore(), "vdb");
+        RuntimeMetadataImpl rm = new RuntimeMetadataImpl(tm);
+        Dispatch<Object> mockDispatch = mockDispatch();
+        Mockito.when(mockConnection.createDispatch(Mockito.any(String.class), Mockito.any(String.class), Mockito.any(Class.class), Mockito.any(Service.Mode.class))).thenReturn(mockDispatch);
+        CommandBuilder cb = new CommandBuilder(tm);
+
+        Call call = (Call)cb.getCommand("call invokeHttp('GET', null, 'http://localhost/service')");
+        ProcedureExecution pe = ef.createProcedureExecution(call, Mockito.mock(ExecutionContext.class), rm, mockConnection);
+        pe.execute();
+        ArgumentCaptor<AsyncHandler> handler = ArgumentCaptor.forClass(AsyncHandler.class);
+        Mockito.verify(mockDispatch).invokeAsync(Mockito.nullable(Object.class), handler.capture());
+
+        InputStream is = Mockito.mock(InputStream.class);
+        DataSource source = Mockito.mock(DataSource.class);
+        Mockito.when(source.getInputStream()).thenReturn(is);
+        Response<Object> response = Mockito.mock(Response.class);
+        Mockito.when(response.get()).thenReturn(source);
+        handler.getValue().handleResponse(response);
+
+        //the response arrived, but was never read
+        pe.close();
+        Mockito.verify(is).close();
+    }
+
+    @Test public void testAsyncNotSupported() throws Exception {
+        WSExecutionFactory ef = new WSExecutionFactory();
+        ef.setUseAsync(true);
+        WSConnection mockConnection = Mockito.mock(WSConnection.class);
+        MetadataFactory mf = new MetadataFactory("vdb", 1, "x", SystemMetadata.getInstance().getRuntimeTypeMap(), new Properties(), null);
+        ef.getMetadata(mf, mockConnection);
+
+        TransformationMetadata tm = RealMetadataFactory.createTransformationMetadata(mf.asMetadataStore(), "vdb");
+        RuntimeMetadataImpl rm = new RuntimeMetadataImpl(tm);
+        Dispatch<Object> mockDispatch = mockDispatch();
+        DataSource source = Mockito.mock(DataSource.class);
+        Mockito.when(mockDispatch.invoke(Mockito.nullable(DataSource.class))).thenReturn(source);
+        Mockito.when(mockDispatch.invokeAsync(Mockito.nullable(Object.class), Mockito.any(AsyncHandler.class))).thenThrow(new UnsupportedOperationException());
+        Mockito.when(mockConnection.createDispatch(Mockito.any(String.class), Mockito.any(String.class), Mockito.any(Class.class), Mockito.any(Service.Mode.class))).thenReturn(mockDispatch);
+        CommandBuilder cb = new CommandBuilder(tm);
+
+        //falls back to the synchronous invocation
+        Call call = (Call)cb.getCommand("call invokeHttp('GET', null, 'http://localhost/service')");
+        ProcedureExecution pe = ef.createProcedureExecution(call, Mockito.mock(ExecutionContext.class), rm, mockConnection);
+        pe.execute();
+        Mockito.verify(mockDispatch).invoke(Mockito.nullable(DataSource.class));
+        assertNull(pe.next());
+        assertSame(source, pe.getOutputParameterValues().get(0));
+    }
+
     private Dispatch<Object> mockDispatch() {
         Dispatch<Object> mockDispatch = Mockito.mock(Dispatch.class);
         Map<String, Object> map = new HashMap<String, Object>();
@@ -24,15 +24,21 @@ import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import jakarta.activation.DataSource;
 import javax.security.auth.Subject;
+import jakarta.ws.rs.client.AsyncInvoker;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response.Status;
 import javax.xml.namespace.QName;
 import jakarta.xml.ws.AsyncHandler;
@@ -82,6 +88,8 @@ public abstract class BaseWSConnection implements WSConnection {
     private static final String CONNECTION_TIMEOUT = "javax.xml.ws.client.connectionTimeout"; //$NON-NLS-1$
     private static final String RECEIVE_TIMEOUT = "javax.xml.ws.client.receiveTimeout"; //$NON-NLS-1$
     private static final String DUMMY_BINDING = ""; //NON-NLS-1$
+    //async conduit factories by bus, the default conduit factory of the bus is left as is
+    private static final Map<Bus, AsyncHTTPConduitFactory> ASYNC_CONDUIT_FACTORIES = Collections.synchronizedMap(new WeakHashMap<Bus, AsyncHTTPConduitFactory>());
 
     private static final class HttpDataSource implements DataSource {
         private final URL url;
@@ -115,6 +123,28 @@ public abstract class BaseWSConnection implements WSConnection {
         }
     }
 
+    /**
+     * The {@link Response} of an asynchronous {@link HttpDispatch} invocation
+     */
+    private static final class HttpResponse extends CompletableFuture<DataSource> implements Response<DataSource> {
+        private Map<String, Object> context = new HashMap<String, Object>();
+        private volatile Future<?> request;
+
+        @Override
+        public Map<String, Object> getContext() {
+            return this.context;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            Future<?> f = this.request;
+            if (f != null) {
+                f.cancel(mayInterruptIfRunning);
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
     private static final class HttpDispatch implements Dispatch<DataSource> {
 
         private static final String AUTHORIZATION = "Authorization"; //$NON-NLS-1$
@@ -136,6 +166,14 @@ public abstract class BaseWSConnection implements WSConnection {
             return bean.createWebClient();
         }
 
+        AsyncHTTPConduitFactory getAsyncConduitFactory(Bus bus) {
+            HTTPConduitFactory factory = bus.getExtension(HTTPConduitFactory.class);
+            if (factory instanceof AsyncHTTPConduitFactory) {
+                return (AsyncHTTPConduitFactory)factory;
+            }
+            return ASYNC_CONDUIT_FACTORIES.computeIfAbsent(bus, AsyncHTTPConduitFactory::new);
+        }
+
         Bus getBus(String configLocation) {
             if (configLocation != null) {
                 SpringBusFactory bf = new SpringBusFactory();
@@ -148,66 +186,87 @@ public abstract class BaseWSConnection implements WSConnection {
         @Override
         public DataSource invoke(DataSource msg) {
             try {
-                final URL url = new URL(this.endpoint);
-                url.toURI(); //ensure this is a valid uri
-
+                final URL url = getURL();
                 final String httpMethod = (String)this.requestContext.get(MessageContext.HTTP_REQUEST_METHOD);
+                InputStream payload = prepareClient(httpMethod, msg, false);
 
-                // see to use patch
-                // http://stackoverflow.com/questions/32067687/how-to-use-patch-method-in-cxf
-                Bus bus = getBus(this.configFile);
-                if (httpMethod.equals("PATCH")) {
-                    bus.setProperty("use.async.http.conduit", Boolean.TRUE);
-                    bus.setExtension(new AsyncHTTPConduitFactory(bus), HTTPConduitFactory.class);
-                }
-                this.client = createWebClient(this.endpoint, bus);
+                jakarta.ws.rs.core.Response response = this.client.invoke(httpMethod, payload);
+                return getDataSource(url, response, this.responseContext);
+            } catch (IOException e) {
+                throw new WebServiceException(e);
+            } catch (URISyntaxException e) {
+                throw new WebServiceException(e);
+            }
+        }
 
-                Map<String, List<String>> header = (Map<String, List<String>>)this.requestContext.get(MessageContext.HTTP_REQUEST_HEADERS);
-                for (Map.Entry<String, List<String>> entry : header.entrySet()) {
-                    this.client.header(entry.getKey(), entry.getValue().toArray());
-                }
+        private URL getURL() throws MalformedURLException, URISyntaxException {
+            URL url = new URL(this.endpoint);
+            url.toURI(); //ensure this is a valid uri
+            return url;
+        }
 
-                if (this.requestContext.get(AuthorizationPolicy.class.getName()) != null) {
-                    HTTPConduit conduit = (HTTPConduit)WebClient.getConfig(this.client).getConduit();
-                    AuthorizationPolicy policy = (AuthorizationPolicy)this.requestContext.get(AuthorizationPolicy.class.getName());
-                    conduit.setAuthorization(policy);
-                }
-                else if (this.requestContext.get(GSSCredential.class.getName()) != null) {
-                    WebClient.getConfig(this.client).getRequestContext().put(GSSCredential.class.getName(), this.requestContext.get(GSSCredential.class.getName()));
-                    WebClient.getConfig(this.client).getRequestContext().put("auth.spnego.requireCredDelegation", true); //$NON-NLS-1$
-                }
-                else if (this.requestContext.get(OAuthCredential.class.getName()) != null) {
-                    OAuthCredential credential = (OAuthCredential)this.requestContext.get(OAuthCredential.class.getName());
-                    this.client.header(AUTHORIZATION, credential.getAuthorizationHeader(this.endpoint, httpMethod));
+        /**
+         * Create the client for the request and return the payload
+         */
+        private InputStream prepareClient(String httpMethod, DataSource msg, boolean async) throws IOException {
+            // see to use patch
+            // http://stackoverflow.com/questions/32067687/how-to-use-patch-method-in-cxf
+            Bus bus = getBus(this.configFile);
+            this.client = createWebClient(this.endpoint, bus);
+            boolean patch = httpMethod.equals("PATCH");
+            if (patch || async) {
+                //only this client uses the async conduit, async requests are then sent without holding a thread for the response
+                WebClient.getConfig(this.client).getEndpoint().getEndpointInfo().setProperty(HTTPConduitFactory.class.getName(), getAsyncConduitFactory(bus));
+                if (patch) {
+                    WebClient.getConfig(this.client).getRequestContext().put("use.async.http.conduit", Boolean.TRUE); //$NON-NLS-1$
                 }
+            }
 
-                InputStream payload = null;
-                if (msg != null) {
-                    payload = msg.getInputStream();
-                }
+            Map<String, List<String>> header = (Map<String, List<String>>)this.requestContext.get(MessageContext.HTTP_REQUEST_HEADERS);
+            for (Map.Entry<String, List<String>> entry : header.entrySet()) {
+                this.client.header(entry.getKey(), entry.getValue().toArray());
+            }
 
-                HTTPClientPolicy clientPolicy = WebClient.getConfig(this.client).getHttpConduit().getClient();
-                Long timeout = (Long) this.requestContext.get(RECEIVE_TIMEOUT);
-                if (timeout != null) {
-                    clientPolicy.setReceiveTimeout(timeout);
-                }
-                timeout = (Long) this.requestContext.get(CONNECTION_TIMEOUT);
-                if (timeout != null) {
-                    clientPolicy.setConnectionTimeout(timeout);
-                }
+            if (this.requestContext.get(AuthorizationPolicy.class.getName()) != null) {
+                HTTPConduit conduit = (HTTPConduit)WebClient.getConfig(this.client).getConduit();
+                AuthorizationPolicy policy = (AuthorizationPolicy)this.requestContext.get(AuthorizationPolicy.class.getName());
+                conduit.setAuthorization(policy);
+            }
+            else if (this.requestContext.get(GSSCredential.class.getName()) != null) {
+                WebClient.getConfig(this.client).getRequestContext().put(GSSCredential.class.getName(), this.requestContext.get(GSSCredential.class.getName()));
+                WebClient.getConfig(this.client).getRequestContext().put("auth.spnego.requireCredDelegation", true); //$NON-NLS-1$
+            }
+            else if (this.requestContext.get(OAuthCredential.class.getName()) != null) {
+                OAuthCredential credential = (OAuthCredential)this.requestContext.get(OAuthCredential.class.getName());
+                this.client.header(AUTHORIZATION, credential.getAuthorizationHeader(this.endpoint, httpMethod));
+            }
 
-                jakarta.ws.rs.core.Response response = this.client.invoke(httpMethod, payload);
-                this.responseContext.put(WSConnection.STATUS_CODE, response.getStatus());
-                this.responseContext.putAll(response.getMetadata());
+            InputStream payload = null;
+            if (msg != null) {
+                payload = msg.getInputStream();
+            }
 
-                ArrayList contentTypes = (ArrayList)this.responseContext.get("content-type"); //$NON-NLS-1$
-                String contentType = contentTypes != null ? (String)contentTypes.get(0):"application/octet-stream"; //$NON-NLS-1$
-                return new HttpDataSource(url, (InputStream)response.getEntity(), contentType);
-            } catch (IOException e) {
-                throw new WebServiceException(e);
-            } catch (URISyntaxException e) {
-                throw new WebServiceException(e);
+            HTTPClientPolicy clientPolicy = WebClient.getConfig(this.client).getHttpConduit().getClient();
+            Long timeout = (Long) this.requestContext.get(RECEIVE_TIMEOUT);
+            if (timeout != null) {
+                clientPolicy.setReceiveTimeout(timeout);
             }
+            timeout = (Long) this.requestContext.get(CONNECTION_TIMEOUT);
+            if (timeout != null) {
+                clientPolicy.setConnectionTimeout(timeout);
+            }
+            return payload;
+        }
+
+        private static DataSource getDataSource(URL url, jakarta.ws.rs.core.Response response, Map<String, Object> context) {
+            context.put(WSConnection.STATUS_CODE, response.getStatus());
+            context.putAll(response.getMetadata());
+
+            String contentType = response.getHeaderString(HttpHeaders.CONTENT_TYPE);
+            if (contentType == null) {
+                contentType = MediaType.APPLICATION_OCTET_STREAM;
+            }
+            return new HttpDataSource(url, (InputStream)response.getEntity(), contentType);
         }
 
         @Override
@@ -241,8 +300,51 @@ public abstract class BaseWSConnection implements WSConnection {
         }
 
         @Override
-        public Future<?> invokeAsync(DataSource msg,AsyncHandler<DataSource> handler) {
-            throw new UnsupportedOperationException();
+        public Future<?> invokeAsync(DataSource msg, final AsyncHandler<DataSource> handler) {
+            final HttpResponse result = new HttpResponse();
+            try {
+                final URL url = getURL();
+                final String httpMethod = (String)this.requestContext.get(MessageContext.HTTP_REQUEST_METHOD);
+                InputStream payload = prepareClient(httpMethod, msg, true);
+
+                InvocationCallback<jakarta.ws.rs.core.Response> callback = new InvocationCallback<jakarta.ws.rs.core.Response>() {
+                    @Override
+                    public void completed(jakarta.ws.rs.core.Response response) {
+                        DataSource ds = null;
+                        try {
+                            ds = getDataSource(url, response, result.getContext());
+                        } catch (RuntimeException e) {
+                            failed(e);
+                            return;
+                        }
+                        if (result.complete(ds)) {
+                            handler.handleResponse(result);
+                        }
+                    }
+
+                    @Override
+                    public void failed(Throwable t) {
+                        if (result.completeExceptionally(new WebServiceException(t))) {
+                            handler.handleResponse(result);
+                        }
+                    }
+                };
+                AsyncInvoker invoker = this.client.async();
+                if (payload == null) {
+                    result.request = invoker.method(httpMethod, callback);
+                } else {
+                    String contentType = this.client.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+                    if (contentType == null) {
+                        contentType = MediaType.APPLICATION_OCTET_STREAM;
+                    }
+                    result.request = invoker.method(httpMethod, Entity.entity(payload, contentType), callback);
+                }
+                return result;
+            } catch (IOException e) {
+                throw new WebServiceException(e);
+            } catch (URISyntaxException e) {
+                throw new WebServiceException(e);
+            }
         }
 
         @Override
@@ -0,0 +1,188 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.ws.cxf;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+
+import jakarta.activation.DataSource;
+import jakarta.xml.ws.Dispatch;
+import jakarta.xml.ws.Response;
+import jakarta.xml.ws.Service.Mode;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.handler.MessageContext;
+import jakarta.xml.ws.http.HTTPBinding;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.transport.http.HTTPConduitFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teiid.core.util.ObjectConverterUtil;
+import org.teiid.translator.ws.WSConnection;
+
+import com.sun.net.httpserver.HttpServer;
+
+@SuppressWarnings("nls")
+public class TestBaseWSConnection {
+
+    private static HttpServer server;
+    private static String endpoint;
+
+    @BeforeClass public static void oneTimeSetup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] bytes = ObjectConverterUtil.convertToByteArray(exchange.getRequestBody());
+            if (bytes.length == 0) {
+                bytes = exchange.getRequestMethod().getBytes("UTF-8");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(201, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+        endpoint = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/echo";
+    }
+
+    @AfterClass public static void oneTimeTeardown() {
+        server.stop(0);
+    }
+
+    private Dispatch<DataSource> createDispatch(String endpoint, String method) throws Exception {
+        WSConfiguration config = Mockito.mock(WSConfiguration.class);
+        Mockito.when(config.getEndPoint()).thenReturn(endpoint);
+        BaseWSConnection conn = new BaseWSConnection(new WSConnectionFactory(config)) {
+            @Override
+            protected Subject getSubject() {
+                return null;
+            }
+            @Override
+            protected <T> T getSecurityCredential(Subject s, Class<T> clazz) {
+                return null;
+            }
+            @Override
+            protected String getUserName(Subject s, String defaultUserName) {
+                return defaultUserName;
+            }
+            @Override
+            protected String getPassword(Subject s, String userName, String defaultPassword) {
+                return defaultPassword;
+            }
+        };
+        Dispatch<DataSource> dispatch = conn.createDispatch(HTTPBinding.HTTP_BINDING, null, DataSource.class, Mode.MESSAGE);
+        dispatch.getRequestContext().put(MessageContext.HTTP_REQUEST_METHOD, method);
+        return dispatch;
+    }
+
+    private static DataSource payload(final String value) {
+        DataSource ds = Mockito.mock(DataSource.class);
+        try {
+            Mockito.when(ds.getInputStream()).thenReturn(new ByteArrayInputStream(value.getBytes("UTF-8")));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return ds;
+    }
+
+    private static String read(DataSource ds) throws Exception {
+        try (InputStream is = ds.getInputStream()) {
+            return ObjectConverterUtil.convertToString(is);
+        }
+    }
+
+    @Test public void testInvoke() throws Exception {
+        Dispatch<DataSource> dispatch = createDispatch(endpoint, "POST");
+        DataSource result = dispatch.invoke(payload("hello"));
+        assertEquals("hello", read(result));
+        assertEquals("text/plain", result.getContentType());
+        assertEquals(201, dispatch.getResponseContext().get(WSConnection.STATUS_CODE));
+    }
+
+    @Test public void testInvokePatch() throws Exception {
+        Bus bus = BusFactory.getThreadDefaultBus();
+        HTTPConduitFactory factory = bus.getExtension(HTTPConduitFactory.class);
+        Dispatch<DataSource> dispatch = createDispatch(endpoint, "PATCH");
+        DataSource result = dispatch.invoke(payload("hello"));
+        assertEquals("hello", read(result));
+        //the async conduit is only used by the client
+        assertSame(factory, bus.getExtension(HTTPConduitFactory.class));
+        assertNull(bus.getProperty("use.async.http.conduit"));
+    }
+
+    @Test public void testInvokeAsync() throws Exception {
+        Bus bus = BusFactory.getThreadDefaultBus();
+        HTTPConduitFactory factory = bus.getExtension(HTTPConduitFactory.class);
+        Dispatch<DataSource> dispatch = createDispatch(endpoint, "POST");
+        BlockingQueue<Response<DataSource>> responses = new ArrayBlockingQueue<Response<DataSource>>(1);
+        assertNotNull(dispatch.invokeAsync(payload("hello"), responses::add));
+        Response<DataSource> response = responses.poll(10, TimeUnit.SECONDS);
+        assertNotNull(response);
+        assertTrue(response.isDone());
+        assertEquals("hello", read(response.get()));
+        assertEquals("text/plain", response.get().getContentType());
+        assertEquals(201, response.getContext().get(WSConnection.STATUS_CODE));
+        assertSame(factory, bus.getExtension(HTTPConduitFactory.class));
+
+        //without a payload
+        dispatch = createDispatch(endpoint, "GET");
+        dispatch.invokeAsync(null, responses::add);
+        response = responses.poll(10, TimeUnit.SECONDS);
+        assertEquals("GET", read(response.get()));
+    }
+
+    @Test public void testInvokeAsyncFailure() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        Dispatch<DataSource> dispatch = createDispatch("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port + "/echo", "GET");
+        BlockingQueue<Response<DataSource>> responses = new ArrayBlockingQueue<Response<DataSource>>(1);
+        dispatch.invokeAsync(null, responses::add);
+        Response<DataSource> response = responses.poll(10, TimeUnit.SECONDS);
+        assertNotNull(response);
+        try {
+            response.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof WebServiceException);
+        }
+    }
+
+    @Test(expected=WebServiceException.class) public void testInvokeAsyncInvalidEndpoint() throws Exception {
+        Dispatch<DataSource> dispatch = createDispatch("http://host/a b", "GET");
+        dispatch.invokeAsync(null, response -> {});
+    }
+
+}
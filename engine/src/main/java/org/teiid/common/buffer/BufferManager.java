@@ -106,6 +106,13 @@ public interface BufferManager extends StorageManager, TupleBufferCache {
      */
     void releaseBuffers(int count);
 
+    /**
+     * Get the percentage of the memory available for batches that is in use.
+     * At 100 batches are being evicted to storage.
+     * @return a value from 0 to 100
+     */
+    int getMemoryUsage();
+
     /**
      * Get the size estimate for the given schema.
      */
@@ -130,5 +137,14 @@ public interface BufferManager extends StorageManager, TupleBufferCache {
 
     void releaseOrphanedBuffers(long count);
 
+    /**
+     * Reserve buffers that are not owned by the current command, such as for structures
+     * that live as long as a table.  The reservation is all or nothing and must be released
+     * with {@link #releaseOrphanedBuffers(long)}
+     * @param count
+     * @return the amount reserved, either count or 0
+     */
+    int reserveOrphanedBuffers(int count);
+
     Options getOptions();
 }
@@ -1293,6 +1293,18 @@ public class BufferFrontedFileStoreCache implements Cache<PhysicalInfo> {
         return result;
     }
 
+    /**
+     * @return the bytes of the storage files that are not used by data blocks
+     */
+    public long getFragmentedBytes() {
+        long used = 0;
+        for (int i = 0; i < sizeBasedStores.length; i++) {
+            BlockStore blockStore = sizeBasedStores[i];
+            used += blockStore.blocksInUse.getBitsSet() * blockStore.blockSize;
+        }
+        return Math.max(0, getDiskUsage() - used);
+    }
+
     @Override
     public void shutdown() {
         this.asynchPool.shutdownNow();
@@ -44,6 +44,7 @@ import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.util.CommandContext;
 import org.teiid.query.util.Options;
+import org.teiid.query.util.TeiidEvents;
 
 import java.io.*;
 import java.lang.ref.*;
@@ -514,6 +515,7 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
     private AtomicLong batchAdded = new AtomicLong();
     private AtomicLong readCount = new AtomicLong();
     private AtomicLong writeCount = new AtomicLong();
+    private AtomicLong evictionCount = new AtomicLong();
     private AtomicLong referenceHit = new AtomicLong();
 
     private static Timer SHARED_TIMER;
@@ -574,6 +576,13 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
         return writeCount.get();
     }
 
+    /**
+     * @return the number of batches removed from the heap cache by eviction
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
     public long getReadAttempts() {
         return readAttempts.get();
     }
@@ -769,6 +778,22 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
         releaseBuffers(count, false);
     }
 
+    @Override
+    public int reserveOrphanedBuffers(int count) {
+        if (LogManager.isMessageToBeRecorded(LogConstants.CTX_BUFFER_MGR, MessageLevel.TRACE)) {
+            LogManager.logTrace(LogConstants.CTX_BUFFER_MGR, "Reserving orphaned buffer space", count); //$NON-NLS-1$
+        }
+        int result = 0;
+        lock.lock();
+        try {
+            result = noWaitReserve(count, true, null);
+        } finally {
+            lock.unlock();
+        }
+        persistBatchReferences(result);
+        return result;
+    }
+
     @Override
     public void releaseBuffers(int count) {
         releaseBuffers(count, true);
@@ -868,7 +893,14 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
                     if (val[1] - last < 10) {
                         //if the time difference is too close, then wait to prevent tight spins
                         //but we can't wait too long as we don't want to thread starve the system
+                        TeiidEvents.BlockedWait event = new TeiidEvents.BlockedWait();
+                        event.begin();
                         batchesFreed.await(20, TimeUnit.MILLISECONDS);
+                        if (event.shouldCommit()) {
+                            event.requestId = context != null ? context.getRequestId() : null;
+                            event.reason = "memory"; //$NON-NLS-1$
+                            event.commit();
+                        }
                     }
                     if ((val[0] << (force?16:18)) > count) {
                         //aging out
@@ -1035,6 +1067,7 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
                                 LogManager.logTrace(LogConstants.CTX_BUFFER_MGR, "Removing batch from heap cache", s!=null?s.getId():null, ce.getId()); //$NON-NLS-1$
                             }
                             freed += ce.getSizeEstimate();
+                            evictionCount.incrementAndGet();
                             long result = activeBatchBytes.addAndGet(-ce.getSizeEstimate());
                             assert result >= 0 || !LrfuEvictionQueue.isSuspectSize(activeBatchBytes);
                             queue.remove(ce); //ensures that an intervening get will still be cleaned
@@ -1064,7 +1097,18 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
                 LogManager.logDetail(LogConstants.CTX_BUFFER_MGR, s.getId(), ce.getId(), "writing batch to storage, total writes: ", count); //$NON-NLS-1$
             }
         }
+        TeiidEvents.BufferSpill event = null;
+        if (persist) {
+            event = new TeiidEvents.BufferSpill();
+            event.begin();
+        }
         boolean result = cache.add(ce, s);
+        if (event != null && event.shouldCommit()) {
+            event.batchId = ce.getId();
+            event.bufferId = s.getId();
+            event.sizeEstimate = ce.getSizeEstimate();
+            event.commit();
+        }
         if (s.useSoftCache()) {
             createSoftReference(ce);
         } else if (useWeakReferences) {
@@ -1428,6 +1472,15 @@ public class BufferManagerImpl implements BufferManager, ReplicatedObject<String
         return activeBatchBytes.get();
     }
 
+    @Override
+    public int getMemoryUsage() {
+        long reserve = reserveBatchBytes.get();
+        if (reserve <= 0) {
+            return 100;
+        }
+        return (int)Math.min(100, activeBatchBytes.get() * 100 / reserve);
+    }
+
     @Override
     public boolean hasState(String stateId) {
         return this.getTupleBuffer(stateId) != null;
@@ -18,6 +18,7 @@
 
 package org.teiid.dqp.internal.datamgr;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
 import jakarta.activation.DataSource;
@@ -36,6 +37,7 @@ import org.teiid.core.types.InputStreamFactory.StorageMode;
 import org.teiid.core.util.Assertion;
 import org.teiid.core.util.ReaderInputStream;
 import org.teiid.dqp.internal.process.SaveOnReadInputStream;
+import org.teiid.dqp.internal.process.TeiidMetrics;
 import org.teiid.dqp.message.AtomicRequestID;
 import org.teiid.dqp.message.AtomicRequestMessage;
 import org.teiid.dqp.message.AtomicResultsMessage;
@@ -62,6 +64,7 @@ import org.teiid.query.sql.lang.SourceHint.SpecificHint;
 import org.teiid.query.sql.lang.StoredProcedure;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.TeiidEvents;
 import org.teiid.resource.api.WrappedConnection;
 import org.teiid.translator.*;
 import org.teiid.translator.ExecutionFactory.NullOrder;
@@ -127,6 +130,10 @@ public class ConnectorWorkItem implements ConnectorWork {
 
     private Span span;
 
+    private Attributes metricAttributes;
+
+    private TeiidEvents.SourceExecution sourceEvent;
+
     ConnectorWorkItem(AtomicRequestMessage message, ConnectorManager manager) throws TeiidComponentException, TranslatorException {
         this.id = message.getAtomicRequestID();
         this.requestMsg = message;
@@ -306,12 +313,36 @@ public class ConnectorWorkItem implements ConnectorWork {
             }
             Long time = timer.stop();
             manager.logSRCCommand(this, this.requestMsg, this.securityContext, Event.END, this.rowCount, time);
+            TeiidMetrics metrics = this.requestMsg.getCommandContext().getMetrics();
+            if (metrics != null) {
+                metrics.recordSourceRows(getMetricAttributes(), this.rowCount);
+            }
+            if (this.sourceEvent != null) {
+                this.sourceEvent.end();
+                if (this.sourceEvent.shouldCommit()) {
+                    this.sourceEvent.requestId = this.requestMsg.getRequestID().toString();
+                    this.sourceEvent.sourceRequestId = this.id.toString();
+                    this.sourceEvent.modelName = this.requestMsg.getModelName();
+                    this.sourceEvent.translatorName = this.manager.getTranslatorName();
+                    this.sourceEvent.connectionName = this.manager.getConnectionName();
+                    this.sourceEvent.sql = this.requestMsg.getCommand().toString();
+                    this.sourceEvent.rowCount = this.rowCount;
+                    this.sourceEvent.commit();
+                }
+            }
             if (scope != null) {
                 scope.close();
             }
         }
     }
 
+    private Attributes getMetricAttributes() {
+        if (this.metricAttributes == null) {
+            this.metricAttributes = TeiidMetrics.sourceAttributes(this.manager.getTranslatorName(), this.manager.getConnectionName());
+        }
+        return this.metricAttributes;
+    }
+
     private TranslatorException handleError(Throwable t) {
         if (t instanceof DataNotAvailableException) {
             throw (DataNotAvailableException)t;
@@ -399,7 +430,16 @@ public class ConnectorWorkItem implements ConnectorWork {
                 }
             }
             // Execute query
+            long start = System.nanoTime();
+            if (this.sourceEvent == null) {
+                this.sourceEvent = new TeiidEvents.SourceExecution();
+                this.sourceEvent.begin();
+            }
             this.execution.execute();
+            TeiidMetrics metrics = this.requestMsg.getCommandContext().getMetrics();
+            if (metrics != null) {
+                metrics.recordSourceExecution(getMetricAttributes(), (System.nanoTime() - start) / 1000000d);
+            }
             LogManager.logDetail(LogConstants.CTX_CONNECTOR, new Object[] {this.id, "Executed command"}); //$NON-NLS-1$
         } catch (Throwable t) {
             throw handleError(t);
@@ -51,6 +51,8 @@ public class DQPConfiguration{
     private boolean exceptionOnMaxSourceRows = true;
     private int maxSourceRows = -1;
     private int maxActivePlans = DEFAULT_MAX_ACTIVE_PLANS;
+    private int maxActivePlansPerUser;
+    private boolean useVirtualThreadsForSourceWork;
 
     private int userRequestSourceConcurrency = DEFAULT_USER_REQUEST_SOURCE_CONCURRENCY;
     private boolean detectingChangeEvents = true;
@@ -73,6 +75,38 @@ public class DQPConfiguration{
         this.maxActivePlans = maxActivePlans;
     }
 
+    /**
+     * The max number of active plans for a single user.  Plans over the limit will
+     * wait even if {@link #getMaxActivePlans()} has not been reached so that other users
+     * are not starved.
+     * @return the max active plans per user, 0 or less indicates no limit
+     */
+    public int getMaxActivePlansPerUser() {
+        return maxActivePlansPerUser;
+    }
+
+    public void setMaxActivePlansPerUser(int maxActivePlansPerUser) {
+        this.maxActivePlansPerUser = maxActivePlansPerUser;
+    }
+
+    /**
+     * If true and the JVM supports virtual threads, source (connector) work will be run on virtual threads
+     * rather than on the engine thread pool, which is then used only for plan processing.
+     * <br>
+     * Source work per request is still limited by {@link #getUserRequestSourceConcurrency()}, which
+     * if not set is then not derived from the max threads - the source connection pools limit the
+     * concurrent source work instead.
+     * @return true if virtual threads should be used for source work
+     */
+    public boolean isUseVirtualThreadsForSourceWork() {
+        return useVirtualThreadsForSourceWork;
+    }
+
+    public void setUseVirtualThreadsForSourceWork(
+            boolean useVirtualThreadsForSourceWork) {
+        this.useVirtualThreadsForSourceWork = useVirtualThreadsForSourceWork;
+    }
+
     public int getUserRequestSourceConcurrency() {
         return userRequestSourceConcurrency;
     }
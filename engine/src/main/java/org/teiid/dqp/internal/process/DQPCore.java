@@ -67,6 +67,7 @@ import org.teiid.query.tempdata.TempTableStore;
 import org.teiid.query.tempdata.TempTableStore.TransactionMode;
 import org.teiid.query.util.Options;
 import org.teiid.query.util.TeiidTracingUtil;
+import org.teiid.vdb.runtime.VDBKey;
 
 import javax.transaction.xa.Xid;
 import java.lang.ref.WeakReference;
@@ -90,6 +91,10 @@ public class DQPCore implements DQP {
     private TempTableDataManager dataTierMgr;
     private SessionAwareCache<PreparedPlan> prepPlanCache;
     private SessionAwareCache<CachedResults> rsCache;
+    private SemanticResultSetCache semanticCache;
+    private ResolvedCommandCache resolvedCommandCache;
+    private TeiidMetrics metrics = new TeiidMetrics(null);
+    private PlanningStatistics planningStatistics = new PlanningStatistics();
     private TransactionService transactionService;
     private EventDistributor eventDistributor;
 
@@ -105,6 +110,9 @@ public class DQPCore implements DQP {
     private AtomicLong totalPlansProcessed = new AtomicLong();
     private int userRequestSourceConcurrency;
     private LinkedList<RequestWorkItem> waitingPlans = new LinkedList<RequestWorkItem>();
+    private int maxActivePlansPerUser;
+    private Map<List<String>, Integer> userActivePlans = new HashMap<List<String>, Integer>();
+    private AtomicLong totalPlansDelayedByUserLimit = new AtomicLong();
     private volatile int maxWaitingPlans = 0;
     private AuthorizationValidator authorizationValidator;
 
@@ -112,6 +120,7 @@ public class DQPCore implements DQP {
     private Options options;
 
     private ExecutorService timeoutExecutor;
+    private ExecutorService sourceWorkExecutor;
 
     private LocalProfile localProfile;
     private SessionService sessionService;
@@ -139,6 +148,10 @@ public class DQPCore implements DQP {
             timeoutExecutor.awaitTermination(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
         }
+        if (this.sourceWorkExecutor != null) {
+            this.sourceWorkExecutor.shutdownNow();
+            this.sourceWorkExecutor = null;
+        }
         // TODO: Should we be doing more cleanup here??
         LogManager.logDetail(LogConstants.CTX_DQP, "Stopping the DQP"); //$NON-NLS-1$
     }
@@ -201,6 +214,7 @@ public class DQPCore implements DQP {
                 req.setSessionId(holder.requestID.getConnectionID());
                 req.setCommand(holder.requestMsg.getCommandString());
                 req.setStartTime(holder.getProcessingTimestamp());
+                req.setPlanningTime(holder.getPlanningTime());
                 req.setState(holder.isCanceled()?ProcessingState.CANCELED:(holder.isDoneProcessing() || holder.isCloseRequested())?ProcessingState.DONE:ProcessingState.PROCESSING);
                 switch (holder.getThreadState()) {
                 case DONE:
@@ -256,6 +270,23 @@ public class DQPCore implements DQP {
         return executeRequest(reqID, requestMsg, null);
     }
 
+    /**
+     * Determine if the literals of a regular statement may be replaced so that the prepared plan cache can be used.
+     * Multi-source vdbs are excluded as source pruning by the multi-source column is performed during planning.
+     */
+    private boolean isAutoParameterize(RequestMessage requestMsg, VDBMetaData vdb) {
+        if (!this.options.isAutoParameterize() || requestMsg.getCommand() != null
+                || requestMsg.isBatchedUpdate() || requestMsg.getCommands().length != 1) {
+            return false;
+        }
+        for (ModelMetaData model : vdb.getModelMetaDatas().values()) {
+            if (model.isSupportsMultiSourceBindings()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public ResultsFuture<ResultsMessage> executeRequest(long reqID,RequestMessage requestMsg, Long queryTimeout) throws TeiidProcessingException {
         DQPWorkContext workContext = DQPWorkContext.getWorkContext();
         checkActive(workContext);
@@ -264,6 +295,10 @@ public class DQPCore implements DQP {
         Request request = null;
         if ( requestMsg.isPreparedStatement() || requestMsg.isCallableStatement() || requestMsg.getRequestOptions().isContinuous()) {
             request = new PreparedStatementRequest(prepPlanCache);
+        } else if (isAutoParameterize(requestMsg, workContext.getVDB())) {
+            PreparedStatementRequest psr = new PreparedStatementRequest(prepPlanCache);
+            psr.setAutoParameterize(true);
+            request = psr;
         } else {
             request = new Request();
         }
@@ -275,8 +310,11 @@ public class DQPCore implements DQP {
                 dataTierMgr, transactionService, state.sessionTables,
                 workContext, this.prepPlanCache);
         request.setOptions(options);
+        request.setMetrics(this.metrics);
         request.setExecutor(this.processWorkerPool);
         request.setResultSetCacheEnabled(this.rsCache != null);
+        request.setResolvedCommandCache(this.resolvedCommandCache);
+        request.setPlanningStatistics(this.planningStatistics);
         request.setAuthorizationValidator(this.authorizationValidator);
         final PreParser preparser = workContext.getVDB().getAttachment(PreParser.class);
         if (preparser != null) {
@@ -326,10 +364,15 @@ public class DQPCore implements DQP {
         }
         boolean runInThread = requestMsg.isSync();
         synchronized (waitingPlans) {
-            if (runInThread || currentlyActivePlans < maxActivePlans) {
+            if (runInThread || (currentlyActivePlans < maxActivePlans && !isAtUserLimit(workItem))) {
                 startActivePlan(workItem, !runInThread);
             } else {
-                if (LogManager.isMessageToBeRecorded(LogConstants.CTX_DQP, MessageLevel.DETAIL)) {
+                if (currentlyActivePlans < maxActivePlans) {
+                    totalPlansDelayedByUserLimit.incrementAndGet();
+                    if (LogManager.isMessageToBeRecorded(LogConstants.CTX_DQP, MessageLevel.DETAIL)) {
+                        LogManager.logDetail(LogConstants.CTX_DQP, workItem.requestID, "Queuing plan, since max plans per user has been reached.");  //$NON-NLS-1$
+                    }
+                } else if (LogManager.isMessageToBeRecorded(LogConstants.CTX_DQP, MessageLevel.DETAIL)) {
                     LogManager.logDetail(LogConstants.CTX_DQP, workItem.requestID, "Queuing plan, since max plans has been reached.");  //$NON-NLS-1$
                 }
                 waitingPlans.add(workItem);
@@ -372,7 +415,46 @@ public class DQPCore implements DQP {
         }
         if (!continuous) {
             this.currentlyActivePlans++;
+            if (maxActivePlansPerUser > 0) {
+                List<String> user = getUserKey(workItem);
+                Integer count = userActivePlans.get(user);
+                userActivePlans.put(user, count == null ? 1 : count + 1);
+            }
+        }
+    }
+
+    /**
+     * The same user name in different security domains is a different user
+     */
+    private static List<String> getUserKey(RequestWorkItem workItem) {
+        DQPWorkContext workContext = workItem.getDqpWorkContext();
+        return Arrays.asList(workContext.getUserName(), workContext.getSecurityDomain());
+    }
+
+    /**
+     * Must be called while holding the waitingPlans lock
+     */
+    private boolean isAtUserLimit(RequestWorkItem workItem) {
+        if (maxActivePlansPerUser <= 0) {
+            return false;
+        }
+        Integer count = userActivePlans.get(getUserKey(workItem));
+        return count != null && count >= maxActivePlansPerUser;
+    }
+
+    /**
+     * Remove the next waiting plan that is not restricted by the per user limit.
+     * Must be called while holding the waitingPlans lock
+     */
+    private RequestWorkItem nextWaitingPlan() {
+        for (Iterator<RequestWorkItem> iter = waitingPlans.iterator(); iter.hasNext();) {
+            RequestWorkItem work = iter.next();
+            if (!isAtUserLimit(work)) {
+                iter.remove();
+                return work;
+            }
         }
+        return null;
     }
 
     void finishProcessing(final RequestWorkItem workItem) {
@@ -383,8 +465,18 @@ public class DQPCore implements DQP {
             workItem.active = false;
             currentlyActivePlans--;
             totalPlansProcessed.incrementAndGet();
-            if (!waitingPlans.isEmpty()) {
-                RequestWorkItem work = waitingPlans.remove();
+            if (maxActivePlansPerUser > 0) {
+                List<String> user = getUserKey(workItem);
+                Integer count = userActivePlans.remove(user);
+                if (count != null && count > 1) {
+                    userActivePlans.put(user, count - 1);
+                }
+            }
+            while (currentlyActivePlans < maxActivePlans) {
+                RequestWorkItem work = nextWaitingPlan();
+                if (work == null) {
+                    break;
+                }
                 startActivePlan(work, true);
             }
         }
@@ -423,6 +515,28 @@ public class DQPCore implements DQP {
         return this.maxWaitingPlans;
     }
 
+    /**
+     * @return the number of waiting plans that are restricted by the max active plans per user
+     */
+    public int getUserLimitedWaitingPlanCount() {
+        synchronized (waitingPlans) {
+            int result = 0;
+            for (RequestWorkItem work : waitingPlans) {
+                if (isAtUserLimit(work)) {
+                    result++;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @return the total number of plans that were queued only because of the max active plans per user
+     */
+    public long getTotalPlansDelayedByUserLimit() {
+        return this.totalPlansDelayedByUserLimit.get();
+    }
+
     void removeRequest(final RequestWorkItem workItem) {
         finishProcessing(workItem);
         this.requests.remove(workItem.requestID);
@@ -432,6 +546,25 @@ public class DQPCore implements DQP {
         }
     }
 
+    /**
+     * Add source work, which may block on source I/O.  If configured this will run
+     * on a virtual thread rather than the engine thread pool.
+     */
+    void addSourceWork(FutureWork<?> work) {
+        if (this.sourceWorkExecutor == null) {
+            addWork(work);
+            return;
+        }
+        try {
+            this.sourceWorkExecutor.execute(new ThreadReuseExecutor.RunnableWrapper(work));
+        } catch (RejectedExecutionException e) {
+            if (!shutdown) {
+                throw e;
+            }
+            LogManager.logDetail(LogConstants.CTX_DQP, "Rejecting source work since the DQP is shutting down"); //$NON-NLS-1$
+        }
+    }
+
     void addWork(Runnable work) {
         try {
             this.processWorkerPool.execute(work);
@@ -665,6 +798,42 @@ public class DQPCore implements DQP {
         return rsCache;
     }
 
+    public TeiidMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the metrics recorded by this engine
+     */
+    public void setMetrics(TeiidMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    ResolvedCommandCache getResolvedCommandCache() {
+        return resolvedCommandCache;
+    }
+
+    public PlanningStatistics getPlanningStatistics() {
+        return planningStatistics;
+    }
+
+    SemanticResultSetCache getSemanticCache() {
+        return semanticCache;
+    }
+
+    /**
+     * Clear the entries for the given vdb from the engine caches that are not
+     * {@link SessionAwareCache}s.  Should be called when the vdb is removed.
+     */
+    public void clearForVDB(VDBKey vdbKey) {
+        if (this.semanticCache != null) {
+            this.semanticCache.clearForVDB(vdbKey);
+        }
+        if (this.resolvedCommandCache != null) {
+            this.resolvedCommandCache.clearForVDB(vdbKey);
+        }
+    }
+
     int getProcessorTimeSlice() {
         return this.config.getTimeSliceInMilli();
     }
@@ -683,18 +852,33 @@ public class DQPCore implements DQP {
         //TODO: overflow to the worker pool
         timeoutExecutor = Context.taskWrapping(ExecutorUtils.newFixedThreadPool(3, "Server Side Timeout")); //$NON-NLS-1$
         this.cancellationTimer = new EnhancedTimer(timeoutExecutor, timeoutExecutor);
+        if (config.isUseVirtualThreadsForSourceWork()) {
+            ExecutorService virtual = ExecutorUtils.newVirtualThreadPerTaskExecutor();
+            if (virtual == null) {
+                LogManager.logWarning(LogConstants.CTX_DQP, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31306));
+            } else {
+                this.sourceWorkExecutor = Context.taskWrapping(virtual);
+            }
+        }
         this.maxActivePlans = config.getMaxActivePlans();
 
         if (this.maxActivePlans > config.getMaxThreads()) {
             LogManager.logWarning(LogConstants.CTX_DQP, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30006, this.maxActivePlans, config.getMaxThreads()));
             this.maxActivePlans = config.getMaxThreads();
         }
+        this.maxActivePlansPerUser = config.getMaxActivePlansPerUser();
 
         //for now options are scoped to the engine - vdb scoping is a todo
         options = new Options();
         options.setAssumeMatchingCollation(false);
         options.setProperties(config.getProperties());
         PropertiesUtils.setBeanProperties(options, options.getProperties(), "org.teiid", true); //$NON-NLS-1$
+        if (this.rsCache != null && options.isSemanticResultSetCache()) {
+            this.semanticCache = new SemanticResultSetCache();
+        }
+        if (options.getResolvedCommandCacheSize() > 0) {
+            this.resolvedCommandCache = new ResolvedCommandCache(options.getResolvedCommandCacheSize());
+        }
 
         this.bufferManager.setOptions(options);
         //hack to set the max active plans
@@ -707,7 +891,13 @@ public class DQPCore implements DQP {
 
         this.userRequestSourceConcurrency = config.getUserRequestSourceConcurrency();
         if (this.userRequestSourceConcurrency < 1) {
-            this.userRequestSourceConcurrency = Math.min(config.getMaxThreads(), 2*config.getMaxThreads()/this.maxActivePlans);
+            if (this.sourceWorkExecutor != null) {
+                //source work does not use the engine threads, so it is bounded only by
+                //the source connection pools, which block a virtual thread without holding a carrier
+                this.userRequestSourceConcurrency = Integer.MAX_VALUE;
+            } else {
+                this.userRequestSourceConcurrency = Math.min(config.getMaxThreads(), 2*config.getMaxThreads()/this.maxActivePlans);
+            }
         }
 
         DataTierManagerImpl processorDataManager = new DataTierManagerImpl(this, this.bufferManager, this.config.isDetectingChangeEvents());
@@ -952,6 +1142,18 @@ public class DQPCore implements DQP {
         return maxActivePlans;
     }
 
+    void setMaxActivePlans(int maxActivePlans) {
+        this.maxActivePlans = maxActivePlans;
+    }
+
+    public int getMaxActivePlansPerUser() {
+        return maxActivePlansPerUser;
+    }
+
+    void setMaxActivePlansPerUser(int maxActivePlansPerUser) {
+        this.maxActivePlansPerUser = maxActivePlansPerUser;
+    }
+
     public SessionAwareCache<PreparedPlan> getPrepPlanCache() {
         return prepPlanCache;
     }
@@ -964,6 +1166,43 @@ public class DQPCore implements DQP {
         void onResults(List<String> columns,  List<? extends List<?>> results) throws Exception;
     }
 
+    /**
+     * Plan the given prepared statement sql against the current vdb metadata and add it to
+     * the prepared plan cache, without executing it.  The plan is created with a temporary session
+     * without a user, so it should only be used for plans that are not user specific.
+     * @param vdb
+     * @param sql the sql after any preparsing
+     * @param ansiIdentifiers
+     * @throws Throwable
+     */
+    public void cachePreparedPlan(final VDBMetaData vdb, final String sql, final boolean ansiIdentifiers) throws Throwable {
+        final SessionMetadata session = TempTableDataManager.createTemporarySession(null, "prepared-plan-cache", vdb); //$NON-NLS-1$
+
+        final DQPWorkContext workContext = new DQPWorkContext();
+        if (this.localProfile != null) {
+            workContext.setConnectionProfile(this.localProfile);
+        }
+        workContext.setUseCallingThread(true);
+        workContext.setSession(session);
+
+        workContext.runInContext(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RequestMessage requestMsg = new RequestMessage(sql);
+                requestMsg.setStatementType(StatementType.PREPARED);
+                requestMsg.setAnsiQuotedIdentifiers(ansiIdentifiers);
+                PreparedStatementRequest request = new PreparedStatementRequest(prepPlanCache);
+                request.initialize(requestMsg, bufferManager, dataTierMgr, transactionService,
+                        new TempTableStore(session.getSessionId(), TransactionMode.ISOLATE_WRITES), workContext, prepPlanCache);
+                request.setOptions(options);
+                request.setExecutor(processWorkerPool);
+                request.setAuthorizationValidator(authorizationValidator);
+                request.generatePlanOnly();
+                return null;
+            }
+        });
+    }
+
     /**
      * Execute the given query asynchly. Has a hard limit of only returning max rows fetch size rows.
      * @param command
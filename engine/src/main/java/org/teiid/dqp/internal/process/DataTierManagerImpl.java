@@ -1250,7 +1250,7 @@ public class DataTierManagerImpl implements ProcessorDataManager {
         AtomicRequestMessage aqr = createRequest(workItem, command, modelName, parameterObject.connectorBindingId, parameterObject.nodeID);
         aqr.setCommandContext(context);
         if (parameterObject.fetchSize > 0) {
-            aqr.setFetchSize(2*parameterObject.fetchSize);
+            aqr.setFetchSize(getSourceFetchSize(parameterObject.fetchSize));
         }
         if (parameterObject.limit > 0) {
             aqr.setFetchSize(Math.min(parameterObject.limit, aqr.getFetchSize()));
@@ -1747,6 +1747,25 @@ public class DataTierManagerImpl implements ProcessorDataManager {
         return this.bufferManager;
     }
 
+    /**
+     * Get the number of rows to request from the source at a time.  Normally this
+     * is two batches, but is reduced as the buffer memory is exhausted so that source
+     * results are not pulled into memory faster than they can be processed.
+     */
+    int getSourceFetchSize(int batchSize) {
+        int usage = 0;
+        if (this.bufferManager != null) {
+            usage = this.bufferManager.getMemoryUsage();
+        }
+        if (usage >= 90) {
+            return Math.max(1, batchSize/2);
+        }
+        if (usage >= 75) {
+            return batchSize;
+        }
+        return 2*batchSize;
+    }
+
     static class Trigger {
         String name;
         String triggerType = "INSTEAD OF"; //$NON-NLS-1$
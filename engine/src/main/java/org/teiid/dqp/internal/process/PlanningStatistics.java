@@ -0,0 +1,79 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.dqp.internal.process;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.teiid.query.analysis.AnalysisRecord;
+
+/**
+ * Engine wide totals of the planning statistics recorded by each {@link AnalysisRecord},
+ * for finding expensive planning phases and optimizer rules.
+ * <br>
+ * Times are in nanoseconds.
+ */
+public class PlanningStatistics {
+
+    private ConcurrentHashMap<String, Long> phaseTimes = new ConcurrentHashMap<String, Long>();
+    private ConcurrentHashMap<String, Long> ruleTimes = new ConcurrentHashMap<String, Long>();
+    private ConcurrentHashMap<String, Long> ruleExecutions = new ConcurrentHashMap<String, Long>();
+    private AtomicLong planCount = new AtomicLong();
+    private AtomicLong planNodeCount = new AtomicLong();
+
+    public void add(AnalysisRecord record) {
+        for (Map.Entry<String, Long> entry : record.getPhaseTimes().entrySet()) {
+            phaseTimes.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        for (Map.Entry<String, Long> entry : record.getRuleTimes().entrySet()) {
+            ruleTimes.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        for (Map.Entry<String, Integer> entry : record.getRuleExecutions().entrySet()) {
+            ruleExecutions.merge(entry.getKey(), entry.getValue().longValue(), Long::sum);
+        }
+        planNodeCount.addAndGet(record.getPlanNodeCount());
+        planCount.incrementAndGet();
+    }
+
+    public Map<String, Long> getPhaseTimes() {
+        return new TreeMap<String, Long>(phaseTimes);
+    }
+
+    public Map<String, Long> getRuleTimes() {
+        return new TreeMap<String, Long>(ruleTimes);
+    }
+
+    public Map<String, Long> getRuleExecutions() {
+        return new TreeMap<String, Long>(ruleExecutions);
+    }
+
+    /**
+     * @return the number of user commands planned
+     */
+    public long getPlanCount() {
+        return planCount.get();
+    }
+
+    public long getPlanNodeCount() {
+        return planNodeCount.get();
+    }
+
+}
@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.teiid.api.exception.query.ExpressionEvaluationException;
 import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.api.exception.query.QueryParserException;
 import org.teiid.api.exception.query.QueryPlannerException;
 import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.api.exception.query.QueryValidatorException;
@@ -51,17 +52,22 @@ import org.teiid.query.optimizer.BatchedUpdatePlanner;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities;
 import org.teiid.query.optimizer.relational.rules.CriteriaCapabilityValidatorVisitor;
 import org.teiid.query.optimizer.relational.rules.CriteriaCapabilityValidatorVisitor.ValidatorOptions;
+import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.ProcessorPlan;
 import org.teiid.query.processor.relational.AccessNode;
+import org.teiid.query.resolver.QueryResolver;
 import org.teiid.query.resolver.util.ResolverUtil;
 import org.teiid.query.sql.lang.BatchedUpdateCommand;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.QueryCommand;
 import org.teiid.query.sql.lang.SPParameter;
 import org.teiid.query.sql.lang.StoredProcedure;
 import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.Reference;
 import org.teiid.query.sql.util.VariableContext;
+import org.teiid.query.sql.visitor.AutoParameterizationVisitor;
+import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
 import org.teiid.query.util.CommandContext;
 
 
@@ -71,14 +77,30 @@ import org.teiid.query.util.CommandContext;
 public class PreparedStatementRequest extends Request {
     private SessionAwareCache<PreparedPlan> prepPlanCache;
     private PreparedPlan prepPlan;
+    private boolean planOnly;
+    private boolean autoParameterize;
+    private Command parsedCommand;
 
     public PreparedStatementRequest(SessionAwareCache<PreparedPlan> prepPlanCache) {
         this.prepPlanCache = prepPlanCache;
     }
 
+    /**
+     * Replace the literal values of a regular statement with references so that
+     * the cached plan may be reused for other values.
+     */
+    void setAutoParameterize(boolean autoParameterize) {
+        this.autoParameterize = autoParameterize;
+    }
+
     @Override
     protected void checkReferences(List<Reference> references)
             throws QueryValidatorException {
+        if (prepPlan == null) {
+            //planning as a regular statement
+            super.checkReferences(references);
+            return;
+        }
         for (Iterator<Reference> i = references.iterator(); i.hasNext();) {
             if (i.next().isOptional()) {
                 i.remove(); //remove any optional parameter, which accounts for out params - the client does not send any bindings
@@ -87,6 +109,23 @@ public class PreparedStatementRequest extends Request {
         prepPlan.setReferences(references);
     }
 
+    /**
+     * Generate and cache the plan without resolving parameter values or creating a processor
+     */
+    void generatePlanOnly() throws TeiidComponentException, TeiidProcessingException {
+        this.planOnly = true;
+        initMetadata();
+        generatePlan(false);
+    }
+
+    @Override
+    protected Command parseCommand() throws QueryParserException {
+        if (this.parsedCommand != null) {
+            return this.parsedCommand;
+        }
+        return super.parseCommand();
+    }
+
     @Override
     protected void generatePlan(boolean addLimit) throws TeiidComponentException, TeiidProcessingException {
         createCommandContext();
@@ -94,6 +133,27 @@ public class PreparedStatementRequest extends Request {
         if (this.preParser != null) {
             sqlQuery = this.preParser.preParse(sqlQuery, this.context);
         }
+        List<?> values = requestMsg.getParameterValues();
+        if (autoParameterize) {
+            this.parsedCommand = QueryParser.getQueryParser().parseCommand(sqlQuery, Request.createParseInfo(this.requestMsg, this.workContext.getSession()));
+            values = null;
+            if (this.parsedCommand instanceof QueryCommand && ReferenceCollectorVisitor.getReferences(this.parsedCommand).isEmpty()) {
+                //resolve a copy to determine which literals have the same type as their column
+                Command resolved = (Command)this.parsedCommand.clone();
+                try {
+                    QueryResolver.resolveCommand(resolved, this.metadata);
+                    values = AutoParameterizationVisitor.parameterize(this.parsedCommand, resolved);
+                } catch (QueryResolverException e) {
+                    //let the regular planning report the error
+                }
+            }
+            if (values == null || values.isEmpty()) {
+                //nothing to parameterize, plan as a regular statement
+                super.generatePlan(false);
+                return;
+            }
+            sqlQuery = this.parsedCommand.toString();
+        }
         CacheID id = new CacheID(this.workContext, Request.createParseInfo(this.requestMsg, this.workContext.getSession()), sqlQuery);
         prepPlan = prepPlanCache.get(id);
 
@@ -137,11 +197,14 @@ public class PreparedStatementRequest extends Request {
             }
         }
 
+        if (planOnly) {
+            return;
+        }
+
         if (requestMsg.isBatchedUpdate()) {
             handlePreparedBatchUpdate();
         } else {
             List<Reference> params = prepPlan.getReferences();
-            List<?> values = requestMsg.getParameterValues();
 
             PreparedStatementRequest.resolveParameterValues(params, values, this.context, this.metadata);
         }
@@ -92,6 +92,7 @@ import org.teiid.query.validator.ValidationVisitor;
 import org.teiid.query.validator.Validator;
 import org.teiid.query.validator.ValidatorFailure;
 import org.teiid.query.validator.ValidatorReport;
+import org.teiid.vdb.runtime.VDBKey;
 
 
 /**
@@ -132,11 +133,14 @@ public class Request {
     protected boolean returnsUpdateCount;
     private GlobalTableStore globalTables;
     private SessionAwareCache<PreparedPlan> planCache;
+    private ResolvedCommandCache resolvedCommandCache;
+    private PlanningStatistics planningStatistics;
     private boolean resultSetCacheEnabled = true;
     private int userRequestConcurrency;
     private AuthorizationValidator authorizationValidator;
     private Executor executor;
     protected Options options;
+    protected TeiidMetrics metrics;
     protected PreParser preParser;
 
     void initialize(RequestMessage requestMsg,
@@ -164,11 +168,23 @@ public class Request {
         this.options = options;
     }
 
+    public void setMetrics(TeiidMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     void setMetadata(CapabilitiesFinder capabilitiesFinder, QueryMetadataInterface metadata) {
         this.capabilitiesFinder = capabilitiesFinder;
         this.metadata = metadata;
     }
 
+    void setResolvedCommandCache(ResolvedCommandCache resolvedCommandCache) {
+        this.resolvedCommandCache = resolvedCommandCache;
+    }
+
+    void setPlanningStatistics(PlanningStatistics planningStatistics) {
+        this.planningStatistics = planningStatistics;
+    }
+
     public void setResultSetCacheEnabled(boolean resultSetCacheEnabled) {
         this.resultSetCacheEnabled = resultSetCacheEnabled;
     }
@@ -262,6 +278,7 @@ public class Request {
         context.setUserRequestSourceConcurrency(this.userRequestConcurrency);
         context.setSubject(workContext.getSubject());
         this.context.setOptions(options);
+        this.context.setMetrics(metrics);
         this.context.setSession(workContext.getSession());
         this.context.setRequestId(this.requestId);
         this.context.setDQPWorkContext(this.workContext);
@@ -297,7 +314,7 @@ public class Request {
         validateWithVisitor(visitor, metadata, command);
     }
 
-    private Command parseCommand() throws QueryParserException {
+    protected Command parseCommand() throws QueryParserException {
         if (requestMsg.getCommand() != null) {
             return (Command)requestMsg.getCommand();
         }
@@ -433,7 +450,20 @@ public class Request {
      */
     protected void generatePlan(boolean prepared) throws TeiidComponentException, TeiidProcessingException {
         createCommandContext();
-        Command command = parseCommand();
+        getAnalysisRecord();
+        ResolvedCommandCache.CacheKey cacheKey = getResolvedCommandCacheKey(prepared);
+        Command command = null;
+        QueryMetadataInterface vdbMetadata = null;
+        if (cacheKey != null) {
+            vdbMetadata = this.workContext.getVDB().getAttachment(QueryMetadataInterface.class);
+            command = this.resolvedCommandCache.get(cacheKey, vdbMetadata);
+        }
+        boolean resolved = command != null;
+        long start = System.nanoTime();
+        if (!resolved) {
+            command = parseCommand();
+            recordPhase(AnalysisRecord.PHASE_PARSE, start);
+        }
         if (command.getType() == Command.TYPE_EXPLAIN) {
             this.explainCommand = (ExplainCommand)command;
             command = command.getActualCommand();
@@ -443,13 +473,21 @@ public class Request {
 
         List<Reference> references = ReferenceCollectorVisitor.getReferences(command);
 
-        getAnalysisRecord();
-
-        resolveCommand(command);
+        if (!resolved) {
+            long creationTime = System.currentTimeMillis();
+            start = System.nanoTime();
+            resolveCommand(command);
+            recordPhase(AnalysisRecord.PHASE_RESOLVE, start);
+            if (cacheKey != null && this.explainCommand == null) {
+                this.resolvedCommandCache.put(cacheKey, vdbMetadata, command, creationTime);
+            }
+        }
 
         checkReferences(references);
 
+        start = System.nanoTime();
         validateAccess(requestMsg.getCommands(), command, CommandType.USER);
+        long validateTime = System.nanoTime() - start;
 
         this.userCommand = (Command) command.clone();
 
@@ -461,9 +499,13 @@ public class Request {
             }
         }
 
+        start = System.nanoTime();
         validateQuery(command);
+        recordPhase(AnalysisRecord.PHASE_VALIDATE, start - validateTime);
 
+        start = System.nanoTime();
         command = QueryRewriter.rewrite(command, metadata, context);
+        recordPhase(AnalysisRecord.PHASE_REWRITE, start);
 
         /*
          * Adds a row limit to a query if Statement.setMaxRows has been called and the command
@@ -483,11 +525,13 @@ public class Request {
             analysisRecord.println("USER COMMAND:\n" + command);         //$NON-NLS-1$
         }
         // Run the optimizer
+        start = System.nanoTime();
         try {
             CommandContext.pushThreadLocalContext(context);
             processPlan = QueryOptimizer.optimizePlan(command, metadata, idGenerator, capabilitiesFinder, analysisRecord, context);
         } finally {
             CommandContext.popThreadLocalContext();
+            recordPhase(AnalysisRecord.PHASE_PLAN, start);
             String debugLog = analysisRecord.getDebugLog();
             if(debugLog != null && debugLog.length() > 0) {
                 LogManager.log(requestMsg.getShowPlan()==ShowPlan.DEBUG?MessageLevel.INFO:MessageLevel.TRACE, LogConstants.CTX_QUERY_PLANNER, debugLog);
@@ -496,9 +540,31 @@ public class Request {
                 LogManager.logDetail(LogConstants.CTX_QUERY_PLANNER, analysisRecord.getAnnotations());
             }
         }
+        if (this.planningStatistics != null) {
+            this.planningStatistics.add(analysisRecord);
+        }
         LogManager.logDetail(LogConstants.CTX_DQP, new Object[] { QueryPlugin.Util.getString("BasicInterceptor.ProcessTree_for__4"), requestId, processPlan }); //$NON-NLS-1$
     }
 
+    /**
+     * Only regular statements without preparsing or session temporary tables are cached,
+     * since either may change the meaning of the sql text.
+     * @return the key or null if the resolved command cache should not be used
+     */
+    private ResolvedCommandCache.CacheKey getResolvedCommandCacheKey(boolean prepared) {
+        if (prepared || this.resolvedCommandCache == null || this.preParser != null
+                || this.requestMsg.getCommand() != null || this.requestMsg.isBatchedUpdate()
+                || this.workContext.isDerived() || !this.tempTableStore.getMetadataStore().getData().isEmpty()) {
+            return null;
+        }
+        return new ResolvedCommandCache.CacheKey(this.requestMsg.getCommands()[0], createParseInfo(this.requestMsg, this.workContext.getSession()),
+                new VDBKey(this.workContext.getVdbName(), this.workContext.getVdbVersion()));
+    }
+
+    private void recordPhase(String phase, long start) {
+        analysisRecord.addPhaseTime(phase, System.nanoTime() - start);
+    }
+
     private AnalysisRecord getAnalysisRecord() {
         if (this.analysisRecord == null) {
             this.analysisRecord = new AnalysisRecord(requestMsg.getShowPlan() != ShowPlan.OFF, requestMsg.getShowPlan() == ShowPlan.DEBUG);
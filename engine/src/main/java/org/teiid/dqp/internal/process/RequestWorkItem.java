@@ -20,6 +20,7 @@ package org.teiid.dqp.internal.process;
 
 import io.opentelemetry.api.trace.Span;
 import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.api.exception.query.QueryParserException;
 import org.teiid.client.BatchSerializer;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.RequestMessage.ShowPlan;
@@ -65,12 +66,14 @@ import org.teiid.query.parser.QueryParser;
 import org.teiid.query.processor.BatchCollector;
 import org.teiid.query.processor.QueryProcessor;
 import org.teiid.query.processor.QueryProcessor.ExpiredTimeSliceException;
+import org.teiid.query.resolver.QueryResolver;
 import org.teiid.query.sql.lang.*;
 import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.util.CommandContext;
 import org.teiid.query.util.GeneratedKeysImpl;
 import org.teiid.query.util.Options;
+import org.teiid.query.util.TeiidEvents;
 
 import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
@@ -142,7 +145,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                 }
             }
             if (nextWork != null) {
-                dqpCore.addWork(nextWork.work);
+                dqpCore.addSourceWork(nextWork.work);
             }
         }
     }
@@ -179,6 +182,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
     private AnalysisRecord analysisRecord;
     private TransactionContext transactionContext;
     TupleBuffer resultsBuffer;
+    private boolean derivedCachedResults;
     private boolean returnsUpdateCount;
 
     /*
@@ -219,6 +223,9 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
 
     private Span span;
 
+    private TeiidEvents.Request requestEvent = new TeiidEvents.Request();
+    private TeiidEvents.BlockedWait blockedEvent;
+
     public RequestWorkItem(DQPCore dqpCore, RequestMessage requestMsg, Request request, ResultsReceiver<ResultsMessage> receiver, RequestID requestID, DQPWorkContext workContext) {
         this.requestMsg = requestMsg;
         this.requestID = requestID;
@@ -231,6 +238,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         }
         this.dqpWorkContext = workContext;
         this.requestResults(1, requestMsg.getFetchSize(), receiver);
+        this.requestEvent.begin();
     }
 
     private boolean isForwardOnly() {
@@ -330,6 +338,14 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
     @Override
     protected void process() {
         LogManager.logDetail(LogConstants.CTX_DQP, "Request Thread", requestID, "with state", state); //$NON-NLS-1$ //$NON-NLS-2$
+        if (this.blockedEvent != null) {
+            this.blockedEvent.end();
+            if (this.blockedEvent.shouldCommit()) {
+                this.blockedEvent.requestId = requestID.toString();
+                this.blockedEvent.commit();
+            }
+            this.blockedEvent = null;
+        }
         try {
             if (this.state == ProcessingState.NEW) {
                 state = ProcessingState.PROCESSING;
@@ -356,6 +372,13 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
             if (e == BlockedException.BLOCKED_ON_MEMORY_EXCEPTION || e instanceof ExpiredTimeSliceException) {
                 //requeue
                 this.moreWork();
+            } else {
+                TeiidEvents.BlockedWait event = new TeiidEvents.BlockedWait();
+                if (event.isEnabled()) {
+                    event.reason = this.resultsReceiver == null ? "client" : "processing"; //$NON-NLS-1$ //$NON-NLS-2$
+                    event.begin();
+                    this.blockedEvent = event;
+                }
             }
         } catch (Throwable e) {
             handleThrowable(e);
@@ -459,7 +482,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
             synchronized (queue) {
                 while (!queue.isEmpty() && totalThreads < dqpCore.getUserRequestSourceConcurrency()) {
                     WorkWrapper<?> w = queue.removeFirst();
-                    dqpCore.addWork(w.work);
+                    dqpCore.addSourceWork(w.work);
                     w.submitted = true;
                     totalThreads++;
                 }
@@ -541,6 +564,8 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                     } finally {
                         CommandContext.popThreadLocalContext();
                     }
+                } else if (this.derivedCachedResults) {
+                    resultsBuffer.remove();
                 }
 
                 this.resultsBuffer = null;
@@ -593,6 +618,14 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                 sendError();
             }
             dqpCore.logMMCommand(this, Event.END, rowcount, this.timer.stop());
+            dqpCore.getMetrics().recordRequest(this.dqpWorkContext.getVdbName(), this.dqpWorkContext.getVdbVersion(), System.currentTimeMillis() - this.processingTimestamp);
+            this.requestEvent.end();
+            if (this.requestEvent.shouldCommit()) {
+                populateEvent(this.requestEvent);
+                this.requestEvent.rowCount = rowcount;
+                this.requestEvent.failed = this.processingException != null;
+                this.requestEvent.commit();
+            }
         }
     }
 
@@ -603,8 +636,27 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         }
     }
 
+    private void populateEvent(TeiidEvents.Request event) {
+        event.requestId = requestID.toString();
+        event.sessionId = this.dqpWorkContext.getSessionId();
+        event.userName = this.dqpWorkContext.getUserName();
+        event.vdbName = this.dqpWorkContext.getVdbName();
+        event.vdbVersion = this.dqpWorkContext.getVdbVersion();
+        event.sql = requestMsg.getCommandString();
+    }
+
     protected void processNew() throws TeiidProcessingException, TeiidComponentException {
         planningStart = System.currentTimeMillis();
+        TeiidEvents.RequestStart startEvent = new TeiidEvents.RequestStart();
+        if (startEvent.shouldCommit()) {
+            startEvent.requestId = requestID.toString();
+            startEvent.sessionId = this.dqpWorkContext.getSessionId();
+            startEvent.userName = this.dqpWorkContext.getUserName();
+            startEvent.vdbName = this.dqpWorkContext.getVdbName();
+            startEvent.vdbVersion = this.dqpWorkContext.getVdbVersion();
+            startEvent.sql = requestMsg.getCommandString();
+            startEvent.commit();
+        }
         SessionAwareCache<CachedResults> rsCache = dqpCore.getRsCache();
 
         boolean cachable = false;
@@ -645,6 +697,8 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                             return;
                         }
                         LogManager.logDetail(LogConstants.CTX_DQP, requestID, "Cached result command to be modified, will not use the cached results", cacheId); //$NON-NLS-1$
+                    } else if (cr == null && useSemanticCache() && processFromSemanticCache(rsCache, pi)) {
+                        return;
                     }
                 } else {
                     LogManager.logDetail(LogConstants.CTX_DQP, requestID, "Parameters are not serializable - cache cannot be used for", cacheId); //$NON-NLS-1$
@@ -803,6 +857,84 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         return QueryParser.getQueryParser().parseCacheHint(requestMsg.getCommandString());
     }
 
+    private boolean useSemanticCache() {
+        SemanticResultSetCache semanticCache = dqpCore.getSemanticCache();
+        return semanticCache != null && requestMsg.getCommand() == null
+                && (requestMsg.getParameterValues() == null || requestMsg.getParameterValues().isEmpty())
+                && semanticCache.hasEntries(dqpWorkContext);
+    }
+
+    /**
+     * Attempt to answer the request by filtering and projecting the results of a cached query
+     * that subsumes it.
+     * @return true if the results were produced from the cache
+     */
+    private boolean processFromSemanticCache(SessionAwareCache<CachedResults> rsCache, ParseInfo pi) throws TeiidComponentException, TeiidProcessingException {
+        SemanticResultSetCache semanticCache = dqpCore.getSemanticCache();
+        Query parsed = null;
+        Query query = null;
+        List<SemanticResultSetCache.Entry> candidates = null;
+        try {
+            Command command = QueryParser.getQueryParser().parseCommand(requestMsg.getCommandString(), pi);
+            if (!(command instanceof Query) || !SemanticResultSetCache.isSimple((Query)command)) {
+                return false;
+            }
+            parsed = (Query)command;
+            //only resolve if there is something to match against
+            candidates = semanticCache.getCandidates(dqpWorkContext, parsed);
+            if (candidates == null) {
+                return false;
+            }
+            request.initMetadata();
+            query = (Query)parsed.clone();
+            QueryResolver.resolveCommand(query, request.metadata);
+        } catch (TeiidProcessingException e) {
+            //let normal processing report the error
+            return false;
+        }
+        boolean validated = false;
+        for (SemanticResultSetCache.Entry entry : candidates) {
+            CachedResults cr = rsCache.get(new CacheID(this.dqpWorkContext, entry.parseInfo, entry.sql));
+            if (cr == null) {
+                semanticCache.remove(dqpWorkContext, parsed, entry);
+                continue;
+            }
+            if (cr.getRowLimit() != 0) {
+                continue;
+            }
+            Command cachedCommand = cr.getCommand(entry.sql, request.metadata, entry.parseInfo);
+            if (!(cachedCommand instanceof Query)) {
+                continue;
+            }
+            Map<ElementSymbol, Integer> elementMap = SemanticResultSetCache.getProjectedElements((Query)cachedCommand);
+            List<Criteria> remaining = SemanticResultSetCache.getRemainingCriteria(query, (Query)cachedCommand, elementMap);
+            if (remaining == null || !SemanticResultSetCache.isCollationCompatible(query, remaining, request.metadata, request.capabilitiesFinder, request.options)) {
+                continue;
+            }
+            if (!validated) {
+                //validate once, and fall back to normal processing if the command would be modified
+                if (request.validateAccess(requestMsg.getCommands(), query, CommandType.CACHED)) {
+                    LogManager.logDetail(LogConstants.CTX_DQP, requestID, "Command to be modified, will not use semantically matching cached results"); //$NON-NLS-1$
+                    return false;
+                }
+                validated = true;
+            }
+            LogManager.logDetail(LogConstants.CTX_DQP, requestID, "Using result set cached results of", entry.sql); //$NON-NLS-1$
+            try {
+                this.resultsBuffer = SemanticResultSetCache.answer(query, remaining, elementMap, cr.getResults(), request.context, dqpCore.getBufferManager(), requestMsg.getRowLimit());
+            } catch (TeiidProcessingException e) {
+                //the source may have filtered the rows that cannot be evaluated
+                LogManager.logDetail(LogConstants.CTX_DQP, e, requestID, "Could not evaluate against the cached results, will use normal processing"); //$NON-NLS-1$
+                return false;
+            }
+            this.derivedCachedResults = true;
+            this.originalCommand = query;
+            doneProducingBatches();
+            return true;
+        }
+        return false;
+    }
+
     private void addToCache() {
         if (!doneProducingBatches || cid == null) {
             return;
@@ -841,6 +973,18 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
             LogManager.logDetail(LogConstants.CTX_DQP, e, QueryPlugin.Util.getString("failed_to_cache")); //$NON-NLS-1$
         }
         dqpCore.getRsCache().put(cid, determinismLevel, cr, originalCommand.getCacheHint() != null?originalCommand.getCacheHint().getTtl():null);
+        SemanticResultSetCache semanticCache = dqpCore.getSemanticCache();
+        if (semanticCache != null && requestMsg.getCommand() == null
+                && (requestMsg.getParameterValues() == null || requestMsg.getParameterValues().isEmpty())
+                && originalCommand instanceof Query && SemanticResultSetCache.isSimple((Query)originalCommand)) {
+            ParseInfo pi = Request.createParseInfo(requestMsg, dqpWorkContext.getSession());
+            try {
+                semanticCache.register(dqpWorkContext, pi, requestMsg.getCommandString(), QueryParser.getQueryParser().parseCommand(requestMsg.getCommandString(), pi));
+            } catch (QueryParserException e) {
+                //should not happen as the command was already processed
+                LogManager.logDetail(LogConstants.CTX_DQP, e, requestID, "Could not register the cached results for semantic matching"); //$NON-NLS-1$
+            }
+        }
     }
 
     public SessionAwareCache<CachedResults> getRsCache() {
@@ -1131,9 +1275,22 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         if (planningEnd != 0) {
             node.addProperty(AnalysisRecord.PROP_PLANNING_TIME, String.valueOf(planningEnd - planningStart));
         }
+        if (analysisRecord != null) {
+            analysisRecord.addPlanningStatistics(node);
+        }
         return node;
     }
 
+    /**
+     * @return the planning time in milliseconds, or -1 if planning has not completed
+     */
+    public long getPlanningTime() {
+        if (planningEnd == 0) {
+            return -1;
+        }
+        return planningEnd - planningStart;
+    }
+
     private void sendError() {
         ResultsReceiver<ResultsMessage> receiver = null;
         synchronized (this) {
@@ -1378,7 +1535,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         work.addCompletionListener(listener);
         synchronized (queue) {
             if (totalThreads < dqpCore.getUserRequestSourceConcurrency()) {
-                dqpCore.addWork(work);
+                dqpCore.addSourceWork(work);
                 totalThreads++;
                 wl.submitted = true;
             } else {
@@ -0,0 +1,175 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.dqp.internal.process;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.teiid.metadata.AbstractMetadataRecord.Modifiable;
+import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.parser.ParseInfo;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.QueryCommand;
+import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.query.sql.visitor.GroupCollectorVisitor;
+import org.teiid.vdb.runtime.VDBKey;
+
+/**
+ * A least recently used cache of the parsed and resolved form of regular
+ * query statements, so that repeated statements skip parsing and resolving.
+ * <br>
+ * Entries are keyed by the sql text, the parsing options, and the vdb.  An entry is only valid for
+ * the vdb metadata instance it was resolved against, which is weakly held, and until any of the
+ * accessed tables or procedures has been modified.  The entries for a vdb should be cleared with
+ * {@link #clearForVDB(VDBKey)} when it is undeployed or reloaded.
+ * Commands that access temporary tables are not cached.
+ */
+class ResolvedCommandCache {
+
+    static class CacheKey {
+        private String sql;
+        private ParseInfo parseInfo;
+        private VDBKey vdbKey;
+
+        CacheKey(String sql, ParseInfo parseInfo, VDBKey vdbKey) {
+            this.sql = sql;
+            this.parseInfo = parseInfo;
+            this.vdbKey = vdbKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + vdbKey.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey)obj;
+            return vdbKey.equals(other.vdbKey) && sql.equals(other.sql) && parseInfo.equals(other.parseInfo);
+        }
+    }
+
+    private static class Entry {
+        Command command;
+        WeakReference<QueryMetadataInterface> metadata;
+        List<Modifiable> accessed;
+        long creationTime;
+    }
+
+    private Map<CacheKey, Entry> entries;
+    private AtomicInteger hitCount = new AtomicInteger();
+
+    ResolvedCommandCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<CacheKey, Entry>(16, .75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param metadata the current vdb metadata
+     * @return a copy of the cached command or null if there is no valid entry
+     */
+    Command get(CacheKey key, QueryMetadataInterface metadata) {
+        Entry entry = null;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.metadata.get() != metadata) {
+            synchronized (this) {
+                entries.remove(key);
+            }
+            return null;
+        }
+        for (Modifiable m : entry.accessed) {
+            if (m.getLastModified() < 0 || m.getLastModified() >= entry.creationTime) {
+                synchronized (this) {
+                    entries.remove(key);
+                }
+                return null;
+            }
+        }
+        hitCount.incrementAndGet();
+        return (Command)entry.command.clone();
+    }
+
+    /**
+     * Cache a copy of the resolved command
+     * @param metadata the vdb metadata used to resolve the command
+     * @param creationTime the time prior to resolving
+     */
+    void put(CacheKey key, QueryMetadataInterface metadata, Command command, long creationTime) {
+        if (!(command instanceof QueryCommand) || (command instanceof Query && ((Query)command).getInto() != null)) {
+            return;
+        }
+        List<Modifiable> accessed = new ArrayList<Modifiable>();
+        for (GroupSymbol group : GroupCollectorVisitor.getGroupsIgnoreInlineViews(command, true)) {
+            if (group.isTempGroupSymbol()) {
+                return;
+            }
+            if (group.getMetadataID() instanceof Modifiable) {
+                accessed.add((Modifiable)group.getMetadataID());
+            }
+        }
+        Entry entry = new Entry();
+        entry.command = (Command)command.clone();
+        entry.metadata = new WeakReference<QueryMetadataInterface>(metadata);
+        entry.accessed = accessed;
+        entry.creationTime = creationTime;
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    synchronized void clearForVDB(VDBKey vdbKey) {
+        for (Iterator<CacheKey> iter = entries.keySet().iterator(); iter.hasNext();) {
+            if (iter.next().vdbKey.equals(vdbKey)) {
+                iter.remove();
+            }
+        }
+    }
+
+    int getHitCount() {
+        return hitCount.get();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+}
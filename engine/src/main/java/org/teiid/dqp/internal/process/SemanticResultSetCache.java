@@ -0,0 +1,453 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.dqp.internal.process;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.common.buffer.BufferManager;
+import org.teiid.common.buffer.BufferManager.TupleSourceType;
+import org.teiid.common.buffer.TupleBatch;
+import org.teiid.common.buffer.TupleBuffer;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.language.SortSpecification.NullOrdering;
+import org.teiid.query.eval.Evaluator;
+import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.metadata.TempMetadataID;
+import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
+import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
+import org.teiid.query.optimizer.relational.rules.CapabilitiesUtil;
+import org.teiid.query.parser.ParseInfo;
+import org.teiid.query.processor.relational.SortUtility;
+import org.teiid.query.processor.relational.SortUtility.Mode;
+import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.LanguageVisitor;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.OrderByItem;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.navigator.PreOrderNavigator;
+import org.teiid.query.sql.symbol.AggregateSymbol;
+import org.teiid.query.sql.symbol.CaseExpression;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.symbol.Function;
+import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.query.sql.symbol.SearchedCaseExpression;
+import org.teiid.query.sql.symbol.WindowFunction;
+import org.teiid.query.sql.util.SymbolMap;
+import org.teiid.query.sql.visitor.AggregateSymbolCollectorVisitor;
+import org.teiid.query.sql.visitor.ElementCollectorVisitor;
+import org.teiid.query.sql.visitor.GroupCollectorVisitor;
+import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
+import org.teiid.query.sql.visitor.ValueIteratorProviderCollectorVisitor;
+import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
+import org.teiid.vdb.runtime.VDBKey;
+
+/**
+ * A secondary index over the result set cache for simple select queries keyed by their from clause.
+ * <br>
+ * When there is no exact cache hit a query may still be answered from a cached result
+ * if the cached query has the same from clause, its criteria conjuncts are a subset of the query's,
+ * and it projects every column the query needs.  The cached results are then filtered
+ * with the remaining criteria and projected.
+ * <br>
+ * Entries are only hints - the cached results are always obtained through the {@link SessionAwareCache}
+ * so that scoping and expiration are still honored.  The number of from clauses tracked is bounded
+ * and the entries for a vdb should be cleared when the vdb is removed.
+ */
+public class SemanticResultSetCache {
+
+    static final int MAX_ENTRIES_PER_KEY = 16;
+    static final int DEFAULT_MAX_KEYS = 1024;
+
+    private static class Key {
+        final VDBKey vdbKey;
+        final String from;
+
+        Key(VDBKey vdbKey, String from) {
+            this.vdbKey = vdbKey;
+            this.from = from;
+        }
+
+        @Override
+        public int hashCode() {
+            return vdbKey.hashCode() * 31 + from.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return vdbKey.equals(other.vdbKey) && from.equals(other.from);
+        }
+    }
+
+    static class Entry {
+        final String sql;
+        final ParseInfo parseInfo;
+
+        Entry(String sql, ParseInfo parseInfo) {
+            this.sql = sql;
+            this.parseInfo = parseInfo;
+        }
+    }
+
+    private Map<Key, LinkedList<Entry>> entries;
+
+    public SemanticResultSetCache() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    SemanticResultSetCache(final int maxKeys) {
+        this.entries = new LinkedHashMap<Key, LinkedList<Entry>>(16, .75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LinkedList<Entry>> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * @return true if the query has a form that can be answered from,
+     * or used to answer, another query
+     */
+    static boolean isSimple(Query query) {
+        if (query.getFrom() == null || query.getInto() != null || query.getWith() != null
+                || query.getGroupBy() != null || query.getHaving() != null || query.getLimit() != null
+                || query.getSelect().isDistinct() || query.getOption() != null) {
+            return false;
+        }
+        List<AggregateSymbol> aggs = new ArrayList<AggregateSymbol>(0);
+        List<WindowFunction> windowFunctions = new ArrayList<WindowFunction>(0);
+        AggregateSymbolCollectorVisitor.getAggregates(query.getSelect(), aggs, null, null, windowFunctions, null);
+        if (!aggs.isEmpty() || !windowFunctions.isEmpty()
+                || !ValueIteratorProviderCollectorVisitor.getValueIteratorProviders(query.getSelect()).isEmpty()) {
+            return false;
+        }
+        if (query.getCriteria() != null && !ValueIteratorProviderCollectorVisitor.getValueIteratorProviders(query.getCriteria()).isEmpty()) {
+            return false;
+        }
+        return ReferenceCollectorVisitor.getReferences(query).isEmpty();
+    }
+
+    /**
+     * The key is taken from the parsed, but not yet resolved, from clause so that a probe
+     * does not need to resolve the query.  Group names are case insensitive, so the key is
+     * upper cased - any additional candidates that produces are rejected by {@link #getRemainingCriteria}.
+     */
+    private static Key getKey(DQPWorkContext context, Query parsedQuery) {
+        return new Key(new VDBKey(context.getVdbName(), context.getVdbVersion()), parsedQuery.getFrom().toString().toUpperCase());
+    }
+
+    /**
+     * Register a cached user command
+     * @param parsedCommand the parsed, but not resolved, form of the sql
+     */
+    public void register(DQPWorkContext context, ParseInfo parseInfo, String sql, Command parsedCommand) {
+        if (!(parsedCommand instanceof Query) || !isSimple((Query)parsedCommand)) {
+            return;
+        }
+        Key key = getKey(context, (Query)parsedCommand);
+        LinkedList<Entry> list = null;
+        synchronized (this) {
+            list = entries.get(key);
+            if (list == null) {
+                list = new LinkedList<Entry>();
+                entries.put(key, list);
+            }
+        }
+        synchronized (list) {
+            for (Iterator<Entry> iter = list.iterator(); iter.hasNext();) {
+                Entry entry = iter.next();
+                if (entry.sql.equals(sql)) {
+                    iter.remove();
+                }
+            }
+            list.addFirst(new Entry(sql, parseInfo));
+            if (list.size() > MAX_ENTRIES_PER_KEY) {
+                list.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Get the candidate entries for the given parsed query, most recent first
+     */
+    List<Entry> getCandidates(DQPWorkContext context, Query parsedQuery) {
+        LinkedList<Entry> list = null;
+        synchronized (this) {
+            list = entries.get(getKey(context, parsedQuery));
+        }
+        if (list == null) {
+            return null;
+        }
+        synchronized (list) {
+            if (list.isEmpty()) {
+                return null;
+            }
+            return new ArrayList<Entry>(list);
+        }
+    }
+
+    void remove(DQPWorkContext context, Query parsedQuery, Entry entry) {
+        LinkedList<Entry> list = null;
+        synchronized (this) {
+            list = entries.get(getKey(context, parsedQuery));
+        }
+        if (list == null) {
+            return;
+        }
+        synchronized (list) {
+            list.remove(entry);
+        }
+    }
+
+    /**
+     * @return true if there are entries for the vdb of the context
+     */
+    public synchronized boolean hasEntries(DQPWorkContext context) {
+        if (entries.isEmpty()) {
+            return false;
+        }
+        VDBKey vdbKey = new VDBKey(context.getVdbName(), context.getVdbVersion());
+        for (Key key : entries.keySet()) {
+            if (key.vdbKey.equals(vdbKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized void clearForVDB(VDBKey vdbKey) {
+        for (Iterator<Key> iter = entries.keySet().iterator(); iter.hasNext();) {
+            if (iter.next().vdbKey.equals(vdbKey)) {
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * The remaining criteria and ordering are evaluated by the engine rather than by the source.
+     * If any string values are compared or sorted, all of the sources must use the same collation
+     * as the engine - the same requirement as for pushing ordering to a source.
+     */
+    static boolean isCollationCompatible(Query query, List<Criteria> remaining, QueryMetadataInterface metadata,
+            CapabilitiesFinder capFinder, Options options) throws QueryMetadataException, TeiidComponentException {
+        final boolean[] hasString = new boolean[1];
+        LanguageVisitor visitor = new LanguageVisitor() {
+            @Override
+            public void visit(ElementSymbol obj) {
+                check(obj);
+            }
+            @Override
+            public void visit(Constant obj) {
+                check(obj);
+            }
+            @Override
+            public void visit(Function obj) {
+                check(obj);
+            }
+            @Override
+            public void visit(CaseExpression obj) {
+                check(obj);
+            }
+            @Override
+            public void visit(SearchedCaseExpression obj) {
+                check(obj);
+            }
+            private void check(Expression ex) {
+                Class<?> type = ex.getType();
+                if (type == DataTypeManager.DefaultDataClasses.STRING
+                        || type == DataTypeManager.DefaultDataClasses.CHAR
+                        || type == DataTypeManager.DefaultDataClasses.CLOB) {
+                    hasString[0] = true;
+                }
+            }
+        };
+        for (LanguageObject obj : remaining) {
+            PreOrderNavigator.doVisit(obj, visitor);
+        }
+        if (query.getOrderBy() != null) {
+            PreOrderNavigator.doVisit(query.getOrderBy(), visitor);
+        }
+        if (!hasString[0]) {
+            return true;
+        }
+        for (GroupSymbol group : GroupCollectorVisitor.getGroupsIgnoreInlineViews(query.getFrom(), false)) {
+            if (group.getMetadataID() instanceof TempMetadataID || metadata.isVirtualGroup(group.getMetadataID())) {
+                //the collation of the underlying sources is not known
+                return false;
+            }
+            Object modelID = metadata.getModelID(group.getMetadataID());
+            String collation = (String) CapabilitiesUtil.getProperty(Capability.COLLATION_LOCALE, modelID, metadata, capFinder);
+            if (collation == null) {
+                if (!options.isAssumeMatchingCollation()) {
+                    return false;
+                }
+            } else if ((DataTypeManager.COLLATION_LOCALE != null && !collation.equals(DataTypeManager.COLLATION_LOCALE))
+                    || (DataTypeManager.COLLATION_LOCALE == null && !collation.equals(DataTypeManager.DEFAULT_COLLATION))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determine if the cached query subsumes the query.
+     * @return the criteria not already applied by the cached query, which may be empty,
+     * or null if the query cannot be answered from the cached results
+     */
+    static List<Criteria> getRemainingCriteria(Query query, Query cached, Map<ElementSymbol, Integer> elementMap) {
+        if (!query.getFrom().equals(cached.getFrom())) {
+            return null;
+        }
+        List<Criteria> remaining = new ArrayList<Criteria>(Criteria.separateCriteriaByAnd(query.getCriteria()));
+        for (Criteria crit : Criteria.separateCriteriaByAnd(cached.getCriteria())) {
+            if (!remaining.remove(crit)) {
+                return null;
+            }
+        }
+        if (query.getOrderBy() != null) {
+            for (OrderByItem item : query.getOrderBy().getOrderByItems()) {
+                if (item.isUnrelated()) {
+                    return null;
+                }
+            }
+        }
+        List<ElementSymbol> required = new ArrayList<ElementSymbol>();
+        ElementCollectorVisitor.getElements(query.getSelect(), required);
+        ElementCollectorVisitor.getElements(remaining, required);
+        if (!elementMap.keySet().containsAll(required)) {
+            return null;
+        }
+        return remaining;
+    }
+
+    static Map<ElementSymbol, Integer> getProjectedElements(Query cached) {
+        Map<ElementSymbol, Integer> result = new HashMap<ElementSymbol, Integer>();
+        List<Expression> projected = cached.getSelect().getProjectedSymbols();
+        for (int i = 0; i < projected.size(); i++) {
+            Expression ex = SymbolMap.getExpression(projected.get(i));
+            if (ex instanceof ElementSymbol) {
+                result.put((ElementSymbol)ex, i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filter and project the cached results to produce the results for the query
+     * @param rowLimit the max number of rows to return, or 0 if there is no limit
+     */
+    static TupleBuffer answer(Query query, List<Criteria> remaining, Map<ElementSymbol, Integer> elementMap,
+            TupleBuffer cachedResults, CommandContext context, BufferManager bufferManager, int rowLimit)
+            throws TeiidComponentException, TeiidProcessingException {
+        Evaluator eval = new Evaluator(elementMap, null, context);
+        Criteria crit = Criteria.combineCriteria(remaining);
+        List<Expression> projected = query.getProjectedSymbols();
+        List<Expression> expressions = new ArrayList<Expression>(projected.size());
+        for (Expression ex : projected) {
+            expressions.add(SymbolMap.getExpression(ex));
+        }
+        TupleBuffer result = bufferManager.createTupleBuffer(projected, context.getConnectionId(), TupleSourceType.FINAL);
+        try {
+            //read by row count as the cached buffer may not yet be marked as final
+            long rowCount = cachedResults.getRowCount();
+            //without an ordering the rows past the limit are not needed
+            boolean limited = rowLimit > 0 && query.getOrderBy() == null;
+            for (long row = 1; row <= rowCount;) {
+                TupleBatch batch = cachedResults.getBatch(row);
+                for (List<?> tuple : batch.getTuples()) {
+                    if (crit != null && !eval.evaluate(crit, tuple)) {
+                        continue;
+                    }
+                    List<Object> values = new ArrayList<Object>(expressions.size());
+                    for (Expression ex : expressions) {
+                        values.add(eval.evaluate(ex, tuple));
+                    }
+                    result.addTuple(values);
+                    if (limited && result.getRowCount() == rowLimit) {
+                        break;
+                    }
+                }
+                if (limited && result.getRowCount() == rowLimit) {
+                    break;
+                }
+                row = batch.getEndRow() + 1;
+            }
+        } catch (TeiidComponentException | TeiidProcessingException | RuntimeException e) {
+            result.remove();
+            throw e;
+        }
+        result.close();
+        if (query.getOrderBy() == null) {
+            return result;
+        }
+        List<OrderByItem> items = query.getOrderBy().getOrderByItems();
+        int[] cols = new int[items.size()];
+        List<Boolean> sortTypes = new ArrayList<Boolean>(items.size());
+        List<NullOrdering> nullOrderings = new ArrayList<NullOrdering>(items.size());
+        for (int i = 0; i < cols.length; i++) {
+            OrderByItem item = items.get(i);
+            cols[i] = item.getExpressionPosition();
+            sortTypes.add(item.isAscending());
+            nullOrderings.add(item.getNullOrdering());
+        }
+        SortUtility sort = new SortUtility(result.createIndexedTupleSource(), Mode.SORT, bufferManager, context.getConnectionId(), projected, sortTypes, nullOrderings, cols);
+        //the results are produced in a single pass outside of a processor
+        sort.setNonBlocking(true);
+        try {
+            TupleBuffer sorted = sort.sort();
+            sorted.setForwardOnly(false);
+            if (rowLimit > 0) {
+                sorted.truncateTo(rowLimit);
+            }
+            return sorted;
+        } finally {
+            result.remove();
+        }
+    }
+
+}
@@ -291,6 +291,19 @@ public class SessionAwareCache<T> {
         clearCache(this.distributedCache, vdbKey);
     }
 
+    /**
+     * Get the ids of the entries that are not specific to a session or user
+     */
+    public List<CacheID> getVDBScopedEntries() {
+        List<CacheID> result = new ArrayList<CacheID>();
+        for (CacheID key : this.distributedCache.keySet()) {
+            if (key.sessionId == null && key.userName == null) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
     private void clearCache(Cache<CacheID, T> cache, VDBKey vdbKey) {
         Set<CacheID> keys = cache.keySet();
         for (CacheID key:keys) {
@@ -367,6 +380,14 @@ public class SessionAwareCache<T> {
             return vdbInfo;
         }
 
+        public String getSql() {
+            return sql;
+        }
+
+        public boolean isAnsiIdentifiers() {
+            return ansiIdentifiers;
+        }
+
         public boolean equals(Object obj){
             if(obj == this) {
                 return true;
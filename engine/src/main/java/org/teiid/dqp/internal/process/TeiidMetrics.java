@@ -0,0 +1,149 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.dqp.internal.process;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.teiid.common.buffer.Cache;
+import org.teiid.common.buffer.impl.BufferFrontedFileStoreCache;
+import org.teiid.common.buffer.impl.BufferManagerImpl;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.query.util.CommandContext;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+
+/**
+ * Records engine metrics with the OpenTelemetry metrics api.
+ * <br>
+ * Each engine has its own instance, see {@link CommandContext#getMetrics()}.  By default the global
+ * {@link MeterProvider} is used, which does nothing unless an OpenTelemetry sdk has been registered,
+ * so any OpenTelemetry exporter may be used to publish the metrics.
+ */
+public class TeiidMetrics {
+
+    public static final String INSTRUMENTATION_NAME = "org.teiid"; //$NON-NLS-1$
+
+    public static final AttributeKey<String> TRANSLATOR = AttributeKey.stringKey("translator"); //$NON-NLS-1$
+    public static final AttributeKey<String> CONNECTION = AttributeKey.stringKey("connection"); //$NON-NLS-1$
+    public static final AttributeKey<String> VDB = AttributeKey.stringKey("vdb"); //$NON-NLS-1$
+    public static final AttributeKey<String> VDB_VERSION = AttributeKey.stringKey("vdb.version"); //$NON-NLS-1$
+
+    private Meter meter;
+    private DoubleHistogram sourceDuration;
+    private LongCounter sourceRows;
+    private DoubleHistogram requestDuration;
+
+    /**
+     * @param meterProvider the provider used to create instruments, or null to use the global provider
+     */
+    public TeiidMetrics(MeterProvider meterProvider) {
+        if (meterProvider == null) {
+            meterProvider = GlobalOpenTelemetry.getMeterProvider();
+        }
+        this.meter = meterProvider.get(INSTRUMENTATION_NAME);
+        this.sourceDuration = meter.histogramBuilder("teiid.source.execute.duration") //$NON-NLS-1$
+                .setDescription("Time for a source execution to return its initial results") //$NON-NLS-1$
+                .setUnit("ms").build(); //$NON-NLS-1$
+        this.sourceRows = meter.counterBuilder("teiid.source.rows") //$NON-NLS-1$
+                .setDescription("Rows returned by source executions").build(); //$NON-NLS-1$
+        this.requestDuration = meter.histogramBuilder("teiid.request.duration") //$NON-NLS-1$
+                .setDescription("Time from the start to the close of a user request") //$NON-NLS-1$
+                .setUnit("ms").build(); //$NON-NLS-1$
+    }
+
+    public static Attributes sourceAttributes(String translatorName, String connectionName) {
+        if (connectionName == null) {
+            return Attributes.of(TRANSLATOR, String.valueOf(translatorName));
+        }
+        return Attributes.of(TRANSLATOR, String.valueOf(translatorName), CONNECTION, connectionName);
+    }
+
+    public void recordSourceExecution(Attributes source, double millis) {
+        this.sourceDuration.record(millis, source);
+    }
+
+    public void recordSourceRows(Attributes source, long rows) {
+        if (rows > 0) {
+            this.sourceRows.add(rows, source);
+        }
+    }
+
+    public void recordRequest(String vdbName, String vdbVersion, double millis) {
+        this.requestDuration.record(millis, Attributes.of(VDB, String.valueOf(vdbName), VDB_VERSION, String.valueOf(vdbVersion)));
+    }
+
+    /**
+     * Register observations of the buffer manager and engine thread pool.  The returned instance
+     * should be closed when the engine is stopped.
+     */
+    public AutoCloseable observeEngine(final BufferManagerImpl bufferManager, final TeiidExecutor processWorkerPool) {
+        Meter m = this.meter;
+        final List<AutoCloseable> observers = new ArrayList<AutoCloseable>();
+        if (bufferManager != null) {
+            observers.add(m.gaugeBuilder("teiid.buffer.reserve.bytes").ofLongs() //$NON-NLS-1$
+                    .setDescription("Memory available for reservation by processing").setUnit("By") //$NON-NLS-1$ //$NON-NLS-2$
+                    .buildWithCallback(r -> r.record(bufferManager.getReserveBatchBytes())));
+            observers.add(m.gaugeBuilder("teiid.buffer.active.bytes").ofLongs() //$NON-NLS-1$
+                    .setDescription("Memory held by batches in the heap cache").setUnit("By") //$NON-NLS-1$ //$NON-NLS-2$
+                    .buildWithCallback(r -> r.record(bufferManager.getActiveBatchBytes())));
+            observers.add(m.counterBuilder("teiid.buffer.writes") //$NON-NLS-1$
+                    .setDescription("Batches written to storage").buildWithCallback(r -> r.record(bufferManager.getWriteCount()))); //$NON-NLS-1$
+            observers.add(m.counterBuilder("teiid.buffer.reads") //$NON-NLS-1$
+                    .setDescription("Batches read from storage").buildWithCallback(r -> r.record(bufferManager.getReadCount()))); //$NON-NLS-1$
+            observers.add(m.counterBuilder("teiid.buffer.evictions") //$NON-NLS-1$
+                    .setDescription("Batches evicted from the heap cache").buildWithCallback(r -> r.record(bufferManager.getEvictionCount()))); //$NON-NLS-1$
+            Cache cache = bufferManager.getCache();
+            if (cache instanceof BufferFrontedFileStoreCache) {
+                final BufferFrontedFileStoreCache storeCache = (BufferFrontedFileStoreCache)cache;
+                observers.add(m.gaugeBuilder("teiid.buffer.storage.bytes").ofLongs() //$NON-NLS-1$
+                        .setDescription("Size of the storage files").setUnit("By") //$NON-NLS-1$ //$NON-NLS-2$
+                        .buildWithCallback(r -> r.record(storeCache.getDiskUsage())));
+                observers.add(m.gaugeBuilder("teiid.buffer.storage.fragmented.bytes").ofLongs() //$NON-NLS-1$
+                        .setDescription("Size of the storage files not in use").setUnit("By") //$NON-NLS-1$ //$NON-NLS-2$
+                        .buildWithCallback(r -> r.record(storeCache.getFragmentedBytes())));
+            }
+        }
+        if (processWorkerPool != null) {
+            observers.add(m.gaugeBuilder("teiid.engine.queued").ofLongs() //$NON-NLS-1$
+                    .setDescription("Work items waiting for an engine thread") //$NON-NLS-1$
+                    .buildWithCallback(r -> r.record(processWorkerPool.getQueued())));
+            observers.add(m.gaugeBuilder("teiid.engine.active").ofLongs() //$NON-NLS-1$
+                    .setDescription("Engine threads that are processing work") //$NON-NLS-1$
+                    .buildWithCallback(r -> r.record(processWorkerPool.getActiveCount())));
+        }
+        return () -> {
+            for (AutoCloseable observer : observers) {
+                try {
+                    observer.close();
+                } catch (Exception e) {
+                    LogManager.logDetail(LogConstants.CTX_DQP, e, "Could not close the metric observer"); //$NON-NLS-1$
+                }
+            }
+        };
+    }
+
+}
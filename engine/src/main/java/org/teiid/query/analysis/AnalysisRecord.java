@@ -23,8 +23,10 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.teiid.client.plan.Annotation;
 import org.teiid.client.plan.Annotation.Priority;
@@ -68,6 +70,7 @@ public class AnalysisRecord {
     public static final String PROP_SQL = "Query"; //$NON-NLS-1$
     public static final String PROP_MODEL_NAME = "Model Name"; //$NON-NLS-1$
     public static final String PROP_SHARING_ID = "Sharing ID"; //$NON-NLS-1$
+    public static final String PROP_PARTITION_COLUMN = "Partition Column"; //$NON-NLS-1$
     public static final String PROP_DEPENDENT = "Dependent Join"; //$NON-NLS-1$
     public static final String PROP_JOIN_STRATEGY = "Join Strategy"; //$NON-NLS-1$
     public static final String PROP_JOIN_TYPE = "Join Type"; //$NON-NLS-1$
@@ -98,6 +101,17 @@ public class AnalysisRecord {
     public static final String PROP_ELSE = "Else"; //$NON-NLS-1$
 
     public static final String PROP_PLANNING_TIME = "Planning Time"; //$NON-NLS-1$
+    public static final String PROP_PLANNING_PHASES = "Planning Phases"; //$NON-NLS-1$
+    public static final String PROP_PLANNING_RULES = "Planning Rules"; //$NON-NLS-1$
+    public static final String PROP_PLAN_NODE_COUNT = "Plan Node Count"; //$NON-NLS-1$
+
+    // Planning phases
+    public static final String PHASE_PARSE = "parse"; //$NON-NLS-1$
+    public static final String PHASE_RESOLVE = "resolve"; //$NON-NLS-1$
+    public static final String PHASE_VALIDATE = "validate"; //$NON-NLS-1$
+    public static final String PHASE_REWRITE = "rewrite"; //$NON-NLS-1$
+    public static final String PHASE_PLAN = "plan"; //$NON-NLS-1$
+    public static final String PHASE_CONVERT = "convert"; //$NON-NLS-1$
 
     // Flags regarding what should be recorded
     private boolean recordQueryPlan;
@@ -110,6 +124,12 @@ public class AnalysisRecord {
     private StringWriter stringWriter;  // inner
     private PrintWriter debugWriter;    // public
 
+    // Planning statistics, times are in nanoseconds
+    private Map<String, Long> phaseTimes = new LinkedHashMap<String, Long>();
+    private Map<String, Long> ruleTimes = new LinkedHashMap<String, Long>();
+    private Map<String, Integer> ruleExecutions = new LinkedHashMap<String, Integer>();
+    private int planNodeCount;
+
     public AnalysisRecord(boolean recordQueryPlan, boolean recordDebug) {
         this.recordQueryPlan = recordQueryPlan || LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.DETAIL);
         this.recordDebug = recordDebug || LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.TRACE);
@@ -236,4 +256,78 @@ public class AnalysisRecord {
         }
         node.addProperty(key, values);
     }
+
+    /**
+     * Add to the time spent in the given planning phase.  Phases that
+     * are performed more than once, such as for nested plans, are summed.
+     * @param phase
+     * @param nanos
+     */
+    public void addPhaseTime(String phase, long nanos) {
+        Long existing = this.phaseTimes.get(phase);
+        this.phaseTimes.put(phase, existing == null ? nanos : existing + nanos);
+    }
+
+    /**
+     * Add to the time spent executing the given optimizer rule.
+     * @param rule
+     * @param nanos
+     */
+    public void addRuleTime(String rule, long nanos) {
+        Long existing = this.ruleTimes.get(rule);
+        this.ruleTimes.put(rule, existing == null ? nanos : existing + nanos);
+        Integer count = this.ruleExecutions.get(rule);
+        this.ruleExecutions.put(rule, count == null ? 1 : count + 1);
+    }
+
+    public void addPlanNodeCount(int count) {
+        this.planNodeCount += count;
+    }
+
+    /**
+     * @return the planning phase times in nanoseconds in the order first performed
+     */
+    public Map<String, Long> getPhaseTimes() {
+        return phaseTimes;
+    }
+
+    /**
+     * @return the optimizer rule times in nanoseconds in the order first executed
+     */
+    public Map<String, Long> getRuleTimes() {
+        return ruleTimes;
+    }
+
+    public Map<String, Integer> getRuleExecutions() {
+        return ruleExecutions;
+    }
+
+    /**
+     * @return the number of relational planning nodes created prior to conversion
+     */
+    public int getPlanNodeCount() {
+        return planNodeCount;
+    }
+
+    /**
+     * Add the planning statistics as properties of the given plan node.
+     * @param node
+     */
+    public void addPlanningStatistics(PlanNode node) {
+        List<String> phases = new ArrayList<String>(this.phaseTimes.size());
+        for (Map.Entry<String, Long> entry : this.phaseTimes.entrySet()) {
+            phases.add(entry.getKey() + ": " + formatTime(entry.getValue())); //$NON-NLS-1$
+        }
+        node.addProperty(PROP_PLANNING_PHASES, phases);
+        List<String> rules = new ArrayList<String>(this.ruleTimes.size());
+        for (Map.Entry<String, Long> entry : this.ruleTimes.entrySet()) {
+            rules.add(entry.getKey() + ": " + formatTime(entry.getValue()) + " (" + this.ruleExecutions.get(entry.getKey()) + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        node.addProperty(PROP_PLANNING_RULES, rules);
+        node.addProperty(PROP_PLAN_NODE_COUNT, String.valueOf(this.planNodeCount));
+    }
+
+    private static String formatTime(long nanos) {
+        return String.format("%.3f ms", nanos / 1000000d); //$NON-NLS-1$
+    }
 }
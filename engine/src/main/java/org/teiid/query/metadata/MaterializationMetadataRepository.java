@@ -60,6 +60,15 @@ public class MaterializationMetadataRepository implements MetadataRepository {
 
     public static final String MATVIEW_POLLING_QUERY = "teiid_rel:MATVIEW_POLLING_QUERY"; //$NON-NLS-1$
 
+    public static final String MATVIEW_INCREMENTAL_COLUMN = "teiid_rel:MATVIEW_INCREMENTAL_COLUMN"; //$NON-NLS-1$
+
+    public static final String MATVIEW_QUERY_REWRITE = "teiid_rel:MATVIEW_QUERY_REWRITE"; //$NON-NLS-1$
+
+    //index options for internal materialization
+    public static final String INDEX_TYPE = "teiid_rel:INDEX_TYPE"; //$NON-NLS-1$
+    public static final String INDEX_INCLUDE = "teiid_rel:INDEX_INCLUDE"; //$NON-NLS-1$
+    public enum IndexType {ORDERED, HASH}
+
     public enum LoadStates {NEEDS_LOADING, LOADING, LOADED, FAILED_LOAD};
     public enum Scope {IMPORTED, FULL};
     public enum ErrorAction {THROW_EXCEPTION, IGNORE, WAIT}
@@ -481,26 +481,8 @@ public class MetadataValidator {
                                 metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31215, t.getFullName(), matTable.getFullName(), matViewLoadNumberColumn, column.getRuntimeType()), t);
                                 continue;
                             }
-                            String partColumn = t.getProperty(MATVIEW_PART_LOAD_COLUMN, false);
-                            if (partColumn != null) {
-                                Column partCol = t.getColumnByName(partColumn);
-                                if (partCol == null) {
-                                    metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31302, t.getFullName(), partColumn), t);
-                                    continue;
-                                }
-                                if (DataTypeManager.isNonComparable(partCol.getRuntimeType())) {
-                                    metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31303, t.getFullName(), partColumn), t);
-                                    continue;
-                                }
-                                String partQuery = t.getProperty(MATVIEW_PART_LOAD_VALUES, false);
-                                if (partQuery != null) {
-                                    Command command = loadScriptsValidation(vdb, report, metadataValidator, model, t, partQuery, MaterializationMetadataRepository.MATVIEW_PART_LOAD_VALUES);
-
-                                    if (command.getProjectedSymbols().size() != 1 || !command.getProjectedSymbols().get(0).getType().equals(partCol.getJavaType())) {
-                                        metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31304, t.getFullName(), partQuery, partColumn), t);
-                                        continue;
-                                    }
-                                }
+                            if (!partitionValidation(vdb, report, metadataValidator, model, t)) {
+                                continue;
                             }
                         }
 
@@ -596,6 +578,9 @@ public class MetadataValidator {
                         loadScriptsValidation(vdb, report, metadataValidator, model, t, t.getProperty(MATVIEW_AFTER_LOAD_SCRIPT, false), "MATVIEW_AFTER_LOAD_SCRIPT");//$NON-NLS-1$
                     } else {
                         // internal materialization
+                        if (!partitionValidation(vdb, report, metadataValidator, model, t)) {
+                            continue;
+                        }
                         String manage = t.getProperty(ALLOW_MATVIEW_MANAGEMENT, false);
                         if (!Boolean.valueOf(manage)) {
                             continue;
@@ -610,6 +595,39 @@ public class MetadataValidator {
             }
         }
 
+        /**
+         * Validate the partitioning column and values query
+         * @return false if the partitioning is not valid
+         */
+        private boolean partitionValidation(VDBMetaData vdb, ValidatorReport report, MetadataValidator metadataValidator,
+                ModelMetaData model, Table t) {
+            String partColumn = t.getProperty(MATVIEW_PART_LOAD_COLUMN, false);
+            if (partColumn == null) {
+                return true;
+            }
+            Column partCol = t.getColumnByName(partColumn);
+            if (partCol == null) {
+                metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31302, t.getFullName(), partColumn), t);
+                return false;
+            }
+            if (DataTypeManager.isNonComparable(partCol.getRuntimeType())) {
+                metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31303, t.getFullName(), partColumn), t);
+                return false;
+            }
+            String partQuery = t.getProperty(MATVIEW_PART_LOAD_VALUES, false);
+            if (partQuery != null) {
+                Command command = loadScriptsValidation(vdb, report, metadataValidator, model, t, partQuery, MaterializationMetadataRepository.MATVIEW_PART_LOAD_VALUES);
+                if (command == null) {
+                    return false;
+                }
+                if (command.getProjectedSymbols().size() != 1 || !command.getProjectedSymbols().get(0).getType().equals(partCol.getJavaType())) {
+                    metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31304, t.getFullName(), partQuery, partColumn), t);
+                    return false;
+                }
+            }
+            return true;
+        }
+
         interface TableFilter {
             void accept(Table table);
         }
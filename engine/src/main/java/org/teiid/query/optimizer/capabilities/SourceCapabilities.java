@@ -372,7 +372,13 @@ public interface SourceCapabilities {
         GEOGRAPHY_TYPE,
         PROCEDURE_PARAMETER_EXPRESSION,
         MAX_QUERY_FROM_ONE_TO_MANY,
-        QUERY_ONLY_FROM_RELATIONSHIP_JOIN;
+        QUERY_ONLY_FROM_RELATIONSHIP_JOIN,
+        /**
+         * The multiple of the max dependent parameters beyond which dependent sets are pushed to the source (Integer)
+         *
+         * @since 17.0.13
+         */
+        DEPENDENT_JOIN_PUSHDOWN_THRESHOLD;
 
         private final String toString;
 
@@ -0,0 +1,410 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.optimizer.relational;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.language.SQLConstants;
+import org.teiid.language.SQLConstants.NonReserved;
+import org.teiid.metadata.AbstractMetadataRecord.Modifiable;
+import org.teiid.metadata.FunctionMethod.Determinism;
+import org.teiid.metadata.Schema;
+import org.teiid.metadata.Table;
+import org.teiid.query.metadata.MaterializationMetadataRepository;
+import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.metadata.TempMetadataID;
+import org.teiid.query.resolver.QueryResolver;
+import org.teiid.query.resolver.util.ResolverUtil;
+import org.teiid.query.rewriter.QueryRewriter;
+import org.teiid.query.sql.LanguageVisitor;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.From;
+import org.teiid.query.sql.lang.FromClause;
+import org.teiid.query.sql.lang.JoinPredicate;
+import org.teiid.query.sql.lang.Option;
+import org.teiid.query.sql.lang.OrderByItem;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.UnaryFromClause;
+import org.teiid.query.sql.navigator.PreOrPostOrderNavigator;
+import org.teiid.query.sql.symbol.AggregateSymbol;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.symbol.Function;
+import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.query.sql.symbol.MultipleElementSymbol;
+import org.teiid.query.sql.symbol.WindowFunction;
+import org.teiid.query.sql.util.SymbolMap;
+import org.teiid.query.sql.visitor.AggregateSymbolCollectorVisitor;
+import org.teiid.query.sql.visitor.ElementCollectorVisitor;
+import org.teiid.query.sql.visitor.ExpressionMappingVisitor;
+import org.teiid.query.sql.visitor.FunctionCollectorVisitor;
+import org.teiid.query.sql.visitor.ValueIteratorProviderCollectorVisitor;
+import org.teiid.query.tempdata.GlobalTableStore;
+import org.teiid.query.tempdata.GlobalTableStoreImpl.MatTableInfo;
+import org.teiid.query.util.CommandContext;
+
+/**
+ * Rewrites queries against source tables to use a materialized view that
+ * has opted in with {@link MaterializationMetadataRepository#MATVIEW_QUERY_REWRITE}.
+ * <br>
+ * A view is used if its definition is a simple query with the same from clause
+ * as the user query, where clause conjuncts that are a subset of the user query's, and
+ * projects every expression the user query needs.  If the view groups, then the user query
+ * must group by view columns and may only use SUM, MIN, MAX, or COUNT aggregates that are
+ * projected by the view - these are rolled up over the view columns.
+ * <br>
+ * Internal materializations are only used when already loaded and up to date.
+ */
+class MaterializedViewMatcher {
+
+    private static final String CANDIDATES_KEY = "MatViewRewriteCandidates"; //$NON-NLS-1$
+    private static final String DEFINITION_KEY = "MatViewRewriteDefinition"; //$NON-NLS-1$
+
+    /**
+     * Added to the planning objects so that a cached plan using an internal
+     * materialization is invalidated once the materialization is no longer up to date.
+     */
+    private static class UpToDateCheck implements Modifiable {
+
+        private MatTableInfo info;
+
+        UpToDateCheck(MatTableInfo info) {
+            this.info = info;
+        }
+
+        @Override
+        public long getLastModified() {
+            return info.isUpToDate()?0:-1;
+        }
+
+    }
+
+    private QueryMetadataInterface metadata;
+    private CommandContext context;
+
+    MaterializedViewMatcher(QueryMetadataInterface metadata, CommandContext context) {
+        this.metadata = metadata;
+        this.context = context;
+    }
+
+    /**
+     * Rewrite the query in place to select from a matching materialized view
+     * @return the view group used or null if there was no match
+     */
+    GroupSymbol rewrite(Query query, Option option) throws QueryMetadataException, TeiidComponentException, TeiidProcessingException {
+        if (query.getFrom() == null || query.getInto() != null || query.getWith() != null
+                || query.getOption() != null || !isSimpleFrom(query.getFrom().getClauses())) {
+            return null;
+        }
+        List<Object> candidates = getCandidates();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        for (Expression ex : query.getSelect().getSymbols()) {
+            if (ex instanceof MultipleElementSymbol) {
+                return null;
+            }
+        }
+        if (query.getOrderBy() != null) {
+            for (OrderByItem item : query.getOrderBy().getOrderByItems()) {
+                if (item.isUnrelated()) {
+                    return null;
+                }
+            }
+        }
+        if (!ValueIteratorProviderCollectorVisitor.getValueIteratorProviders(query).isEmpty()) {
+            return null;
+        }
+        List<GroupSymbol> groups = query.getFrom().getGroups();
+        for (GroupSymbol group : groups) {
+            //row security includes column masks
+            if (RowBasedSecurityHelper.applyRowSecurity(metadata, group, context)) {
+                return null;
+            }
+        }
+        for (Object viewId : candidates) {
+            if (RelationalPlanner.isNoCacheGroup(metadata, viewId, option)) {
+                continue;
+            }
+            GroupSymbol viewGroup = new GroupSymbol(metadata.getFullName(viewId));
+            viewGroup.setMetadataID(viewId);
+            if (RowBasedSecurityHelper.applyRowSecurity(metadata, viewGroup, context)) {
+                continue;
+            }
+            MatTableInfo info = null;
+            if (metadata.getMaterialization(viewId) == null) {
+                info = getMatTableInfo(viewId);
+                if (info == null || !info.isUpToDate()) {
+                    continue;
+                }
+            }
+            boolean self = false;
+            for (GroupSymbol group : groups) {
+                if (group.getMetadataID().equals(viewId)) {
+                    self = true;
+                    break;
+                }
+            }
+            if (self) {
+                continue;
+            }
+            Query view = getViewDefinition(viewGroup);
+            if (view == null) {
+                continue;
+            }
+            if (match(query, view, viewGroup)) {
+                if (info != null) {
+                    context.accessedPlanningObject(new UpToDateCheck(info));
+                }
+                return viewGroup;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSimpleFrom(List<FromClause> clauses) {
+        for (FromClause clause : clauses) {
+            if (clause instanceof JoinPredicate) {
+                JoinPredicate jp = (JoinPredicate)clause;
+                if (!isSimpleFrom(Arrays.asList(jp.getLeftClause(), jp.getRightClause()))) {
+                    return false;
+                }
+            } else if (!(clause instanceof UnaryFromClause)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Object> getCandidates() throws TeiidComponentException, QueryMetadataException {
+        List<Object> result = new ArrayList<Object>();
+        for (Object modelId : metadata.getModelIDs()) {
+            if (!(modelId instanceof Schema)) {
+                continue;
+            }
+            Schema schema = (Schema)modelId;
+            @SuppressWarnings("unchecked")
+            List<Object> candidates = (List<Object>)metadata.getFromMetadataCache(schema, CANDIDATES_KEY);
+            if (candidates == null) {
+                candidates = new ArrayList<Object>();
+                for (Table table : schema.getTables().values()) {
+                    if (table.isVirtual() && table.isMaterialized()
+                            && Boolean.valueOf(table.getProperty(MaterializationMetadataRepository.MATVIEW_QUERY_REWRITE, false))) {
+                        candidates.add(table);
+                    }
+                }
+                metadata.addToMetadataCache(schema, CANDIDATES_KEY, candidates);
+            }
+            result.addAll(candidates);
+        }
+        return result;
+    }
+
+    /**
+     * Get the rewritten view definition, which is cached with the vdb metadata
+     * if it is deterministic
+     * @return the definition or null if it is not a query
+     */
+    private Query getViewDefinition(GroupSymbol viewGroup) throws QueryMetadataException, TeiidComponentException, TeiidProcessingException {
+        Object viewId = viewGroup.getMetadataID();
+        Object cached = metadata.getFromMetadataCache(viewId, DEFINITION_KEY);
+        if (cached == Boolean.FALSE) {
+            return null;
+        }
+        if (cached != null) {
+            return (Query)cached;
+        }
+        Command def = QueryResolver.resolveView(viewGroup, metadata.getVirtualPlan(viewId), SQLConstants.Reserved.SELECT, metadata, false).getCommand();
+        if (!(def instanceof Query)) {
+            metadata.addToMetadataCache(viewId, DEFINITION_KEY, Boolean.FALSE);
+            return null;
+        }
+        Query view = (Query)QueryRewriter.rewrite((Command)def.clone(), metadata, context);
+        for (Function function : FunctionCollectorVisitor.getFunctions(def, true, false)) {
+            if (function.getFunctionDescriptor().getDeterministic() != Determinism.DETERMINISTIC) {
+                //the rewrite may have been specific to this command
+                return view;
+            }
+        }
+        metadata.addToMetadataCache(viewId, DEFINITION_KEY, view);
+        return view;
+    }
+
+    /**
+     * External materializations have their status checked at runtime.  Internal
+     * materializations must already be loaded and not past their ttl.
+     */
+    private MatTableInfo getMatTableInfo(Object viewId) throws TeiidComponentException, TeiidProcessingException {
+        GlobalTableStore globalStore = context.getGlobalTableStore();
+        if (globalStore == null) {
+            return null;
+        }
+        TempMetadataID id = globalStore.getGlobalTempTableMetadataId(viewId);
+        return globalStore.getMatTableInfo(id.getID());
+    }
+
+    private boolean match(Query query, Query view, GroupSymbol viewGroup) throws QueryMetadataException, TeiidComponentException {
+        if (view.getFrom() == null || view.getInto() != null || view.getWith() != null || view.getLimit() != null
+                || view.getHaving() != null || view.getSelect().isDistinct()) {
+            return false;
+        }
+        //map the query groups to the view groups
+        List<GroupSymbol> queryGroups = query.getFrom().getGroups();
+        List<GroupSymbol> viewGroups = view.getFrom().getGroups();
+        if (queryGroups.size() != viewGroups.size()) {
+            return false;
+        }
+        final Map<GroupSymbol, GroupSymbol> groupMap = new HashMap<GroupSymbol, GroupSymbol>();
+        Map<ElementSymbol, ElementSymbol> elementMap = new HashMap<ElementSymbol, ElementSymbol>();
+        for (GroupSymbol group : queryGroups) {
+            GroupSymbol match = null;
+            for (GroupSymbol vg : viewGroups) {
+                if (vg.getMetadataID().equals(group.getMetadataID())) {
+                    if (match != null) {
+                        return false;
+                    }
+                    match = vg;
+                }
+            }
+            if (match == null || groupMap.containsValue(match)) {
+                return false;
+            }
+            groupMap.put(group, match);
+            List<ElementSymbol> elements = ResolverUtil.resolveElementsInGroup(group, metadata);
+            List<ElementSymbol> viewElements = ResolverUtil.resolveElementsInGroup(match, metadata);
+            for (int i = 0; i < elements.size(); i++) {
+                elementMap.put(elements.get(i), viewElements.get(i));
+            }
+        }
+        Query mapped = (Query)query.clone();
+        ExpressionMappingVisitor.mapExpressions(mapped, elementMap);
+        PreOrPostOrderNavigator.doVisit(mapped.getFrom(), new LanguageVisitor() {
+            @Override
+            public void visit(UnaryFromClause obj) {
+                obj.setGroup(groupMap.get(obj.getGroup()).clone());
+            }
+        }, PreOrPostOrderNavigator.PRE_ORDER);
+        if (!mapped.getFrom().equals(view.getFrom())) {
+            return false;
+        }
+        List<Criteria> remaining = new ArrayList<Criteria>(Criteria.separateCriteriaByAnd(mapped.getCriteria()));
+        for (Criteria crit : Criteria.separateCriteriaByAnd(view.getCriteria())) {
+            if (!remaining.remove(crit)) {
+                return false;
+            }
+        }
+
+        //map the view expressions to the view columns
+        List<ElementSymbol> viewColumns = ResolverUtil.resolveElementsInGroup(viewGroup, metadata);
+        List<Expression> projected = view.getProjectedSymbols();
+        Map<Expression, Expression> columnMap = new HashMap<Expression, Expression>();
+        for (int i = 0; i < projected.size(); i++) {
+            columnMap.putIfAbsent(SymbolMap.getExpression(projected.get(i)), viewColumns.get(i).clone());
+        }
+
+        LinkedHashSet<AggregateSymbol> viewAggs = new LinkedHashSet<AggregateSymbol>();
+        List<WindowFunction> windowFunctions = new ArrayList<WindowFunction>(0);
+        AggregateSymbolCollectorVisitor.getAggregates(view.getSelect(), viewAggs, null, null, windowFunctions, null);
+        if (!windowFunctions.isEmpty()) {
+            return false;
+        }
+        LinkedHashSet<AggregateSymbol> aggs = new LinkedHashSet<AggregateSymbol>();
+        AggregateSymbolCollectorVisitor.getAggregates(mapped.getSelect(), aggs, null, null, windowFunctions, null);
+        if (!windowFunctions.isEmpty()) {
+            return false;
+        }
+        if (mapped.getHaving() != null) {
+            aggs.addAll(AggregateSymbolCollectorVisitor.getAggregates(mapped.getHaving(), true));
+        }
+        if (view.getGroupBy() != null || !viewAggs.isEmpty()) {
+            if (mapped.getGroupBy() == null && aggs.isEmpty()) {
+                return false;
+            }
+            for (AggregateSymbol agg : aggs) {
+                Expression rolledUp = rollup(agg, columnMap.get(agg), mapped.getGroupBy() != null);
+                if (rolledUp == null) {
+                    return false;
+                }
+                columnMap.put(agg, rolledUp);
+            }
+        }
+
+        mapped.setFrom(new From(Arrays.asList(new UnaryFromClause(viewGroup.clone()))));
+        mapped.setCriteria(Criteria.combineCriteria(remaining));
+        PreOrPostOrderNavigator.doVisit(mapped, new ExpressionMappingVisitor(columnMap, true), PreOrPostOrderNavigator.PRE_ORDER);
+
+        //everything must now be expressed in terms of the view columns
+        for (ElementSymbol es : ElementCollectorVisitor.getElements(mapped, true)) {
+            if (!viewGroup.equals(es.getGroupSymbol())) {
+                return false;
+            }
+        }
+
+        query.setSelect(mapped.getSelect());
+        query.setFrom(mapped.getFrom());
+        query.setCriteria(mapped.getCriteria());
+        query.setGroupBy(mapped.getGroupBy());
+        query.setHaving(mapped.getHaving());
+        query.setOrderBy(mapped.getOrderBy());
+        return true;
+    }
+
+    /**
+     * Compute the aggregate over the pre-aggregated view column
+     */
+    private Expression rollup(AggregateSymbol agg, Expression column, boolean hasGroupBy) {
+        if (column == null || agg.isDistinct() || agg.getOrderBy() != null || agg.getCondition() != null) {
+            return null;
+        }
+        AggregateSymbol result = null;
+        switch (agg.getAggregateFunction()) {
+        case MIN:
+        case MAX:
+        case SUM:
+            result = new AggregateSymbol(agg.getAggregateFunction().name(), false, (Expression)column.clone());
+            break;
+        case COUNT:
+        case COUNT_BIG:
+            //without a group by an empty view would produce a null sum rather than a 0 count
+            if (!hasGroupBy) {
+                return null;
+            }
+            result = new AggregateSymbol(NonReserved.SUM, false, (Expression)column.clone());
+            break;
+        default:
+            return null;
+        }
+        if (result.getType() == agg.getType()) {
+            return result;
+        }
+        return ResolverUtil.getConversion(result, DataTypeManager.getDataTypeName(result.getType()),
+                DataTypeManager.getDataTypeName(agg.getType()), false, metadata.getFunctionLibrary());
+    }
+
+}
@@ -40,7 +40,12 @@ import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.id.IDGenerator;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.TransformationException;
 import org.teiid.core.util.Assertion;
+import org.teiid.core.util.StringUtil;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.metadata.FunctionMethod.PushDown;
 import org.teiid.query.QueryPlugin;
@@ -80,6 +85,7 @@ import org.teiid.query.processor.relational.NestedLoopJoinStrategy;
 import org.teiid.query.processor.relational.NestedTableJoinStrategy;
 import org.teiid.query.processor.relational.NullNode;
 import org.teiid.query.processor.relational.ObjectTableNode;
+import org.teiid.query.processor.relational.PartitionedAccessNode;
 import org.teiid.query.processor.relational.PlanExecutionNode;
 import org.teiid.query.processor.relational.ProjectIntoNode;
 import org.teiid.query.processor.relational.ProjectNode;
@@ -129,6 +135,7 @@ import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.symbol.Reference;
 import org.teiid.query.sql.symbol.WindowFunction;
 import org.teiid.query.sql.util.SymbolMap;
+import org.teiid.query.sql.visitor.AggregateSymbolCollectorVisitor;
 import org.teiid.query.sql.visitor.ElementCollectorVisitor;
 import org.teiid.query.sql.visitor.EvaluatableVisitor;
 import org.teiid.query.sql.visitor.EvaluatableVisitor.EvaluationLevel;
@@ -418,6 +425,7 @@ public class PlanToProcessConverter {
                                 depAccessNode.setPushdown(CapabilitiesUtil.supports(Capability.DEPENDENT_JOIN, modelID, metadata, capFinder));
                                 depAccessNode.setMaxSetSize(CapabilitiesUtil.getMaxInCriteriaSize(modelID, metadata, capFinder));
                                 depAccessNode.setMaxPredicates(CapabilitiesUtil.getMaxDependentPredicates(modelID, metadata, capFinder));
+                                depAccessNode.setPushdownThreshold(CapabilitiesUtil.getDependentJoinPushdownThreshold(modelID, metadata, capFinder));
                                 depAccessNode.setUseBindings(CapabilitiesUtil.supports(Capability.DEPENDENT_JOIN_BINDINGS, modelID, metadata, capFinder));
                                 //TODO: allow the translator to drive this property
                                 //simplistic check of whether this query is complex to re-execute
@@ -452,7 +460,10 @@ public class PlanToProcessConverter {
                     } else {
 
                         // create access node
-                        aNode = new AccessNode(getID());
+                        aNode = createPartitionedAccessNode(command, modelID);
+                        if (aNode == null) {
+                            aNode = new AccessNode(getID());
+                        }
                         processNode = aNode;
 
                     }
@@ -533,7 +544,8 @@ public class PlanToProcessConverter {
                             aNode.minimizeProject(command);
                         }
                         //check if valid to share this with other nodes
-                        if (ev != null && ev.getDeterminismLevel().compareTo(Determinism.INSTRUCTION_DETERMINISTIC) >= 0 && command.areResultsCachable()) {
+                        if (ev != null && ev.getDeterminismLevel().compareTo(Determinism.INSTRUCTION_DETERMINISTIC) >= 0 && command.areResultsCachable()
+                                && !(aNode instanceof PartitionedAccessNode)) {
                             checkForSharedSourceCommand(aNode, node);
                         }
                     }
@@ -843,6 +855,116 @@ public class PlanToProcessConverter {
         return command;
     }
 
+    /**
+     * Create a {@link PartitionedAccessNode} if the command is a simple scan of a single table
+     * that declares a partition column
+     * @return the node or null if the command should not be partitioned
+     */
+    private AccessNode createPartitionedAccessNode(Command command, Object modelID) throws QueryMetadataException, TeiidComponentException {
+        if (!(command instanceof Query) || modelID == null || metadata.isMultiSource(modelID)) {
+            return null;
+        }
+        Query query = (Query)command;
+        if (query.getFrom() == null
+                || query.getFrom().getClauses().size() != 1
+                || !(query.getFrom().getClauses().get(0) instanceof UnaryFromClause)
+                || query.getGroupBy() != null
+                || query.getHaving() != null
+                || query.getLimit() != null
+                || query.getWith() != null
+                || query.getSelect().isDistinct()
+                || !AggregateSymbolCollectorVisitor.getAggregates(query.getSelect(), false).isEmpty()) {
+            return null;
+        }
+        GroupSymbol group = query.getFrom().getGroups().get(0);
+        if (group.getMetadataID() instanceof TempMetadataID) {
+            return null;
+        }
+        String columnName = metadata.getExtensionProperty(group.getMetadataID(), PartitionedAccessNode.PARTITION_COLUMN, false);
+        if (columnName == null) {
+            return null;
+        }
+        String boundaries = metadata.getExtensionProperty(group.getMetadataID(), PartitionedAccessNode.PARTITION_BOUNDARIES, false);
+        String count = metadata.getExtensionProperty(group.getMetadataID(), PartitionedAccessNode.PARTITION_COUNT, false);
+        if ((boundaries == null && count == null)
+                || !CapabilitiesUtil.supports(Capability.CRITERIA_COMPARE_ORDERED, modelID, metadata, capFinder)
+                || !CapabilitiesUtil.supports(Capability.CRITERIA_ISNULL, modelID, metadata, capFinder)
+                || !CapabilitiesUtil.supports(Capability.CRITERIA_OR, modelID, metadata, capFinder)) {
+            return null;
+        }
+        Object columnId = null;
+        for (Object elementId : metadata.getElementIDsInGroupID(group.getMetadataID())) {
+            if (metadata.getName(elementId).equalsIgnoreCase(columnName)) {
+                columnId = elementId;
+                break;
+            }
+        }
+        if (columnId == null) {
+            LogManager.logWarning(LogConstants.CTX_QUERY_PLANNER, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31311, columnName, group));
+            return null;
+        }
+        boolean descending = false;
+        if (query.getOrderBy() != null) {
+            //the ranges can be returned in order if the partition column is the leading sort key
+            OrderByItem item = query.getOrderBy().getOrderByItems().get(0);
+            Expression ex = SymbolMap.getExpression(item.getSymbol());
+            if (!(ex instanceof ElementSymbol) || !columnId.equals(((ElementSymbol)ex).getMetadataID())
+                    || item.getNullOrdering() != null) {
+                return null;
+            }
+            descending = !item.isAscending();
+        }
+        ElementSymbol column = new ElementSymbol(metadata.getName(columnId));
+        column.setMetadataID(columnId);
+        column.setType(DataTypeManager.getDataTypeClass(metadata.getElementRuntimeTypeName(columnId)));
+        if (DataTypeManager.isNonComparable(DataTypeManager.getDataTypeName(column.getType()))
+                || ((column.getType() == DataTypeManager.DefaultDataClasses.STRING || column.getType() == DataTypeManager.DefaultDataClasses.CHAR)
+                        && !isMatchingCollation(modelID))) {
+            //the source must order the partition values as we do
+            return null;
+        }
+        PartitionedAccessNode result = new PartitionedAccessNode(getID(), column);
+        result.setOrdered(query.getOrderBy() != null, descending);
+        try {
+            if (boundaries != null) {
+                List<Object> values = new ArrayList<Object>();
+                for (String value : StringUtil.split(boundaries, ",")) { //$NON-NLS-1$
+                    Object boundary = DataTypeManager.transformValue(value.trim(), column.getType());
+                    if (boundary == null || (!values.isEmpty() && Constant.COMPARATOR.compare(values.get(values.size() - 1), boundary) >= 0)) {
+                        //the boundaries must be declared in strictly ascending order
+                        LogManager.logWarning(LogConstants.CTX_QUERY_PLANNER, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31312, group, boundaries));
+                        return null;
+                    }
+                    values.add(boundary);
+                }
+                result.setBoundaries(values);
+            } else {
+                int partitionCount = Integer.parseInt(count);
+                if (partitionCount < 2
+                        || !CapabilitiesUtil.supports(Capability.QUERY_AGGREGATES_MIN, modelID, metadata, capFinder)
+                        || !CapabilitiesUtil.supports(Capability.QUERY_AGGREGATES_MAX, modelID, metadata, capFinder)) {
+                    return null;
+                }
+                result.setPartitionCount(partitionCount);
+            }
+        } catch (TransformationException | NumberFormatException e) {
+            LogManager.logWarning(LogConstants.CTX_QUERY_PLANNER, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31312, group, boundaries != null ? boundaries : count));
+            return null;
+        }
+        return result;
+    }
+
+    private boolean isMatchingCollation(Object modelID) throws QueryMetadataException, TeiidComponentException {
+        String collation = (String) CapabilitiesUtil.getProperty(Capability.COLLATION_LOCALE, modelID, metadata, capFinder);
+        if (collation != null) {
+            if (DataTypeManager.COLLATION_LOCALE != null) {
+                return collation.equals(DataTypeManager.COLLATION_LOCALE);
+            }
+            return collation.equals(DataTypeManager.DEFAULT_COLLATION);
+        }
+        return context != null && context.getOptions().isAssumeMatchingCollation();
+    }
+
     private void checkForSharedSourceCommand(AccessNode aNode, PlanNode node) {
         //create a top level key to avoid the full command toString
         String modelName = aNode.getModelName();
@@ -184,6 +184,7 @@ public class RelationalPlanner {
     private SourceHint sourceHint;
     private WithPlanningState withPlanningState;
     private Set<GroupSymbol> withGroups;
+    private MaterializedViewMatcher matViewMatcher;
 
     private boolean processWith = true;
 
@@ -301,7 +302,10 @@ public class RelationalPlanner {
         // Run rule-based optimizer
         plan = executeRules(rules, plan);
 
+        analysisRecord.addPlanNodeCount(countNodes(plan));
+        long start = System.nanoTime();
         RelationalPlan result = planToProcessConverter.convert(plan);
+        analysisRecord.addPhaseTime(AnalysisRecord.PHASE_CONVERT, System.nanoTime() - start);
         boolean fullPushdown = false;
         if (!this.withPlanningState.pushdownWith.isEmpty()) {
             AccessNode aNode = CriteriaCapabilityValidatorVisitor.getAccessNode(result);
@@ -835,6 +839,7 @@ public class RelationalPlanner {
         this.capFinder = capFinder;
         this.analysisRecord = analysisRecord;
         this.context = context;
+        this.matViewMatcher = new MaterializedViewMatcher(metadata, context);
     }
 
     private void connectSubqueryContainers(PlanNode plan, boolean skipPlanning) throws QueryPlannerException, QueryMetadataException, TeiidComponentException {
@@ -1151,6 +1156,14 @@ public class RelationalPlanner {
         return rules;
     }
 
+    private static int countNodes(PlanNode node) {
+        int count = 1;
+        for (PlanNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
     public PlanNode executeRules(RuleStack rules, PlanNode plan)
         throws QueryPlannerException, QueryMetadataException, TeiidComponentException {
 
@@ -1165,7 +1178,9 @@ public class RelationalPlanner {
                 analysisRecord.println("EXECUTING " + rule); //$NON-NLS-1$
             }
 
+            long start = System.nanoTime();
             plan = rule.execute(plan, metadata, capFinder, rules, analysisRecord, context);
+            analysisRecord.addRuleTime(rule.toString(), System.nanoTime() - start);
             if(debug) {
                 analysisRecord.println("\nAFTER: \n" + plan.nodeToString(true)); //$NON-NLS-1$
             }
@@ -1515,6 +1530,13 @@ public class RelationalPlanner {
 
         LinkedHashSet<WindowFunction> windowFunctions = new LinkedHashSet<WindowFunction>();
 
+        if (query.getFrom() != null && (parentOrderBys == null || parentOrderBys.isEmpty())) {
+            GroupSymbol matView = matViewMatcher.rewrite(query, option);
+            if (matView != null) {
+                recordAnnotation(analysisRecord, Annotation.MATERIALIZED_VIEW, Priority.LOW, "RelationalPlanner.query_rewritten_to_mat_view", matView); //$NON-NLS-1$
+            }
+        }
+
         if(query.getFrom() != null){
             FromClause fromClause = mergeClauseTrees(query.getFrom());
 
@@ -422,6 +422,11 @@ public class CapabilitiesUtil {
         return getIntProperty(Capability.MAX_DEPENDENT_PREDICATES, modelID, metadata, capFinder);
     }
 
+    public static int getDependentJoinPushdownThreshold(Object modelID, QueryMetadataInterface metadata, CapabilitiesFinder capFinder)
+    throws QueryMetadataException, TeiidComponentException {
+        return getIntProperty(Capability.DEPENDENT_JOIN_PUSHDOWN_THRESHOLD, modelID, metadata, capFinder);
+    }
+
     public static int getMaxFromGroups(Object modelID, QueryMetadataInterface metadata, CapabilitiesFinder capFinder)
     throws QueryMetadataException, TeiidComponentException {
         return getIntProperty(Capability.MAX_QUERY_FROM_GROUPS, modelID, metadata, capFinder);
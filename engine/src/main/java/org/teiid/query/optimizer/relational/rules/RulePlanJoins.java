@@ -85,6 +85,22 @@ public class RulePlanJoins implements OptimizerRule {
 
     public static final int EXHAUSTIVE_SEARCH_GROUPS = 7;
 
+    /**
+     * The maximum number of subplans scored by the subset enumeration before
+     * falling back to the greedy search.
+     */
+    static final int ENUMERATION_MAX_SCORES = 1 << 16;
+
+    private static class SubPlan {
+        Object[] order;
+        double score;
+
+        SubPlan(Object[] order, double score) {
+            this.order = order;
+            this.score = score;
+        }
+    }
+
     /**
      * @see org.teiid.query.optimizer.relational.OptimizerRule#execute(org.teiid.query.optimizer.relational.plantree.PlanNode, org.teiid.query.metadata.QueryMetadataInterface, org.teiid.query.optimizer.capabilities.CapabilitiesFinder, org.teiid.query.optimizer.relational.RuleStack, org.teiid.query.analysis.AnalysisRecord, org.teiid.query.util.CommandContext)
      */
@@ -653,7 +669,10 @@ public class RulePlanJoins implements OptimizerRule {
      * regions up to the exhaustive search group size all possible left linear join
      * trees will be searched in O(n!) time.
      *
-     * Beyond this number, every join will be determined greedily in O(n^2) time.
+     * Beyond this number and up to the join enumeration groups option the left linear join
+     * trees will be enumerated by connected subsets of join sources, see {@link #findBestJoinOrderBySubsets}.
+     *
+     * Beyond that, or if the enumeration is too large, every join will be determined greedily in O(n^2) time.
      *
      * TODO: this method together with scoreRegion have not been optimized
      *
@@ -665,6 +684,14 @@ public class RulePlanJoins implements OptimizerRule {
     Object[] findBestJoinOrder(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
         int regionCount = region.getJoinSourceNodes().size();
 
+        if (regionCount > EXHAUSTIVE_SEARCH_GROUPS && regionCount < Long.SIZE && context != null
+                && regionCount <= context.getOptions().getJoinEnumerationGroups()) {
+            Object[] order = findBestJoinOrderBySubsets(region, metadata, capFinder, context);
+            if (order != null) {
+                return order;
+            }
+        }
+
         List<Integer> orderList = new ArrayList<Integer>(regionCount);
         for(int i=0; i<regionCount; i++) {
             orderList.add(new Integer(i));
@@ -744,6 +771,101 @@ public class RulePlanJoins implements OptimizerRule {
         return result;
     }
 
+    /**
+     * Find the best left linear join order by enumerating subsets of join sources in increasing size.
+     * Only the best scoring order of each subset is retained and extended, so subplan costs are
+     * computed once per subset rather than once per permutation.
+     *
+     * A subset is only extended by the join sources that share join criteria with it,
+     * unless there are none and a cross join is required.
+     *
+     * @return the best order, or null if the number of subplans scored exceeded {@link #ENUMERATION_MAX_SCORES}
+     * or no valid order was found
+     */
+    Object[] findBestJoinOrderBySubsets(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+        List<PlanNode> sources = new ArrayList<PlanNode>(region.getJoinSourceNodes().values());
+        int regionCount = sources.size();
+        long all = (1L << regionCount) - 1;
+
+        //determine which join sources are connected by criteria
+        long[] neighbors = new long[regionCount];
+        for (PlanNode critNode : region.getCriteriaNodes()) {
+            long connected = 0;
+            for (int i = 0; i < regionCount; i++) {
+                if (!Collections.disjoint(sources.get(i).getGroups(), critNode.getGroups())) {
+                    connected |= 1L << i;
+                }
+            }
+            for (int i = 0; i < regionCount; i++) {
+                if ((connected & (1L << i)) != 0) {
+                    neighbors[i] |= connected & ~(1L << i);
+                }
+            }
+        }
+
+        Map<Long, SubPlan> level = new LinkedHashMap<Long, SubPlan>();
+        for (int i = 0; i < regionCount; i++) {
+            Object[] order = new Object[] {Integer.valueOf(i)};
+            double score = region.scoreRegion(order, 0, metadata, capFinder, context, true);
+            if (score != Double.MAX_VALUE) {
+                level.put(1L << i, new SubPlan(order, score));
+            }
+        }
+
+        int scores = regionCount;
+
+        for (int size = 1; size < regionCount; size++) {
+            Map<Long, SubPlan> nextLevel = new LinkedHashMap<Long, SubPlan>();
+            boolean partial = size + 1 < regionCount;
+            for (Map.Entry<Long, SubPlan> entry : level.entrySet()) {
+                long set = entry.getKey();
+                SubPlan subPlan = entry.getValue();
+                long candidates = 0;
+                for (int i = 0; i < regionCount; i++) {
+                    if ((set & (1L << i)) != 0) {
+                        candidates |= neighbors[i];
+                    }
+                }
+                candidates &= ~set;
+                if (candidates == 0) {
+                    candidates = all & ~set;
+                }
+                for (int i = 0; i < regionCount; i++) {
+                    if ((candidates & (1L << i)) == 0) {
+                        continue;
+                    }
+                    if (++scores > ENUMERATION_MAX_SCORES) {
+                        return null;
+                    }
+                    Object[] order = Arrays.copyOf(subPlan.order, size + 1);
+                    order[size] = Integer.valueOf(i);
+                    double score = region.scoreRegion(order, 0, metadata, capFinder, context, partial);
+                    if (score == Double.MAX_VALUE) {
+                        continue;
+                    }
+                    Long key = set | (1L << i);
+                    SubPlan existing = nextLevel.get(key);
+                    if (existing == null) {
+                        nextLevel.put(key, new SubPlan(order, score));
+                    } else if (score < existing.score) {
+                        existing.order = order;
+                        existing.score = score;
+                    }
+                }
+            }
+            if (nextLevel.isEmpty()) {
+                return null;
+            }
+            level = nextLevel;
+        }
+
+        SubPlan best = level.get(all);
+        if (best == null) {
+            return null;
+        }
+        return best.order;
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
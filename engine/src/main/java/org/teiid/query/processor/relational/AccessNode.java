@@ -228,7 +228,7 @@ public class AccessNode extends SubqueryAwareRelationalNode {
                     this.addChild(node);
                 }
             }
-            this.getChildren()[0].open();
+            this.getChildren()[0].openNode();
             return;
         }
 
@@ -436,6 +436,10 @@ public class AccessNode extends SubqueryAwareRelationalNode {
                         }
                         throw e;
                     }
+                    if (returnResultsInOrder()) {
+                        //the remaining sources will continue to execute, but must wait to be read
+                        break;
+                    }
                     continue;
                 }
             }
@@ -514,6 +518,13 @@ public class AccessNode extends SubqueryAwareRelationalNode {
         return false;
     }
 
+    /**
+     * @return true if the results of each command must be returned in the order that the commands were registered
+     */
+    protected boolean returnResultsInOrder() {
+        return false;
+    }
+
     protected boolean hasNextCommand() {
         return false;
     }
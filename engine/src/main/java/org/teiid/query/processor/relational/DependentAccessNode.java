@@ -42,6 +42,7 @@ public class DependentAccessNode extends AccessNode {
     private int maxSetSize;
     private int maxPredicates;
     private boolean pushdown;
+    private int pushdownThreshold = -1;
 
     //processing state
     private DependentCriteriaProcessor criteriaProcessor;
@@ -105,6 +106,7 @@ public class DependentAccessNode extends AccessNode {
         clonedNode.maxSetSize = this.maxSetSize;
         clonedNode.maxPredicates = this.maxPredicates;
         clonedNode.pushdown = this.pushdown;
+        clonedNode.pushdownThreshold = this.pushdownThreshold;
         clonedNode.useBindings = this.useBindings;
         clonedNode.complexQuery = this.complexQuery;
         super.copyTo(clonedNode);
@@ -147,6 +149,7 @@ public class DependentAccessNode extends AccessNode {
             if (this.criteriaProcessor == null) {
                 this.criteriaProcessor = new DependentCriteriaProcessor(this.maxSetSize, this.maxPredicates, this, query.getCriteria());
                 this.criteriaProcessor.setPushdown(pushdown);
+                this.criteriaProcessor.setPushdownThreshold(pushdownThreshold);
                 this.criteriaProcessor.setUseBindings(useBindings);
                 this.criteriaProcessor.setComplexQuery(complexQuery);
             }
@@ -213,6 +216,10 @@ public class DependentAccessNode extends AccessNode {
         this.pushdown = pushdown;
     }
 
+    public void setPushdownThreshold(int pushdownThreshold) {
+        this.pushdownThreshold = pushdownThreshold;
+    }
+
     @Override
     public Boolean requiresTransaction(boolean transactionalReads) {
         Boolean required = super.requiresTransaction(transactionalReads);
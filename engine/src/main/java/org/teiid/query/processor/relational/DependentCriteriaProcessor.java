@@ -22,6 +22,8 @@ import java.util.*;
 
 import org.teiid.api.exception.query.ExpressionEvaluationException;
 import org.teiid.common.buffer.BlockedException;
+import org.teiid.common.buffer.BufferManager.TupleSourceType;
+import org.teiid.common.buffer.TupleBuffer;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.DataTypeManager;
@@ -41,8 +43,10 @@ import org.teiid.query.sql.lang.OrderBy;
 import org.teiid.query.sql.lang.SetCriteria;
 import org.teiid.query.sql.symbol.Array;
 import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.util.ValueIterator;
+import org.teiid.translator.ExecutionFactory;
 
 
 public class DependentCriteriaProcessor {
@@ -71,6 +75,10 @@ public class DependentCriteriaProcessor {
 
         SetCriteria existingSet;
 
+        Collection<Object> constantValues;
+
+        DependentValueSource pushdownSource;
+
     }
 
     class TupleState {
@@ -163,6 +171,7 @@ public class DependentCriteriaProcessor {
     private int maxPredicates;
     private RelationalNode dependentNode;
     private boolean pushdown;
+    private int pushdownThreshold = ExecutionFactory.DEFAULT_DEPENDENT_JOIN_PUSHDOWN_THRESHOLD;
     private boolean useBindings;
     private boolean complexQuery;
 
@@ -223,6 +232,7 @@ public class DependentCriteriaProcessor {
                     values.add(eval.evaluate(expr, null));
                 }
                 state.valueIterator = new CollectionValueIterator(values);
+                state.constantValues = values;
                 sources.add(Arrays.asList(state));
             } else if (criteria instanceof DependentSetCriteria) {
                 DependentSetCriteria dsc = (DependentSetCriteria)criteria;
@@ -259,6 +269,12 @@ public class DependentCriteriaProcessor {
                 state.close();
             }
         }
+        for (SetState state : setStates.values()) {
+            if (state.pushdownSource != null) {
+                state.pushdownSource.getTupleBuffer().remove();
+                state.pushdownSource = null;
+            }
+        }
         if (this.eval != null) {
             this.eval.close();
         }
@@ -294,9 +310,21 @@ public class DependentCriteriaProcessor {
             //determine push down handling
             if (pushdown) {
                 List<Criteria> newCriteria = new ArrayList<Criteria>();
+                //positions of the large in predicates, which are converted only if pushed
+                List<int[]> largeIns = new ArrayList<int[]>(2);
                 long params = 0;
                 int sets = 0;
-                for (Criteria criteria : queryCriteria) {
+                for (int i = 0; i < queryCriteria.size(); i++) {
+                    Criteria criteria = queryCriteria.get(i);
+                    SetState setState = setStates.get(i);
+                    if (criteria instanceof SetCriteria && setState != null && this.maxSetSize > 0) {
+                        //a large in predicate can be pushed in the same way as an independent set
+                        sets++;
+                        params += setState.constantValues.size();
+                        largeIns.add(new int[] {newCriteria.size(), i});
+                        newCriteria.add(criteria);
+                        continue;
+                    }
                     if (!(criteria instanceof DependentSetCriteria)) {
                         newCriteria.add(criteria);
                         continue;
@@ -324,12 +352,14 @@ public class DependentCriteriaProcessor {
                     dsc.setDependentValueSource(dvs);
                     newCriteria.add(dsc);
                 }
-                int maxParamThreshold = 3; //TODO: see if this should be a source tunable parameter
-                                           //generally this value accounts for the additional overhead of temp table creation
+                int maxParamThreshold = pushdownThreshold > 0 ? pushdownThreshold : ExecutionFactory.DEFAULT_DEPENDENT_JOIN_PUSHDOWN_THRESHOLD;
                 if (params > maxParams && (sets > 1 || complexQuery || params > maxParams * maxParamThreshold)) {
                     //use the pushdown only in limited scenarios
                     //only if we will produce more than two source queries
                     //and only if the we could produce a cross set or have a complex query
+                    for (int[] largeIn : largeIns) {
+                        newCriteria.set(largeIn[0], createPushdownCriteria((SetCriteria)queryCriteria.get(largeIn[1]), setStates.get(largeIn[1]), largeIn[1]));
+                    }
                     return Criteria.combineCriteria(newCriteria);
                 }
             }
@@ -366,6 +396,29 @@ public class DependentCriteriaProcessor {
         return new CompoundCriteria(CompoundCriteria.AND, crits);
     }
 
+    /**
+     * Create a {@link DependentSetCriteria} backed by a buffer of the constant values
+     * so that the set may be pushed to the source.
+     */
+    private DependentSetCriteria createPushdownCriteria(SetCriteria setCriteria, SetState state, int index) throws TeiidComponentException {
+        if (state.pushdownSource == null) {
+            ElementSymbol value = new ElementSymbol("value"); //$NON-NLS-1$
+            value.setType(setCriteria.getExpression().getType());
+            List<ElementSymbol> schema = Arrays.asList(value);
+            TupleBuffer tb = dependentNode.getBufferManager().createTupleBuffer(schema, dependentNode.getConnectionID(), TupleSourceType.PROCESSOR);
+            for (Object val : state.constantValues) {
+                tb.addTuple(Arrays.asList(val));
+            }
+            tb.close();
+            state.pushdownSource = new DependentValueSource(tb);
+            state.pushdownSource.setDistinct(true);
+        }
+        DependentSetCriteria dsc = new DependentSetCriteria(setCriteria.getExpression(), "$largein/id" + index); //$NON-NLS-1$
+        dsc.setValueExpression(state.pushdownSource.getTupleBuffer().getSchema().get(0));
+        dsc.setDependentValueSource(state.pushdownSource);
+        return dsc;
+    }
+
     public void consumedCriteria() {
         // flush only the value iterators starting at the restart index
         // it is only safe to do this after the super call to prepare command
@@ -555,6 +608,10 @@ public class DependentCriteriaProcessor {
         this.pushdown = pushdown;
     }
 
+    public void setPushdownThreshold(int pushdownThreshold) {
+        this.pushdownThreshold = pushdownThreshold;
+    }
+
     public void setUseBindings(boolean useBindings) {
         this.useBindings = useBindings;
     }
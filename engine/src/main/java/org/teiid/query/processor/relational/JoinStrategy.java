@@ -87,7 +87,7 @@ public abstract class JoinStrategy {
 
     protected void openLeft() throws TeiidComponentException, TeiidProcessingException {
         if (!this.leftSource.open) {
-            leftSource.getSource().open();
+            leftSource.getSource().openNode();
             this.leftSource.open = true;
         }
     }
@@ -97,7 +97,7 @@ public abstract class JoinStrategy {
             if (reserved == 0) {
                 reserved = joinNode.getBufferManager().reserveBuffers(joinNode.getBufferManager().getSchemaSize(joinNode.getOutputElements()), BufferReserveMode.FORCE);
             }
-            rightSource.getSource().open();
+            rightSource.getSource().openNode();
             this.rightSource.open = true;
         }
     }
@@ -0,0 +1,309 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.processor.relational;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.teiid.client.plan.PlanNode;
+import org.teiid.common.buffer.TupleSource;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.TransformationException;
+import org.teiid.language.SQLConstants.NonReserved;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.processor.RegisterRequestParameter;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.CompoundCriteria;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.From;
+import org.teiid.query.sql.lang.IsNullCriteria;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.Select;
+import org.teiid.query.sql.symbol.AggregateSymbol;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.GroupSymbol;
+
+/**
+ * Reads a single table with a series of range queries over a partition column.  The
+ * queries are executed concurrently, subject to the source concurrency of the request.
+ * <br>
+ * The ranges are determined either from declared boundary values, which must be in
+ * ascending order, or by splitting the min and max values of the column, which are
+ * queried from the source, into the desired number of partitions.  Null values are
+ * included with the lowest range.
+ * <br>
+ * If the query is ordered by the partition column the results of each range are
+ * returned in the order of the ranges, otherwise the results are returned as they
+ * become available.
+ */
+public class PartitionedAccessNode extends AccessNode {
+
+    public static final String PARTITION_COLUMN = AbstractMetadataRecord.RELATIONAL_PREFIX + "partition-column"; //$NON-NLS-1$
+    public static final String PARTITION_COUNT = AbstractMetadataRecord.RELATIONAL_PREFIX + "partition-count"; //$NON-NLS-1$
+    public static final String PARTITION_BOUNDARIES = AbstractMetadataRecord.RELATIONAL_PREFIX + "partition-boundaries"; //$NON-NLS-1$
+
+    //plan state
+    private ElementSymbol partitionColumn;
+    private int partitionCount;
+    private List<Object> boundaries;
+    private boolean ordered;
+    private boolean descending;
+
+    //processing state
+    private List<Criteria> partitions;
+    private int partitionIndex;
+    private TupleSource boundsSource;
+
+    protected PartitionedAccessNode() {
+        super();
+    }
+
+    public PartitionedAccessNode(int nodeID, ElementSymbol partitionColumn) {
+        super(nodeID);
+        this.partitionColumn = partitionColumn;
+    }
+
+    public void reset() {
+        super.reset();
+        partitions = null;
+        partitionIndex = 0;
+        boundsSource = null;
+    }
+
+    @Override
+    public void closeDirect() {
+        super.closeDirect();
+        if (boundsSource != null) {
+            boundsSource.closeSource();
+            boundsSource = null;
+        }
+    }
+
+    @Override
+    public void setShouldEvaluateExpressions(boolean shouldEvaluate) {
+        //each partition command needs prepared
+        super.setShouldEvaluateExpressions(true);
+    }
+
+    @Override
+    protected Command nextCommand() throws TeiidProcessingException, TeiidComponentException {
+        if (partitions == null) {
+            List<Object> values = this.boundaries;
+            if (values == null) {
+                values = getComputedBoundaries();
+            }
+            partitions = createPartitions(getGroup(), values);
+        }
+        return super.nextCommand();
+    }
+
+    @Override
+    protected boolean prepareNextCommand(Command atomicCommand) throws TeiidComponentException, TeiidProcessingException {
+        Criteria crit = partitions.get(partitionIndex++);
+        if (crit != null) {
+            Query query = (Query)atomicCommand;
+            query.setCriteria(Criteria.combineCriteria(query.getCriteria(), crit));
+        }
+        return super.prepareNextCommand(atomicCommand);
+    }
+
+    @Override
+    protected boolean hasNextCommand() {
+        return partitions != null && partitionIndex < partitions.size();
+    }
+
+    @Override
+    protected boolean returnResultsInOrder() {
+        return ordered;
+    }
+
+    private GroupSymbol getGroup() {
+        return ((Query)getCommand()).getFrom().getGroups().get(0);
+    }
+
+    /**
+     * Query the min and max values of the partition column and divide them into the partition count.
+     */
+    private List<Object> getComputedBoundaries() throws TeiidComponentException, TeiidProcessingException {
+        if (boundsSource == null) {
+            GroupSymbol group = getGroup().clone();
+            Query query = new Query();
+            Select select = new Select();
+            select.addSymbol(new AggregateSymbol(NonReserved.MIN, false, getPartitionColumn(group)));
+            select.addSymbol(new AggregateSymbol(NonReserved.MAX, false, getPartitionColumn(group)));
+            query.setSelect(select);
+            From from = new From();
+            from.addGroup(group);
+            query.setFrom(from);
+            RegisterRequestParameter param = new RegisterRequestParameter(getConnectorBindingId(), getID(), -1);
+            boundsSource = getDataManager().registerRequest(getContext(), query, getModelName(), param);
+        }
+        List<?> tuple = boundsSource.nextTuple();
+        boundsSource.closeSource();
+        boundsSource = null;
+        if (tuple == null) {
+            return Collections.emptyList();
+        }
+        return computeBoundaries(tuple.get(0), tuple.get(1), partitionCount, partitionColumn.getType());
+    }
+
+    private ElementSymbol getPartitionColumn(GroupSymbol group) {
+        ElementSymbol column = partitionColumn.clone();
+        column.setGroupSymbol(group);
+        return column;
+    }
+
+    /**
+     * Create the range criteria for each partition, in the order that the results should be returned.
+     * A null entry means that no criteria is needed.
+     */
+    List<Criteria> createPartitions(GroupSymbol group, List<Object> values) {
+        List<Criteria> result = new ArrayList<Criteria>(values.size() + 1);
+        if (values.isEmpty()) {
+            result.add(null);
+            return result;
+        }
+        for (int i = 0; i <= values.size(); i++) {
+            Criteria lower = null;
+            Criteria upper = null;
+            if (i > 0) {
+                lower = new CompareCriteria(getPartitionColumn(group), CompareCriteria.GE, new Constant(values.get(i - 1), partitionColumn.getType()));
+            }
+            if (i < values.size()) {
+                upper = new CompareCriteria(getPartitionColumn(group), CompareCriteria.LT, new Constant(values.get(i), partitionColumn.getType()));
+            }
+            if (i == 0) {
+                result.add(new CompoundCriteria(CompoundCriteria.OR, upper, new IsNullCriteria(getPartitionColumn(group))));
+            } else {
+                result.add(Criteria.combineCriteria(lower, upper));
+            }
+        }
+        if (descending) {
+            Collections.reverse(result);
+        }
+        return result;
+    }
+
+    /**
+     * Divide the range between min and max into count partitions.
+     * @return the ascending boundary values between the partitions
+     */
+    static List<Object> computeBoundaries(Object min, Object max, int count, Class<?> type) throws TransformationException {
+        List<Object> result = new ArrayList<Object>();
+        if (min == null || max == null || count < 2) {
+            return result;
+        }
+        boolean date = min instanceof java.util.Date;
+        BigDecimal low = null;
+        BigDecimal high = null;
+        if (date) {
+            low = BigDecimal.valueOf(((java.util.Date)min).getTime());
+            high = BigDecimal.valueOf(((java.util.Date)max).getTime());
+        } else if (min instanceof Number) {
+            low = (BigDecimal)DataTypeManager.transformValue(min, DataTypeManager.DefaultDataClasses.BIG_DECIMAL);
+            high = (BigDecimal)DataTypeManager.transformValue(max, DataTypeManager.DefaultDataClasses.BIG_DECIMAL);
+        } else {
+            return result;
+        }
+        boolean integral = date || type == DataTypeManager.DefaultDataClasses.INTEGER
+                || type == DataTypeManager.DefaultDataClasses.LONG || type == DataTypeManager.DefaultDataClasses.SHORT
+                || type == DataTypeManager.DefaultDataClasses.BYTE || type == DataTypeManager.DefaultDataClasses.BIG_INTEGER;
+        BigDecimal step = high.subtract(low).divide(BigDecimal.valueOf(count), 10, RoundingMode.HALF_UP);
+        if (step.signum() <= 0) {
+            return result;
+        }
+        BigDecimal previous = low;
+        for (int i = 1; i < count; i++) {
+            BigDecimal value = low.add(step.multiply(BigDecimal.valueOf(i)));
+            if (integral) {
+                value = value.setScale(0, RoundingMode.CEILING);
+            }
+            if (value.compareTo(previous) <= 0 || value.compareTo(high) > 0) {
+                continue;
+            }
+            previous = value;
+            if (date) {
+                long time = value.longValue();
+                if (type == DataTypeManager.DefaultDataClasses.DATE) {
+                    result.add(new java.sql.Date(time));
+                } else if (type == DataTypeManager.DefaultDataClasses.TIME) {
+                    result.add(new java.sql.Time(time));
+                } else {
+                    result.add(new java.sql.Timestamp(time));
+                }
+            } else if (type == DataTypeManager.DefaultDataClasses.BIG_INTEGER) {
+                result.add(value.toBigInteger());
+            } else {
+                result.add(DataTypeManager.transformValue(value, type));
+            }
+        }
+        return result;
+    }
+
+    public ElementSymbol getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public void setBoundaries(List<Object> boundaries) {
+        this.boundaries = boundaries;
+    }
+
+    public void setOrdered(boolean ordered, boolean descending) {
+        this.ordered = ordered;
+        this.descending = descending;
+    }
+
+    public Object clone() {
+        PartitionedAccessNode clonedNode = new PartitionedAccessNode();
+        clonedNode.partitionColumn = this.partitionColumn;
+        clonedNode.partitionCount = this.partitionCount;
+        clonedNode.boundaries = this.boundaries;
+        clonedNode.ordered = this.ordered;
+        clonedNode.descending = this.descending;
+        super.copyTo(clonedNode);
+        return clonedNode;
+    }
+
+    @Override
+    public synchronized PlanNode getDescriptionProperties() {
+        PlanNode props = super.getDescriptionProperties();
+        props.addProperty(AnalysisRecord.PROP_PARTITION_COLUMN, this.partitionColumn.getShortName());
+        return props;
+    }
+
+    @Override
+    protected void getNodeString(StringBuffer str) {
+        super.getNodeString(str);
+        str.append(" [PARTITIONED ").append(this.partitionColumn.getShortName()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+}
@@ -43,6 +43,7 @@ import org.teiid.query.processor.ProcessorDataManager;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.util.SymbolMap;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.TeiidEvents;
 
 
 public abstract class RelationalNode implements Cloneable, BatchProducer {
@@ -247,13 +248,38 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
 
         for(int i=0; i<children.length; i++) {
             if(children[i] != null) {
-                children[i].open();
+                children[i].openNode();
             } else {
                 break;
             }
         }
     }
 
+    /**
+     * Wrapper for open that records a flight recorder event - callers
+     * should use this rather than open() when opening a child or root node.
+     */
+    public final void openNode()
+        throws TeiidComponentException, TeiidProcessingException {
+        TeiidEvents.PlanNodeOpen event = new TeiidEvents.PlanNodeOpen();
+        event.begin();
+        open();
+        if (event.shouldCommit()) {
+            event.requestId = getEventRequestId();
+            event.nodeId = getID();
+            event.nodeType = getClassName();
+            event.commit();
+        }
+    }
+
+    private String getEventRequestId() {
+        CommandContext context = this.getContext();
+        if (context == null) {
+            return null;
+        }
+        return context.getRequestId();
+    }
+
     /**
      * Wrapper for nextBatchDirect that does performance timing - callers
      * should always call this rather than nextBatchDirect().
@@ -268,6 +294,8 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
             throw new TeiidProcessingException(QueryPlugin.Event.TEIID30160, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30160, getContext().getRequestId()));
         }
         boolean recordStats = context != null && context.getCollectNodeStatistics();
+        TeiidEvents.PlanNodeBatch event = new TeiidEvents.PlanNodeBatch();
+        event.begin();
         try {
             while (true) {
                 //start timer for this batch
@@ -290,6 +318,11 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
                 //there have been several instances in the code that have not correctly accounted for non-terminal zero length batches
                 //this processing style however against the spirit of batch processing (but was already utilized by Sort and Grouping nodes)
                 if (batch.getRowCount() != 0 || batch.getTerminationFlag()) {
+                    if (event.shouldCommit()) {
+                        event.rowCount = batch.getRowCount();
+                        event.lastBatch = batch.getTerminationFlag();
+                        commitEvent(event);
+                    }
                     if (batch.getTerminationFlag()) {
                         close();
                     }
@@ -297,6 +330,10 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
                 }
             }
         } catch (BlockedException e) {
+            if (event.shouldCommit()) {
+                event.blocked = true;
+                commitEvent(event);
+            }
             if(recordStats) {
                 // stop timer for this batch (BlockedException)
                 this.getProcessingState().nodeStatistics.stopBatchTimer();
@@ -311,6 +348,13 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
         }
     }
 
+    private void commitEvent(TeiidEvents.PlanNodeBatch event) {
+        event.requestId = getEventRequestId();
+        event.nodeId = getID();
+        event.nodeType = getClassName();
+        event.commit();
+    }
+
     /**
      * Template method for subclasses to implement.
      * @return
@@ -326,6 +370,8 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
         throws TeiidComponentException {
 
         if (!this.getProcessingState().closed) {
+            TeiidEvents.PlanNodeClose event = new TeiidEvents.PlanNodeClose();
+            event.begin();
             closeDirect();
             for(int i=0; i<children.length; i++) {
                 if(children[i] != null) {
@@ -335,6 +381,12 @@ public abstract class RelationalNode implements Cloneable, BatchProducer {
                 }
             }
             this.getProcessingState().closed = true;
+            if (event.shouldCommit()) {
+                event.requestId = getEventRequestId();
+                event.nodeId = getID();
+                event.nodeType = getClassName();
+                event.commit();
+            }
         }
     }
 
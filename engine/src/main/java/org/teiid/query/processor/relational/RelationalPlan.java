@@ -127,7 +127,7 @@ public class RelationalPlan extends ProcessorPlan {
                 processors.put(withCommand.getGroupSymbol().getName(), new TableProcessor(withProcessor, withCommand.getColumns()));
             }
         }
-        this.root.open();
+        this.root.openNode();
     }
 
     /**
@@ -115,7 +115,7 @@ public class UnionAllNode extends RelationalNode {
                 //ideally we would
                 RelationalNode[] children = this.getChildren();
                 for(int i=0; i<toOpen; i++) {
-                    children[i].open();
+                    children[i].openNode();
                     sourceOpen[i] = true;
                 }
                 return;
@@ -218,7 +218,7 @@ public class UnionAllNode extends RelationalNode {
                     if(!sourceOpen[i]) {
                         getBufferManager().reserveBuffers(schemaSize, BufferReserveMode.FORCE);
                         reserved+=schemaSize;
-                        children[i].open();
+                        children[i].openNode();
                         sourceOpen[i] = true;
                         openedAny = true;
                         toOpen--;
@@ -0,0 +1,170 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.sql.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.teiid.query.sql.LanguageVisitor;
+import org.teiid.query.sql.lang.BetweenCriteria;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.JoinPredicate;
+import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.lang.SetCriteria;
+import org.teiid.query.sql.navigator.DeepPreOrderNavigator;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.symbol.Reference;
+
+/**
+ * <p>This visitor replaces the literal values of predicates against columns in an unresolved
+ * command with references, so that the plan for the command may be reused for other values.
+ *
+ * <p>Only comparison, in, and between predicates with a column operand in the where and having
+ * clauses are parameterized.  A literal is only replaced if, once the command is resolved, it has
+ * the same type as the column - otherwise the reference would take the column type and the value
+ * would be converted to it.  Literals in other positions, such as the limit, the select, group by,
+ * and order by clauses, function arguments, and match patterns, may affect planning or the result
+ * type and are left as is.
+ */
+public class AutoParameterizationVisitor extends LanguageVisitor {
+
+    /**
+     * Navigates only the where and having clauses of queries, including those of nested subqueries
+     */
+    private static class CriteriaNavigator extends DeepPreOrderNavigator {
+
+        public CriteriaNavigator(LanguageVisitor visitor) {
+            super(visitor);
+        }
+
+        @Override
+        public void visit(Query obj) {
+            preVisitVisitor(obj);
+            visitNodes(obj.getWith());
+            visitNode(obj.getFrom());
+            visitNode(obj.getCriteria());
+            visitNode(obj.getHaving());
+            postVisitVisitor(obj);
+        }
+
+        @Override
+        public void visit(JoinPredicate obj) {
+            preVisitVisitor(obj);
+            visitNode(obj.getLeftClause());
+            visitNode(obj.getRightClause());
+            postVisitVisitor(obj);
+        }
+
+    }
+
+    private List<Criteria> predicates = new ArrayList<Criteria>();
+
+    public void visit(CompareCriteria obj) {
+        predicates.add(obj);
+    }
+
+    public void visit(SetCriteria obj) {
+        predicates.add(obj);
+    }
+
+    public void visit(BetweenCriteria obj) {
+        predicates.add(obj);
+    }
+
+    private static List<Criteria> getPredicates(Command command) {
+        AutoParameterizationVisitor visitor = new AutoParameterizationVisitor();
+        command.acceptVisitor(new CriteriaNavigator(visitor));
+        return visitor.predicates;
+    }
+
+    /**
+     * Replace the literals in the given unresolved command.
+     * @param command the unresolved command to modify
+     * @param resolved a resolved copy of the command
+     * @return the replaced values in reference order
+     */
+    public static List<Object> parameterize(Command command, Command resolved) {
+        List<Criteria> predicates = getPredicates(command);
+        List<Criteria> resolvedPredicates = getPredicates(resolved);
+        List<Object> values = new ArrayList<Object>();
+        if (predicates.size() != resolvedPredicates.size()) {
+            return values;
+        }
+        for (int i = 0; i < predicates.size(); i++) {
+            Criteria crit = predicates.get(i);
+            Criteria resolvedCrit = resolvedPredicates.get(i);
+            if (crit.getClass() != resolvedCrit.getClass()) {
+                return values;
+            }
+        }
+        for (int i = 0; i < predicates.size(); i++) {
+            Criteria crit = predicates.get(i);
+            Criteria resolvedCrit = resolvedPredicates.get(i);
+            if (crit instanceof CompareCriteria) {
+                CompareCriteria cc = (CompareCriteria)crit;
+                CompareCriteria resolvedCc = (CompareCriteria)resolvedCrit;
+                if (resolvedCc.getLeftExpression() instanceof ElementSymbol) {
+                    cc.setRightExpression(replace(cc.getRightExpression(), resolvedCc.getRightExpression(), resolvedCc.getLeftExpression(), values));
+                } else if (resolvedCc.getRightExpression() instanceof ElementSymbol) {
+                    cc.setLeftExpression(replace(cc.getLeftExpression(), resolvedCc.getLeftExpression(), resolvedCc.getRightExpression(), values));
+                }
+            } else if (crit instanceof SetCriteria) {
+                SetCriteria sc = (SetCriteria)crit;
+                SetCriteria resolvedSc = (SetCriteria)resolvedCrit;
+                if (!(resolvedSc.getExpression() instanceof ElementSymbol) || sc.getValues().size() != resolvedSc.getValues().size()) {
+                    continue;
+                }
+                List<Expression> newValues = new ArrayList<Expression>(sc.getValues().size());
+                List<?> resolvedValues = new ArrayList<Object>(resolvedSc.getValues());
+                int j = 0;
+                for (Object value : sc.getValues()) {
+                    newValues.add(replace((Expression)value, (Expression)resolvedValues.get(j++), resolvedSc.getExpression(), values));
+                }
+                sc.setValues(newValues);
+            } else {
+                BetweenCriteria bc = (BetweenCriteria)crit;
+                BetweenCriteria resolvedBc = (BetweenCriteria)resolvedCrit;
+                if (resolvedBc.getExpression() instanceof ElementSymbol) {
+                    bc.setLowerExpression(replace(bc.getLowerExpression(), resolvedBc.getLowerExpression(), resolvedBc.getExpression(), values));
+                    bc.setUpperExpression(replace(bc.getUpperExpression(), resolvedBc.getUpperExpression(), resolvedBc.getExpression(), values));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Expression replace(Expression ex, Expression resolvedEx, Expression column, List<Object> values) {
+        if (!(ex instanceof Constant) || !(resolvedEx instanceof Constant)) {
+            return ex;
+        }
+        Constant c = (Constant)resolvedEx;
+        if (c.isNull() || c.isMultiValued() || c.getType() != column.getType()) {
+            return ex;
+        }
+        Reference ref = new Reference(values.size());
+        //use the resolved value, which has any implicit conversion applied
+        values.add(c.getValue());
+        return ref;
+    }
+
+}
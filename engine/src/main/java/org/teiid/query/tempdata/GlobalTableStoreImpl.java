@@ -82,6 +82,11 @@ import org.teiid.query.tempdata.TempTableStore.TransactionMode;
 public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<String> {
 
     private static final String TEIID_FBI = "teiid:fbi"; //$NON-NLS-1$
+    /**
+     * The version of the replicated table state, which must be incremented whenever the
+     * format written by sendTable / {@link TempTable#writeTo(ObjectOutputStream)} changes
+     */
+    static final int STATE_VERSION = 2;
 
     public enum MatState {
         NEEDS_LOADING,
@@ -97,6 +102,7 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
         private long ttl = -1;
         private boolean valid;
         private boolean asynch; //sub state of loading
+        private Object highWaterMark; //max value of the incremental column as of the last load
         private Map<RequestID, WeakReference<RequestWorkItem>> waiters = new HashMap<RequestID, WeakReference<RequestWorkItem>>(2);
 
         protected MatTableInfo() {}
@@ -199,6 +205,14 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
             return result;
         }
 
+        public synchronized Object getHighWaterMark() {
+            return highWaterMark;
+        }
+
+        public synchronized void setHighWaterMark(Object highWaterMark) {
+            this.highWaterMark = highWaterMark;
+        }
+
     }
 
     private ConcurrentHashMap<String, MatTableInfo> matTables = new ConcurrentHashMap<String, MatTableInfo>();
@@ -585,9 +599,11 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
         if (writeName) {
             oos.writeObject(stateId);
         }
+        oos.writeInt(STATE_VERSION);
         oos.writeLong(info.updateTime);
         oos.writeObject(info.loadingAddress);
         oos.writeObject(info.state);
+        oos.writeObject(info.highWaterMark);
         tempTable.writeTo(oos);
     }
 
@@ -611,9 +627,14 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
             IOException,
             ClassNotFoundException, TeiidProcessingException {
         LogManager.logDetail(LogConstants.CTX_DQP, "loading table from remote stream", stateId); //$NON-NLS-1$
+        int version = ois.readInt();
+        if (version != STATE_VERSION) {
+            throw new TeiidComponentException(QueryPlugin.Event.TEIID31314, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31314, stateId, version, STATE_VERSION));
+        }
         long updateTime = ois.readLong();
         Serializable loadingAddress = (Serializable) ois.readObject();
         MatState state = (MatState)ois.readObject();
+        Object highWaterMark = ois.readObject();
         GroupSymbol group = new GroupSymbol(stateId);
         if (stateId.startsWith(RelationalPlanner.MAT_PREFIX)) {
             String viewName = stateId.substring(RelationalPlanner.MAT_PREFIX.length());
@@ -637,6 +658,7 @@ public class GlobalTableStoreImpl implements GlobalTableStore, ReplicatedObject<
             info.setState(state, true);
             info.updateTime = updateTime;
             info.loadingAddress = loadingAddress;
+            info.highWaterMark = highWaterMark;
         }
     }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.tempdata;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.teiid.query.processor.relational.RelationalNode;
+import org.teiid.query.sql.symbol.ElementSymbol;
+import org.teiid.query.sql.symbol.Expression;
+
+/**
+ * An in-memory hash index from the index column values to the primary key values
+ * of a read only {@link TempTable}.
+ * <br>
+ * Only equality lookups over all of the index columns are supported, which avoids
+ * the secondary tree traversal for point lookups such as dependent join value sets.
+ */
+class HashIndex implements SearchableTable {
+
+    /**
+     * Estimated bytes per row for the map entry and key/value lists beyond the column values
+     */
+    static final int ENTRY_OVERHEAD = 96;
+
+    private List<ElementSymbol> columns;
+    private int keyLength;
+    private Map<Expression, Integer> columnMap;
+    private Map<List<?>, List<List<?>>> entries = new HashMap<List<?>, List<List<?>>>();
+    private AtomicInteger reserved;
+
+    /**
+     * @param columns the index columns followed by the primary key columns
+     * @param keyLength the number of index columns
+     * @param reserved the buffer bytes reserved for the entries
+     */
+    HashIndex(List<ElementSymbol> columns, int keyLength, int reserved) {
+        this.columns = columns;
+        this.keyLength = keyLength;
+        this.columnMap = RelationalNode.createLookupMap(columns);
+        this.reserved = new AtomicInteger(reserved);
+    }
+
+    /**
+     * @return the buffer bytes to release, only non-zero on the first call
+     */
+    int release() {
+        return reserved.getAndSet(0);
+    }
+
+    /**
+     * @param tuple the index values followed by the primary key values
+     */
+    void add(List<?> tuple) {
+        List<?> key = createKey(tuple.subList(0, keyLength));
+        List<List<?>> pks = entries.get(key);
+        if (pks == null) {
+            pks = new ArrayList<List<?>>(1);
+            entries.put(key, pks);
+        }
+        pks.add(new ArrayList<Object>(tuple.subList(keyLength, tuple.size())));
+    }
+
+    /**
+     * Get the primary keys matching the equality conditions gathered for this index.
+     * @return the primary keys or null if the conditions do not specify every index column
+     */
+    List<List<?>> getPrimaryKeys(BaseIndexInfo<HashIndex> info) {
+        if (info.valueSet.isEmpty()) {
+            return null;
+        }
+        List<List<?>> result = new ArrayList<List<?>>();
+        for (List<Object> value : info.valueSet) {
+            if (value.size() != keyLength) {
+                return null;
+            }
+            List<List<?>> pks = entries.get(createKey(value));
+            if (pks != null) {
+                result.addAll(pks);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create a key with equals/hashCode consistent with the comparison used by the ordered indexes.
+     * BigDecimal values are normalized so that 1.0 and 1.00 match.
+     */
+    static List<?> createKey(List<?> values) {
+        List<Object> key = new ArrayList<Object>(values.size());
+        for (Object value : values) {
+            if (value instanceof BigDecimal) {
+                value = ((BigDecimal)value).stripTrailingZeros();
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    List<ElementSymbol> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public Map<Expression, Integer> getColumnMap() {
+        return columnMap;
+    }
+
+    @Override
+    public int getPkLength() {
+        return keyLength;
+    }
+
+    @Override
+    public Object matchesPkColumn(int pkIndex, Expression ex) {
+        return columns.get(pkIndex).equals(ex);
+    }
+
+    @Override
+    public boolean supportsOrdering(int pkIndex, Expression ex) {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "hash index " + columns.subList(0, keyLength); //$NON-NLS-1$
+    }
+
+}
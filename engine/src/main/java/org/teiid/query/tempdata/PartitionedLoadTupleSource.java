@@ -0,0 +1,198 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.tempdata;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.teiid.common.buffer.BlockedException;
+import org.teiid.common.buffer.TupleSource;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.TeiidProcessingException;
+import org.teiid.language.SQLConstants.Reserved;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.metadata.FunctionMethod.Determinism;
+import org.teiid.query.QueryPlugin;
+import org.teiid.query.processor.BatchCollector;
+import org.teiid.query.processor.QueryProcessor;
+import org.teiid.query.sql.visitor.SQLStringVisitor;
+import org.teiid.query.util.CommandContext;
+
+/**
+ * Produces the rows of a materialized view by issuing a query for each value
+ * of the partitioning column.  Up to the given number of partition queries are
+ * kept open at a time and the rows are taken from whichever partition is not blocked,
+ * so that the source work for the partitions proceeds concurrently.
+ * <br>
+ * As with SYSADMIN.loadMatView null and duplicate partition values are skipped.  If there
+ * are more than {@link #MAX_PARTITIONS} values, the view is instead loaded with a single query.
+ */
+class PartitionedLoadTupleSource implements TupleSource {
+
+    static final int MAX_PARTITIONS = 256;
+    private static final Object ALL_ROWS = new Object();
+
+    private static class Partition {
+        QueryProcessor qp;
+        TupleSource ts;
+    }
+
+    private CommandContext context;
+    private String viewName;
+    private String partitionQuery;
+    private String fullQuery;
+    private String valuesQuery;
+    private int maxConcurrency;
+
+    private QueryProcessor valuesProcessor;
+    private TupleSource valuesSource;
+    private LinkedHashSet<Object> values = new LinkedHashSet<Object>();
+    private LinkedList<Object> pending = new LinkedList<Object>();
+    private boolean valuesLoaded;
+    private List<Partition> active = new ArrayList<Partition>();
+    private int current;
+    private Determinism determinism = Determinism.DETERMINISTIC;
+
+    /**
+     * @param valuesQuery the query returning the partitioning values
+     */
+    PartitionedLoadTupleSource(CommandContext context, String viewName, String partColumn, String valuesQuery, int maxConcurrency) {
+        this.context = context;
+        this.viewName = viewName;
+        String column = SQLStringVisitor.escapeSinglePart(partColumn);
+        String option = ' ' + Reserved.OPTION + ' ' + Reserved.NOCACHE + ' ' + viewName;
+        String select = Reserved.SELECT + " * " + Reserved.FROM + ' ' + viewName; //$NON-NLS-1$
+        this.partitionQuery = select + ' ' + Reserved.WHERE + ' ' + column + " = ?" + option; //$NON-NLS-1$
+        this.fullQuery = select + option;
+        this.valuesQuery = valuesQuery;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @Override
+    public List<?> nextTuple() throws TeiidComponentException,
+            TeiidProcessingException {
+        if (!valuesLoaded) {
+            loadValues();
+        }
+        while (true) {
+            while (active.size() < maxConcurrency && !pending.isEmpty()) {
+                Object value = pending.removeFirst();
+                Partition partition = new Partition();
+                if (value == ALL_ROWS) {
+                    partition.qp = context.getQueryProcessorFactory().createQueryProcessor(fullQuery, viewName, context);
+                } else {
+                    partition.qp = context.getQueryProcessorFactory().createQueryProcessor(partitionQuery, viewName, context, value);
+                }
+                partition.ts = new BatchCollector.BatchProducerTupleSource(partition.qp);
+                active.add(partition);
+            }
+            if (active.isEmpty()) {
+                return null;
+            }
+            BlockedException blocked = null;
+            boolean finished = false;
+            for (int i = 0; i < active.size(); i++) {
+                int index = (current + i) % active.size();
+                Partition partition = active.get(index);
+                List<?> tuple = null;
+                try {
+                    tuple = partition.ts.nextTuple();
+                } catch (BlockedException e) {
+                    blocked = e;
+                    continue;
+                }
+                if (tuple != null) {
+                    current = index;
+                    return tuple;
+                }
+                close(partition);
+                active.remove(index);
+                current = 0;
+                finished = true;
+                break;
+            }
+            if (!finished) {
+                //every partition is waiting on source work
+                throw blocked;
+            }
+        }
+    }
+
+    private void loadValues() throws TeiidComponentException,
+            TeiidProcessingException {
+        if (valuesProcessor == null) {
+            valuesProcessor = context.getQueryProcessorFactory().createQueryProcessor(valuesQuery, viewName, context);
+            valuesSource = new BatchCollector.BatchProducerTupleSource(valuesProcessor);
+        }
+        List<?> tuple = null;
+        while ((tuple = valuesSource.nextTuple()) != null) {
+            Object value = tuple.get(0);
+            if (value != null && values.add(value) && values.size() > MAX_PARTITIONS) {
+                break;
+            }
+        }
+        valuesProcessor.closeProcessing();
+        valuesProcessor = null;
+        valuesLoaded = true;
+        if (values.size() > MAX_PARTITIONS) {
+            LogManager.logWarning(LogConstants.CTX_MATVIEWS, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31313, viewName, MAX_PARTITIONS));
+            pending.add(ALL_ROWS);
+        } else {
+            pending.addAll(values);
+            LogManager.logDetail(LogConstants.CTX_MATVIEWS, "loading", viewName, "with", pending.size(), "partitions"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        values = null;
+    }
+
+    private void close(Partition partition) {
+        Determinism partitionDeterminism = partition.qp.getContext().getDeterminismLevel();
+        if (partitionDeterminism.compareTo(determinism) < 0) {
+            determinism = partitionDeterminism;
+        }
+        partition.qp.closeProcessing();
+    }
+
+    /**
+     * @return the least deterministic level of the completed partition queries
+     */
+    Determinism getDeterminismLevel() {
+        return determinism;
+    }
+
+    @Override
+    public void closeSource() {
+        //the insert closes its source even when blocked, so the processors are closed by the loader with close
+    }
+
+    void close() {
+        if (valuesProcessor != null) {
+            valuesProcessor.closeProcessing();
+            valuesProcessor = null;
+        }
+        for (Partition partition : active) {
+            partition.qp.closeProcessing();
+        }
+        active.clear();
+        pending.clear();
+    }
+
+}
@@ -293,6 +293,7 @@ public class TempTable implements Cloneable, SearchableTable {
             lock.writeLock().lock();
             boolean success = false;
             try {
+                beforeWrite();
                 while (currentTuple != null || (currentTuple = ts.nextTuple()) != null) {
                     if (crit == null || eval.evaluate(crit, currentTuple)) {
                         tuplePassed(currentTuple);
@@ -325,6 +326,7 @@ public class TempTable implements Cloneable, SearchableTable {
                         }
                     }
                 } finally {
+                    afterWrite();
                     bm.releaseBuffers(reserved);
                     lock.writeLock().unlock();
                     close();
@@ -370,6 +372,7 @@ public class TempTable implements Cloneable, SearchableTable {
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private boolean updatable = true;
     private LinkedHashMap<List<ElementSymbol>, TempTable> indexTables;
+    private List<HashIndex> hashIndexes;
 
     private int keyBatchSize;
     private int leafBatchSize;
@@ -383,6 +386,12 @@ public class TempTable implements Cloneable, SearchableTable {
 
     private boolean allowImplicitIndexing;
 
+    private boolean snapshotReads;
+    private ReentrantReadWriteLock snapshotLock;
+    private volatile TempTable snapshot;
+    private volatile boolean readerOverlapped;
+    private volatile boolean snapshotUsed;
+
     TempTable(TempMetadataID tid, BufferManager bm, List<ElementSymbol> columns, int primaryKeyLength, String sessionID) {
         this.tid = tid;
         this.bm = bm;
@@ -454,6 +463,10 @@ public class TempTable implements Cloneable, SearchableTable {
             }
             clone.tree = tree.clone();
             clone.activeReaders = new AtomicInteger();
+            clone.snapshot = null;
+            clone.snapshotLock = null;
+            clone.readerOverlapped = false;
+            clone.snapshotUsed = false;
             return clone;
         } catch (CloneNotSupportedException e) {
              throw new TeiidRuntimeException(e);
@@ -466,27 +479,110 @@ public class TempTable implements Cloneable, SearchableTable {
         return activeReaders;
     }
 
-    void addIndex(List<ElementSymbol> indexColumns, boolean unique) throws TeiidComponentException, TeiidProcessingException {
-        List<ElementSymbol> keyColumns = columns.subList(0, tree.getKeyLength());
-        if (keyColumns.equals(indexColumns) || (indexTables != null && indexTables.containsKey(indexColumns))) {
+    /**
+     * Get the last committed version of the table if another thread is writing, so
+     * that the reader does not wait on the writer.
+     * <br>
+     * A write only takes a snapshot once a reader has overlapped a previous write, and
+     * continues to do so only while readers keep overlapping writes.
+     * @return the snapshot or null if the table should be read directly
+     */
+    private TempTable getSnapshot() {
+        if (!lock.isWriteLocked() || lock.isWriteLockedByCurrentThread()) {
+            return null;
+        }
+        TempTable result = this.snapshot;
+        if (result == null) {
+            readerOverlapped = true;
+        } else {
+            snapshotUsed = true;
+        }
+        return result;
+    }
+
+    /**
+     * Called with the write lock held prior to modifying the table.  If a reader has
+     * overlapped a previous write, the current state is cloned for readers to use
+     * until the write completes.  The clone shares the unmodified pages copy-on-write.
+     */
+    private void beforeWrite() {
+        if (!snapshotReads || !readerOverlapped) {
+            return;
+        }
+        readerOverlapped = false;
+        TempTable result = clone();
+        result.snapshotReads = false;
+        if (this.snapshotLock == null) {
+            this.snapshotLock = new ReentrantReadWriteLock();
+        }
+        //all snapshots share a lock so that remove can wait on their readers
+        result.lock = this.snapshotLock;
+        if (result.indexTables != null) {
+            for (TempTable indexTable : result.indexTables.values()) {
+                indexTable.lock = this.snapshotLock;
+            }
+        }
+        this.snapshot = result;
+    }
+
+    /**
+     * Called with the write lock held after modifying the table.
+     */
+    private void afterWrite() {
+        if (this.snapshot == null) {
             return;
         }
-        TempTable indexTable = createIndexTable(indexColumns, unique);
+        this.snapshot = null;
+        readerOverlapped = snapshotUsed;
+        snapshotUsed = false;
+    }
+
+    TempTable addIndex(List<ElementSymbol> indexColumns, boolean unique) throws TeiidComponentException, TeiidProcessingException {
+        return addIndex(indexColumns, unique, null);
+    }
+
+    /**
+     * Add an ordered secondary index
+     * @param includeColumns additional non-key columns to store in the index so that it may
+     * cover more queries, may be null
+     * @return the index table or null if the index columns are the primary key
+     */
+    TempTable addIndex(List<ElementSymbol> indexColumns, boolean unique, List<ElementSymbol> includeColumns) throws TeiidComponentException, TeiidProcessingException {
+        List<ElementSymbol> keyColumns = columns.subList(0, tree.getKeyLength());
+        if (keyColumns.equals(indexColumns)) {
+            return null;
+        }
+        if (indexTables != null) {
+            TempTable existing = indexTables.get(indexColumns);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        TempTable indexTable = createIndexTable(indexColumns, unique, includeColumns);
         //TODO: ordered insert optimization
         TupleSource ts = createTupleSource(indexTable.getColumns(), null, null);
         indexTable.insert(ts, indexTable.getColumns(), false, false, null);
         indexTable.getTree().compact();
+        return indexTable;
     }
 
     private TempTable createIndexTable(List<ElementSymbol> indexColumns,
-            boolean unique) {
+            boolean unique, List<ElementSymbol> includeColumns) {
         List<ElementSymbol> allColumns = new ArrayList<ElementSymbol>(indexColumns);
         for (ElementSymbol elementSymbol : columns.subList(0, tree.getKeyLength())) {
             if (allColumns.indexOf(elementSymbol) < 0) {
                 allColumns.add(elementSymbol);
             }
         }
-        TempTable indexTable = new TempTable(new TempMetadataID("idx", Collections.EMPTY_LIST), this.bm, allColumns, allColumns.size(), this.sessionID); //$NON-NLS-1$
+        int keyLength = allColumns.size();
+        if (includeColumns != null) {
+            for (ElementSymbol elementSymbol : includeColumns) {
+                if (allColumns.indexOf(elementSymbol) < 0) {
+                    allColumns.add(elementSymbol);
+                }
+            }
+        }
+        TempTable indexTable = new TempTable(new TempMetadataID("idx", Collections.EMPTY_LIST), this.bm, allColumns, keyLength, this.sessionID); //$NON-NLS-1$
         indexTable.setPreferMemory(this.tree.isPreferMemory());
         indexTable.lock = this.lock;
         if (unique) {
@@ -494,12 +590,75 @@ public class TempTable implements Cloneable, SearchableTable {
         }
         if (indexTables == null) {
             indexTables = new LinkedHashMap<List<ElementSymbol>, TempTable>();
-            indexTables.put(indexColumns, indexTable);
         }
+        indexTables.put(indexColumns, indexTable);
         indexTable.setUpdatable(this.updatable);
         return indexTable;
     }
 
+    /**
+     * Add an in-memory hash index for equality lookups.  Hash indexes are only
+     * valid for a read only table and are removed if the table is made updatable.
+     */
+    void addHashIndex(List<ElementSymbol> indexColumns) throws TeiidComponentException, TeiidProcessingException {
+        if (this.updatable) {
+            throw new AssertionError("hash indexes require a read only table"); //$NON-NLS-1$
+        }
+        List<ElementSymbol> keyColumns = columns.subList(0, tree.getKeyLength());
+        if (keyColumns.equals(indexColumns)) {
+            return;
+        }
+        if (hashIndexes != null) {
+            for (HashIndex index : hashIndexes) {
+                if (index.getColumns().subList(0, index.getPkLength()).equals(indexColumns)) {
+                    return;
+                }
+            }
+        }
+        List<ElementSymbol> allColumns = new ArrayList<ElementSymbol>(indexColumns);
+        allColumns.addAll(keyColumns);
+        //the map is held on heap, so it must fit in the reserve for the life of the table
+        long size = (bm.getSchemaSize(allColumns)/bm.getProcessorBatchSize(allColumns) + HashIndex.ENTRY_OVERHEAD) * tree.getRowCount();
+        //the reservation is owned by the table rather than the current command
+        int reserved = 0;
+        if (size < Integer.MAX_VALUE) {
+            reserved = bm.reserveOrphanedBuffers((int)size);
+        }
+        if (reserved == 0 && size > 0) {
+            LogManager.logDetail(LogConstants.CTX_DQP, "Insufficient memory for a hash index on", indexColumns, "using an ordered index instead"); //$NON-NLS-1$ //$NON-NLS-2$
+            addIndex(indexColumns, false);
+            return;
+        }
+        HashIndex index = new HashIndex(allColumns, indexColumns.size(), reserved);
+        boolean success = false;
+        try {
+            TupleSource ts = createTupleSource(allColumns, null, null);
+            List<?> tuple = null;
+            while ((tuple = ts.nextTuple()) != null) {
+                index.add(tuple);
+            }
+            ts.closeSource();
+            success = true;
+        } finally {
+            if (!success) {
+                bm.releaseOrphanedBuffers(index.release());
+            }
+        }
+        if (hashIndexes == null) {
+            hashIndexes = new ArrayList<HashIndex>(2);
+        }
+        hashIndexes.add(index);
+    }
+
+    private void releaseHashIndexes() {
+        if (this.hashIndexes != null) {
+            for (HashIndex index : this.hashIndexes) {
+                bm.releaseOrphanedBuffers(index.release());
+            }
+            this.hashIndexes = null;
+        }
+    }
+
     private int reserveBuffers() {
         return bm.reserveBuffers(leafBatchSize + (tree.getHeight() - 1)*keyBatchSize, BufferReserveMode.FORCE);
     }
@@ -513,6 +672,12 @@ public class TempTable implements Cloneable, SearchableTable {
                 break;
             }
         }
+        if (snapshotReads && updatable) {
+            TempTable current = getSnapshot();
+            if (current != null) {
+                return current.createTupleSource(projectedCols, condition, orderBy);
+            }
+        }
         if (agg) {
             if (condition == null) {
                 long count = this.getRowCount();
@@ -522,10 +687,33 @@ public class TempTable implements Cloneable, SearchableTable {
         }
         IndexInfo primary = new IndexInfo(this, projectedCols, condition, orderBy, true);
         IndexInfo ii = primary;
-        if ((indexTables != null || (!this.updatable && allowImplicitIndexing && condition != null && this.getRowCount() > 2*this.getTree().getPageSize(true))) && (condition != null || orderBy != null) && ii.valueSet.size() != 1) {
+        if ((indexTables != null || hashIndexes != null || (!this.updatable && allowImplicitIndexing && condition != null && this.getRowCount() > 2*this.getTree().getPageSize(true))) && (condition != null || orderBy != null) && ii.valueSet.size() != 1) {
             LogManager.logDetail(LogConstants.CTX_DQP, "Considering indexes on table", this, "for query", projectedCols, condition, orderBy); //$NON-NLS-1$ //$NON-NLS-2$
             long rowCost = this.tree.getRowCount();
             long bestCost = estimateCost(orderBy, ii, rowCost);
+            if (this.hashIndexes != null && condition != null) {
+                List<List<?>> pks = null;
+                HashIndex best = null;
+                for (HashIndex index : this.hashIndexes) {
+                    List<List<?>> result = index.getPrimaryKeys(new BaseIndexInfo<HashIndex>(index, projectedCols, condition, null, false));
+                    if (result != null && (pks == null || result.size() < pks.size())) {
+                        pks = result;
+                        best = index;
+                    }
+                }
+                if (pks != null && pks.size() < bestCost) {
+                    LogManager.logDetail(LogConstants.CTX_DQP, "Choose", best, "with", pks.size(), "matches"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    //lookup the matching rows by primary key, the full condition is still applied
+                    if (!pks.isEmpty()) {
+                        primary.valueSet = new ArrayList<List<Object>>((List)pks);
+                        primary.sortValueSet(primary.ordering != null ? primary.ordering : OrderBy.ASC, bm.getOptions().getDefaultNullOrder());
+                    }
+                    primary.valueTs = new CollectionTupleSource(primary.valueSet.iterator());
+                    primary.lower = null;
+                    primary.upper = null;
+                    return createTupleSource(projectedCols, condition, orderBy, primary, agg);
+                }
+            }
             if (this.indexTables != null) {
                 for (TempTable table : this.indexTables.values()) {
                     IndexInfo secondary = new IndexInfo(table, projectedCols, condition, orderBy, false);
@@ -538,8 +726,9 @@ public class TempTable implements Cloneable, SearchableTable {
             }
             if (ii == primary && allowImplicitIndexing) {
                 //TODO: detect if it should be covering
-                if (createImplicitIndexIfNeeded(condition)) {
-                    IndexInfo secondary = new IndexInfo(this.indexTables.values().iterator().next(), projectedCols, condition, orderBy, false);
+                TempTable implicitIndex = createImplicitIndexIfNeeded(condition);
+                if (implicitIndex != null) {
+                    IndexInfo secondary = new IndexInfo(implicitIndex, projectedCols, condition, orderBy, false);
                     LogManager.logDetail(LogConstants.CTX_DQP, "Created an implicit index ", secondary.table); //$NON-NLS-1$
                     long cost = estimateCost(orderBy, secondary, rowCost);
                     if (cost < bestCost) {
@@ -574,7 +763,7 @@ public class TempTable implements Cloneable, SearchableTable {
         return createTupleSource(projectedCols, condition, orderBy, ii, agg);
     }
 
-    private boolean createImplicitIndexIfNeeded(final Criteria condition) throws TeiidComponentException, TeiidProcessingException {
+    private TempTable createImplicitIndexIfNeeded(final Criteria condition) throws TeiidComponentException, TeiidProcessingException {
         int operator = CompareCriteria.EQ;
         LinkedHashSet<ElementSymbol> symbols = null;
         for (Criteria c : Criteria.separateCriteriaByAnd(condition)) {
@@ -613,10 +802,9 @@ public class TempTable implements Cloneable, SearchableTable {
         }
         if (symbols != null && !symbols.isEmpty()) {
             //TODO: order by ndv
-            this.addIndex(new ArrayList<>(symbols), false);
-            return true;
+            return this.addIndex(new ArrayList<>(symbols), false);
         }
-        return false;
+        return null;
     }
 
     private TupleSource createTupleSource(
@@ -716,21 +904,38 @@ public class TempTable implements Cloneable, SearchableTable {
     }
 
     public long truncate(boolean force) {
-        this.tid.getTableData().dataModified(tree.getRowCount());
-        return tree.truncate(force);
+        lock.writeLock().lock();
+        try {
+            beforeWrite();
+            this.tid.getTableData().dataModified(tree.getRowCount());
+            //batches still referenced by a snapshot are left for cleanup
+            return tree.truncate(force && this.snapshotLock == null);
+        } finally {
+            afterWrite();
+            lock.writeLock().unlock();
+        }
     }
 
     public void remove() {
         lock.writeLock().lock();
+        //snapshots use the batch managers of this table, so wait for their readers before removing them
+        ReentrantReadWriteLock current = this.snapshotLock;
+        if (current != null) {
+            current.writeLock().lock();
+        }
         try {
             tid.getTableData().removed();
             tree.remove();
+            releaseHashIndexes();
             if (this.indexTables != null) {
                 for (TempTable indexTable : this.indexTables.values()) {
                     indexTable.remove();
                 }
             }
         } finally {
+            if (current != null) {
+                current.writeLock().unlock();
+            }
             lock.writeLock().unlock();
         }
     }
@@ -937,9 +1142,25 @@ public class TempTable implements Cloneable, SearchableTable {
                     for (ElementSymbol es : entry.getKey()) {
                         oos.writeInt(this.columnMap.get(es));
                     }
+                    List<ElementSymbol> includeColumns = entry.getValue().columns.subList(entry.getValue().tree.getKeyLength(), entry.getValue().columns.size());
+                    oos.writeInt(includeColumns.size());
+                    for (ElementSymbol es : includeColumns) {
+                        oos.writeInt(this.columnMap.get(es));
+                    }
                     entry.getValue().writeTo(oos);
                 }
             }
+            if (this.hashIndexes == null) {
+                oos.writeInt(0);
+            } else {
+                oos.writeInt(this.hashIndexes.size());
+                for (HashIndex index : this.hashIndexes) {
+                    oos.writeInt(index.getPkLength());
+                    for (ElementSymbol es : index.getColumns().subList(0, index.getPkLength())) {
+                        oos.writeInt(this.columnMap.get(es));
+                    }
+                }
+            }
         } finally {
             this.lock.readLock().unlock();
         }
@@ -956,14 +1177,36 @@ public class TempTable implements Cloneable, SearchableTable {
                 int colIndex = ois.readInt();
                 indexColumns.add(this.columns.get(colIndex));
             }
-            TempTable tt = this.createIndexTable(indexColumns, unique);
+            int numInclude = ois.readInt();
+            ArrayList<ElementSymbol> includeColumns = new ArrayList<ElementSymbol>(numInclude);
+            for (int j = 0; j < numInclude; j++) {
+                includeColumns.add(this.columns.get(ois.readInt()));
+            }
+            TempTable tt = this.createIndexTable(indexColumns, unique, includeColumns);
             tt.readFrom(ois);
         }
+        int numHash = ois.readInt();
+        for (int i = 0; i < numHash; i++) {
+            int numCols = ois.readInt();
+            ArrayList<ElementSymbol> indexColumns = new ArrayList<ElementSymbol>(numCols);
+            for (int j = 0; j < numCols; j++) {
+                indexColumns.add(this.columns.get(ois.readInt()));
+            }
+            if (this.updatable) {
+                continue;
+            }
+            try {
+                this.addHashIndex(indexColumns);
+            } catch (TeiidProcessingException e) {
+                throw new TeiidComponentException(e);
+            }
+        }
     }
 
     List<?> updateTuple(List<?> tuple, boolean remove) throws TeiidComponentException {
         try {
             lock.writeLock().lock();
+            beforeWrite();
             if (remove) {
                 List<?> result = tree.remove(tuple);
                 if (result == null) {
@@ -981,13 +1224,18 @@ public class TempTable implements Cloneable, SearchableTable {
             List<?> result = tree.insert(tuple, InsertMode.UPDATE, -1);
             if (indexTables != null) {
                 for (TempTable index : this.indexTables.values()) {
-                    tuple = RelationalNode.projectTuple(RelationalNode.getProjectionIndexes(index.getColumnMap(), index.columns), tuple);
-                    index.tree.insert(tuple, InsertMode.UPDATE, -1);
+                    int[] projection = RelationalNode.getProjectionIndexes(index.getColumnMap(), index.columns);
+                    if (result != null) {
+                        //remove the entry for the old values
+                        index.tree.remove(RelationalNode.projectTuple(projection, result));
+                    }
+                    index.tree.insert(RelationalNode.projectTuple(projection, tuple), InsertMode.UPDATE, -1);
                 }
             }
             tid.getTableData().dataModified(1);
             return result;
         } finally {
+            afterWrite();
             lock.writeLock().unlock();
         }
     }
@@ -1002,8 +1250,20 @@ public class TempTable implements Cloneable, SearchableTable {
         this.tree.setPreferMemory(preferMemory);
     }
 
+    /**
+     * Allow readers of an updatable table to read from a snapshot of the last
+     * committed version rather than waiting on writers.
+     */
+    void setSnapshotReads(boolean snapshotReads) {
+        this.snapshotReads = snapshotReads;
+    }
+
     void setUpdatable(boolean updatable) {
         this.updatable = updatable;
+        if (updatable) {
+            //hash indexes are not maintained
+            releaseHashIndexes();
+        }
         if (this.indexTables != null) {
             for (TempTable index : this.indexTables.values()) {
                 index.setUpdatable(updatable);
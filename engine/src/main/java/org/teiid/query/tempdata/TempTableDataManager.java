@@ -59,9 +59,12 @@ import org.teiid.language.SQLConstants;
 import org.teiid.language.SQLConstants.Reserved;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.AbstractMetadataRecord;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.eval.Evaluator;
+import org.teiid.query.metadata.MaterializationMetadataRepository;
+import org.teiid.query.metadata.MaterializationMetadataRepository.IndexType;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempMetadataAdapter;
 import org.teiid.query.metadata.TempMetadataID;
@@ -122,6 +125,42 @@ public class TempTableDataManager implements ProcessorDataManager {
 
     }
 
+    /**
+     * Tracks the max value of the incremental column as tuples are read
+     */
+    static class HighWaterMarkTupleSource implements TupleSource {
+        private TupleSource ts;
+        private int index;
+        private Object max;
+
+        HighWaterMarkTupleSource(TupleSource ts, int index) {
+            this.ts = ts;
+            this.index = index;
+        }
+
+        @Override
+        public List<?> nextTuple() throws TeiidComponentException,
+                TeiidProcessingException {
+            List<?> tuple = ts.nextTuple();
+            if (tuple != null) {
+                Object value = tuple.get(index);
+                if (value != null && (max == null || Constant.COMPARATOR.compare(value, max) > 0)) {
+                    max = value;
+                }
+            }
+            return tuple;
+        }
+
+        @Override
+        public void closeSource() {
+            ts.closeSource();
+        }
+
+        Object getMax() {
+            return max;
+        }
+    }
+
     private static final String REFRESHMATVIEWROW = ".refreshmatviewrow"; //$NON-NLS-1$
     private static final String REFRESHMATVIEWROWS = ".refreshmatviewrows"; //$NON-NLS-1$
     private static final String REFRESHMATVIEW = ".refreshmatview"; //$NON-NLS-1$
@@ -359,6 +398,14 @@ public class TempTableDataManager implements ProcessorDataManager {
             }
             GroupSymbol matTable = new GroupSymbol(matTableName);
             matTable.setMetadataID(matTableId);
+            MatTableInfo info = globalStore.getMatTableInfo(matTableName);
+            TempTable current = globalStore.getTempTable(matTableName);
+            if (!invalidate && info.isValid() && info.getHighWaterMark() != null && current != null && current.isUpdatable()) {
+                int index = getIncrementalColumnIndex(metadata, groupID, ResolverUtil.resolveElementsInGroup(matTable, metadata));
+                if (index != -1) {
+                    return incrementalLoad(context, groupID, matViewName, matTableName, globalStore, index, info.getHighWaterMark());
+                }
+            }
             return loadGlobalTable(context, matTable, matTableName, globalStore);
         } else if (StringUtil.endsWithIgnoreCase(proc.getProcedureCallableName(), REFRESHMATVIEWROWS)) {
             final Object groupID = validateMatView(metadata, (String)((Constant)proc.getParameter(2).getExpression()).getValue());
@@ -511,6 +558,99 @@ public class TempTableDataManager implements ProcessorDataManager {
         };
     }
 
+    /**
+     * @return the index of the column named by {@link MaterializationMetadataRepository#MATVIEW_INCREMENTAL_COLUMN} or -1 if not set
+     */
+    private static int getIncrementalColumnIndex(QueryMetadataInterface metadata, Object viewId, List<ElementSymbol> columns)
+            throws TeiidComponentException, QueryMetadataException, QueryProcessingException {
+        if (viewId == null) {
+            return -1;
+        }
+        String columnName = metadata.getExtensionProperty(viewId, MaterializationMetadataRepository.MATVIEW_INCREMENTAL_COLUMN, false);
+        if (columnName == null) {
+            return -1;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getShortName().equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        throw new QueryProcessingException(QueryPlugin.Event.TEIID31309, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31309, columnName, metadata.getFullName(viewId)));
+    }
+
+    /**
+     * Apply the rows changed since the last load, as determined by the incremental column, to the existing mat table.
+     * <br>
+     * Deletes cannot be detected in this way and require the use of refreshMatViewRow(s) or a full refresh.
+     */
+    private TupleSource incrementalLoad(final CommandContext context, final Object groupID, final String matViewName,
+            final String matTableName, final GlobalTableStore globalStore, final int index, final Object highWaterMark)
+            throws TeiidComponentException, QueryMetadataException {
+        final QueryMetadataInterface metadata = context.getMetadata();
+        String columnName = metadata.getFullName(metadata.getElementIDsInGroupID(groupID).get(index));
+        LogManager.logInfo(LogConstants.CTX_MATVIEWS, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31307, matViewName, columnName, highWaterMark));
+        //rows committed with the same value after the last load must still be seen, re-applying the rows at the mark is harmless
+        final String queryString = Reserved.SELECT + " * " + Reserved.FROM + ' ' + matViewName + ' ' + Reserved.WHERE + ' ' + //$NON-NLS-1$
+                columnName + " >= ? " + Reserved.OPTION + ' ' + Reserved.NOCACHE; //$NON-NLS-1$
+        return new ProxyTupleSource() {
+            private QueryProcessor qp;
+            private HighWaterMarkTupleSource ts;
+            private int count;
+            private boolean success;
+            private boolean closed;
+
+            @Override
+            protected TupleSource createTupleSource()
+                    throws TeiidComponentException,
+                    TeiidProcessingException {
+                try {
+                    if (qp == null) {
+                        qp = context.getQueryProcessorFactory().createQueryProcessor(queryString, matViewName.toUpperCase(), context, highWaterMark);
+                        ts = new HighWaterMarkTupleSource(new BatchCollector.BatchProducerTupleSource(qp), index);
+                    }
+                    List<?> tuple = null;
+                    while ((tuple = ts.nextTuple()) != null) {
+                        tuple = new ArrayList<Object>(tuple); //ensure the list is serializable
+                        globalStore.updateMatViewRow(matTableName, tuple, false);
+                        count++;
+                        if (eventDistributor != null) {
+                            eventDistributor.updateMatViewRow(context.getVdbName(), context.getVdbVersion(), metadata.getName(metadata.getModelID(groupID)), metadata.getName(groupID), tuple, false);
+                        }
+                    }
+                    if (ts.getMax() != null) {
+                        globalStore.getMatTableInfo(matTableName).setHighWaterMark(ts.getMax());
+                    }
+                    globalStore.loaded(matTableName, globalStore.getTempTable(matTableName));
+                    success = true;
+                    LogManager.logInfo(LogConstants.CTX_MATVIEWS, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31308, matTableName, count));
+                    return CollectionTupleSource.createUpdateCountTupleSource(count);
+                } catch (BlockedException e) {
+                    throw e;
+                } catch (TeiidComponentException | TeiidProcessingException | RuntimeException e) {
+                    LogManager.logError(LogConstants.CTX_MATVIEWS, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30015, matTableName));
+                    closeSource();
+                    throw e;
+                }
+            }
+
+            @Override
+            public void closeSource() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (!success) {
+                    //the next access will trigger a reload
+                    globalStore.failedLoad(matTableName);
+                }
+                if (qp != null) {
+                    qp.closeProcessing();
+                }
+                super.closeSource();
+            }
+        };
+    }
+
     private Object validateMatView(QueryMetadataInterface metadata,    String viewName) throws TeiidComponentException,
             TeiidProcessingException {
         try {
@@ -708,6 +848,52 @@ public class TempTableDataManager implements ProcessorDataManager {
         return workContext;
     }
 
+    /**
+     * Add an index to the mat table using the {@link MaterializationMetadataRepository#INDEX_TYPE} and
+     * {@link MaterializationMetadataRepository#INDEX_INCLUDE} options of the view index.
+     */
+    private static void addIndex(QueryMetadataInterface metadata, TempTable table, List<ElementSymbol> allColumns,
+            Object index, List<ElementSymbol> columns, boolean updatable)
+            throws TeiidComponentException, TeiidProcessingException {
+        Object indexId = index instanceof TempMetadataID ? ((TempMetadataID)index).getOriginalMetadataID() : index;
+        if (!(indexId instanceof AbstractMetadataRecord)) {
+            table.addIndex(columns, false);
+            return;
+        }
+        String type = metadata.getExtensionProperty(indexId, MaterializationMetadataRepository.INDEX_TYPE, false);
+        if (type != null) {
+            IndexType indexType = null;
+            try {
+                indexType = IndexType.valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new QueryProcessingException(QueryPlugin.Event.TEIID31310, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31310, MaterializationMetadataRepository.INDEX_TYPE, type, ((AbstractMetadataRecord)indexId).getName()));
+            }
+            if (indexType == IndexType.HASH && !updatable) {
+                table.addHashIndex(columns);
+                return;
+            }
+        }
+        List<ElementSymbol> includeColumns = null;
+        String include = metadata.getExtensionProperty(indexId, MaterializationMetadataRepository.INDEX_INCLUDE, false);
+        if (include != null) {
+            includeColumns = new ArrayList<ElementSymbol>();
+            for (String name : StringUtil.split(include, ",")) { //$NON-NLS-1$
+                ElementSymbol match = null;
+                for (ElementSymbol es : allColumns) {
+                    if (es.getShortName().equalsIgnoreCase(name.trim())) {
+                        match = es;
+                        break;
+                    }
+                }
+                if (match == null) {
+                    throw new QueryProcessingException(QueryPlugin.Event.TEIID31310, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31310, MaterializationMetadataRepository.INDEX_INCLUDE, include, ((AbstractMetadataRecord)indexId).getName()));
+                }
+                includeColumns.add(match);
+            }
+        }
+        table.addIndex(columns, false, includeColumns);
+    }
+
     private TupleSource loadGlobalTable(final CommandContext context,
             final GroupSymbol group, final String tableName, final GlobalTableStore globalStore)
             throws TeiidComponentException, TeiidProcessingException {
@@ -716,10 +902,18 @@ public class TempTableDataManager implements ProcessorDataManager {
         final List<ElementSymbol> allColumns = ResolverUtil.resolveElementsInGroup(group, metadata);
         final TempTable table = globalStore.createMatTable(tableName, group);
         table.setUpdatable(false);
+        Object viewId = ((TempMetadataID)group.getMetadataID()).getOriginalMetadataID();
+        final int incrementalIndex = getIncrementalColumnIndex(metadata, viewId, allColumns);
+        final String partColumn = viewId == null ? null : metadata.getExtensionProperty(viewId, MaterializationMetadataRepository.MATVIEW_PART_LOAD_COLUMN, false);
+        //without declared values the view is loaded with a single query rather than also selecting the distinct values
+        final String partValues = partColumn == null ? null : metadata.getExtensionProperty(viewId, MaterializationMetadataRepository.MATVIEW_PART_LOAD_VALUES, false);
+        final String viewName = partValues == null ? null : metadata.getFullName(viewId);
         return new ProxyTupleSource() {
             TupleSource insertTupleSource;
+            HighWaterMarkTupleSource highWaterMark;
             boolean success;
             QueryProcessor qp;
+            PartitionedLoadTupleSource partitioned;
             boolean closed;
             boolean errored;
 
@@ -730,31 +924,47 @@ public class TempTableDataManager implements ProcessorDataManager {
                 try {
                     if (insertTupleSource == null) {
                         String fullName = metadata.getFullName(group.getMetadataID());
-                        String transformation = metadata.getVirtualPlan(group.getMetadataID()).getQuery();
-                        qp = context.getQueryProcessorFactory().createQueryProcessor(transformation, fullName, context);
-                        insertTupleSource = new BatchCollector.BatchProducerTupleSource(qp);
+                        if (partValues != null) {
+                            partitioned = new PartitionedLoadTupleSource(context, viewName, partColumn, partValues, context.getUserRequestSourceConcurrency());
+                            insertTupleSource = partitioned;
+                        } else {
+                            String transformation = metadata.getVirtualPlan(group.getMetadataID()).getQuery();
+                            qp = context.getQueryProcessorFactory().createQueryProcessor(transformation, fullName, context);
+                            insertTupleSource = new BatchCollector.BatchProducerTupleSource(qp);
+                        }
+                        if (incrementalIndex != -1) {
+                            highWaterMark = new HighWaterMarkTupleSource(insertTupleSource, incrementalIndex);
+                            insertTupleSource = highWaterMark;
+                        }
                     }
                     table.insert(insertTupleSource, allColumns, false, false, null);
                     table.getTree().compact();
                     rowCount = table.getRowCount();
-                    Determinism determinism = qp.getContext().getDeterminismLevel();
+                    Determinism determinism = partitioned != null ? partitioned.getDeterminismLevel() : qp.getContext().getDeterminismLevel();
                     context.setDeterminismLevel(determinism);
+                    CacheHint hint = table.getCacheHint();
+                    //hash indexes are not maintained by row updates
+                    boolean updatable = table.getPkLength() > 0 && ((hint != null && hint.isUpdatable(false)) || incrementalIndex != -1);
                     //TODO: could pre-process indexes to remove overlap
                     for (Object index : metadata.getIndexesInGroup(group.getMetadataID())) {
                         List<ElementSymbol> columns = GlobalTableStoreImpl.resolveIndex(metadata, allColumns, index);
-                        table.addIndex(columns, false);
+                        addIndex(metadata, table, allColumns, index, columns, updatable);
                     }
                     for (Object key : metadata.getUniqueKeysInGroup(group.getMetadataID())) {
                         List<ElementSymbol> columns = GlobalTableStoreImpl.resolveIndex(metadata, allColumns, key);
                         table.addIndex(columns, true);
                     }
-                    CacheHint hint = table.getCacheHint();
                     if (hint != null && table.getPkLength() > 0) {
                         table.setUpdatable(hint.isUpdatable(false));
                     }
+                    if (incrementalIndex != -1 && table.getPkLength() > 0) {
+                        //changed rows are applied by key
+                        table.setUpdatable(true);
+                    }
                     if (determinism.compareTo(Determinism.VDB_DETERMINISTIC) < 0 && (hint == null || hint.getScope() == null || Scope.VDB.compareTo(hint.getScope()) <= 0)) {
                         LogManager.logInfo(LogConstants.CTX_DQP, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31143, determinism, tableName)); //$NON-NLS-1$
                     }
+                    globalStore.getMatTableInfo(tableName).setHighWaterMark(highWaterMark == null ? null : highWaterMark.getMax());
                     globalStore.loaded(tableName, table);
                     success = true;
                     LogManager.logInfo(LogConstants.CTX_MATVIEWS, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30014, tableName, rowCount));
@@ -789,6 +999,9 @@ public class TempTableDataManager implements ProcessorDataManager {
                 if (qp != null) {
                     qp.closeProcessing();
                 }
+                if (partitioned != null) {
+                    partitioned.close();
+                }
                 super.closeSource();
             }
         };
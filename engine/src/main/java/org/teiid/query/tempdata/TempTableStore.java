@@ -435,6 +435,8 @@ public class TempTableStore {
         }
         final TempTable tempTable = new TempTable(id, buffer, columns, create.getPrimaryKey().size(), sessionID);
         tempTable.getTree().setSaveTemporaryLobs(!localScoped);
+        //shared tables are read concurrently by many sessions
+        tempTable.setSnapshotReads(transactionMode == TransactionMode.ISOLATE_READS);
         if (add) {
             tempTables.put(tempTableName, tempTable);
         }
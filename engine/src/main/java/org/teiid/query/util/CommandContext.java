@@ -65,6 +65,7 @@ import org.teiid.dqp.internal.process.PreparedPlan;
 import org.teiid.dqp.internal.process.RequestWorkItem;
 import org.teiid.dqp.internal.process.SessionAwareCache;
 import org.teiid.dqp.internal.process.SessionAwareCache.CacheID;
+import org.teiid.dqp.internal.process.TeiidMetrics;
 import org.teiid.dqp.internal.process.TupleSourceCache;
 import org.teiid.dqp.message.RequestID;
 import org.teiid.dqp.service.TransactionContext;
@@ -191,6 +192,7 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
         private List<Exception> warnings = null;
 
         private Options options = null;
+        private TeiidMetrics metrics;
         private List<ElementSymbol> returnAutoGeneratedKeys;
         private GeneratedKeysImpl generatedKeys;
         private long reservedBuffers;
@@ -1012,6 +1014,17 @@ public class CommandContext implements Cloneable, org.teiid.CommandContext {
         this.globalState.options = options;
     }
 
+    /**
+     * @return the metrics of the engine processing this command, may be null
+     */
+    public TeiidMetrics getMetrics() {
+        return this.globalState.metrics;
+    }
+
+    public void setMetrics(TeiidMetrics metrics) {
+        this.globalState.metrics = metrics;
+    }
+
     @Override
     public boolean isReturnAutoGeneratedKeys() {
         return true;
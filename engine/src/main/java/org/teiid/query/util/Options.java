@@ -39,6 +39,10 @@ public class Options {
     public static final String MAX_SESSION_BUFFER_SIZE_ESTIMATE = "org.teiid.maxSessionBufferSizeEstimate"; //$NON-NLS-1$
     public static final String TRACING_WITH_ACTIVE_SPAN_ONLY = "org.teiid.tracingWithActiveSpanOnly"; //$NON-NLS-1$
     public static final String ENFORCE_SINGLE_MAX_BUFFER_SIZE_ESTIMATE = "org.teiid.enforceSingleMaxBufferSizeEstimate"; //$NON-NLS-1$
+    public static final String SEMANTIC_RESULT_SET_CACHE = "org.teiid.semanticResultSetCache"; //$NON-NLS-1$
+    public static final String AUTO_PARAMETERIZE = "org.teiid.autoParameterize"; //$NON-NLS-1$
+    public static final String RESOLVED_COMMAND_CACHE_SIZE = "org.teiid.resolvedCommandCacheSize"; //$NON-NLS-1$
+    public static final String JOIN_ENUMERATION_GROUPS = "org.teiid.joinEnumerationGroups"; //$NON-NLS-1$
 
     private Properties properties;
     private boolean subqueryUnnestDefault = false;
@@ -54,6 +58,10 @@ public class Options {
     private boolean tracingWithActiveSpanOnly = true;
     private boolean enforceSingleMaxBufferSizeEstimate = false;
     private boolean relativeXPath = true;
+    private boolean semanticResultSetCache = false;
+    private boolean autoParameterize = false;
+    private int resolvedCommandCacheSize = 256;
+    private int joinEnumerationGroups = 16;
 
     public Properties getProperties() {
         return properties;
@@ -238,4 +246,56 @@ public class Options {
         return this;
     }
 
+    public boolean isSemanticResultSetCache() {
+        return semanticResultSetCache;
+    }
+
+    public void setSemanticResultSetCache(boolean semanticResultSetCache) {
+        this.semanticResultSetCache = semanticResultSetCache;
+    }
+
+    public Options semanticResultSetCache(boolean b) {
+        this.semanticResultSetCache = b;
+        return this;
+    }
+
+    public boolean isAutoParameterize() {
+        return autoParameterize;
+    }
+
+    public void setAutoParameterize(boolean autoParameterize) {
+        this.autoParameterize = autoParameterize;
+    }
+
+    public Options autoParameterize(boolean b) {
+        this.autoParameterize = b;
+        return this;
+    }
+
+    public int getResolvedCommandCacheSize() {
+        return resolvedCommandCacheSize;
+    }
+
+    public void setResolvedCommandCacheSize(int resolvedCommandCacheSize) {
+        this.resolvedCommandCacheSize = resolvedCommandCacheSize;
+    }
+
+    public Options resolvedCommandCacheSize(int i) {
+        this.resolvedCommandCacheSize = i;
+        return this;
+    }
+
+    public int getJoinEnumerationGroups() {
+        return joinEnumerationGroups;
+    }
+
+    public void setJoinEnumerationGroups(int joinEnumerationGroups) {
+        this.joinEnumerationGroups = joinEnumerationGroups;
+    }
+
+    public Options joinEnumerationGroups(int i) {
+        this.joinEnumerationGroups = i;
+        return this;
+    }
+
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events emitted by the engine.
+ * <br>
+ * The events are recorded only while a flight recording is running, for example
+ * one started with <code>jcmd &lt;pid&gt; JFR.start</code>.  The plan node events
+ * are produced per batch and are disabled unless enabled by the recording settings, for example
+ * with a custom .jfc settings file that enables teiid.PlanNodeBatch.
+ * <br>
+ * When an event is disabled the cost is a check of the event state, so callers should
+ * create the event, call begin, and only populate fields once {@link Event#shouldCommit()}
+ * returns true.
+ */
+public final class TeiidEvents {
+
+    public static final String CATEGORY = "Teiid"; //$NON-NLS-1$
+
+    private TeiidEvents() {
+    }
+
+    @Name("teiid.RequestStart")
+    @Label("Request Start")
+    @Category(CATEGORY)
+    @Description("A user request has been submitted")
+    @StackTrace(false)
+    public static class RequestStart extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Session Id")
+        public String sessionId;
+        @Label("User")
+        public String userName;
+        @Label("VDB")
+        public String vdbName;
+        @Label("VDB Version")
+        public String vdbVersion;
+        @Label("SQL")
+        public String sql;
+    }
+
+    @Name("teiid.Request")
+    @Label("Request")
+    @Category(CATEGORY)
+    @Description("A user request from submission until close")
+    @StackTrace(false)
+    public static class Request extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Session Id")
+        public String sessionId;
+        @Label("User")
+        public String userName;
+        @Label("VDB")
+        public String vdbName;
+        @Label("VDB Version")
+        public String vdbVersion;
+        @Label("SQL")
+        public String sql;
+        @Label("Row Count")
+        public long rowCount;
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("teiid.PlanNodeOpen")
+    @Label("Plan Node Open")
+    @Category({CATEGORY, "Processing"})
+    @Description("Opening a relational plan node and its children")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class PlanNodeOpen extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Node Id")
+        public int nodeId;
+        @Label("Node Type")
+        public String nodeType;
+    }
+
+    @Name("teiid.PlanNodeBatch")
+    @Label("Plan Node Batch")
+    @Category({CATEGORY, "Processing"})
+    @Description("Producing a batch from a relational plan node")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class PlanNodeBatch extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Node Id")
+        public int nodeId;
+        @Label("Node Type")
+        public String nodeType;
+        @Label("Row Count")
+        public int rowCount;
+        @Label("Last Batch")
+        public boolean lastBatch;
+        @Label("Blocked")
+        public boolean blocked;
+    }
+
+    @Name("teiid.PlanNodeClose")
+    @Label("Plan Node Close")
+    @Category({CATEGORY, "Processing"})
+    @Description("Closing a relational plan node and its children")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class PlanNodeClose extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Node Id")
+        public int nodeId;
+        @Label("Node Type")
+        public String nodeType;
+    }
+
+    @Name("teiid.SourceExecution")
+    @Label("Source Execution")
+    @Category({CATEGORY, "Source"})
+    @Description("A source query from execution until close")
+    @StackTrace(false)
+    public static class SourceExecution extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Source Request Id")
+        public String sourceRequestId;
+        @Label("Model")
+        public String modelName;
+        @Label("Translator")
+        public String translatorName;
+        @Label("Connection")
+        public String connectionName;
+        @Label("SQL")
+        public String sql;
+        @Label("Row Count")
+        public long rowCount;
+    }
+
+    @Name("teiid.BufferSpill")
+    @Label("Buffer Spill")
+    @Category({CATEGORY, "Buffer"})
+    @Description("Writing a batch evicted from the heap cache to storage")
+    @StackTrace(false)
+    public static class BufferSpill extends Event {
+        @Label("Batch Id")
+        public long batchId;
+        @Label("Buffer Id")
+        public long bufferId;
+        @Label("Size Estimate")
+        @DataAmount
+        public long sizeEstimate;
+    }
+
+    @Name("teiid.BlockedWait")
+    @Label("Blocked Wait")
+    @Category({CATEGORY, "Processing"})
+    @Description("Time that request processing waited for source results, memory, or the client")
+    @StackTrace(false)
+    @Threshold("1 ms")
+    public static class BlockedWait extends Event {
+        @Label("Request Id")
+        public String requestId;
+        @Label("Reason")
+        public String reason;
+    }
+
+}
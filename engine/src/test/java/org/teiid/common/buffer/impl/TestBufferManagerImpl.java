@@ -66,6 +66,16 @@ public class TestBufferManagerImpl {
         assertEquals(24576, bufferManager.reserveBuffers(1024000, BufferReserveMode.NO_WAIT));
     }
 
+    @Test public void testMemoryUsage() throws Exception {
+        BufferManagerImpl bufferManager = new BufferManagerImpl();
+        bufferManager.setCache(new MemoryStorageManager());
+        bufferManager.setMaxReserveKB(1024);
+        bufferManager.initialize();
+        assertEquals(0, bufferManager.getMemoryUsage());
+        bufferManager.reserveBuffers(1<<20, BufferReserveMode.FORCE);
+        assertEquals(100, bufferManager.getMemoryUsage());
+    }
+
     @Test public void testLargeReserve() throws Exception {
         BufferManagerImpl bufferManager = new BufferManagerImpl();
         bufferManager.setCache(new MemoryStorageManager());
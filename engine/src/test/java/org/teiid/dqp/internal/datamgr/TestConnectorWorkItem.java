@@ -24,6 +24,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Clob;
 import java.sql.Connection;
 import java.util.ArrayList;
@@ -39,6 +41,10 @@ import javax.xml.stream.events.XMLEvent;
 import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.client.RequestMessage;
@@ -189,6 +195,30 @@ public class TestConnectorWorkItem {
         assertEquals(1, fc.getCloseCount());
     }
 
+    @Test public void testSourceExecutionEvent() throws Exception {
+        Command command = helpGetCommand("select intkey from bqt1.smalla", EXAMPLE_BQT); //$NON-NLS-1$
+        AtomicRequestMessage arm = createNewAtomicRequestMessage(1, 1);
+        arm.setCommand(command);
+        ConnectorManager cm = TestConnectorManager.getConnectorManager();
+        List<RecordedEvent> events = null;
+        Path path = Files.createTempFile("teiid", ".jfr"); //$NON-NLS-1$ //$NON-NLS-2$
+        try (Recording recording = new Recording()) {
+            recording.enable("teiid.SourceExecution"); //$NON-NLS-1$
+            recording.start();
+            ConnectorWork synchConnectorWorkItem = cm.registerRequest(arm);
+            synchConnectorWorkItem.execute();
+            synchConnectorWorkItem.close();
+            recording.stop();
+            recording.dump(path);
+            events = RecordingFile.readAllEvents(path);
+        } finally {
+            Files.delete(path);
+        }
+        assertEquals(1, events.size());
+        assertEquals(arm.getAtomicRequestID().toString(), events.get(0).getString("sourceRequestId")); //$NON-NLS-1$
+        assertEquals("SELECT intkey FROM bqt1.smalla", events.get(0).getString("sql")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
    @Test public void testConvertIn() throws Exception {
         Command command = helpGetCommand("select intkey from bqt1.smalla where stringkey in ('1', '2')", EXAMPLE_BQT); //$NON-NLS-1$
         AtomicRequestMessage arm = createNewAtomicRequestMessage(1, 1);
@@ -30,31 +30,48 @@ import org.teiid.cache.CacheConfiguration;
 import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.RequestMessage.ResultsMode;
+import org.teiid.client.RequestMessage.ShowPlan;
 import org.teiid.client.RequestMessage.StatementType;
 import org.teiid.client.ResultsMessage;
 import org.teiid.client.lob.LobChunk;
+import org.teiid.client.plan.PlanNode;
 import org.teiid.client.util.ResultsFuture;
 import org.teiid.common.buffer.BufferManagerFactory;
 import org.teiid.common.buffer.impl.BufferManagerImpl;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.types.BlobType;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
 import org.teiid.dqp.internal.datamgr.FakeTransactionService;
 import org.teiid.dqp.internal.process.AbstractWorkItem.ThreadState;
 import org.teiid.dqp.service.AutoGenDataService;
 import org.teiid.dqp.service.FakeBufferService;
+import org.teiid.metadata.Table;
+import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.optimizer.TestOptimizer;
 import org.teiid.query.optimizer.capabilities.BasicSourceCapabilities;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
 import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.query.util.Options;
 import org.teiid.translator.SourceSystemFunctions;
+import org.teiid.vdb.runtime.VDBKey;
 
+import java.io.File;
 import java.sql.ResultSet;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import static org.junit.Assert.*;
 
 @SuppressWarnings("nls")
@@ -157,6 +174,28 @@ public class TestDQPCore {
         helpExecute("SELECT IntKey FROM BQT1.SmallA", "a"); //$NON-NLS-1$ //$NON-NLS-2$
     }
 
+    @Test public void testVirtualThreadsForSourceWork() throws Exception {
+        core.stop();
+        config.setUseVirtualThreadsForSourceWork(true);
+        config.setUserRequestSourceConcurrency(0);
+        core.start(config);
+        //will fallback to the engine pool if virtual threads are not supported
+        helpExecute("SELECT IntKey FROM BQT1.SmallA", "a"); //$NON-NLS-1$ //$NON-NLS-2$
+        ExecutorService virtual = ExecutorUtils.newVirtualThreadPerTaskExecutor();
+        if (virtual != null) {
+            virtual.shutdown();
+            //jdk 21+, the source execution should have run on a virtual thread
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(agds.executeThread));
+            //the default source concurrency is not derived from the engine threads
+            assertEquals(Integer.MAX_VALUE, core.getUserRequestSourceConcurrency());
+        }
+
+        core.stop();
+        config.setUseVirtualThreadsForSourceWork(false);
+        core.start(config);
+        assertEquals(Math.min(config.getMaxThreads(), 2*config.getMaxThreads()/core.getMaxActivePlans()), core.getUserRequestSourceConcurrency());
+    }
+
     @Test public void testRequestMaxActive() throws Exception {
         agds.latch = new CountDownLatch(3);
         int toRun = 2;
@@ -188,6 +227,78 @@ public class TestDQPCore {
         assertEquals(1, this.core.getMaxWaitingPlanWatermark());
     }
 
+    @Test public void testRequestMaxActivePerUser() throws Exception {
+        core.setMaxActivePlans(2);
+        core.setMaxActivePlansPerUser(1);
+        agds.latch = new CountDownLatch(3);
+        int toRun = 2;
+        CountDownLatch submitted = new CountDownLatch(toRun);
+        ExecutorService es = Executors.newCachedThreadPool();
+        final DQPWorkContext context = DQPWorkContext.getWorkContext();
+        final AtomicInteger counter = new AtomicInteger();
+        es.invokeAll(Collections.nCopies(toRun, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                DQPWorkContext.setWorkContext(context);
+                RequestMessage reqMsg = exampleRequestMessage("select * FROM BQT1.SmallA");
+                DQPWorkContext.getWorkContext().getSession().setSessionId("1");
+                DQPWorkContext.getWorkContext().getSession().setUserName("a");
+
+                Future<ResultsMessage> message = null;
+                try {
+                    message = core.executeRequest(counter.getAndIncrement(), reqMsg);
+                } finally {
+                    submitted.countDown();
+                }
+                submitted.await(); //after this, both will be submitted
+                agds.latch.countDown(); //allow the execution to proceed
+                message.get(500000, TimeUnit.MILLISECONDS);
+                return null;
+            }
+        }));
+        assertEquals(1, this.core.getMaxWaitingPlanWatermark());
+        assertEquals(1, this.core.getTotalPlansDelayedByUserLimit());
+        assertEquals(0, this.core.getUserLimitedWaitingPlanCount());
+        assertEquals(0, this.core.getActivePlanCount());
+    }
+
+    @Test public void testRequestMaxActivePerUserSecurityDomain() throws Exception {
+        core.setMaxActivePlans(2);
+        core.setMaxActivePlansPerUser(1);
+        agds.latch = new CountDownLatch(3);
+        int toRun = 2;
+        CountDownLatch submitted = new CountDownLatch(toRun);
+        ExecutorService es = Executors.newCachedThreadPool();
+        final DQPWorkContext context = DQPWorkContext.getWorkContext();
+        final AtomicInteger counter = new AtomicInteger();
+        es.invokeAll(Collections.nCopies(toRun, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                int i = counter.getAndIncrement();
+                //the same user name in a different security domain
+                DQPWorkContext workContext = RealMetadataFactory.buildWorkContext(context.getVDB().getAttachment(QueryMetadataInterface.class), context.getVDB());
+                workContext.setPolicies(context.getAllowedDataPolicies());
+                workContext.getSession().setUserName("a");
+                workContext.getSession().setSecurityDomain("domain" + i);
+                RequestMessage reqMsg = exampleRequestMessage("select * FROM BQT1.SmallA");
+
+                Future<ResultsMessage> message = null;
+                try {
+                    message = core.executeRequest(i, reqMsg);
+                } finally {
+                    submitted.countDown();
+                }
+                submitted.await(); //after this, both will be submitted
+                agds.latch.countDown(); //allow the execution to proceed
+                message.get(500000, TimeUnit.MILLISECONDS);
+                return null;
+            }
+        }));
+        assertEquals(0, this.core.getMaxWaitingPlanWatermark());
+        assertEquals(0, this.core.getTotalPlansDelayedByUserLimit());
+        assertEquals(0, this.core.getActivePlanCount());
+    }
+
     @Test public void testHasRole() throws Exception {
         String sql = "SELECT hasRole('foo')"; //$NON-NLS-1$
         String userName = "logon"; //$NON-NLS-1$
@@ -689,6 +800,211 @@ public class TestDQPCore {
         assertEquals(1, this.core.getRsCache().getCacheHitCount());
     }
 
+    @Test public void testSemanticResultSetCache() throws Exception {
+        core.stop();
+        config.getProperties().setProperty(Options.SEMANTIC_RESULT_SET_CACHE, "true"); //$NON-NLS-1$
+        core.start(config);
+        agds.setUseIntCounter(true);
+        String userName = "1"; //$NON-NLS-1$
+        int sessionid = 1; //$NON-NLS-1$
+        RequestMessage reqMsg = exampleRequestMessage("select intkey, stringkey FROM bqt1.smalla"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        ResultsMessage rm = execute(userName, sessionid, reqMsg);
+        assertEquals(10, rm.getResultsList().size()); //$NON-NLS-1$
+        assertEquals(1, agds.getExecuteCount().get());
+
+        //answered from the cached results
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where intkey < 4 order by intkey desc"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        rm = execute(userName, sessionid, reqMsg);
+        assertEquals(Arrays.asList(Arrays.asList(3), Arrays.asList(2), Arrays.asList(1), Arrays.asList(0)), rm.getResultsList());
+        assertEquals(1, agds.getExecuteCount().get());
+
+        //the row limit is applied after the ordering
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where intkey < 4 order by intkey desc"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        reqMsg.setRowLimit(2);
+        rm = execute(userName, sessionid, reqMsg);
+        assertEquals(Arrays.asList(Arrays.asList(3), Arrays.asList(2)), rm.getResultsList());
+        assertEquals(1, agds.getExecuteCount().get());
+
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where intkey > 4"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        reqMsg.setRowLimit(3);
+        rm = execute(userName, sessionid, reqMsg);
+        assertEquals(3, rm.getResultsList().size());
+        assertEquals(1, agds.getExecuteCount().get());
+
+        //an evaluation error against the cached rows falls back to normal processing, which reports the error
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where 1/(intkey - intkey) = 1"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        rm = execute(userName, sessionid, reqMsg);
+        assertNotNull(rm.getException());
+        assertEquals(2, agds.getExecuteCount().get());
+
+        //not projected by the cached query
+        reqMsg = exampleRequestMessage("select stringkey FROM bqt1.smalla where intnum < 4"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        rm = execute(userName, sessionid, reqMsg);
+        assertEquals(3, agds.getExecuteCount().get());
+
+        //the source collation is not known, so string comparisons are not evaluated against the cached results
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where stringkey = 'ABCDEFG'"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        rm = execute(userName, sessionid, reqMsg);
+        assertEquals(4, agds.getExecuteCount().get());
+
+        //the entries are removed with the vdb
+        assertTrue(core.getSemanticCache().size() > 0);
+        core.clearForVDB(new VDBKey(DQPWorkContext.getWorkContext().getVdbName(), DQPWorkContext.getWorkContext().getVdbVersion()));
+        assertEquals(0, core.getSemanticCache().size());
+    }
+
+    @Test public void testSemanticResultSetCacheMatchingCollation() throws Exception {
+        core.stop();
+        config.getProperties().setProperty(Options.SEMANTIC_RESULT_SET_CACHE, "true"); //$NON-NLS-1$
+        core.start(config);
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, DataTypeManager.COLLATION_LOCALE != null ? DataTypeManager.COLLATION_LOCALE : DataTypeManager.DEFAULT_COLLATION);
+        agds.setCaps(caps);
+        agds.setUseIntCounter(true);
+        RequestMessage reqMsg = exampleRequestMessage("select intkey, stringkey FROM bqt1.smalla"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        execute("1", 1, reqMsg); //$NON-NLS-1$
+
+        reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where stringkey = 'ABCDEFG'"); //$NON-NLS-1$
+        reqMsg.setUseResultSetCache(true);
+        ResultsMessage rm = execute("1", 1, reqMsg); //$NON-NLS-1$
+        assertEquals(10, rm.getResultsList().size());
+        assertEquals(1, agds.getExecuteCount().get());
+    }
+
+    @Test public void testAutoParameterize() throws Exception {
+        core.stop();
+        config.getProperties().setProperty(Options.AUTO_PARAMETERIZE, "true"); //$NON-NLS-1$
+        core.start(config);
+        String userName = "1"; //$NON-NLS-1$
+        int sessionid = 1; //$NON-NLS-1$
+        ResultsMessage rm = execute(userName, sessionid, exampleRequestMessage("select intkey FROM bqt1.smalla where intkey = 1")); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(0, this.core.getPrepPlanCache().getCacheHitCount());
+
+        //the same plan is used for a different literal
+        rm = execute(userName, sessionid, exampleRequestMessage("select intkey FROM bqt1.smalla where intkey = 2")); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(1, this.core.getPrepPlanCache().getCacheHitCount());
+
+        rm = execute(userName, sessionid, exampleRequestMessage("select intkey FROM bqt1.smalla where intkey in ('3', 4)")); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(1, this.core.getPrepPlanCache().getCacheHitCount());
+
+        //without literals to replace the regular planning is used
+        rm = execute(userName, sessionid, exampleRequestMessage("select intkey FROM bqt1.smalla limit 1")); //$NON-NLS-1$
+        assertEquals(1, rm.getResultsList().size());
+        assertEquals(2, this.core.getPrepPlanCache().getTotalCacheEntries());
+    }
+
+    @Test public void testResolvedCommandCache() throws Exception {
+        String sql = "select intkey FROM bqt1.smalla where intkey = 1"; //$NON-NLS-1$
+        ResultsMessage rm = execute("1", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(0, core.getResolvedCommandCache().getHitCount());
+
+        rm = execute("1", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(1, core.getResolvedCommandCache().getHitCount());
+
+        //a metadata change invalidates the entry
+        Table t = RealMetadataFactory.exampleBQTCached().getMetadataStore().getSchema("BQT1").getTable("SmallA"); //$NON-NLS-1$ //$NON-NLS-2$
+        long lastModified = t.getLastModified();
+        t.setLastModified(System.currentTimeMillis() + 1);
+        try {
+            rm = execute("1", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+            assertNull(rm.getException());
+            assertEquals(1, core.getResolvedCommandCache().getHitCount());
+        } finally {
+            t.setLastModified(lastModified);
+        }
+
+        //not used with an explain
+        rm = execute("1", 1, exampleRequestMessage("explain " + sql)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertNull(rm.getException());
+        assertEquals(1, core.getResolvedCommandCache().getHitCount());
+
+        //undeploying or reloading the vdb removes the entries
+        assertEquals(1, core.getResolvedCommandCache().size());
+        core.clearForVDB(new VDBKey(DQPWorkContext.getWorkContext().getVdbName(), DQPWorkContext.getWorkContext().getVdbVersion()));
+        assertEquals(0, core.getResolvedCommandCache().size());
+    }
+
+    @Test public void testPlanningStatistics() throws Exception {
+        RequestMessage reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla where intkey = 1"); //$NON-NLS-1$
+        reqMsg.setShowPlan(ShowPlan.ON);
+        ResultsMessage rm = execute("1", 1, reqMsg); //$NON-NLS-1$
+        assertNull(rm.getException());
+
+        PlanningStatistics stats = core.getPlanningStatistics();
+        assertEquals(1, stats.getPlanCount());
+        assertTrue(stats.getPlanNodeCount() > 0);
+        assertTrue(stats.getPhaseTimes().keySet().containsAll(Arrays.asList(AnalysisRecord.PHASE_PARSE,
+                AnalysisRecord.PHASE_RESOLVE, AnalysisRecord.PHASE_VALIDATE, AnalysisRecord.PHASE_REWRITE,
+                AnalysisRecord.PHASE_PLAN, AnalysisRecord.PHASE_CONVERT)));
+        assertEquals(Long.valueOf(1), stats.getRuleExecutions().get("RaiseAccess")); //$NON-NLS-1$
+        assertTrue(stats.getRuleTimes().containsKey("RaiseAccess")); //$NON-NLS-1$
+
+        Set<String> properties = new HashSet<String>();
+        for (PlanNode.Property property : rm.getPlanDescription().getProperties()) {
+            properties.add(property.getName());
+        }
+        assertTrue(properties.containsAll(Arrays.asList(AnalysisRecord.PROP_PLANNING_PHASES,
+                AnalysisRecord.PROP_PLANNING_RULES, AnalysisRecord.PROP_PLAN_NODE_COUNT)));
+    }
+
+    @Test public void testFlightRecorderEvents() throws Exception {
+        Set<String> names = new HashSet<String>();
+        File file = File.createTempFile("teiid", ".jfr"); //$NON-NLS-1$ //$NON-NLS-2$
+        try (Recording recording = new Recording()) {
+            for (String name : Arrays.asList("teiid.RequestStart", "teiid.Request", "teiid.PlanNodeOpen", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    "teiid.PlanNodeBatch", "teiid.PlanNodeClose")) { //$NON-NLS-1$ //$NON-NLS-2$
+                recording.enable(name);
+            }
+            recording.start();
+            RequestMessage reqMsg = exampleRequestMessage("select intkey FROM bqt1.smalla"); //$NON-NLS-1$
+            ResultsMessage rm = execute("1", 1, reqMsg); //$NON-NLS-1$
+            assertNull(rm.getException());
+            core.closeRequest(reqMsg.getExecutionId());
+            //the close is asynch
+            for (int i = 0; i < 100 && !names.contains("teiid.Request"); i++) { //$NON-NLS-1$
+                Thread.sleep(50);
+                recording.dump(file.toPath());
+                for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+                    names.add(event.getEventType().getName());
+                }
+            }
+        } finally {
+            file.delete();
+        }
+        assertTrue(names.toString(), names.containsAll(Arrays.asList("teiid.RequestStart", "teiid.Request", "teiid.PlanNodeOpen", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                "teiid.PlanNodeBatch", "teiid.PlanNodeClose"))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test public void testAutoParameterizeMixedTypes() throws Exception {
+        String sql = "select x.a from (select 1 as a union all select 2 union all select 3) as x where x.a < 2.5 and x.a > 1 and x.a in ('2', 3)"; //$NON-NLS-1$
+        ResultsMessage rm = execute("1", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+        assertNull(rm.getException());
+        assertEquals(Arrays.asList(Arrays.asList(2)), rm.getResultsList());
+
+        core.stop();
+        config.getProperties().setProperty(Options.AUTO_PARAMETERIZE, "true"); //$NON-NLS-1$
+        core.start(config);
+        for (int i = 0; i < 2; i++) {
+            ResultsMessage parameterized = execute("1", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+            assertNull(parameterized.getException());
+            assertEquals(rm.getResultsList(), parameterized.getResultsList());
+        }
+        assertEquals(1, this.core.getPrepPlanCache().getCacheHitCount());
+    }
+
     @Test public void testLobConcurrency() throws Exception {
         RequestMessage reqMsg = exampleRequestMessage("select to_bytes(stringkey, 'utf-8') FROM BQT1.SmallA");
         reqMsg.setTxnAutoWrapMode(RequestMessage.TXN_WRAP_OFF);
@@ -27,6 +27,7 @@ import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.SourceWarning;
 import org.teiid.common.buffer.BlockedException;
+import org.teiid.common.buffer.BufferManager;
 import org.teiid.common.buffer.TupleSource;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
@@ -364,4 +365,15 @@ public class TestDataTierManager {
         pullTuples(dtts, 2);
     }
 
+    @Test public void testSourceFetchSizeMemoryUsage() throws Exception {
+        BufferManager bm = Mockito.mock(BufferManager.class);
+        DataTierManagerImpl impl = new DataTierManagerImpl(null, bm, true);
+        assertEquals(512, impl.getSourceFetchSize(256));
+        Mockito.when(bm.getMemoryUsage()).thenReturn(80);
+        assertEquals(256, impl.getSourceFetchSize(256));
+        Mockito.when(bm.getMemoryUsage()).thenReturn(100);
+        assertEquals(128, impl.getSourceFetchSize(256));
+        assertEquals(1, impl.getSourceFetchSize(1));
+    }
+
 }
@@ -73,6 +73,7 @@ public class AutoGenDataService extends ConnectorManager{
     public boolean dataAvailable;
     public boolean threadBound;
     public CountDownLatch latch;
+    public volatile Thread executeThread;
 
     public AutoGenDataService() {
         super("FakeConnector","FakeConnector"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -141,6 +142,7 @@ public class AutoGenDataService extends ConnectorManager{
             @Override
             public void execute() throws TranslatorException {
                 executeCount.incrementAndGet();
+                executeThread = Thread.currentThread();
                 if (sleep > 0) {
                     try {
                         Thread.sleep(sleep);
@@ -574,6 +574,22 @@ public class TestMetadataValidator {
         assertFalse(printError(report), report.hasItems());
     }
 
+    @Test
+    public void testInternalPartColumnMissing() throws Exception {
+        String ddl = "CREATE FOREIGN TABLE G1(e1 integer, e2 varchar);";
+        String ddl2 = "CREATE VIEW G2 OPTIONS (MATERIALIZED 'true', \"teiid_rel:MATVIEW_PART_LOAD_COLUMN\" 'e5', "
+                + "\"teiid_rel:MATVIEW_PART_LOAD_VALUES\" 'select 1') AS SELECT * FROM pm1.G1";
+
+        buildModel("pm1", true, this.vdb, this.store, ddl);
+        buildModel("vm1", false, this.vdb, this.store, ddl2);
+
+        buildTransformationMetadata();
+
+        ValidatorReport report = new ValidatorReport();
+        report = new MetadataValidator().validate(this.vdb, this.store);
+        assertTrue(printError(report), report.hasItems());
+    }
+
     @Test
     public void testSkipDocumentModel() throws Exception {
         ModelMetaData model = new ModelMetaData();
@@ -1223,6 +1223,45 @@ public class TestJoinOptimization {
 
     }
 
+    @Test public void testJoinEnumerationBySubsets() throws Exception {
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setCapabilitySupport(Capability.QUERY_FROM_JOIN_INNER, false);
+        QueryMetadataInterface metadata = RealMetadataFactory.example1();
+        RealMetadataFactory.setCardinality("pm1.g1", 1000, metadata); //$NON-NLS-1$
+
+        //a chain of joins beyond the exhaustive search size
+        StringBuilder sql = new StringBuilder("SELECT t0.e1 FROM pm1.g1 AS t0"); //$NON-NLS-1$
+        for (int i = 1; i < 10; i++) {
+            sql.append(", pm1.g1 AS t").append(i); //$NON-NLS-1$
+        }
+        sql.append(" WHERE t9.e3 = true"); //$NON-NLS-1$
+        for (int i = 1; i < 10; i++) {
+            sql.append(" AND t").append(i - 1).append(".e").append(i % 2 + 1).append(" = t").append(i).append(".e").append(i % 2 + 1); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        }
+
+        for (int groups : new int[] {16, 0}) {
+            CommandContext cc = createCommandContext();
+            cc.getOptions().setJoinEnumerationGroups(groups);
+            ProcessorPlan plan = TestProcessor.helpGetPlan(TestOptimizer.helpGetCommand(sql.toString(), metadata), metadata, new DefaultCapabilitiesFinder(caps), cc);
+            assertEquals(9, countCriteriaJoins(((RelationalPlan)plan).getRootNode()));
+        }
+    }
+
+    private int countCriteriaJoins(RelationalNode node) {
+        int result = 0;
+        if (node instanceof JoinNode) {
+            JoinNode joinNode = (JoinNode)node;
+            assertTrue(joinNode.getJoinCriteria() != null || !joinNode.getLeftExpressions().isEmpty());
+            result++;
+        }
+        for (RelationalNode child : node.getChildren()) {
+            if (child != null) {
+                result += countCriteriaJoins(child);
+            }
+        }
+        return result;
+    }
+
     @Test public void testOuterJoinRemoval() throws Exception {
            BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
            caps.setCapabilitySupport(Capability.QUERY_FROM_JOIN_INNER, false);
@@ -19,14 +19,19 @@
 package org.teiid.query.optimizer.relational.rules;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.teiid.query.metadata.QueryMetadataInterface;
+import org.teiid.query.optimizer.capabilities.CapabilitiesFinder;
 import org.teiid.query.optimizer.relational.plantree.NodeConstants;
 import org.teiid.query.optimizer.relational.plantree.NodeFactory;
 import org.teiid.query.optimizer.relational.plantree.PlanNode;
 import org.teiid.query.optimizer.relational.rules.JoinRegion;
 import org.teiid.query.optimizer.relational.rules.RulePlanJoins;
 import org.teiid.query.sql.lang.JoinType;
+import org.teiid.query.sql.symbol.GroupSymbol;
+import org.teiid.query.util.CommandContext;
 
 
 import junit.framework.TestCase;
@@ -114,4 +119,55 @@ public class TestJoinRegion extends TestCase {
         assertEquals(NodeConstants.Types.ACCESS, region.getJoinRoot().getType());
     }
 
+    /**
+     * The cost of adding each source depends on the sources already joined.  Sources 6 and 7 are
+     * expensive early, and 7 is very expensive after 6, so choosing 6 as the cheapest next join is a trap.
+     */
+    static double scoreSteps(Object[] joinOrder) {
+        double score = 0;
+        boolean six = false;
+        boolean seven = false;
+        for (int i = 0; i < joinOrder.length; i++) {
+            int source = (Integer)joinOrder[i];
+            if (source < 6) {
+                score += 1;
+            } else if (i < 6) {
+                score += 100;
+            } else if (source == 6) {
+                score += seven ? 10 : 1;
+            } else {
+                score += six ? 1000 : 5;
+            }
+            six |= source == 6;
+            seven |= source == 7;
+        }
+        return score;
+    }
+
+    public void testJoinEnumerationBySubsetsBeatsGreedy() throws Exception {
+        JoinRegion region = new JoinRegion() {
+            @Override
+            public double scoreRegion(Object[] joinOrder, int startIndex, QueryMetadataInterface metadata,
+                    CapabilitiesFinder capFinder, CommandContext context, boolean partial) {
+                return scoreSteps(joinOrder);
+            }
+        };
+        for (int i = 0; i < 8; i++) {
+            PlanNode accessNode = NodeFactory.getNewNode(NodeConstants.Types.ACCESS);
+            accessNode.addGroup(new GroupSymbol("g" + i)); //$NON-NLS-1$
+            region.addJoinSourceNode(accessNode);
+        }
+        RulePlanJoins rule = new RulePlanJoins();
+        CommandContext cc = new CommandContext();
+
+        cc.getOptions().setJoinEnumerationGroups(0);
+        Object[] greedy = rule.findBestJoinOrder(region, null, null, cc);
+        assertEquals(1007, scoreSteps(greedy), 0);
+
+        cc.getOptions().setJoinEnumerationGroups(16);
+        Object[] subsets = rule.findBestJoinOrder(region, null, null, cc);
+        assertEquals(21, scoreSteps(subsets), 0);
+        assertEquals(Arrays.asList(7, 6), Arrays.asList(subsets).subList(6, 8));
+    }
+
 }
@@ -1620,6 +1620,31 @@ public class TestDependentJoins {
         TestProcessor.helpProcess(plan, dataManager, expected);
     }
 
+    @Test public void testLargeInPushdown() {
+        String sql = "SELECT pm1.g1.e2 FROM pm1.g1 WHERE pm1.g1.e1 in ('a', 'b', 'c', 'd')"; //$NON-NLS-1$
+
+        List[] expected = new List[] {
+            Arrays.asList(1),
+        };
+
+        HardcodedDataManager dataManager = new HardcodedDataManager(RealMetadataFactory.example1Cached());
+        dataManager.addData("SELECT g_0.e2 FROM g1 AS g_0 WHERE g_0.e1 = ?", Arrays.asList(1));
+
+        BasicSourceCapabilities bsc = TestOptimizer.getTypicalCapabilities();
+        bsc.setCapabilitySupport(Capability.DEPENDENT_JOIN, true);
+        bsc.setSourceProperty(Capability.MAX_IN_CRITERIA_SIZE, 1);
+        bsc.setSourceProperty(Capability.MAX_DEPENDENT_PREDICATES, 1);
+
+        DefaultCapabilitiesFinder dcf = new DefaultCapabilitiesFinder(bsc);
+        ProcessorPlan plan = TestProcessor.helpGetPlan(sql, RealMetadataFactory.example1Cached(), dcf);
+
+        TestProcessor.helpProcess(plan, dataManager, expected);
+
+        Select s = (Select)dataManager.getPushdownCommands().get(0);
+        assertEquals(1, s.getDependentValues().size());
+        assertEquals(4, s.getDependentValues().values().iterator().next().size());
+    }
+
     @Test public void testMultiCritDepJoin1WithLargeIn() {
         // Create query
         String sql = "SELECT pm1.g1.e1 FROM pm1.g1, pm2.g1 WHERE pm1.g1.e1=pm2.g1.e1 and pm1.g1.e2 IN (1,2,3) option makedep pm1.g1"; //$NON-NLS-1$
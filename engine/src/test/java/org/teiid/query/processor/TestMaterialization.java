@@ -22,11 +22,14 @@ import static org.junit.Assert.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.teiid.api.exception.query.QueryProcessingException;
 import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.common.buffer.BufferManager;
 import org.teiid.common.buffer.BufferManagerFactory;
@@ -34,6 +37,10 @@ import org.teiid.core.TeiidProcessingException;
 import org.teiid.dqp.internal.process.CachedResults;
 import org.teiid.dqp.internal.process.QueryProcessorFactoryImpl;
 import org.teiid.dqp.internal.process.SessionAwareCache;
+import org.teiid.logging.LogManager;
+import org.teiid.logging.Logger;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.metadata.AbstractMetadataRecord.Modifiable;
 import org.teiid.query.metadata.TempMetadataAdapter;
 import org.teiid.query.metadata.TempMetadataID;
 import org.teiid.query.metadata.TransformationMetadata;
@@ -74,7 +81,7 @@ public class TestMaterialization {
         dataManager = new TempTableDataManager(hdm, bm, cache);
     }
 
-    private void execute(String sql, List<?>... expectedResults) throws Exception {
+    private CommandContext execute(String sql, List<?>... expectedResults) throws Exception {
         CommandContext cc = TestProcessor.createCommandContext();
         cc.setTempTableStore(tempStore);
         cc.setGlobalTableStore(globalStore);
@@ -83,6 +90,7 @@ public class TestMaterialization {
         previousPlan = TestProcessor.helpGetPlan(TestProcessor.helpParse(sql), metadata, finder, cc);
         cc.setQueryProcessorFactory(new QueryProcessorFactoryImpl(BufferManagerFactory.getStandaloneBufferManager(), dataManager, finder, null, metadata));
         TestProcessor.doProcess(previousPlan, dataManager, expectedResults, cc);
+        return cc;
     }
 
     @Test public void testPopulate() throws Exception {
@@ -96,12 +104,15 @@ public class TestMaterialization {
         execute("SELECT * from vgroup3 where x = 'one'", Arrays.asList("one", "zne"));
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         String matTableName = RelationalPlanner.MAT_PREFIX + "MATVIEW.VGROUP3";
-        this.globalStore.getState(matTableName, baos);
         MatTableInfo matTableInfo = this.globalStore.getMatTableInfo(matTableName);
+        matTableInfo.setHighWaterMark("two");
+        this.globalStore.getState(matTableName, baos);
         long time = matTableInfo.getUpdateTime();
         this.globalStore.failedLoad(matTableName);
+        matTableInfo.setHighWaterMark(null);
         this.globalStore.setState(matTableName, new ByteArrayInputStream(baos.toByteArray()));
         assertEquals(time, matTableInfo.getUpdateTime());
+        assertEquals("two", matTableInfo.getHighWaterMark());
         execute("SELECT * from vgroup3 where x = 'one'", Arrays.asList("one", "zne"));
 
         execute("select lookup('mattable.info', 'e1', 'e2', 5)", Arrays.asList((String)null));
@@ -180,4 +191,129 @@ public class TestMaterialization {
         assertEquals("SELECT MatView.VGroup2a.*, ucase(x) FROM MatView.VGroup2a option nocache MatView.VGroup2a", id.getQueryNode().getQuery());
     }
 
+    @Test public void testQueryRewriteToMatView() throws Exception {
+        TransformationMetadata actualMetadata = RealMetadataFactory.fromDDL("create foreign table orders (id integer primary key, cust string, amt integer); "
+                + "create view cust_totals (cust string, total long, cnt integer) options (materialized true, \"teiid_rel:MATVIEW_QUERY_REWRITE\" true) "
+                + "as select cust, sum(amt), count(*) from orders where amt > 0 group by cust;", "x", "y");
+        globalStore = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+        metadata = new TempMetadataAdapter(actualMetadata, tempStore.getMetadataStore());
+        hdm.addData("SELECT y.orders.cust, y.orders.amt FROM y.orders", Arrays.asList("a", 1), Arrays.asList("a", 2), Arrays.asList("b", 3), Arrays.asList("b", -1));
+        hdm.addData("SELECT y.orders.amt, y.orders.cust FROM y.orders", Arrays.asList(1, "a"), Arrays.asList(2, "a"), Arrays.asList(3, "b"), Arrays.asList(-1, "b"));
+
+        //not loaded, so the source is used
+        execute("select cust, sum(amt) from orders where amt > 0 group by cust order by cust", Arrays.asList("a", 3L), Arrays.asList("b", 3L));
+        assertEquals(1, hdm.getCommandHistory().size());
+
+        execute("select * from cust_totals order by cust", Arrays.asList("a", 3L, 2), Arrays.asList("b", 3L, 1));
+        assertEquals(2, hdm.getCommandHistory().size());
+
+        CommandContext cc = execute("select cust, count(*) as c from orders where amt > 0 and cust = 'a' group by cust", Arrays.asList("a", 2));
+        assertEquals(2, hdm.getCommandHistory().size());
+
+        //a cached plan is no longer valid once the view is stale
+        Modifiable check = null;
+        for (Object o : cc.getPlanningObjects()) {
+            if (o instanceof Modifiable && !(o instanceof AbstractMetadataRecord) && !(o instanceof TempMetadataID)) {
+                check = (Modifiable)o;
+            }
+        }
+        assertEquals(0, check.getLastModified());
+        MatTableInfo info = globalStore.getMatTableInfo(RelationalPlanner.MAT_PREFIX + "Y.CUST_TOTALS");
+        long ttl = info.getTtl();
+        info.setTtl(0);
+        Thread.sleep(5);
+        assertEquals(-1, check.getLastModified());
+        info.setTtl(ttl);
+
+        //rollup without a group by
+        execute("select sum(amt) from orders where amt > 0", Arrays.asList(6L));
+        assertEquals(2, hdm.getCommandHistory().size());
+
+        //not covered by the view criteria
+        hdm.addData("SELECT y.orders.amt FROM y.orders", Arrays.asList(1), Arrays.asList(2), Arrays.asList(3), Arrays.asList(-1));
+        execute("select sum(amt) from orders", Arrays.asList(5L));
+        assertEquals(3, hdm.getCommandHistory().size());
+    }
+
+    @Test public void testMatViewIndexOptions() throws Exception {
+        TransformationMetadata actualMetadata = RealMetadataFactory.fromDDL("create foreign table t (id integer primary key, code string, name string, descr string); "
+                + "create view v (id integer primary key, code string, name string, descr string, "
+                + "index (code) options (\"teiid_rel:INDEX_TYPE\" 'hash'), index (name) options (\"teiid_rel:INDEX_INCLUDE\" 'descr')) options (materialized true) "
+                + "as select * from t;", "x", "y");
+        globalStore = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+        metadata = new TempMetadataAdapter(actualMetadata, tempStore.getMetadataStore());
+        hdm.addData("SELECT y.t.id, y.t.code, y.t.name, y.t.descr FROM y.t", Arrays.asList(1, "a", "n1", "d1"), Arrays.asList(2, "b", "n2", "d2"),
+                Arrays.asList(3, "a", "n3", "d3"), Arrays.asList(4, "c", "n2", "d4"));
+
+        final List<String> choices = new ArrayList<String>();
+        LogManager.setLogListener(new Logger() {
+            @Override
+            public void shutdown() {
+            }
+            @Override
+            public void removeMdc(String key) {
+            }
+            @Override
+            public void putMdc(String key, String val) {
+            }
+            @Override
+            public void log(int level, String context, Throwable t, Object... msg) {
+            }
+            @Override
+            public void log(int level, String context, Object... msg) {
+                if (msg.length > 1 && "Choose".equals(msg[0])) { //$NON-NLS-1$
+                    choices.add(String.valueOf(msg[1]));
+                }
+            }
+            @Override
+            public boolean isEnabled(String context, int msgLevel) {
+                return true;
+            }
+        });
+        try {
+            execute("select id, name from v where code in ('a', 'c') order by id", Arrays.asList(1, "n1"), Arrays.asList(3, "n3"), Arrays.asList(4, "n2"));
+            execute("select id from v where code = 'x'");
+        } finally {
+            LogManager.setLogListener(null);
+        }
+        assertEquals(Arrays.asList("hash index [\"#MAT_Y.V\".code]", "hash index [\"#MAT_Y.V\".code]"), choices); //$NON-NLS-1$ //$NON-NLS-2$
+        execute("select count(*) from v where code = 'a'", Arrays.asList(2));
+        //answered from the index
+        execute("select descr from v where name = 'n2' order by descr", Arrays.asList("d2"), Arrays.asList("d4"));
+        assertEquals(1, hdm.getCommandHistory().size());
+
+        //the indexes are replicated
+        String matTableName = RelationalPlanner.MAT_PREFIX + "Y.V";
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        this.globalStore.getState(matTableName, baos);
+        this.globalStore.setState(matTableName, new ByteArrayInputStream(baos.toByteArray()));
+        execute("select id from v where code = 'c'", Arrays.asList(4));
+        execute("select descr from v where name = 'n1'", Arrays.asList("d1"));
+        assertEquals(1, hdm.getCommandHistory().size());
+    }
+
+    @Test public void testMatViewHashIndexDecimal() throws Exception {
+        TransformationMetadata actualMetadata = RealMetadataFactory.fromDDL("create foreign table t (id integer primary key, amt decimal); "
+                + "create view v (id integer primary key, amt decimal, index (amt) options (\"teiid_rel:INDEX_TYPE\" 'hash')) options (materialized true) "
+                + "as select * from t;", "x", "y");
+        globalStore = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+        metadata = new TempMetadataAdapter(actualMetadata, tempStore.getMetadataStore());
+        hdm.addData("SELECT y.t.id, y.t.amt FROM y.t", Arrays.asList(1, new BigDecimal("1.00")), Arrays.asList(2, new BigDecimal("2.5")));
+
+        //the same value with a different scale must match
+        execute("select id from v where amt = 1.0", Arrays.asList(1));
+        execute("select id from v where amt in (1, 2.50) order by id", Arrays.asList(1), Arrays.asList(2));
+        assertEquals(1, hdm.getCommandHistory().size());
+    }
+
+    @Test(expected=QueryProcessingException.class) public void testMatViewInvalidIndexType() throws Exception {
+        TransformationMetadata actualMetadata = RealMetadataFactory.fromDDL("create foreign table t (id integer primary key, code string); "
+                + "create view v (id integer primary key, code string, index (code) options (\"teiid_rel:INDEX_TYPE\" 'bitmap')) options (materialized true) "
+                + "as select * from t;", "x", "y");
+        globalStore = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), actualMetadata.getVdbMetaData(), actualMetadata);
+        metadata = new TempMetadataAdapter(actualMetadata, tempStore.getMetadataStore());
+        hdm.addData("SELECT y.t.id, y.t.code FROM y.t", Arrays.asList(1, "a"));
+        execute("select id from v where code = 'a'");
+    }
+
 }
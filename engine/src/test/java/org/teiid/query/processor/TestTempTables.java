@@ -27,6 +27,7 @@ import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.common.buffer.BufferManager;
 import org.teiid.common.buffer.BufferManagerFactory;
+import org.teiid.common.buffer.TupleSource;
 import org.teiid.common.buffer.impl.BufferManagerImpl;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
@@ -39,15 +40,23 @@ import org.teiid.query.metadata.TempMetadataID;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.TestOptimizer;
 import org.teiid.query.optimizer.TestOptimizer.ComparisonMode;
+import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.tempdata.GlobalTableStoreImpl;
+import org.teiid.query.tempdata.TempTable;
 import org.teiid.query.tempdata.TempTableDataManager;
 import org.teiid.query.unittest.RealMetadataFactory;
 
 import jakarta.transaction.*;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -165,6 +174,133 @@ public class TestTempTables extends TempTableTestHarness {
         synch.afterCompletion(Status.STATUS_COMMITTED);
     }
 
+    @Test public void testSnapshotReads() throws Exception {
+        GlobalTableStoreImpl gtsi = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), RealMetadataFactory.example1Cached().getVdbMetaData(), RealMetadataFactory.example1Cached());
+        tempStore = gtsi.getTempTableStore();
+        metadata = new TempMetadataAdapter(RealMetadataFactory.example1Cached(), tempStore.getMetadataStore());
+        execute("create local temporary table x (e1 string, e2 integer)", new List[] {Arrays.asList(0)}); //$NON-NLS-1$
+        for (int i = 0; i < 100; i++) {
+            execute("insert into x (e2, e1) select e2, e1 from pm1.g1", new List[] {Arrays.asList(6)}); //$NON-NLS-1$
+        }
+        execute("select count(e1) from x", new List[] {Arrays.asList(500)});
+        //the read of x during the insert sees the last committed version
+        execute("insert into x (e2, e1) select e2, e1 from x", new List[] {Arrays.asList(600)}); //$NON-NLS-1$
+        execute("select count(e1) from x", new List[] {Arrays.asList(1000)});
+        gtsi.updateMatViewRow("X", Arrays.asList(2L), true);
+        execute("select count(e1) from x", new List[] {Arrays.asList(999)});
+        execute("delete from x where e2 = 0", new List[] {Arrays.asList(400)});
+        execute("select count(e1) from x", new List[] {Arrays.asList(599)});
+    }
+
+    @Test(timeout=30000) public void testSnapshotReadDuringWrite() throws Exception {
+        GlobalTableStoreImpl gtsi = new GlobalTableStoreImpl(BufferManagerFactory.getStandaloneBufferManager(), RealMetadataFactory.example1Cached().getVdbMetaData(), RealMetadataFactory.example1Cached());
+        tempStore = gtsi.getTempTableStore();
+        metadata = new TempMetadataAdapter(RealMetadataFactory.example1Cached(), tempStore.getMetadataStore());
+        execute("create local temporary table x (e1 string, e2 integer, primary key (e2))", new List[] {Arrays.asList(0)}); //$NON-NLS-1$
+        execute("insert into x (e2, e1) values (1, 'a')", new List[] {Arrays.asList(1)}); //$NON-NLS-1$
+        final TempTable table = gtsi.getTempTable("X");
+        final List<ElementSymbol> cols = table.getColumns();
+        ElementSymbol e1 = cols.get(0).getShortName().equalsIgnoreCase("e1") ? cols.get(0) : cols.get(1);
+        ElementSymbol e2 = cols.get(0) == e1 ? cols.get(1) : cols.get(0);
+        final List<ElementSymbol> vars = Arrays.asList(e2, e1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            //the first read that overlaps a write waits for it
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> write = executor.submit(new BlockingInsert(table, vars, Arrays.asList(2, "b"), false, started, release));
+            started.await();
+            Future<List<?>> read = executor.submit(() -> readColumn(table, cols, cols.indexOf(e1)));
+            Thread.sleep(50);
+            assertFalse(read.isDone());
+            release.countDown();
+            write.get();
+            assertEquals(Arrays.asList("a", "b"), read.get());
+
+            //subsequent writes snapshot the committed state for concurrent readers
+            started = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+            write = executor.submit(new BlockingInsert(table, vars, Arrays.asList(1, "z"), true, started, release));
+            started.await();
+            assertEquals(Arrays.asList("a", "b"), readColumn(table, cols, cols.indexOf(e1)));
+            release.countDown();
+            write.get();
+            assertEquals(Arrays.asList("z", "b"), readColumn(table, cols, cols.indexOf(e1)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<?> readColumn(TempTable table, List<ElementSymbol> cols, int index) throws Exception {
+        TupleSource ts = table.createTupleSource(cols, null, null);
+        List<Object> result = new ArrayList<Object>();
+        List<?> tuple = null;
+        while ((tuple = ts.nextTuple()) != null) {
+            result.add(tuple.get(index));
+        }
+        ts.closeSource();
+        return result;
+    }
+
+    private static final class BlockingInsert implements Callable<Void> {
+        private final TempTable table;
+        private final List<ElementSymbol> vars;
+        private final List<?> tuple;
+        private final boolean upsert;
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingInsert(TempTable table, List<ElementSymbol> vars, List<?> tuple, boolean upsert, CountDownLatch started, CountDownLatch release) {
+            this.table = table;
+            this.vars = vars;
+            this.tuple = tuple;
+            this.upsert = upsert;
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            table.insert(new BlockingTupleSource(tuple, started, release), vars, upsert, upsert, null);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a single tuple once released, so that the write lock is held in the meantime
+     */
+    private static final class BlockingTupleSource implements TupleSource {
+        private List<?> tuple;
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingTupleSource(List<?> tuple, CountDownLatch started, CountDownLatch release) {
+            this.tuple = tuple;
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public List<?> nextTuple() {
+            if (tuple == null) {
+                return null;
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<?> result = tuple;
+            tuple = null;
+            return result;
+        }
+
+        @Override
+        public void closeSource() {
+        }
+    }
+
     private void setupTransaction(int isolation) throws RollbackException, SystemException {
         txn = Mockito.mock(Transaction.class);
         Mockito.doAnswer(new Answer<Void>() {
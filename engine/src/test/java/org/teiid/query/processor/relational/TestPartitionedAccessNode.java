@@ -0,0 +1,117 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.processor.relational;
+
+import static org.junit.Assert.*;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.query.metadata.TransformationMetadata;
+import org.teiid.query.optimizer.TestOptimizer;
+import org.teiid.query.optimizer.capabilities.BasicSourceCapabilities;
+import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
+import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
+import org.teiid.query.processor.HardcodedDataManager;
+import org.teiid.query.processor.ProcessorPlan;
+import org.teiid.query.processor.TestProcessor;
+import org.teiid.query.unittest.RealMetadataFactory;
+
+@SuppressWarnings({"nls", "unchecked"})
+public class TestPartitionedAccessNode {
+
+    private static final String DDL = "create foreign table g1 (e1 string, e2 integer) options (\"teiid_rel:partition-column\" 'e2', ";
+
+    @Test public void testDeclaredBoundaries() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL(DDL + "\"teiid_rel:partition-boundaries\" '10, 20')", "x", "y");
+        ProcessorPlan plan = TestProcessor.helpGetPlan("select e1, e2 from g1 where e1 <> 'z'", metadata, new DefaultCapabilitiesFinder(TestOptimizer.getTypicalCapabilities()));
+
+        HardcodedDataManager dataManager = new HardcodedDataManager(metadata);
+        dataManager.addData("SELECT g_0.e1, g_0.e2 FROM g1 AS g_0 WHERE g_0.e1 <> 'z' AND (g_0.e2 < 10 OR g_0.e2 IS NULL)", Arrays.asList("a", 1), Arrays.asList("b", null));
+        dataManager.addData("SELECT g_0.e1, g_0.e2 FROM g1 AS g_0 WHERE g_0.e1 <> 'z' AND g_0.e2 >= 10 AND g_0.e2 < 20", Arrays.asList("c", 15));
+        dataManager.addData("SELECT g_0.e1, g_0.e2 FROM g1 AS g_0 WHERE g_0.e1 <> 'z' AND g_0.e2 >= 20", Arrays.asList("d", 25));
+        assertTrue(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+        TestProcessor.helpProcess(plan, dataManager, new List<?>[] {
+            Arrays.asList("a", 1), Arrays.asList("b", null), Arrays.asList("c", 15), Arrays.asList("d", 25)});
+    }
+
+    @Test public void testComputedBoundariesOrdered() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL(DDL + "\"teiid_rel:partition-count\" '2')", "x", "y");
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setCapabilitySupport(Capability.QUERY_AGGREGATES_MIN, true);
+        caps.setCapabilitySupport(Capability.QUERY_AGGREGATES_MAX, true);
+        ProcessorPlan plan = TestProcessor.helpGetPlan("select e1, e2 from g1 order by e2 desc", metadata, new DefaultCapabilitiesFinder(caps));
+
+        HardcodedDataManager dataManager = new HardcodedDataManager(metadata);
+        dataManager.addData("SELECT MIN(g_0.e2), MAX(g_0.e2) FROM g1 AS g_0", Arrays.asList(0, 10));
+        dataManager.addData("SELECT g_0.e1 AS c_0, g_0.e2 AS c_1 FROM g1 AS g_0 WHERE g_0.e2 < 5 OR g_0.e2 IS NULL ORDER BY c_1 DESC", Arrays.asList("a", 1));
+        dataManager.addData("SELECT g_0.e1 AS c_0, g_0.e2 AS c_1 FROM g1 AS g_0 WHERE g_0.e2 >= 5 ORDER BY c_1 DESC", Arrays.asList("c", 9), Arrays.asList("b", 5));
+        TestProcessor.helpProcess(plan, dataManager, new List<?>[] {
+            Arrays.asList("c", 9), Arrays.asList("b", 5), Arrays.asList("a", 1)});
+    }
+
+    @Test public void testNotPartitioned() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL(DDL + "\"teiid_rel:partition-boundaries\" '10')", "x", "y");
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setCapabilitySupport(Capability.ROW_LIMIT, true);
+        //ordered by a different column
+        ProcessorPlan plan = TestProcessor.helpGetPlan("select e1, e2 from g1 order by e1", metadata, new DefaultCapabilitiesFinder(caps));
+        assertFalse(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+        //with a limit
+        plan = TestProcessor.helpGetPlan("select e1, e2 from g1 limit 1", metadata, new DefaultCapabilitiesFinder(caps));
+        assertFalse(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+    }
+
+    @Test public void testBoundariesNotAscending() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL(DDL + "\"teiid_rel:partition-boundaries\" '20, 10')", "x", "y");
+        ProcessorPlan plan = TestProcessor.helpGetPlan("select e1, e2 from g1", metadata, new DefaultCapabilitiesFinder(TestOptimizer.getTypicalCapabilities()));
+        assertFalse(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+
+        metadata = RealMetadataFactory.fromDDL(DDL + "\"teiid_rel:partition-boundaries\" '10, 10')", "x", "y");
+        plan = TestProcessor.helpGetPlan("select e1, e2 from g1", metadata, new DefaultCapabilitiesFinder(TestOptimizer.getTypicalCapabilities()));
+        assertFalse(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+    }
+
+    @Test public void testStringPartitionColumnCollation() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL("create foreign table g1 (e1 string, e2 integer) options (\"teiid_rel:partition-column\" 'e1', \"teiid_rel:partition-boundaries\" 'b, m')", "x", "y");
+        BasicSourceCapabilities caps = TestOptimizer.getTypicalCapabilities();
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, DataTypeManager.DEFAULT_COLLATION);
+        ProcessorPlan plan = TestProcessor.helpGetPlan("select e1, e2 from g1", metadata, new DefaultCapabilitiesFinder(caps));
+        assertTrue(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+
+        //the source orders strings differently
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, "x");
+        plan = TestProcessor.helpGetPlan("select e1, e2 from g1", metadata, new DefaultCapabilitiesFinder(caps));
+        assertFalse(((RelationalPlan)plan).getRootNode() instanceof PartitionedAccessNode);
+    }
+
+    @Test public void testComputeBoundaries() throws Exception {
+        assertEquals(Arrays.asList(4, 7), PartitionedAccessNode.computeBoundaries(1, 10, 3, DataTypeManager.DefaultDataClasses.INTEGER));
+        //narrow ranges produce fewer partitions
+        assertEquals(Arrays.asList(2), PartitionedAccessNode.computeBoundaries(1, 2, 10, DataTypeManager.DefaultDataClasses.INTEGER));
+        assertEquals(Arrays.asList(), PartitionedAccessNode.computeBoundaries(5, 5, 4, DataTypeManager.DefaultDataClasses.INTEGER));
+        assertEquals(Arrays.asList(), PartitionedAccessNode.computeBoundaries(null, null, 4, DataTypeManager.DefaultDataClasses.INTEGER));
+        assertEquals(Arrays.asList(2.5d), PartitionedAccessNode.computeBoundaries(0d, 5d, 2, DataTypeManager.DefaultDataClasses.DOUBLE));
+        assertEquals(Arrays.asList(new Timestamp(500)), PartitionedAccessNode.computeBoundaries(new Timestamp(0), new Timestamp(1000), 2, DataTypeManager.DefaultDataClasses.TIMESTAMP));
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.sql.visitor;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.teiid.query.parser.QueryParser;
+import org.teiid.query.resolver.QueryResolver;
+import org.teiid.query.sql.lang.Command;
+import org.teiid.query.unittest.RealMetadataFactory;
+
+@SuppressWarnings("nls")
+public class TestAutoParameterizationVisitor {
+
+    private void helpTest(String sql, String expected, Object... values) throws Exception {
+        Command command = QueryParser.getQueryParser().parseCommand(sql);
+        Command resolved = (Command)command.clone();
+        QueryResolver.resolveCommand(resolved, RealMetadataFactory.example1Cached());
+        List<Object> result = AutoParameterizationVisitor.parameterize(command, resolved);
+        assertEquals(expected, command.toString());
+        assertEquals(Arrays.asList(values), result);
+    }
+
+    @Test public void testPredicates() throws Exception {
+        helpTest("select e1 from pm1.g1 where e2 = 1 and 'a' < e1 and e3 in (true, null) and e2 between 1 and 2",
+                "SELECT e1 FROM pm1.g1 WHERE (e2 = ?) AND (? < e1) AND (e3 IN (?, null)) AND (e2 BETWEEN ? AND ?)",
+                1, "a", Boolean.TRUE, 1, 2);
+    }
+
+    @Test public void testLiteralTypeDiffersFromColumn() throws Exception {
+        //the column would be converted rather than the literal
+        helpTest("select e1 from pm1.g1 where e2 < 1.5 and e4 between 1.5 and 2 and e2 in ('1', 2)",
+                "SELECT e1 FROM pm1.g1 WHERE (e2 < 1.5) AND (e4 BETWEEN 1.5 AND 2) AND (e2 IN ('1', ?))",
+                2);
+    }
+
+    @Test public void testOnlyWhereAndHaving() throws Exception {
+        helpTest("select case when a.e2 = 1 then a.e1 end from pm1.g1 as a inner join pm1.g2 as b on a.e1 = b.e1 and a.e2 = 2 where a.e2 = 3 group by a.e1, a.e2 having a.e2 = 4",
+                "SELECT CASE WHEN a.e2 = 1 THEN a.e1 END FROM pm1.g1 AS a INNER JOIN pm1.g2 AS b ON a.e1 = b.e1 AND a.e2 = 2 WHERE a.e2 = ? GROUP BY a.e1, a.e2 HAVING a.e2 = ?",
+                3, 4);
+    }
+
+    @Test public void testLiteralsAffectingPlanning() throws Exception {
+        helpTest("select e1, 1 from pm1.g1 where concat(e1, 'a') = 'b' and e1 like 'a%' group by e1 order by 1 limit 5",
+                "SELECT e1, 1 FROM pm1.g1 WHERE (concat(e1, 'a') = 'b') AND (e1 LIKE 'a%') GROUP BY e1 ORDER BY 1 LIMIT 5");
+    }
+
+    @Test public void testSubquery() throws Exception {
+        helpTest("select e1 from pm1.g1 where e1 in (select e1 from pm1.g2 where e2 = 3)",
+                "SELECT e1 FROM pm1.g1 WHERE e1 IN (SELECT e1 FROM pm1.g2 WHERE e2 = ?)",
+                3);
+    }
+
+}
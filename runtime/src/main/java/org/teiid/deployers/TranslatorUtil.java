@@ -22,10 +22,13 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 
@@ -143,6 +146,28 @@ public class TranslatorUtil {
         }
     }
 
+    /**
+     * Stop the given {@link ExecutionFactory} instances, each instance is stopped only once
+     * @param executionFactories
+     */
+    public static void stopExecutionFactories(Collection<? extends ExecutionFactory<?, ?>> executionFactories) {
+        Set<ExecutionFactory<?, ?>> stopped = Collections.newSetFromMap(new IdentityHashMap<ExecutionFactory<?, ?>, Boolean>());
+        for (ExecutionFactory<?, ?> ef : executionFactories) {
+            if (!stopped.add(ef)) {
+                continue;
+            }
+            synchronized (ef) {
+                ClassLoader orginalCL = Thread.currentThread().getContextClassLoader();
+                try {
+                    Thread.currentThread().setContextClassLoader(ef.getClass().getClassLoader());
+                    ef.stop();
+                } finally {
+                    Thread.currentThread().setContextClassLoader(orginalCL);
+                }
+            }
+        }
+    }
+
     public static ExecutionFactory<Object, Object> buildDelegateAwareExecutionFactory(
             VDBTranslatorMetaData translator, ExecutionFactoryProvider provider)
             throws ConnectorManagerException {
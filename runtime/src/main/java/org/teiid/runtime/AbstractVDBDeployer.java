@@ -232,6 +232,7 @@ public abstract class AbstractVDBDeployer {
                 LogManager.logTrace(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " skipped being loaded because of its type ", model.getModelType()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
             }
         }
+        awaitMetadataJobs(vdb);
     }
 
     protected abstract VDBRepository getVDBRepository();
@@ -265,39 +266,10 @@ public abstract class AbstractVDBDeployer {
                     cached = true;
                     LogManager.logDetail(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " was loaded from cached metadata"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
                 } else {
-                    factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
-                    ExecutionFactory ef = null;
-                    Object cf = null;
-
-                    for (ConnectorManager cm : getConnectorManagers(model, cmr)) {
-                        if (ex != null) {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, ex, "Failed to get metadata, trying next source."); //$NON-NLS-1$
-                            ex = null;
-                            te = null;
-                        }
-                        try {
-                            if (cm != null) {
-                                ef = cm.getExecutionFactory();
-                                cf = cm.getConnectionFactory();
-                            }
-                        } catch (TranslatorException e) {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Failed to get a connection factory for metadata load."); //$NON-NLS-1$
-                            te = e;
-                        }
-                        ClassLoader originalCL = Thread.currentThread().getContextClassLoader();
-                        try {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50104,vdb.getName(), vdb.getVersion(), model.getName(), cm != null?cm.getTranslatorName():null, cm != null?cm.getConnectionName():null));
-                            Thread.currentThread().setContextClassLoader(metadataRepo.getClass().getClassLoader());
-                            metadataRepo.loadMetadata(factory, ef, cf);
-                            LogManager.logInfo(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50030,vdb.getName(), vdb.getVersion(), model.getName(), SimpleDateFormat.getInstance().format(new Date())));
-                            break;
-                        } catch (Exception e) {
-                            factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
-                            ex = e;
-                        } finally {
-                            Thread.currentThread().setContextClassLoader(originalCL);
-                        }
-                    }
+                    SourceMetadataLoad load = new SourceMetadataLoad();
+                    factory = load.load(vdb, model, cmr, metadataRepo, vdbMetadataStore, vdbResources);
+                    ex = load.ex;
+                    te = load.te;
                 }
 
                 synchronized (vdb) {
@@ -305,6 +277,20 @@ public abstract class AbstractVDBDeployer {
                         if (!cached) {
                             // cache the schema to disk
                             cacheMetadataFactory(vdb, model, factory);
+                        } else {
+                            final MetadataFactory cachedFactory = factory;
+                            revalidateCachedMetadata(vdb, model, new Runnable() {
+                                @Override
+                                public void run() {
+                                    SourceMetadataLoad load = new SourceMetadataLoad();
+                                    MetadataFactory current = load.load(vdb, model, cmr, metadataRepo, vdbMetadataStore, vdbResources);
+                                    if (load.ex != null) {
+                                        LogManager.logDetail(LogConstants.CTX_RUNTIME, load.ex, "Could not revalidate the cached metadata for model", model.getName(), "in VDB", vdb.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+                                        return;
+                                    }
+                                    cachedMetadataRevalidated(vdb, model, cachedFactory, current, vdbResources);
+                                }
+                            });
                         }
 
                         metadataLoaded(vdb, model, vdbMetadataStore, loadCount, factory, true, cmr, vdbResources);
@@ -328,8 +314,63 @@ public abstract class AbstractVDBDeployer {
         runMetadataJob(vdb, model, job);
     }
 
+    /**
+     * Loads the metadata for a model from its repositories, trying each source in turn
+     */
+    private class SourceMetadataLoad {
+        Exception ex;
+        TranslatorException te;
+
+        @SuppressWarnings({"rawtypes","unchecked"})
+        MetadataFactory load(VDBMetaData vdb, ModelMetaData model, ConnectorManagerRepository cmr, MetadataRepository metadataRepo, MetadataStore vdbMetadataStore, VDBResources vdbResources) {
+            MetadataFactory factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
+            ExecutionFactory ef = null;
+            Object cf = null;
+
+            for (ConnectorManager cm : getConnectorManagers(model, cmr)) {
+                if (ex != null) {
+                    LogManager.logDetail(LogConstants.CTX_RUNTIME, ex, "Failed to get metadata, trying next source."); //$NON-NLS-1$
+                    ex = null;
+                    te = null;
+                }
+                try {
+                    if (cm != null) {
+                        ef = cm.getExecutionFactory();
+                        cf = cm.getConnectionFactory();
+                    }
+                } catch (TranslatorException e) {
+                    LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Failed to get a connection factory for metadata load."); //$NON-NLS-1$
+                    te = e;
+                }
+                ClassLoader originalCL = Thread.currentThread().getContextClassLoader();
+                try {
+                    LogManager.logDetail(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50104,vdb.getName(), vdb.getVersion(), model.getName(), cm != null?cm.getTranslatorName():null, cm != null?cm.getConnectionName():null));
+                    Thread.currentThread().setContextClassLoader(metadataRepo.getClass().getClassLoader());
+                    metadataRepo.loadMetadata(factory, ef, cf);
+                    LogManager.logInfo(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50030,vdb.getName(), vdb.getVersion(), model.getName(), SimpleDateFormat.getInstance().format(new Date())));
+                    break;
+                } catch (Exception e) {
+                    factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
+                    ex = e;
+                } finally {
+                    Thread.currentThread().setContextClassLoader(originalCL);
+                }
+            }
+            return factory;
+        }
+    }
+
     protected abstract void runMetadataJob(VDBMetaData vdb, ModelMetaData model, Runnable job) throws TranslatorException;
 
+    /**
+     * Called after the metadata jobs for all models have been passed to {@link #runMetadataJob(VDBMetaData, ModelMetaData, Runnable)}.
+     * An implementation that runs the jobs concurrently but should not return until they are complete may wait here.
+     * The VDB level DDL is not processed until every model has loaded, so the jobs need not be ordered.
+     */
+    protected void awaitMetadataJobs(VDBMetaData vdb) throws TranslatorException {
+
+    }
+
     /**
      * Return true if we can retry the load
      * @param vdb
@@ -343,6 +384,22 @@ public abstract class AbstractVDBDeployer {
 
     protected abstract void cacheMetadataFactory(VDBMetaData vdb, final ModelMetaData model, MetadataFactory schema);
 
+    /**
+     * Called after a model was loaded from cached metadata.  Running the job will load the metadata
+     * from the sources and call {@link #cachedMetadataRevalidated(VDBMetaData, ModelMetaData, MetadataFactory, MetadataFactory, VDBResources)}.
+     * By default the cached metadata is not revalidated.
+     */
+    protected void revalidateCachedMetadata(VDBMetaData vdb, ModelMetaData model, Runnable job) {
+
+    }
+
+    /**
+     * Called with the metadata loaded from the sources for a model that was loaded from cached metadata
+     */
+    protected void cachedMetadataRevalidated(VDBMetaData vdb, ModelMetaData model, MetadataFactory cached, MetadataFactory current, VDBResources vdbResources) {
+
+    }
+
     private void metadataLoaded(final VDBMetaData vdb,
             final ModelMetaData model,
             final MetadataStore vdbMetadataStore,
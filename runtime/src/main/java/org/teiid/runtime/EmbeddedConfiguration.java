@@ -23,6 +23,8 @@ import java.util.List;
 
 import jakarta.transaction.TransactionManager;
 
+import io.opentelemetry.api.metrics.MeterProvider;
+
 import org.teiid.cache.CacheFactory;
 import org.teiid.dqp.internal.process.DQPConfiguration;
 import org.teiid.dqp.internal.process.DataRolePolicyDecider;
@@ -41,6 +43,10 @@ public class EmbeddedConfiguration extends DQPConfiguration {
     private ObjectReplicator objectReplicator;
     private boolean useDisk = true;
     private String bufferDirectory;
+    private String metadataCacheDirectory;
+    private String preparedPlanCacheFile;
+    private MeterProvider meterProvider;
+    private int metricsPort = -1;
     private CacheFactory cacheFactory;
     private int maxResultSetCacheStaleness = DEFAULT_MAX_STALENESS_SECONDS;
     private String infinispanConfigFile;
@@ -123,6 +129,67 @@ public class EmbeddedConfiguration extends DQPConfiguration {
         return this.bufferDirectory;
     }
 
+    /**
+     * Set the directory used to cache the metadata loaded from sources.
+     * When set, models are loaded from the cache on subsequent deployments
+     * and revalidated against the sources in the background.  If the source metadata
+     * has changed, the cache is updated and the vdb is redeployed.
+     * Caching may be disabled for a vdb or model with the cache-metadata property.
+     * @param dir
+     */
+    public void setMetadataCacheDirectory(String dir) {
+        this.metadataCacheDirectory = dir;
+    }
+
+    public String getMetadataCacheDirectory() {
+        return this.metadataCacheDirectory;
+    }
+
+    /**
+     * Set the file used to retain the prepared plan cache across restarts.
+     * When set, the statements with plans that are not specific to a session or user are
+     * saved when the server is stopped, and are planned again in the background
+     * when their vdb is next deployed.  Vdbs with data roles are not warmed.
+     * @param file
+     */
+    public void setPreparedPlanCacheFile(String file) {
+        this.preparedPlanCacheFile = file;
+    }
+
+    public String getPreparedPlanCacheFile() {
+        return this.preparedPlanCacheFile;
+    }
+
+    /**
+     * Set the OpenTelemetry {@link MeterProvider} used to record engine metrics.
+     * If not set, the global provider is used.
+     * @param meterProvider
+     */
+    public void setMeterProvider(MeterProvider meterProvider) {
+        this.meterProvider = meterProvider;
+    }
+
+    public MeterProvider getMeterProvider() {
+        return meterProvider;
+    }
+
+    /**
+     * Set the loopback port used to serve the engine metrics in the Prometheus text format
+     * at the /metrics path. -1, the default, disables the endpoint and 0 uses any free port.
+     * When enabled the metrics are recorded with a local provider rather than the
+     * {@link #setMeterProvider(MeterProvider)} provider.
+     * <br>
+     * The endpoint requires the optional OpenTelemetry sdk and Prometheus exporter dependencies.
+     * @param metricsPort
+     */
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
     @Deprecated
     public String getInfinispanConfigFile() {
         return infinispanConfigFile;
@@ -20,6 +20,7 @@ package org.teiid.runtime;
 
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationHandler;
@@ -34,13 +35,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 import jakarta.transaction.TransactionManager;
 import javax.xml.stream.XMLStreamException;
 
+import io.opentelemetry.api.metrics.MeterProvider;
+
 import org.teiid.PreParser;
 import org.teiid.adminapi.Admin;
 import org.teiid.adminapi.VDB.Status;
@@ -80,6 +85,7 @@ import org.teiid.dqp.internal.process.CachedResults;
 import org.teiid.dqp.internal.process.DQPCore;
 import org.teiid.dqp.internal.process.PreparedPlan;
 import org.teiid.dqp.internal.process.SessionAwareCache;
+import org.teiid.dqp.internal.process.TeiidMetrics;
 import org.teiid.dqp.internal.process.TransactionServerImpl;
 import org.teiid.dqp.service.BufferService;
 import org.teiid.dqp.service.TransactionService;
@@ -135,6 +141,8 @@ import org.xml.sax.SAXException;
 public class EmbeddedServer extends AbstractVDBDeployer implements EventDistributorFactory, ExecutionFactoryProvider {
 
     private static final String ASYNC_LOAD = "async-load"; //$NON-NLS-1$
+    private static final String CACHE_METADATA = "cache-metadata"; //$NON-NLS-1$
+    private static final String PARALLEL_LOAD = "parallel-load"; //$NON-NLS-1$
 
     static {
         LogManager.setLogListener(new JBossLogger());
@@ -289,6 +297,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
 
     protected boolean throwMetadataErrors = true;
     private ConcurrentHashMap<String, ExecutionFactory<?, ?>> translators = new ConcurrentHashMap<String, ExecutionFactory<?, ?>>();
+    private List<ExecutionFactory<?, ?>> builtTranslators = Collections.synchronizedList(new ArrayList<ExecutionFactory<?, ?>>());
     private TranslatorRepository translatorRepository = new TranslatorRepository();
     private ConcurrentHashMap<String, ConnectionFactoryProvider<?>> connectionFactoryProviders = new ConcurrentHashMap<String, ConnectionFactoryProvider<?>>();
     protected SessionServiceImpl sessionService = new SessionServiceImpl();
@@ -316,6 +325,8 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
     protected boolean useCallingThread = true;
     private Boolean running;
     private EmbeddedConfiguration config;
+    private MetadataCache metadataCache;
+    private PreparedPlanStore preparedPlanStore;
     private SessionAwareCache<CachedResults> rs;
     private SessionAwareCache<PreparedPlan> ppc;
     protected ArrayList<SocketListener> transports = new ArrayList<SocketListener>();
@@ -323,6 +334,8 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
     protected MaterializationManager materializationMgr = null;
     private ShutDownListener shutdownListener = new ShutDownListener();
     private JMXService jmxService;
+    private MetricsServer metricsServer;
+    private AutoCloseable engineMetrics;
 
     public EmbeddedServer() {
 
@@ -358,6 +371,13 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         System.setProperty("jboss.node.name", config.getNodeName()==null?"localhost":config.getNodeName());
         this.cmr.setProvider(this);
         this.scheduler = Executors.newScheduledThreadPool(config.getMaxAsyncThreads(), new NamedThreadFactory("Asynch Worker")); //$NON-NLS-1$
+        if (config.getMetadataCacheDirectory() != null) {
+            this.metadataCache = new MetadataCache(new File(config.getMetadataCacheDirectory()));
+        }
+        if (config.getPreparedPlanCacheFile() != null) {
+            this.preparedPlanStore = new PreparedPlanStore(new File(config.getPreparedPlanCacheFile()));
+            this.preparedPlanStore.load();
+        }
         this.replicator = config.getObjectReplicator();
         this.eventDistributorFactoryService = new EmbeddedEventDistributorFactoryService();
         //must be called after the replicator is set
@@ -482,9 +502,41 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         this.shutdownListener.started();
         this.jmxService = new JMXService(this.dqp, this.bufferService, this.sessionService);
         this.jmxService.registerBeans();
+        startMetrics(config);
         running = true;
     }
 
+    private void startMetrics(EmbeddedConfiguration config) {
+        MeterProvider meterProvider = config.getMeterProvider();
+        if (config.getMetricsPort() >= 0) {
+            try {
+                this.metricsServer = new MetricsServer();
+            } catch (NoClassDefFoundError e) {
+                throw new TeiidRuntimeException(RuntimePlugin.Event.TEIID40178, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40178));
+            }
+            try {
+                this.metricsServer.start(config.getMetricsPort());
+            } catch (IOException e) {
+                throw new TeiidRuntimeException(RuntimePlugin.Event.TEIID40176, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40176, config.getMetricsPort()));
+            }
+            meterProvider = this.metricsServer.getMeterProvider();
+        }
+        TeiidMetrics metrics = new TeiidMetrics(meterProvider);
+        this.dqp.setMetrics(metrics);
+        this.engineMetrics = metrics.observeEngine(this.bufferService.getBufferManager(), this.dqp.getProcessWorkerPool());
+    }
+
+    /**
+     * @return the port of the metrics endpoint, or -1 if not enabled
+     */
+    public int getMetricsPort() {
+        checkStarted();
+        if (this.metricsServer == null) {
+            return -1;
+        }
+        return this.metricsServer.getPort();
+    }
+
     private void setBufferManagerProperties(EmbeddedConfiguration config) {
 
         this.bufferService.setUseDisk(config.isUseDisk());
@@ -563,6 +615,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
                 }
                 rs.clearForVDB(vdb.getVDBKey());
                 ppc.clearForVDB(vdb.getVDBKey());
+                dqp.clearForVDB(vdb.getVDBKey());
                 for (SessionMetadata session : sessionService.getSessionsLoggedInToVDB(vdb.getVDBKey())) {
                     try {
                         sessionService.closeSession(session.getSessionId());
@@ -579,6 +632,8 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
                 GlobalTableStore gts = CompositeGlobalTableStore.createInstance(vdb, dqp.getBufferManager(), replicator);
 
                 vdb.getVDB().addAttachment(GlobalTableStore.class, gts);
+
+                warmPreparedPlans(vdb);
             }
 
             @Override
@@ -589,6 +644,35 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         this.repo.start();
     }
 
+    /**
+     * Plan the saved prepared statements for the vdb in the background.  Planning
+     * against the current metadata ensures that no stale plan is used.
+     */
+    private void warmPreparedPlans(CompositeVDB vdb) {
+        if (this.preparedPlanStore == null || !vdb.getVDB().getDataPolicyMap().isEmpty()) {
+            //row and column security may be user specific, so don't plan with an arbitrary user
+            return;
+        }
+        final Collection<PreparedPlanStore.Entry> entries = this.preparedPlanStore.take(vdb.getVDBKey());
+        if (entries.isEmpty()) {
+            return;
+        }
+        final VDBMetaData vdbMetadata = vdb.getVDB();
+        final DQPCore core = this.dqp;
+        this.scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (PreparedPlanStore.Entry entry : entries) {
+                    try {
+                        core.cachePreparedPlan(vdbMetadata, entry.sql, entry.ansiIdentifiers);
+                    } catch (Throwable e) {
+                        LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not plan the saved prepared statement", entry.sql); //$NON-NLS-1$
+                    }
+                }
+            }
+        });
+    }
+
     protected BufferService getBufferService() {
         bufferService.start();
         if (replicator != null) {
@@ -682,7 +766,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
      * Add a named {@link ExecutionFactory}. NOTE: Only this single instance will be shared for all usage.
      * See {@link #addTranslator(String, String, Map)} or {@link #addTranslator(Class)}
      * @param name
-     * @param ef the already started ExecutionFactory
+     * @param ef the already started ExecutionFactory, which will be stopped when the server is stopped
      */
     public void addTranslator(String name, ExecutionFactory<?, ?> ef) {
         translators.put(name, ef);
@@ -878,14 +962,71 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
     @Override
     protected void cacheMetadataFactory(VDBMetaData vdb, ModelMetaData model,
             MetadataFactory schema) {
-        //not supported by embedded
+        if (!isMetadataCached(vdb, model)) {
+            return;
+        }
+        try {
+            this.metadataCache.save(vdb, model, schema, this.cmr);
+        } catch (IOException e) {
+            LogManager.logWarning(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40172, vdb.getName(), vdb.getVersion(), model.getName()));
+        }
     }
 
     @Override
     protected MetadataFactory getCachedMetadataFactory(VDBMetaData vdb,
             ModelMetaData model) {
-        //not supported by embedded
-        return null;
+        if (!isMetadataCached(vdb, model)) {
+            return null;
+        }
+        return this.metadataCache.load(vdb, model, this.cmr);
+    }
+
+    private boolean isMetadataCached(VDBMetaData vdb, ModelMetaData model) {
+        if (this.metadataCache == null) {
+            return false;
+        }
+        boolean cache = true;
+        String prop = vdb.getPropertyValue(CACHE_METADATA);
+        if (prop != null) {
+            cache = Boolean.valueOf(prop);
+        }
+        prop = model.getPropertyValue(CACHE_METADATA);
+        if (prop != null) {
+            cache = Boolean.valueOf(prop);
+        }
+        return cache;
+    }
+
+    @Override
+    protected void revalidateCachedMetadata(VDBMetaData vdb,
+            ModelMetaData model, Runnable job) {
+        this.scheduler.execute(job);
+    }
+
+    @Override
+    protected void cachedMetadataRevalidated(VDBMetaData vdb,
+            ModelMetaData model, MetadataFactory cached,
+            MetadataFactory current, VDBResources vdbResources) {
+        String cachedDdl = DDLStringVisitor.getDDLString(cached.getSchema(), null, null);
+        String currentDdl = DDLStringVisitor.getDDLString(current.getSchema(), null, null);
+        if (cachedDdl.equals(currentDdl)) {
+            return;
+        }
+        LogManager.logWarning(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40173, vdb.getName(), vdb.getVersion(), model.getName()));
+        cacheMetadataFactory(vdb, model, current);
+        synchronized (vdb) {
+            //the vdb may have been undeployed or replaced since the load
+            if (running == null || !running || vdb.getStatus() == Status.REMOVED || this.repo.getLiveVDB(vdb.getName(), vdb.getVersion()) == null) {
+                return;
+            }
+            //redeploy so that the updated cache entry is used
+            try {
+                undeployVDB(vdb.getName(), vdb.getVersion());
+                deployVDB(vdb, vdbResources);
+            } catch (ConnectorManagerException | VirtualDatabaseException | TranslatorException | TeiidRuntimeException e) {
+                LogManager.logError(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40177, vdb.getName(), vdb.getVersion()));
+            }
+        }
     }
 
     @Override
@@ -895,24 +1036,74 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         return false;
     }
 
+    /**
+     * The model loads of a vdb deployed with parallel-load
+     */
+    private static class MetadataJobs {
+        List<FutureTask<?>> tasks = new ArrayList<FutureTask<?>>();
+    }
+
     @Override
     protected void runMetadataJob(VDBMetaData vdb, ModelMetaData model, Runnable job) throws TranslatorException {
         if (Boolean.valueOf(vdb.getPropertyValue(ASYNC_LOAD))) {
             this.scheduler.execute(job);
+        } else if (Boolean.valueOf(vdb.getPropertyValue(PARALLEL_LOAD))) {
+            //blocking load, but with the models loaded concurrently
+            MetadataJobs jobs = vdb.getAttachment(MetadataJobs.class);
+            if (jobs == null) {
+                jobs = new MetadataJobs();
+                vdb.addAttachment(MetadataJobs.class, jobs);
+            }
+            FutureTask<?> task = new FutureTask<Object>(job, null);
+            jobs.tasks.add(task);
+            this.scheduler.execute(task);
         } else {
             //blocking load, directly throw any associated exception
             job.run();
-            Exception te = model.getAttachment(Exception.class);
-            if (te != null) {
-                if (te instanceof TranslatorException) {
-                    throw (TranslatorException)te;
+            throwLoadException(model);
+        }
+    }
+
+    @Override
+    protected void awaitMetadataJobs(VDBMetaData vdb) throws TranslatorException {
+        MetadataJobs jobs = vdb.removeAttachment(MetadataJobs.class);
+        if (jobs == null) {
+            return;
+        }
+        for (FutureTask<?> task : jobs.tasks) {
+            //run any job that has not yet started in this thread, so that we can't starve waiting for a worker
+            task.run();
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TeiidRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
                 }
-                if (te instanceof RuntimeException) {
-                    throw (RuntimeException)te;
+                if (e.getCause() instanceof Error) {
+                    throw (Error)e.getCause();
                 }
-                throw new TranslatorException(te);
+                throw new TranslatorException(e.getCause());
             }
         }
+        for (ModelMetaData model : vdb.getModelMetaDatas().values()) {
+            throwLoadException(model);
+        }
+    }
+
+    private void throwLoadException(ModelMetaData model) throws TranslatorException {
+        Exception te = model.getAttachment(Exception.class);
+        if (te != null) {
+            if (te instanceof TranslatorException) {
+                throw (TranslatorException)te;
+            }
+            if (te instanceof RuntimeException) {
+                throw (RuntimeException)te;
+            }
+            throw new TranslatorException(te);
+        }
     }
 
     public void undeployVDB(String vdbName) {
@@ -942,13 +1133,34 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         for (SocketListener socket:this.transports) {
             socket.stop();
         }
+        if (this.engineMetrics != null) {
+            try {
+                this.engineMetrics.close();
+            } catch (Exception e) {
+                //ignore
+            }
+            this.engineMetrics = null;
+        }
+        if (this.metricsServer != null) {
+            this.metricsServer.stop();
+            this.metricsServer = null;
+        }
         this.sessionService.stop();
         this.transports.clear();
+        if (this.preparedPlanStore != null) {
+            this.preparedPlanStore.save(this.ppc.getVDBScopedEntries());
+        }
         dqp.stop();
         if (config != null) {
             config.stop();
         }
         eventDistributorFactoryService.stop();
+        List<ExecutionFactory<?, ?>> toStop = new ArrayList<ExecutionFactory<?, ?>>(this.translators.values());
+        synchronized (this.builtTranslators) {
+            toStop.addAll(this.builtTranslators);
+            this.builtTranslators.clear();
+        }
+        TranslatorUtil.stopExecutionFactories(toStop);
         config.getCacheFactory().destroy();
         config.setCacheFactory(null);
         if (this.bufferService != null) {
@@ -995,8 +1207,17 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
                             e -> (ExecutionFactory<Object, Object>) e
                                     .getValue(),
                             (x, y) -> x, IdentityHashMap::new));
-            return TranslatorUtil.getExecutionFactory(name, this.translatorRepository, this.translatorRepository,
-                    null, map, new HashSet<String>());
+            try {
+                return TranslatorUtil.getExecutionFactory(name, this.translatorRepository, this.translatorRepository,
+                        null, map, new HashSet<String>());
+            } finally {
+                //the instances built from metadata, including delegates, are owned by the server
+                for (ExecutionFactory<Object, Object> built : map.values()) {
+                    if (!translators.containsValue(built)) {
+                        builtTranslators.add(built);
+                    }
+                }
+            }
         }
         return (ExecutionFactory<Object, Object>) ef;
     }
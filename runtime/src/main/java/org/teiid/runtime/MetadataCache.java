@@ -0,0 +1,248 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.runtime;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.teiid.adminapi.impl.ModelMetaData;
+import org.teiid.adminapi.impl.SourceMappingMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBTranslatorMetaData;
+import org.teiid.core.TeiidRuntimeException;
+import org.teiid.core.util.ApplicationInfo;
+import org.teiid.core.util.FileUtils;
+import org.teiid.core.util.PropertiesUtils;
+import org.teiid.deployers.TranslatorUtil;
+import org.teiid.dqp.internal.datamgr.ConnectorManager;
+import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.metadata.MetadataFactory;
+import org.teiid.translator.ExecutionFactory;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * An on-disk cache of the {@link MetadataFactory} loaded for each model so that
+ * the source metadata import can be skipped on restart.
+ * <br>
+ * Each entry is stored with a format version, the Teiid release, a fingerprint of the
+ * model, translator and connection configuration, and a checksum of the serialized factory.
+ * An entry that does not match on any of these is ignored and removed.
+ */
+class MetadataCache {
+
+    private static final int MAGIC = 0x54454D43;
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".metadata"; //$NON-NLS-1$
+
+    private File directory;
+
+    MetadataCache(File directory) {
+        this.directory = directory;
+    }
+
+    File getFile(VDBMetaData vdb, ModelMetaData model) {
+        String vdbName = vdb.getName() + "_" + vdb.getVersion(); //$NON-NLS-1$
+        return new File(new File(directory, escape(vdbName)), escape(model.getName()) + SUFFIX);
+    }
+
+    private static String escape(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '-') {
+                result.append(c);
+            } else {
+                result.append('%').append(Integer.toHexString(c));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * A digest of everything in the vdb and source configuration that affects the metadata import for the model
+     */
+    static String getFingerprint(VDBMetaData vdb, ModelMetaData model, ConnectorManagerRepository cmr) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(vdb.getName()).append('\n').append(vdb.getVersion()).append('\n');
+        sb.append(new TreeMap<String, String>(vdb.getPropertiesMap())).append('\n');
+        sb.append(model.getName()).append('\n').append(model.getModelType()).append('\n');
+        sb.append(new TreeMap<String, String>(model.getPropertiesMap())).append('\n');
+        sb.append(model.getSourceMetadataType()).append('\n');
+        sb.append(model.getSourceMetadataText()).append('\n');
+        for (SourceMappingMetadata source : model.getSourceMappings()) {
+            sb.append(source.getName()).append('\n').append(source.getTranslatorName()).append('\n').append(source.getConnectionJndiName()).append('\n');
+            VDBTranslatorMetaData translator = vdb.getTranslator(source.getTranslatorName());
+            if (translator != null) {
+                sb.append(new TreeMap<String, String>(translator.getPropertiesMap())).append('\n');
+            }
+            ConnectorManager cm = cmr != null ? cmr.getConnectorManager(source.getName()) : null;
+            if (cm == null) {
+                continue;
+            }
+            //the effective translator property values, which include any override and instance settings
+            ExecutionFactory<Object, Object> ef = cm.getExecutionFactory();
+            if (ef != null) {
+                sb.append(ef.getClass().getName()).append('\n');
+                VDBTranslatorMetaData efMetadata = TranslatorUtil.buildTranslatorMetadata(ef, null, false);
+                if (efMetadata != null) {
+                    sb.append(new TreeMap<String, String>(efMetadata.getPropertiesMap())).append('\n');
+                }
+            }
+            try {
+                Object cf = cm.getConnectionFactory();
+                if (cf != null) {
+                    appendConfiguration(sb, cf);
+                }
+            } catch (TranslatorException e) {
+                //the load will fail as well
+                sb.append(e.getMessage()).append('\n');
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+            return PropertiesUtils.toHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new TeiidRuntimeException(e);
+        }
+    }
+
+    /**
+     * Append the simple read/write bean properties of the connection factory, which is how
+     * a DataSource or connection factory is typically configured.  Read only properties,
+     * such as pool statistics, are not configuration and are excluded.
+     */
+    private static void appendConfiguration(StringBuilder sb, Object cf) {
+        sb.append(cf.getClass().getName()).append('\n');
+        TreeMap<String, Object> values = new TreeMap<String, Object>();
+        try {
+            for (PropertyDescriptor pd : Introspector.getBeanInfo(cf.getClass(), Object.class).getPropertyDescriptors()) {
+                Method read = pd.getReadMethod();
+                if (read == null || pd.getWriteMethod() == null || !isSimpleType(pd.getPropertyType())) {
+                    continue;
+                }
+                try {
+                    values.put(pd.getName(), read.invoke(cf));
+                } catch (Exception e) {
+                    //not readable
+                }
+            }
+        } catch (IntrospectionException e) {
+            LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not read the connection factory configuration", cf.getClass()); //$NON-NLS-1$
+        }
+        sb.append(values).append('\n');
+    }
+
+    private static boolean isSimpleType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || type == String.class || type == Boolean.class || type == Character.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == Double.class || type == Float.class;
+    }
+
+    /**
+     * @return the cached factory or null if there is no valid entry
+     */
+    MetadataFactory load(VDBMetaData vdb, ModelMetaData model, ConnectorManagerRepository cmr) {
+        File file = getFile(vdb, model);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream dis = new DataInputStream(new FileInputStream(file))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != FORMAT_VERSION
+                    || !ApplicationInfo.getInstance().getReleaseNumber().equals(dis.readUTF())
+                    || !getFingerprint(vdb, model, cmr).equals(dis.readUTF())) {
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, "Ignoring the stale cached metadata", file); //$NON-NLS-1$
+                FileUtils.remove(file);
+                return null;
+            }
+            long checksum = dis.readLong();
+            int length = dis.readInt();
+            //guard against a corrupt length before allocating
+            if (length < 0 || length > file.length()) {
+                throw new IOException("invalid length " + length); //$NON-NLS-1$
+            }
+            byte[] bytes = new byte[length];
+            dis.readFully(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if (crc.getValue() != checksum) {
+                throw new IOException("checksum mismatch"); //$NON-NLS-1$
+            }
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (MetadataFactory)ois.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LogManager.logWarning(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40171, file.getAbsolutePath()));
+        }
+        FileUtils.remove(file);
+        return null;
+    }
+
+    /**
+     * Write the entry to a temporary file that replaces any existing entry, so that
+     * a partial write is never read.
+     */
+    void save(VDBMetaData vdb, ModelMetaData model, MetadataFactory factory, ConnectorManagerRepository cmr) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(factory);
+        }
+        byte[] bytes = baos.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        File file = getFile(vdb, model);
+        file.getParentFile().mkdirs();
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(temp))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(FORMAT_VERSION);
+            dos.writeUTF(ApplicationInfo.getInstance().getReleaseNumber());
+            dos.writeUTF(getFingerprint(vdb, model, cmr));
+            dos.writeLong(crc.getValue());
+            dos.writeInt(bytes.length);
+            dos.write(bytes);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void remove(VDBMetaData vdb, ModelMetaData model) {
+        FileUtils.remove(getFile(vdb, model));
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.runtime;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.prometheus.PrometheusMetricReader;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+
+/**
+ * Serves the metrics of a local {@link SdkMeterProvider} with the OpenTelemetry Prometheus
+ * exporter from the /metrics path of a loopback http endpoint.
+ * <br>
+ * The sdk and exporter are optional dependencies, so this class is only loaded when the endpoint is enabled.
+ */
+class MetricsServer {
+
+    static final String PATH = "/metrics"; //$NON-NLS-1$
+
+    private SdkMeterProvider meterProvider;
+    private HTTPServer server;
+
+    /**
+     * Start serving on the given port, 0 selects any free port
+     */
+    void start(int port) throws IOException {
+        PrometheusMetricReader reader = new PrometheusMetricReader(false, null);
+        PrometheusRegistry registry = new PrometheusRegistry();
+        registry.register(reader);
+        this.meterProvider = SdkMeterProvider.builder().registerMetricReader(reader).build();
+        try {
+            this.server = HTTPServer.builder().inetAddress(InetAddress.getLoopbackAddress()).port(port).registry(registry).buildAndStart();
+        } catch (IOException e) {
+            this.meterProvider.close();
+            this.meterProvider = null;
+            throw e;
+        }
+        LogManager.logInfo(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40179, InetAddress.getLoopbackAddress().getHostAddress(), getPort(), PATH));
+    }
+
+    int getPort() {
+        return this.server.getPort();
+    }
+
+    MeterProvider getMeterProvider() {
+        return meterProvider;
+    }
+
+    void stop() {
+        if (this.server != null) {
+            this.server.stop();
+            this.server = null;
+        }
+        if (this.meterProvider != null) {
+            this.meterProvider.close();
+            this.meterProvider = null;
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.teiid.core.util.FileUtils;
+import org.teiid.dqp.internal.process.SessionAwareCache.CacheID;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.vdb.runtime.VDBKey;
+
+/**
+ * An on-disk list of the prepared plan cache entries that are not specific to a
+ * session or user.
+ * <br>
+ * Plans themselves are not serializable, so only the vdb, the sql, and the parsing
+ * options are saved.  The entries are re-planned against the current metadata when
+ * the vdb is deployed again.
+ */
+class PreparedPlanStore {
+
+    static class Entry {
+        final String sql;
+        final boolean ansiIdentifiers;
+
+        Entry(String sql, boolean ansiIdentifiers) {
+            this.sql = sql;
+            this.ansiIdentifiers = ansiIdentifiers;
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry)obj;
+            return sql.equals(other.sql) && ansiIdentifiers == other.ansiIdentifiers;
+        }
+    }
+
+    private static final int MAGIC = 0x54455050;
+    private static final int FORMAT_VERSION = 1;
+
+    private File file;
+    private Map<VDBKey, Set<Entry>> pending = new LinkedHashMap<VDBKey, Set<Entry>>();
+
+    PreparedPlanStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the saved entries.  An invalid file is ignored and removed.
+     */
+    synchronized void load() {
+        pending.clear();
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != FORMAT_VERSION) {
+                throw new IOException("unknown format"); //$NON-NLS-1$
+            }
+            long length = file.length();
+            int vdbCount = readLength(dis, length);
+            for (int i = 0; i < vdbCount; i++) {
+                VDBKey key = new VDBKey(dis.readUTF(), dis.readUTF());
+                int count = readLength(dis, length);
+                Set<Entry> entries = new LinkedHashSet<Entry>();
+                for (int j = 0; j < count; j++) {
+                    boolean ansi = dis.readBoolean();
+                    byte[] bytes = new byte[readLength(dis, length)];
+                    dis.readFully(bytes);
+                    entries.add(new Entry(new String(bytes, StandardCharsets.UTF_8), ansi));
+                }
+                pending.put(key, entries);
+            }
+            LogManager.logDetail(LogConstants.CTX_RUNTIME, "Loaded prepared plan cache entries for", pending.keySet()); //$NON-NLS-1$
+            return;
+        } catch (IOException | RuntimeException e) {
+            LogManager.logWarning(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40174, file.getAbsolutePath()));
+        }
+        pending.clear();
+        FileUtils.remove(file);
+    }
+
+    /**
+     * Read a count or length, which cannot be larger than the file for a valid file
+     */
+    private static int readLength(DataInputStream dis, long fileLength) throws IOException {
+        int result = dis.readInt();
+        if (result < 0 || result > fileLength) {
+            throw new IOException("invalid length " + result); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    /**
+     * Remove and return the saved entries for the vdb
+     */
+    synchronized Collection<Entry> take(VDBKey key) {
+        Set<Entry> result = pending.remove(key);
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    /**
+     * Save the given cache entries together with the saved entries that have not been taken,
+     * so that the entries for a vdb that was not deployed are retained.
+     */
+    synchronized void save(List<CacheID> ids) {
+        Map<VDBKey, Set<Entry>> result = new LinkedHashMap<VDBKey, Set<Entry>>();
+        for (Map.Entry<VDBKey, Set<Entry>> entry : pending.entrySet()) {
+            result.put(entry.getKey(), new LinkedHashSet<Entry>(entry.getValue()));
+        }
+        for (CacheID id : ids) {
+            Set<Entry> entries = result.get(id.getVDBKey());
+            if (entries == null) {
+                entries = new LinkedHashSet<Entry>();
+                result.put(id.getVDBKey(), entries);
+            }
+            entries.add(new Entry(id.getSql(), id.isAnsiIdentifiers()));
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        File temp = new File(parent, file.getName() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                dos.writeInt(MAGIC);
+                dos.writeInt(FORMAT_VERSION);
+                dos.writeInt(result.size());
+                for (Map.Entry<VDBKey, Set<Entry>> entry : result.entrySet()) {
+                    dos.writeUTF(entry.getKey().getName());
+                    dos.writeUTF(entry.getKey().getVersion());
+                    dos.writeInt(entry.getValue().size());
+                    for (Entry e : entry.getValue()) {
+                        dos.writeBoolean(e.ansiIdentifiers);
+                        byte[] bytes = e.sql.getBytes(StandardCharsets.UTF_8);
+                        dos.writeInt(bytes.length);
+                        dos.write(bytes);
+                    }
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LogManager.logWarning(LogConstants.CTX_RUNTIME, e, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40175, file.getAbsolutePath()));
+            FileUtils.remove(temp);
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ package org.teiid.runtime.jmx;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.teiid.adminapi.AdminException;
 import org.teiid.adminapi.AdminProcessingException;
@@ -139,9 +140,44 @@ class Teiid implements TeiidBean {
         return this.dqp.getWaitingPlanCount();
     }
 
+    @Override
+    public int getUserLimitedWaitingRequestsCount() {
+        return this.dqp.getUserLimitedWaitingPlanCount();
+    }
+
+    @Override
+    public long getTotalUserLimitedRequests() {
+        return this.dqp.getTotalPlansDelayedByUserLimit();
+    }
+
     @Override
     public long getTotalRequestsProcessed() {
         return this.dqp.getTotalPlansProcessed();
     }
 
-}
\ No newline at end of file
+    @Override
+    public Map<String, Long> getPlanningPhaseTimes() {
+        return this.dqp.getPlanningStatistics().getPhaseTimes();
+    }
+
+    @Override
+    public Map<String, Long> getPlanningRuleTimes() {
+        return this.dqp.getPlanningStatistics().getRuleTimes();
+    }
+
+    @Override
+    public Map<String, Long> getPlanningRuleExecutions() {
+        return this.dqp.getPlanningStatistics().getRuleExecutions();
+    }
+
+    @Override
+    public long getTotalPlansCreated() {
+        return this.dqp.getPlanningStatistics().getPlanCount();
+    }
+
+    @Override
+    public long getTotalPlanNodesCreated() {
+        return this.dqp.getPlanningStatistics().getPlanNodeCount();
+    }
+
+}
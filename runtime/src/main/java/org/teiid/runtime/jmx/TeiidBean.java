@@ -19,6 +19,7 @@
 package org.teiid.runtime.jmx;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.management.MXBean;
 
@@ -92,6 +93,20 @@ public interface TeiidBean {
      */
     int getWaitingRequestsCount();
 
+    /**
+     * Get the current number of requests waiting on execution only because the
+     * user has reached the max active plans per user.
+     * @return
+     */
+    int getUserLimitedWaitingRequestsCount();
+
+    /**
+     * Get the total number of requests that were queued only because the
+     * user had reached the max active plans per user.
+     * @return
+     */
+    long getTotalUserLimitedRequests();
+
     /**
      * Get the current number of threads processing engine work, which is
      * typically plan, source, and transaction work.
@@ -135,4 +150,35 @@ public interface TeiidBean {
      */
     EngineStatisticsBean getEngineStatisticsBean();
 
+    /**
+     * Get the total time in nanoseconds spent in each planning phase - parse, resolve, validate,
+     * rewrite, plan, and convert.
+     * @return
+     */
+    Map<String, Long> getPlanningPhaseTimes();
+
+    /**
+     * Get the total time in nanoseconds spent executing each optimizer rule.
+     * @return
+     */
+    Map<String, Long> getPlanningRuleTimes();
+
+    /**
+     * Get the number of executions of each optimizer rule.
+     * @return
+     */
+    Map<String, Long> getPlanningRuleExecutions();
+
+    /**
+     * Get the number of user commands planned.
+     * @return
+     */
+    long getTotalPlansCreated();
+
+    /**
+     * Get the total number of relational planning nodes created.
+     * @return
+     */
+    long getTotalPlanNodesCreated();
+
 }
@@ -35,12 +35,14 @@ import org.teiid.common.buffer.impl.FileStorageManager;
 import org.teiid.common.buffer.impl.SplittableStorageManager;
 import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.types.*;
+import org.teiid.core.util.FileUtils;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.SimpleMock;
 import org.teiid.core.util.UnitTestUtil;
 import org.teiid.deployers.CompositeVDB;
 import org.teiid.deployers.VDBLifeCycleListener;
 import org.teiid.deployers.VirtualDatabaseException;
+import org.teiid.dqp.internal.process.SessionAwareCache.CacheID;
 import org.teiid.jdbc.SQLStates;
 import org.teiid.jdbc.TeiidDriver;
 import org.teiid.jdbc.TeiidSQLException;
@@ -60,11 +62,14 @@ import org.teiid.transport.WireProtocol;
 import javax.transaction.xa.XAResource;
 import java.io.*;
 import java.math.BigDecimal;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -1203,6 +1208,265 @@ public class TestEmbeddedServer {
         es.deployVDB("vdb", mmd1);
     }
 
+    public static class ConnectionConfiguration {
+        private String url;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public int getActiveCount() {
+            return (int)System.nanoTime();
+        }
+    }
+
+    @Test public void testMetadataCache() throws Exception {
+        File dir = UnitTestUtil.getTestScratchFile("metadata-cache");
+        FileUtils.removeDirectoryAndChildren(dir);
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        ec.setMetadataCacheDirectory(dir.getAbsolutePath());
+        es.start(ec);
+
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicBoolean extraColumn = new AtomicBoolean();
+        es.addTranslator("t", new ExecutionFactory<Object, Object>() {
+            @Override
+            public Object getConnection(Object factory) throws TranslatorException {
+                return factory;
+            }
+            @Override
+            public void closeConnection(Object connection, Object factory) {
+            }
+            @Override
+            public void getMetadata(MetadataFactory metadataFactory, Object conn)
+                    throws TranslatorException {
+                Table t = metadataFactory.addTable("x");
+                metadataFactory.addColumn("a", "string", t);
+                if (extraColumn.get()) {
+                    metadataFactory.addColumn("b", "string", t);
+                }
+                loads.incrementAndGet();
+            }
+        });
+        ConnectionConfiguration cf = new ConnectionConfiguration();
+        cf.setUrl("a");
+        es.addConnectionFactory("z", cf);
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("y");
+        mmd.addSourceMapping("y", "t", "z");
+
+        es.deployVDB("vdb", mmd);
+        assertEquals(1, loads.get());
+        es.undeployVDB("vdb");
+
+        //loaded from the cache, then revalidated against the source
+        extraColumn.set(true);
+        es.deployVDB("vdb", mmd);
+        assertFalse(es.getSchemaDdl("vdb", "y").contains("b string"));
+
+        //the cache was updated by the revalidation and the vdb redeployed
+        for (int i = 0; i < 100 && (es.getSchemaDdl("vdb", "y") == null || !es.getSchemaDdl("vdb", "y").contains("b string")); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(es.getSchemaDdl("vdb", "y").contains("b string"));
+        //the redeployment is from the cache and revalidated again
+        for (int i = 0; i < 100 && loads.get() < 3; i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(50);
+        assertEquals(3, loads.get());
+        es.undeployVDB("vdb");
+
+        //a change to the connection configuration is a miss
+        cf.setUrl("b");
+        es.deployVDB("vdb", mmd);
+        assertEquals(4, loads.get());
+        es.undeployVDB("vdb");
+
+        //a corrupt length is a miss
+        File file = new File(new File(dir, "vdb_1"), "y.metadata");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.readInt();
+            raf.readInt();
+            raf.readUTF();
+            raf.readUTF();
+            raf.readLong();
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+        es.deployVDB("vdb", mmd);
+        assertEquals(5, loads.get());
+        es.undeployVDB("vdb");
+
+        //caching may be disabled by the model
+        mmd = new ModelMetaData();
+        mmd.setName("y");
+        mmd.addSourceMapping("y", "t", "z");
+        mmd.addProperty("cache-metadata", "false");
+        es.deployVDB("vdb2", mmd);
+        assertFalse(new File(dir, "vdb2_1").exists());
+    }
+
+    private boolean isPreparedPlanCached(String sql) {
+        for (CacheID id : es.getPpcCache().getVDBScopedEntries()) {
+            if (id.getSql().equals(sql)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test public void testPreparedPlanCacheFile() throws Exception {
+        File file = UnitTestUtil.getTestScratchFile("prepared-plans");
+        FileUtils.remove(file);
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        ec.setPreparedPlanCacheFile(file.getAbsolutePath());
+        es.start(ec);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("y");
+        mmd.setModelType(Type.VIRTUAL);
+        mmd.addSourceMetadata("ddl", "create view v as select 1 as x");
+        es.deployVDB("vdb", mmd);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:vdb", null);
+        PreparedStatement ps = c.prepareStatement("select x from v where x = ?");
+        ps.setInt(1, 1);
+        ps.executeQuery();
+        c.close();
+        es.stop();
+        assertTrue(file.exists());
+
+        //the plan is created again on deployment
+        es = new EmbeddedServer();
+        ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        ec.setPreparedPlanCacheFile(file.getAbsolutePath());
+        es.start(ec);
+        es.deployVDB("vdb", mmd);
+        //system queries may also be cached, so look for the saved statement
+        for (int i = 0; i < 100 && !isPreparedPlanCached("select x from v where x = ?"); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(isPreparedPlanCached("select x from v where x = ?"));
+
+        c = es.getDriver().connect("jdbc:teiid:vdb", null);
+        ps = c.prepareStatement("select x from v where x = ?");
+        ps.setInt(1, 1);
+        ResultSet rs = ps.executeQuery();
+        assertTrue(rs.next());
+        assertEquals(1, es.getPpcCache().getCacheHitCount());
+    }
+
+    @Test public void testPreparedPlanCacheFileInvalidLength() throws Exception {
+        File file = UnitTestUtil.getTestScratchFile("prepared-plans-invalid");
+        FileUtils.remove(file);
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(file))) {
+            dos.writeInt(0x54455050);
+            dos.writeInt(1);
+            dos.writeInt(1);
+            dos.writeUTF("vdb");
+            dos.writeUTF("1");
+            dos.writeInt(1);
+            dos.writeBoolean(false);
+            dos.writeInt(Integer.MAX_VALUE);
+        }
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        ec.setPreparedPlanCacheFile(file.getAbsolutePath());
+        es.start(ec);
+        //the invalid file is ignored and removed
+        assertFalse(file.exists());
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("y");
+        mmd.setModelType(Type.VIRTUAL);
+        mmd.addSourceMetadata("ddl", "create view v as select 1 as x");
+        es.deployVDB("vdb", mmd);
+    }
+
+    @Test public void testMetricsEndpoint() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        ec.setMetricsPort(0);
+        es.start(ec);
+        HardCodedExecutionFactory hcef = new HardCodedExecutionFactory();
+        hcef.addData("SELECT t.x FROM t", Arrays.asList(Arrays.asList(1), Arrays.asList(2)));
+        es.addTranslator("t", hcef);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("y");
+        mmd.addSourceMetadata("ddl", "create foreign table t (x integer)");
+        mmd.addSourceMapping("t", "t", null);
+        es.deployVDB("vdb", mmd);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:vdb", null);
+        ResultSet rs = c.createStatement().executeQuery("select x from t");
+        while (rs.next()) {
+        }
+        c.close();
+
+        assertTrue(es.getMetricsPort() > 0);
+        String metrics = null;
+        for (int i = 0; i < 100; i++) {
+            metrics = ObjectConverterUtil.convertToString(new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), es.getMetricsPort(), "/metrics").openStream());
+            if (metrics.contains("teiid_request_duration_milliseconds_count")) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertTrue(metrics, metrics.contains("teiid_request_duration_milliseconds_count{vdb=\"vdb\",vdb_version=\"1\"}"));
+        assertTrue(metrics, metrics.contains("teiid_source_rows_total{"));
+        assertTrue(metrics, metrics.contains("teiid_buffer_reserve_bytes "));
+    }
+
+    @Test public void testParallelLoad() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+
+        //each load waits for the others, so the models must be loaded concurrently
+        final CountDownLatch latch = new CountDownLatch(3);
+        es.addTranslator("t", new ExecutionFactory<Object, Object>() {
+            @Override
+            public Object getConnection(Object factory) throws TranslatorException {
+                return factory;
+            }
+            @Override
+            public void closeConnection(Object connection, Object factory) {
+            }
+            @Override
+            public void getMetadata(MetadataFactory metadataFactory, Object conn)
+                    throws TranslatorException {
+                latch.countDown();
+                try {
+                    assertTrue(latch.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new TranslatorException(e);
+                }
+                Table t = metadataFactory.addTable("x");
+                metadataFactory.addColumn("a", "string", t);
+            }
+        });
+        es.addConnectionFactory("z", new Object());
+        StringBuilder xml = new StringBuilder("<vdb name=\"test\" version=\"1\"><property name=\"parallel-load\" value=\"true\"/>");
+        for (int i = 0; i < 3; i++) {
+            xml.append("<model name=\"m" + i + "\"><source name=\"s" + i + "\" translator-name=\"t\" connection-jndi-name=\"z\"/></model>");
+        }
+        xml.append("</vdb>");
+        es.deployVDB(new ByteArrayInputStream(xml.toString().getBytes("UTF-8")));
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        ResultSet rs = c.createStatement().executeQuery("select count(*) from sys.tables where name = 'x'");
+        rs.next();
+        assertEquals(3, rs.getInt(1));
+    }
+
     @Test public void testDynamicUpdate() throws Exception {
         EmbeddedConfiguration ec = new EmbeddedConfiguration();
         MockTransactionManager tm = new MockTransactionManager();
@@ -2455,9 +2719,15 @@ public class TestEmbeddedServer {
     public static class DummyExecutionFactory extends ExecutionFactory {
 
         static AtomicInteger INSTANCES = new AtomicInteger();
+        static AtomicInteger STOPPED = new AtomicInteger();
 
         int instance = INSTANCES.getAndIncrement();
 
+        @Override
+        public void stop() {
+            STOPPED.incrementAndGet();
+        }
+
         @Override
         public void getMetadata(MetadataFactory metadataFactory, Object conn)
                 throws TranslatorException {
@@ -2512,6 +2782,11 @@ public class TestEmbeddedServer {
         s.execute("select count(distinct name) from sys.columns where tablename like 'test%'");
         s.getResultSet().next();
         assertEquals(2, s.getResultSet().getInt(1));
+
+        //the instances built from the translator metadata are stopped with the server
+        int stopped = DummyExecutionFactory.STOPPED.get();
+        es.stop();
+        assertEquals(stopped + 3, DummyExecutionFactory.STOPPED.get());
     }
 
     @Test public void testCreateDomain() throws Exception {
@@ -3034,4 +3309,135 @@ public class TestEmbeddedServer {
         assertEquals(DataTypeManager.MAX_STRING_LENGTH, rs.getString(1).length());
     }
 
+    @Test public void testIncrementalMatViewRefresh() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+        HardCodedExecutionFactory hcef = new HardCodedExecutionFactory();
+        setMatViewSourceData(hcef, Arrays.asList(Arrays.asList(1, "a", 1), Arrays.asList(2, "b", 2)));
+        es.addTranslator("y", hcef);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("m");
+        mmd.addSourceMetadata("ddl", "create foreign table t (id integer primary key, val string, updated integer); "
+                + "create view v (id integer primary key, val string, updated integer) options (materialized true, \"teiid_rel:MATVIEW_INCREMENTAL_COLUMN\" 'updated') "
+                + "as select id, val, updated from t;");
+        mmd.addSourceMapping("y", "y", null);
+        es.deployVDB("test", mmd);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        Statement s = c.createStatement();
+        ResultSet rs = s.executeQuery("select val from v order by id");
+        assertTrue(rs.next());
+        assertEquals("a", rs.getString(1));
+
+        //one update and one insert
+        setMatViewSourceData(hcef, Arrays.asList(Arrays.asList(1, "a", 1), Arrays.asList(2, "c", 3), Arrays.asList(3, "d", 4)));
+        rs = s.executeQuery("select * from (call sysadmin.refreshMatView('m.v', false)) as x");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+
+        rs = s.executeQuery("select val from v where updated > 1 order by id");
+        assertTrue(rs.next());
+        assertEquals("c", rs.getString(1));
+        assertTrue(rs.next());
+        assertEquals("d", rs.getString(1));
+        assertFalse(rs.next());
+
+        //deletes are not seen incrementally, the row at the high water mark is re-applied
+        setMatViewSourceData(hcef, Arrays.asList(Arrays.asList(2, "c", 3), Arrays.asList(3, "d", 4)));
+        rs = s.executeQuery("select * from (call sysadmin.refreshMatView('m.v', false)) as x");
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        rs = s.executeQuery("select count(*) from v");
+        assertTrue(rs.next());
+        assertEquals(3, rs.getInt(1));
+
+        //invalidating forces a full load
+        rs = s.executeQuery("select * from (call sysadmin.refreshMatView('m.v', true)) as x");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+        rs = s.executeQuery("select count(*) from v");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+    }
+
+    @Test public void testIncrementalMatViewRefreshSameHighWaterMark() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+        HardCodedExecutionFactory hcef = new HardCodedExecutionFactory();
+        setMatViewSourceData(hcef, Arrays.asList(Arrays.asList(1, "a", 1), Arrays.asList(2, "b", 2)));
+        es.addTranslator("y", hcef);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("m");
+        mmd.addSourceMetadata("ddl", "create foreign table t (id integer primary key, val string, updated integer); "
+                + "create view v (id integer primary key, val string, updated integer) options (materialized true, \"teiid_rel:MATVIEW_INCREMENTAL_COLUMN\" 'updated') "
+                + "as select id, val, updated from t;");
+        mmd.addSourceMapping("y", "y", null);
+        es.deployVDB("test", mmd);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        Statement s = c.createStatement();
+        ResultSet rs = s.executeQuery("select count(*) from v");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+
+        //a row committed after the load with the same value as the high water mark
+        setMatViewSourceData(hcef, Arrays.asList(Arrays.asList(1, "a", 1), Arrays.asList(2, "b", 2), Arrays.asList(3, "c", 2)));
+        rs = s.executeQuery("select * from (call sysadmin.refreshMatView('m.v', false)) as x");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+
+        rs = s.executeQuery("select val from v where updated = 2 order by id");
+        assertTrue(rs.next());
+        assertEquals("b", rs.getString(1));
+        assertTrue(rs.next());
+        assertEquals("c", rs.getString(1));
+        assertFalse(rs.next());
+    }
+
+    @Test public void testPartitionedMatViewLoad() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+        HardCodedExecutionFactory hcef = new HardCodedExecutionFactory();
+        //the partition criteria is not pushed, so each partition query sees all rows
+        hcef.addData("SELECT t.part, t.id FROM t", Arrays.asList(Arrays.asList("a", 1), Arrays.asList("b", 2), Arrays.asList(null, 3), Arrays.asList("a", 4)));
+        hcef.addData("SELECT t.part FROM t", Arrays.asList(Arrays.asList("a"), Arrays.asList("b"), Arrays.asList((String)null), Arrays.asList("a")));
+        es.addTranslator("y", hcef);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("m");
+        mmd.addSourceMetadata("ddl", "create foreign table t (id integer primary key, part string); "
+                + "create view v (id integer primary key, part string) options (materialized true, \"teiid_rel:MATVIEW_PART_LOAD_COLUMN\" 'part', "
+                + "\"teiid_rel:MATVIEW_PART_LOAD_VALUES\" 'select part from t') "
+                + "as select id, part from t;");
+        mmd.addSourceMapping("y", "y", null);
+        es.deployVDB("test", mmd);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        Statement s = c.createStatement();
+        ResultSet rs = s.executeQuery("select id from v order by id");
+        List<Integer> ids = new ArrayList<Integer>();
+        while (rs.next()) {
+            ids.add(rs.getInt(1));
+        }
+        //as with loadMatView the null partition is not loaded
+        assertEquals(Arrays.asList(1, 2, 4), ids);
+        //the values query and one query for each of the 2 distinct partitions
+        assertEquals(3, hcef.getCommands().size());
+    }
+
+    private static void setMatViewSourceData(HardCodedExecutionFactory hcef, List<? extends List<?>> rows) {
+        hcef.addData("SELECT t.id, t.val, t.updated FROM t", rows);
+        List<List<?>> reordered = new ArrayList<List<?>>();
+        for (List<?> row : rows) {
+            reordered.add(Arrays.asList(row.get(2), row.get(0), row.get(1)));
+        }
+        //the incremental refresh query projects the filter column first
+        hcef.addData("SELECT t.updated, t.id, t.val FROM t", reordered);
+    }
+
 }
@@ -227,10 +227,10 @@ public class TestEmbeddedServerAdmin {
     @Test
     public void testGetTranslatorPropertyDefinitions() throws AdminException {
         List<PropertyDefinition> list = (List<PropertyDefinition>) admin.getTranslatorPropertyDefinitions("file", TranlatorPropertyType.OVERRIDE);
-        assertEquals(21, list.size());
+        assertEquals(22, list.size());
 
         list = (List<PropertyDefinition>) admin.getTranslatorPropertyDefinitions("file", TranlatorPropertyType.ALL);
-        assertEquals(21, list.size());
+        assertEquals(22, list.size());
     }
 
     @Test
@@ -248,7 +248,7 @@ public class IntegrationTestDeployment {
     @Test
     public void testTranslatorProperties() throws Exception {
         Collection<? extends PropertyDefinition> props = admin.getTranslatorPropertyDefinitions("accumulo", TranlatorPropertyType.OVERRIDE);
-        assertEquals(20, props.size());
+        assertEquals(21, props.size());
 
         props = admin.getTranslatorPropertyDefinitions("accumulo", TranlatorPropertyType.EXTENSION_METADATA);
         assertEquals(4, props.size());
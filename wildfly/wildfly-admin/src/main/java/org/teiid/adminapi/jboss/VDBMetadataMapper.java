@@ -1121,6 +1121,7 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
         private static final String SOURCE_REQUEST = "source-request"; //$NON-NLS-1$
         private static final String COMMAND = "command"; //$NON-NLS-1$
         private static final String START_TIME = "start-time"; //$NON-NLS-1$
+        private static final String PLANNING_TIME = "planning-time"; //$NON-NLS-1$
         private static final String SESSION_ID = "session-id"; //$NON-NLS-1$
         private static final String EXECUTION_ID = "execution-id"; //$NON-NLS-1$
         private static final String STATE = "processing-state"; //$NON-NLS-1$
@@ -1136,6 +1137,7 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
             node.get(EXECUTION_ID).set(request.getExecutionId());
             node.get(SESSION_ID).set(request.getSessionId());
             node.get(START_TIME).set(request.getStartTime());
+            node.get(PLANNING_TIME).set(request.getPlanningTime());
             node.get(COMMAND).set(request.getCommand());
             node.get(SOURCE_REQUEST).set(request.sourceRequest());
             if (request.getNodeId() != null) {
@@ -1159,6 +1161,9 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
             request.setExecutionId(node.get(EXECUTION_ID).asLong());
             request.setSessionId(node.get(SESSION_ID).asString());
             request.setStartTime(node.get(START_TIME).asLong());
+            if (node.has(PLANNING_TIME)) {
+                request.setPlanningTime(node.get(PLANNING_TIME).asLong());
+            }
             request.setCommand(node.get(COMMAND).asString());
             request.setSourceRequest(node.get(SOURCE_REQUEST).asBoolean());
             if (node.has(NODE_ID)) {
@@ -1179,6 +1184,7 @@ public class VDBMetadataMapper implements MetadataMapper<VDBMetaData> {
                     createAttribute(EXECUTION_ID, ModelType.LONG, false),
                     createAttribute(SESSION_ID, ModelType.STRING, false),
                     createAttribute(START_TIME, ModelType.LONG, false),
+                    createAttribute(PLANNING_TIME, ModelType.LONG, true),
                     createAttribute(COMMAND, ModelType.STRING, false),
                     createAttribute(SOURCE_REQUEST, ModelType.BOOLEAN, false),
                     createAttribute(NODE_ID, ModelType.INT, true),
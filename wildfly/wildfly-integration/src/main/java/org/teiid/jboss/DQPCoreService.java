@@ -125,6 +125,7 @@ public class DQPCoreService extends DQPConfiguration implements Serializable, Se
                     if (value != null) {
                         value.clearForVDB(vdb.getVDBKey());
                     }
+                    dqpCore.clearForVDB(vdb.getVDBKey());
                 } catch (IllegalStateException e) {
                     //already shutdown
                 }
@@ -34,6 +34,7 @@ enum Element {
 
     MAX_THREADS_ELEMENT("max-threads", "max-threads"),
     MAX_ACTIVE_PLANS_ELEMENT("max-active-plans", "max-active-plans"),
+    MAX_ACTIVE_PLANS_PER_USER_ELEMENT("max-active-plans-per-user", "max-active-plans-per-user"),
     USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT("thread-count-for-source-concurrency", "thread-count-for-source-concurrency"),
     TIME_SLICE_IN_MILLI_ELEMENT("time-slice-in-milliseconds", "time-slice-in-milliseconds"),
     MAX_ROWS_FETCH_SIZE_ELEMENT("max-row-fetch-size", "max-row-fetch-size"),
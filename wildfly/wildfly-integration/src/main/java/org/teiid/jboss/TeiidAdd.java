@@ -111,6 +111,7 @@ class TeiidAdd extends AbstractAddStepHandler {
         TeiidConstants.THREAD_COUNT_ATTRIBUTE,
         TeiidConstants.MAX_THREADS_ELEMENT,
         TeiidConstants.MAX_ACTIVE_PLANS_ELEMENT,
+        TeiidConstants.MAX_ACTIVE_PLANS_PER_USER_ELEMENT,
         TeiidConstants.USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT,
         TeiidConstants.TIME_SLICE_IN_MILLI_ELEMENT,
         TeiidConstants.MAX_ROWS_FETCH_SIZE_ELEMENT,
@@ -809,6 +810,9 @@ class TeiidAdd extends AbstractAddStepHandler {
         if (isDefined(MAX_ACTIVE_PLANS_ELEMENT, node, context)) {
             engine.setMaxActivePlans(asInt(MAX_ACTIVE_PLANS_ELEMENT, node, context));
         }
+        if (isDefined(MAX_ACTIVE_PLANS_PER_USER_ELEMENT, node, context)) {
+            engine.setMaxActivePlansPerUser(asInt(MAX_ACTIVE_PLANS_PER_USER_ELEMENT, node, context));
+        }
         if (isDefined(USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT, node, context)) {
             engine.setUserRequestSourceConcurrency(asInt(USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT, node, context));
         }
@@ -86,6 +86,13 @@ public class TeiidConstants {
         .setDefaultValue(new ModelNode(20))
         .build();
 
+    public static SimpleAttributeDefinition MAX_ACTIVE_PLANS_PER_USER_ELEMENT = new SimpleAttributeDefinitionBuilder(Element.MAX_ACTIVE_PLANS_PER_USER_ELEMENT.getModelName(), ModelType.INT)
+        .setXmlName(Element.MAX_ACTIVE_PLANS_PER_USER_ELEMENT.getXMLName())
+        .setRequired(false)
+        .setAllowExpression(false)
+        .setDefaultValue(new ModelNode(0))
+        .build();
+
     public static SimpleAttributeDefinition USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT = new SimpleAttributeDefinitionBuilder(Element.USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT.getModelName(), ModelType.INT)
         .setXmlName(Element.USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT.getXMLName())
         .setRequired(false)
@@ -64,6 +64,7 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
 
         MAX_THREADS_ELEMENT.marshallAsElement(node, false, writer);
         MAX_ACTIVE_PLANS_ELEMENT.marshallAsElement(node, false, writer);
+        MAX_ACTIVE_PLANS_PER_USER_ELEMENT.marshallAsElement(node, false, writer);
         USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT.marshallAsElement(node, false, writer);
         TIME_SLICE_IN_MILLI_ELEMENT.marshallAsElement(node, false, writer);
         MAX_ROWS_FETCH_SIZE_ELEMENT.marshallAsElement(node, false, writer);
@@ -303,6 +304,7 @@ class TeiidSubsystemParser implements XMLStreamConstants, XMLElementReader<List<
                         break;
                     case MAX_THREADS_ELEMENT:
                     case MAX_ACTIVE_PLANS_ELEMENT:
+                    case MAX_ACTIVE_PLANS_PER_USER_ELEMENT:
                     case USER_REQUEST_SOURCE_CONCURRENCY_ELEMENT:
                     case TIME_SLICE_IN_MILLI_ELEMENT:
                     case MAX_ROWS_FETCH_SIZE_ELEMENT:
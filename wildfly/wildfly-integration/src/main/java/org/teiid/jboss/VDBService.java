@@ -19,6 +19,7 @@ package org.teiid.jboss;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -80,6 +81,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
     private VDBLifeCycleListener vdbListener;
     private VDBResources vdbResources;
     private VDBKey vdbKey;
+    private IdentityHashMap<Translator, ExecutionFactory<Object, Object>> executionFactories;
 
     public VDBService(VDBMetaData metadata, VDBResources vdbResources, ContainerLifeCycleListener shutdownListener) {
         this.vdb = metadata;
@@ -240,6 +242,11 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
         if (controller != null) {
             controller.setMode(ServiceController.Mode.REMOVE);
         }
+        //the translator instances were built for this vdb and are discarded with it
+        if (this.executionFactories != null) {
+            TranslatorUtil.stopExecutionFactories(new ArrayList<ExecutionFactory<Object, Object>>(this.executionFactories.values()));
+            this.executionFactories = null;
+        }
         LogManager.logInfo(LogConstants.CTX_RUNTIME, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50026, this.vdb));
     }
 
@@ -255,6 +262,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
 
     private void createConnectorManagers(ConnectorManagerRepository cmr, final TranslatorRepository repo, final VDBMetaData deployment) throws StartException {
         final IdentityHashMap<Translator, ExecutionFactory<Object, Object>> map = new IdentityHashMap<Translator, ExecutionFactory<Object, Object>>();
+        this.executionFactories = map;
 
         try {
             ConnectorManagerRepository.ExecutionFactoryProvider provider = new ConnectorManagerRepository.ExecutionFactoryProvider() {